@@ -5,6 +5,10 @@ import java.nio.file.Files;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.sqlite.SQLiteConfig.JournalMode;
 
 import com.j256.ormlite.jdbc.JdbcConnectionSource;
 import com.j256.ormlite.logger.Level;
@@ -14,7 +18,10 @@ import com.j256.ormlite.logger.LoggerFactory;
 import com.j256.ormlite.support.ConnectionSource;
 
 import mil.nga.geopackage.db.GeoPackageConnection;
+import mil.nga.geopackage.db.GeoPackageConnectionOptions;
+import mil.nga.geopackage.db.GeoPackageReadConnectionPool;
 import mil.nga.geopackage.db.GeoPackageTableCreator;
+import mil.nga.geopackage.db.PreparedStatementCache;
 import mil.nga.geopackage.io.GeoPackageIOUtils;
 import mil.nga.geopackage.validate.GeoPackageValidate;
 
@@ -57,6 +64,37 @@ public class GeoPackageManager {
 	 * @since 4.0.0
 	 */
 	public static File create(File file, boolean validate) {
+		return create(file, validate, null);
+	}
+
+	/**
+	 * Create a GeoPackage
+	 * 
+	 * @param file
+	 *            file
+	 * @param options
+	 *            connection options, such as the page size
+	 * @return created file
+	 * @since 6.6.2
+	 */
+	public static File create(File file, GeoPackageConnectionOptions options) {
+		return create(file, true, options);
+	}
+
+	/**
+	 * Create a GeoPackage
+	 * 
+	 * @param file
+	 *            file
+	 * @param validate
+	 *            validate the file extension
+	 * @param options
+	 *            connection options, such as the page size
+	 * @return created file
+	 * @since 6.6.2
+	 */
+	public static File create(File file, boolean validate,
+			GeoPackageConnectionOptions options) {
 
 		boolean isGeoPackage = true;
 
@@ -77,7 +115,7 @@ public class GeoPackageManager {
 		}
 
 		// Create the file connection
-		GeoPackageConnection connection = connect(file);
+		GeoPackageConnection connection = connect(file, options, true);
 
 		try {
 
@@ -95,6 +133,11 @@ public class GeoPackageManager {
 
 			}
 
+			// Set the journal mode once the page size is in effect
+			if (options != null) {
+				options.applyJournalMode(connection);
+			}
+
 		} finally {
 			connection.close();
 		}
@@ -250,6 +293,63 @@ public class GeoPackageManager {
 	 */
 	public static GeoPackage open(String name, boolean writable, File file,
 			boolean validate) {
+		GeoPackageConnectionOptions options = null;
+		if (!writable) {
+			options = GeoPackageConnectionOptions.createReadOnly();
+		}
+		return open(name, file, validate, options);
+	}
+
+	/**
+	 * Open a GeoPackage
+	 * 
+	 * @param file
+	 *            file
+	 * @param options
+	 *            connection options
+	 * @return GeoPackage
+	 * @since 6.6.2
+	 */
+	public static GeoPackage open(File file,
+			GeoPackageConnectionOptions options) {
+		return open(file.getName(), file, true, options);
+	}
+
+	/**
+	 * Open a GeoPackage
+	 * 
+	 * @param name
+	 *            GeoPackage name
+	 * @param file
+	 *            GeoPackage file
+	 * @param options
+	 *            connection options
+	 * @return GeoPackage
+	 * @since 6.6.2
+	 */
+	public static GeoPackage open(String name, File file,
+			GeoPackageConnectionOptions options) {
+		return open(name, file, true, options);
+	}
+
+	/**
+	 * Open a GeoPackage, writable unless the connection options are read only
+	 * 
+	 * @param name
+	 *            GeoPackage name
+	 * @param file
+	 *            GeoPackage file
+	 * @param validate
+	 *            validate the GeoPackage
+	 * @param options
+	 *            connection options
+	 * @return GeoPackage
+	 * @since 6.6.2
+	 */
+	public static GeoPackage open(String name, File file, boolean validate,
+			GeoPackageConnectionOptions options) {
+
+		boolean writable = options == null || !options.isReadOnly();
 
 		// Check if the file exists
 		File existingFile = existingFile(file);
@@ -265,7 +365,7 @@ public class GeoPackageManager {
 		}
 
 		// Create the GeoPackage Connection and table creator
-		GeoPackageConnection connection = connect(file);
+		GeoPackageConnection connection = connect(file, options, false);
 
 		// Create a GeoPackage
 		GeoPackage geoPackage = new GeoPackageImpl(name, file, connection,
@@ -373,11 +473,29 @@ public class GeoPackageManager {
 	 * 
 	 * @param file
 	 *            GeoPackage file
+	 * @param options
+	 *            connection options, may be null
+	 * @param create
+	 *            true when creating the file
 	 * @return connection
 	 */
-	private static GeoPackageConnection connect(File file) {
+	private static GeoPackageConnection connect(File file,
+			GeoPackageConnectionOptions options, boolean create) {
+
+		boolean pooled = options != null && !create
+				&& options.getReadConnections() > 0;
+		if (pooled && options.getJournalMode() == null
+				&& !options.isReadOnly()) {
+			options = options.copy();
+			options.setJournalMode(JournalMode.WAL);
+		}
 
-		String databaseUrl = "jdbc:sqlite:" + file.getPath();
+		String databaseUrl;
+		if (options != null) {
+			databaseUrl = options.getDatabaseUrl(file, create);
+		} else {
+			databaseUrl = GeoPackageConnectionOptions.getDatabaseUrl(file);
+		}
 
 		// load the sqlite-JDBC driver using the current class loader
 		try {
@@ -398,6 +516,14 @@ public class GeoPackageManager {
 					e);
 		}
 
+		int statementCacheSize = options != null
+				? options.getStatementCacheSize()
+				: PreparedStatementCache.DEFAULT_MAX_SIZE;
+		if (statementCacheSize > 0) {
+			PreparedStatementCache.register(databaseConnection,
+					statementCacheSize);
+		}
+
 		ConnectionSource connectionSource;
 		try {
 			connectionSource = new JdbcConnectionSource(databaseUrl);
@@ -408,12 +534,66 @@ public class GeoPackageManager {
 					e);
 		}
 
+		// Create the read connection pool
+		GeoPackageReadConnectionPool readPool = null;
+		if (pooled) {
+			try {
+				readPool = connectReadPool(file, options);
+			} catch (RuntimeException e) {
+				// Close the writer connection and connection source
+				new GeoPackageConnection(file, databaseConnection,
+						connectionSource).close();
+				throw e;
+			}
+		}
+
 		// Create the GeoPackage Connection
 		GeoPackageConnection connection = new GeoPackageConnection(file,
-				databaseConnection, connectionSource);
+				databaseConnection, connectionSource, readPool);
 		connection.enableForeignKeys();
 
 		return connection;
 	}
 
+	/**
+	 * Connect the pool of read only connections to a GeoPackage file
+	 * 
+	 * @param file
+	 *            GeoPackage file
+	 * @param options
+	 *            connection options
+	 * @return read connection pool
+	 */
+	private static GeoPackageReadConnectionPool connectReadPool(File file,
+			GeoPackageConnectionOptions options) {
+
+		// The journal mode is persisted in the file by the writer
+		GeoPackageConnectionOptions readOptions = options.copy();
+		readOptions.setReadOnly(true);
+		readOptions.setJournalMode(null);
+		readOptions.setReadConnections(0);
+		String databaseUrl = readOptions.getDatabaseUrl(file, false);
+
+		List<Connection> connections = new ArrayList<>();
+		try {
+			for (int i = 0; i < options.getReadConnections(); i++) {
+				Connection connection = DriverManager
+						.getConnection(databaseUrl);
+				connections.add(connection);
+				if (options.getStatementCacheSize() > 0) {
+					PreparedStatementCache.register(connection,
+							options.getStatementCacheSize());
+				}
+			}
+		} catch (SQLException e) {
+			new GeoPackageReadConnectionPool(connections).close();
+			throw new GeoPackageException(
+					"Failed to get read connection to the SQLite file: "
+							+ file.getAbsolutePath(),
+					e);
+		}
+
+		return new GeoPackageReadConnectionPool(connections);
+	}
+
 }
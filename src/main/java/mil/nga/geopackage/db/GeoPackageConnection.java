@@ -5,6 +5,7 @@ import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
+import java.util.Locale;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -41,6 +42,11 @@ public class GeoPackageConnection extends GeoPackageCoreConnection {
 	 */
 	private Boolean autoCommit = null;
 
+	/**
+	 * Read connection pool
+	 */
+	private final GeoPackageReadConnectionPool readPool;
+
 	/**
 	 * Constructor
 	 *
@@ -53,9 +59,29 @@ public class GeoPackageConnection extends GeoPackageCoreConnection {
 	 */
 	public GeoPackageConnection(File file, Connection connection,
 			ConnectionSource connectionSource) {
+		this(file, connection, connectionSource, null);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param file
+	 *            file
+	 * @param connection
+	 *            writer connection
+	 * @param connectionSource
+	 *            connection source
+	 * @param readPool
+	 *            read connection pool, may be null
+	 * @since 6.6.2
+	 */
+	public GeoPackageConnection(File file, Connection connection,
+			ConnectionSource connectionSource,
+			GeoPackageReadConnectionPool readPool) {
 		super(connectionSource);
 		this.file = file;
 		this.connection = connection;
+		this.readPool = readPool;
 	}
 
 	/**
@@ -67,6 +93,84 @@ public class GeoPackageConnection extends GeoPackageCoreConnection {
 		return connection;
 	}
 
+	/**
+	 * Get the read connection pool
+	 *
+	 * @return read connection pool or null
+	 * @since 6.6.2
+	 */
+	public GeoPackageReadConnectionPool getReadConnectionPool() {
+		return readPool;
+	}
+
+	/**
+	 * Get the prepared statement cache of the writer connection
+	 *
+	 * @return statement cache or null if not cached
+	 * @since 6.6.2
+	 */
+	public PreparedStatementCache getStatementCache() {
+		return PreparedStatementCache.get(connection);
+	}
+
+	/**
+	 * Get the connection for reading queries. With a read connection pool,
+	 * the read connection of the current thread is returned unless the writer
+	 * connection is within a transaction.
+	 *
+	 * @return read connection
+	 * @since 6.6.2
+	 */
+	public Connection getReadConnection() {
+		Connection readConnection = connection;
+		if (readPool != null) {
+			try {
+				if (connection.getAutoCommit()) {
+					readConnection = readPool.getConnection();
+				}
+			} catch (SQLException e) {
+				throw new GeoPackageException(
+						"Failed to check connection auto commit", e);
+			}
+		}
+		return readConnection;
+	}
+
+	/**
+	 * Get the connection for the query. PRAGMA statements and queries of
+	 * connection state, such as foreign key enforcement or the last inserted
+	 * row id, use the writer connection. Other queries use the read
+	 * connection.
+	 *
+	 * @param sql
+	 *            sql statement
+	 * @return query connection
+	 * @since 6.6.2
+	 */
+	public Connection getQueryConnection(String sql) {
+		Connection queryConnection;
+		if (readPool == null || isConnectionStateQuery(sql)) {
+			queryConnection = connection;
+		} else {
+			queryConnection = getReadConnection();
+		}
+		return queryConnection;
+	}
+
+	/**
+	 * Determine if the query reads or changes connection scoped state
+	 *
+	 * @param sql
+	 *            sql statement
+	 * @return true if connection state query
+	 */
+	private static boolean isConnectionStateQuery(String sql) {
+		String upperSql = sql.trim().toUpperCase(Locale.ROOT);
+		return upperSql.startsWith("PRAGMA")
+				|| upperSql.contains("LAST_INSERT_ROWID(")
+				|| upperSql.contains("CHANGES(");
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -158,12 +262,16 @@ public class GeoPackageConnection extends GeoPackageCoreConnection {
 	@Override
 	public void close() {
 		super.close();
+		PreparedStatementCache.unregister(connection);
 		try {
 			connection.close();
 		} catch (SQLException e) {
 			log.log(Level.WARNING, "Failed to close GeoPackage connection to: "
 					+ file.getAbsolutePath(), e);
 		}
+		if (readPool != null) {
+			readPool.close();
+		}
 	}
 
 	/**
@@ -172,8 +280,8 @@ public class GeoPackageConnection extends GeoPackageCoreConnection {
 	@Override
 	public Object querySingleResult(String sql, String[] args, int column,
 			GeoPackageDataType dataType) {
-		return SQLUtils.querySingleResult(connection, sql, args, column,
-				dataType);
+		return SQLUtils.querySingleResult(getQueryConnection(sql), sql, args,
+				column, dataType);
 	}
 
 	/**
@@ -182,8 +290,8 @@ public class GeoPackageConnection extends GeoPackageCoreConnection {
 	@Override
 	public List<Object> querySingleColumnResults(String sql, String[] args,
 			int column, GeoPackageDataType dataType, Integer limit) {
-		return SQLUtils.querySingleColumnResults(connection, sql, args, column,
-				dataType, limit);
+		return SQLUtils.querySingleColumnResults(getQueryConnection(sql), sql,
+				args, column, dataType, limit);
 	}
 
 	/**
@@ -192,7 +300,8 @@ public class GeoPackageConnection extends GeoPackageCoreConnection {
 	@Override
 	public List<List<Object>> queryResults(String sql, String[] args,
 			GeoPackageDataType[] dataTypes, Integer limit) {
-		return SQLUtils.queryResults(connection, sql, args, dataTypes, limit);
+		return SQLUtils.queryResults(getQueryConnection(sql), sql, args,
+				dataTypes, limit);
 	}
 
 	/**
@@ -206,7 +315,7 @@ public class GeoPackageConnection extends GeoPackageCoreConnection {
 	 * @since 1.1.2
 	 */
 	public ResultSet query(String sql, String[] args) {
-		return SQLUtils.query(connection, sql, args);
+		return SQLUtils.query(getQueryConnection(sql), sql, args);
 	}
 
 }
@@ -0,0 +1,429 @@
+package mil.nga.geopackage.db;
+
+import java.io.File;
+
+import org.sqlite.SQLiteConfig.JournalMode;
+import org.sqlite.SQLiteConfig.SynchronousMode;
+import org.sqlite.SQLiteConfig.TempStore;
+
+/**
+ * GeoPackage Connection Options for tuning the SQLite connections of a created
+ * or opened GeoPackage. Unset options keep the SQLite defaults. The options
+ * are passed as SQLite URI parameters, applying to both the JDBC connection
+ * and the ORMLite connection source.
+ *
+ * @author osbornb
+ * @since 6.6.2
+ */
+public class GeoPackageConnectionOptions {
+
+	/**
+	 * JDBC SQLite URL prefix
+	 */
+	public static final String URL_PREFIX = "jdbc:sqlite:";
+
+	/**
+	 * Journal mode
+	 */
+	private JournalMode journalMode;
+
+	/**
+	 * Synchronous mode
+	 */
+	private SynchronousMode synchronous;
+
+	/**
+	 * Cache size in pages, or in KiB when negative
+	 */
+	private Integer cacheSize;
+
+	/**
+	 * Memory mapped I/O size in bytes
+	 */
+	private Long mmapSize;
+
+	/**
+	 * Temporary table and index storage
+	 */
+	private TempStore tempStore;
+
+	/**
+	 * Page size in bytes of newly created files
+	 */
+	private Integer pageSize;
+
+	/**
+	 * Read only open
+	 */
+	private boolean readOnly = false;
+
+	/**
+	 * Immutable open
+	 */
+	private boolean immutable = false;
+
+	/**
+	 * Busy timeout in milliseconds
+	 */
+	private Integer busyTimeout;
+
+	/**
+	 * Number of pooled read connections
+	 */
+	private int readConnections = 0;
+
+	/**
+	 * Max number of cached prepared statements per connection
+	 */
+	private int statementCacheSize = PreparedStatementCache.DEFAULT_MAX_SIZE;
+
+	/**
+	 * Constructor
+	 */
+	public GeoPackageConnectionOptions() {
+
+	}
+
+	/**
+	 * Copy Constructor
+	 *
+	 * @param options
+	 *            options to copy
+	 */
+	public GeoPackageConnectionOptions(GeoPackageConnectionOptions options) {
+		journalMode = options.journalMode;
+		synchronous = options.synchronous;
+		cacheSize = options.cacheSize;
+		mmapSize = options.mmapSize;
+		tempStore = options.tempStore;
+		pageSize = options.pageSize;
+		readOnly = options.readOnly;
+		immutable = options.immutable;
+		busyTimeout = options.busyTimeout;
+		readConnections = options.readConnections;
+		statementCacheSize = options.statementCacheSize;
+	}
+
+	/**
+	 * Copy the options
+	 *
+	 * @return options copy
+	 */
+	public GeoPackageConnectionOptions copy() {
+		return new GeoPackageConnectionOptions(this);
+	}
+
+	/**
+	 * Create read only options
+	 *
+	 * @return read only options
+	 */
+	public static GeoPackageConnectionOptions createReadOnly() {
+		GeoPackageConnectionOptions options = new GeoPackageConnectionOptions();
+		options.setReadOnly(true);
+		return options;
+	}
+
+	/**
+	 * Get the journal mode
+	 *
+	 * @return journal mode or null
+	 */
+	public JournalMode getJournalMode() {
+		return journalMode;
+	}
+
+	/**
+	 * Set the journal mode, such as {@link JournalMode#WAL}
+	 *
+	 * @param journalMode
+	 *            journal mode
+	 */
+	public void setJournalMode(JournalMode journalMode) {
+		this.journalMode = journalMode;
+	}
+
+	/**
+	 * Get the synchronous mode
+	 *
+	 * @return synchronous mode or null
+	 */
+	public SynchronousMode getSynchronous() {
+		return synchronous;
+	}
+
+	/**
+	 * Set the synchronous mode
+	 *
+	 * @param synchronous
+	 *            synchronous mode
+	 */
+	public void setSynchronous(SynchronousMode synchronous) {
+		this.synchronous = synchronous;
+	}
+
+	/**
+	 * Get the cache size
+	 *
+	 * @return cache size in pages, or in KiB when negative, or null
+	 */
+	public Integer getCacheSize() {
+		return cacheSize;
+	}
+
+	/**
+	 * Set the cache size
+	 *
+	 * @param cacheSize
+	 *            cache size in pages, or in KiB when negative
+	 */
+	public void setCacheSize(Integer cacheSize) {
+		this.cacheSize = cacheSize;
+	}
+
+	/**
+	 * Get the memory mapped I/O size
+	 *
+	 * @return mmap size in bytes or null
+	 */
+	public Long getMmapSize() {
+		return mmapSize;
+	}
+
+	/**
+	 * Set the memory mapped I/O size
+	 *
+	 * @param mmapSize
+	 *            mmap size in bytes, 0 to disable
+	 */
+	public void setMmapSize(Long mmapSize) {
+		this.mmapSize = mmapSize;
+	}
+
+	/**
+	 * Get the temporary table and index storage
+	 *
+	 * @return temp store or null
+	 */
+	public TempStore getTempStore() {
+		return tempStore;
+	}
+
+	/**
+	 * Set the temporary table and index storage
+	 *
+	 * @param tempStore
+	 *            temp store
+	 */
+	public void setTempStore(TempStore tempStore) {
+		this.tempStore = tempStore;
+	}
+
+	/**
+	 * Get the page size of newly created files
+	 *
+	 * @return page size in bytes or null
+	 */
+	public Integer getPageSize() {
+		return pageSize;
+	}
+
+	/**
+	 * Set the page size of newly created files, ignored when opening existing
+	 * files
+	 *
+	 * @param pageSize
+	 *            page size in bytes, a power of two between 512 and 65536
+	 */
+	public void setPageSize(Integer pageSize) {
+		this.pageSize = pageSize;
+	}
+
+	/**
+	 * Is a read only open, including immutable opens
+	 *
+	 * @return true if read only
+	 */
+	public boolean isReadOnly() {
+		return readOnly || immutable;
+	}
+
+	/**
+	 * Set the read only open, ignored when creating files
+	 *
+	 * @param readOnly
+	 *            true to open read only
+	 */
+	public void setReadOnly(boolean readOnly) {
+		this.readOnly = readOnly;
+	}
+
+	/**
+	 * Is an immutable open
+	 *
+	 * @return true if immutable
+	 */
+	public boolean isImmutable() {
+		return immutable;
+	}
+
+	/**
+	 * Set the immutable open, read only without locking or change detection,
+	 * ignored when creating files. Only use for files that are not modified
+	 * while open, such as by other processes.
+	 *
+	 * @param immutable
+	 *            true to open immutable
+	 */
+	public void setImmutable(boolean immutable) {
+		this.immutable = immutable;
+	}
+
+	/**
+	 * Get the busy timeout
+	 *
+	 * @return busy timeout in milliseconds or null
+	 */
+	public Integer getBusyTimeout() {
+		return busyTimeout;
+	}
+
+	/**
+	 * Set the busy timeout
+	 *
+	 * @param busyTimeout
+	 *            busy timeout in milliseconds
+	 */
+	public void setBusyTimeout(Integer busyTimeout) {
+		this.busyTimeout = busyTimeout;
+	}
+
+	/**
+	 * Get the number of pooled read connections
+	 *
+	 * @return read connections, 0 when not pooled
+	 */
+	public int getReadConnections() {
+		return readConnections;
+	}
+
+	/**
+	 * Set the number of pooled read connections, ignored when creating files.
+	 * When greater than 0, queries outside of transactions read from a pool of
+	 * read only connections while writes and transactions use the single
+	 * writer connection. The journal mode of writable opens defaults to
+	 * {@link JournalMode#WAL} so readers do not block on the writer.
+	 *
+	 * @param readConnections
+	 *            read connections, 0 when not pooled
+	 */
+	public void setReadConnections(int readConnections) {
+		this.readConnections = readConnections;
+	}
+
+	/**
+	 * Get the max number of cached prepared statements per connection
+	 *
+	 * @return statement cache size, 0 when not cached
+	 */
+	public int getStatementCacheSize() {
+		return statementCacheSize;
+	}
+
+	/**
+	 * Set the max number of cached prepared statements per connection,
+	 * defaulting to {@link PreparedStatementCache#DEFAULT_MAX_SIZE}
+	 *
+	 * @param statementCacheSize
+	 *            statement cache size, 0 to disable caching
+	 */
+	public void setStatementCacheSize(int statementCacheSize) {
+		this.statementCacheSize = statementCacheSize;
+	}
+
+	/**
+	 * Get the JDBC database URL for the file with the options as SQLite URI
+	 * parameters. When creating, the journal mode is excluded as it must be
+	 * set after the page size is applied, see
+	 * {@link #applyJournalMode(GeoPackageConnection)}.
+	 *
+	 * @param file
+	 *            GeoPackage file
+	 * @param create
+	 *            true when creating the file
+	 * @return database URL
+	 */
+	public String getDatabaseUrl(File file, boolean create) {
+
+		StringBuilder parameters = new StringBuilder();
+		if (create) {
+			addParameter(parameters, "page_size", pageSize);
+		} else {
+			if (isReadOnly()) {
+				addParameter(parameters, "mode", "ro");
+			}
+			if (immutable) {
+				addParameter(parameters, "immutable", 1);
+			}
+			addParameter(parameters, "journal_mode", journalMode);
+		}
+		addParameter(parameters, "synchronous", synchronous);
+		addParameter(parameters, "cache_size", cacheSize);
+		addParameter(parameters, "mmap_size", mmapSize);
+		addParameter(parameters, "temp_store", tempStore);
+		addParameter(parameters, "busy_timeout", busyTimeout);
+
+		String url;
+		if (parameters.length() == 0) {
+			url = getDatabaseUrl(file);
+		} else {
+			url = URL_PREFIX + file.toURI() + "?" + parameters;
+		}
+
+		return url;
+	}
+
+	/**
+	 * Apply the journal mode to the connection of a created file
+	 *
+	 * @param connection
+	 *            connection
+	 */
+	public void applyJournalMode(GeoPackageConnection connection) {
+		if (journalMode != null) {
+			connection.execSQL("PRAGMA journal_mode = " + journalMode);
+		}
+	}
+
+	/**
+	 * Get the JDBC database URL for the file without options
+	 *
+	 * @param file
+	 *            GeoPackage file
+	 * @return database URL
+	 */
+	public static String getDatabaseUrl(File file) {
+		return URL_PREFIX + file.getPath();
+	}
+
+	/**
+	 * Add a URI parameter when the value is set
+	 *
+	 * @param parameters
+	 *            parameters
+	 * @param name
+	 *            parameter name
+	 * @param value
+	 *            parameter value or null
+	 */
+	private static void addParameter(StringBuilder parameters, String name,
+			Object value) {
+		if (value != null) {
+			if (parameters.length() > 0) {
+				parameters.append('&');
+			}
+			parameters.append(name).append('=').append(value);
+		}
+	}
+
+}
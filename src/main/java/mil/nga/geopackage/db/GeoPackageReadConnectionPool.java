@@ -0,0 +1,108 @@
+package mil.nga.geopackage.db;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * GeoPackage Read Connection Pool of read only connections to a GeoPackage
+ * file, allowing queries from concurrent threads to read without serializing
+ * on a single connection. Query results are iterated and closed by callers
+ * after the query returns, so each reading thread is pinned to a pool
+ * connection, assigned in round robin order, rather than returning the
+ * connection after each query. Threads beyond the pool size share
+ * connections.
+ *
+ * @author osbornb
+ * @since 6.6.2
+ */
+public class GeoPackageReadConnectionPool implements Closeable {
+
+	/**
+	 * Logger
+	 */
+	private static final Logger log = Logger
+			.getLogger(GeoPackageReadConnectionPool.class.getName());
+
+	/**
+	 * Read connections
+	 */
+	private final List<Connection> connections;
+
+	/**
+	 * Next connection to assign
+	 */
+	private final AtomicInteger next = new AtomicInteger();
+
+	/**
+	 * Connection assigned to each reading thread
+	 */
+	private final ThreadLocal<Connection> threadConnection = new ThreadLocal<Connection>() {
+		@Override
+		protected Connection initialValue() {
+			int index = Math.floorMod(next.getAndIncrement(),
+					connections.size());
+			return connections.get(index);
+		}
+	};
+
+	/**
+	 * Constructor
+	 *
+	 * @param connections
+	 *            read only connections
+	 */
+	public GeoPackageReadConnectionPool(List<Connection> connections) {
+		this.connections = Collections
+				.unmodifiableList(new ArrayList<>(connections));
+	}
+
+	/**
+	 * Get the read connection assigned to the current thread
+	 *
+	 * @return read connection
+	 */
+	public Connection getConnection() {
+		return threadConnection.get();
+	}
+
+	/**
+	 * Get all read connections, such as to register functions
+	 *
+	 * @return read connections
+	 */
+	public List<Connection> getConnections() {
+		return connections;
+	}
+
+	/**
+	 * Get the number of read connections
+	 *
+	 * @return size
+	 */
+	public int size() {
+		return connections.size();
+	}
+
+	/**
+	 * Close the read connections
+	 */
+	@Override
+	public void close() {
+		for (Connection connection : connections) {
+			PreparedStatementCache.unregister(connection);
+			try {
+				connection.close();
+			} catch (SQLException e) {
+				log.log(Level.WARNING, "Failed to close read connection", e);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,323 @@
+package mil.nga.geopackage.db;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Prepared Statement Cache, a bounded least recently used cache of prepared
+ * statements for a connection keyed by SQL text. Statements are checked out
+ * of the cache while executing or while their result set is open, and
+ * returned with cleared arguments when released. Concurrent uses of the same
+ * SQL prepare additional statements, which are closed on release when an idle
+ * statement already exists. Caches are registered per connection and used by
+ * {@link SQLUtils} statement executions.
+ *
+ * @author osbornb
+ * @since 6.6.2
+ */
+public class PreparedStatementCache {
+
+	/**
+	 * Logger
+	 */
+	private static final Logger log = Logger
+			.getLogger(PreparedStatementCache.class.getName());
+
+	/**
+	 * Default max number of idle cached statements per connection
+	 */
+	public static final int DEFAULT_MAX_SIZE = 32;
+
+	/**
+	 * Registered connection caches
+	 */
+	private static final Map<Connection, PreparedStatementCache> caches = new ConcurrentHashMap<>();
+
+	/**
+	 * Register a statement cache for the connection, replacing any existing
+	 * cache
+	 *
+	 * @param connection
+	 *            connection
+	 * @param maxSize
+	 *            max number of idle cached statements
+	 * @return statement cache
+	 */
+	public static PreparedStatementCache register(Connection connection,
+			int maxSize) {
+		PreparedStatementCache cache = new PreparedStatementCache(maxSize);
+		PreparedStatementCache previous = caches.put(connection, cache);
+		if (previous != null) {
+			previous.invalidate();
+		}
+		return cache;
+	}
+
+	/**
+	 * Unregister and invalidate the statement cache of the connection
+	 *
+	 * @param connection
+	 *            connection
+	 */
+	public static void unregister(Connection connection) {
+		PreparedStatementCache cache = caches.remove(connection);
+		if (cache != null) {
+			cache.invalidate();
+		}
+	}
+
+	/**
+	 * Get the statement cache of the connection
+	 *
+	 * @param connection
+	 *            connection
+	 * @return statement cache or null if not registered
+	 */
+	public static PreparedStatementCache get(Connection connection) {
+		return caches.get(connection);
+	}
+
+	/**
+	 * Max number of idle cached statements
+	 */
+	private final int maxSize;
+
+	/**
+	 * Idle statements in least recently used order
+	 */
+	private final LinkedHashMap<String, PreparedStatement> idle;
+
+	/**
+	 * Idle and checked out statements and their SQL
+	 */
+	private final Map<PreparedStatement, String> statements = new IdentityHashMap<>();
+
+	/**
+	 * Checked out statements
+	 */
+	private final Set<PreparedStatement> checkedOut = Collections
+			.newSetFromMap(new IdentityHashMap<PreparedStatement, Boolean>());
+
+	/**
+	 * Statements checked out during an invalidation, closed when released
+	 */
+	private final Set<PreparedStatement> invalidated = Collections
+			.newSetFromMap(new IdentityHashMap<PreparedStatement, Boolean>());
+
+	/**
+	 * Cache hits
+	 */
+	private long hits = 0;
+
+	/**
+	 * Cache misses
+	 */
+	private long misses = 0;
+
+	/**
+	 * Evicted statements
+	 */
+	private long evictions = 0;
+
+	/**
+	 * Constructor
+	 *
+	 * @param maxSize
+	 *            max number of idle cached statements
+	 */
+	private PreparedStatementCache(int maxSize) {
+		this.maxSize = maxSize;
+		idle = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+	/**
+	 * Check out a prepared statement for the SQL, reusing an idle cached
+	 * statement when available. The statement must be returned with
+	 * {@link #release(PreparedStatement)}.
+	 *
+	 * @param connection
+	 *            connection
+	 * @param sql
+	 *            sql statement
+	 * @return prepared statement
+	 * @throws SQLException
+	 *             upon failure
+	 */
+	public PreparedStatement prepare(Connection connection, String sql)
+			throws SQLException {
+		PreparedStatement statement;
+		synchronized (this) {
+			statement = idle.remove(sql);
+			if (statement != null) {
+				hits++;
+				checkedOut.add(statement);
+				return statement;
+			}
+			misses++;
+		}
+		statement = connection.prepareStatement(sql);
+		synchronized (this) {
+			statements.put(statement, sql);
+			checkedOut.add(statement);
+		}
+		return statement;
+	}
+
+	/**
+	 * Release a checked out statement back to the cache, clearing the
+	 * arguments. Statements exceeding the cache size are closed.
+	 *
+	 * @param statement
+	 *            prepared statement
+	 * @return true if the statement belongs to this cache, false if the
+	 *         caller remains responsible for closing it
+	 */
+	public boolean release(PreparedStatement statement) {
+		PreparedStatement close = null;
+		String sql = null;
+		synchronized (this) {
+			if (invalidated.remove(statement)) {
+				close = statement;
+			}
+		}
+		if (close != null) {
+			SQLUtils.closeStatement(close, null);
+			return true;
+		}
+		synchronized (this) {
+			sql = statements.get(statement);
+			if (sql == null) {
+				return false;
+			}
+			if (!checkedOut.remove(statement)) {
+				// Already released
+				return true;
+			}
+			close = statement;
+			if (!idle.containsKey(sql)) {
+				try {
+					statement.clearParameters();
+					idle.put(sql, statement);
+					close = null;
+					if (idle.size() > maxSize) {
+						Iterator<Map.Entry<String, PreparedStatement>> eldest = idle
+								.entrySet().iterator();
+						Map.Entry<String, PreparedStatement> entry = eldest
+								.next();
+						sql = entry.getKey();
+						close = entry.getValue();
+						eldest.remove();
+						evictions++;
+					}
+				} catch (SQLException e) {
+					log.log(Level.WARNING,
+							"Failed to clear cached statement arguments: "
+									+ sql,
+							e);
+				}
+			}
+			if (close != null) {
+				statements.remove(close);
+			}
+		}
+		if (close != null) {
+			SQLUtils.closeStatement(close, sql);
+		}
+		return true;
+	}
+
+	/**
+	 * Invalidate the cache by closing the idle statements, such as after a
+	 * schema change. Checked out statements are closed when released.
+	 */
+	public void invalidate() {
+		List<PreparedStatement> idleStatements;
+		synchronized (this) {
+			idleStatements = new ArrayList<>(idle.values());
+			idle.clear();
+			invalidated.addAll(checkedOut);
+			checkedOut.clear();
+			statements.clear();
+		}
+		for (PreparedStatement statement : idleStatements) {
+			SQLUtils.closeStatement(statement, null);
+		}
+	}
+
+	/**
+	 * Get the max number of idle cached statements
+	 *
+	 * @return max size
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Get the number of idle cached statements
+	 *
+	 * @return size
+	 */
+	public synchronized int size() {
+		return idle.size();
+	}
+
+	/**
+	 * Get the number of cache hits
+	 *
+	 * @return hits
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * Get the number of cache misses
+	 *
+	 * @return misses
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Get the number of statements evicted from the cache
+	 *
+	 * @return evictions
+	 */
+	public synchronized long getEvictions() {
+		return evictions;
+	}
+
+	/**
+	 * Get the ratio of hits to checked out statements
+	 *
+	 * @return hit ratio between 0.0 and 1.0
+	 */
+	public synchronized double getHitRatio() {
+		long requests = hits + misses;
+		return requests > 0 ? (double) hits / requests : 0.0;
+	}
+
+	/**
+	 * Reset the cache statistics
+	 */
+	public synchronized void resetStatistics() {
+		hits = 0;
+		misses = 0;
+		evictions = 0;
+	}
+
+}
@@ -2,6 +2,7 @@ package mil.nga.geopackage.db;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.sql.Types;
 
 import mil.nga.geopackage.GeoPackageException;
@@ -20,6 +21,12 @@ public class ResultSetResult implements Result {
 	 */
 	protected ResultSet resultSet;
 
+	/**
+	 * Closed flag, as cached statements and their result set are reused after
+	 * close
+	 */
+	private boolean closed = false;
+
 	/**
 	 * Constructor
 	 * 
@@ -66,6 +73,69 @@ public class ResultSetResult implements Result {
 		return value;
 	}
 
+	/**
+	 * Get the value using the typed ResultSet getter matching the data type
+	 * class type, avoiding {@link ResultSet#getObject(int)} reads and value
+	 * conversions. Data types without a typed getter and date data types,
+	 * converted to dates, are read with
+	 * {@link #getValue(int, GeoPackageDataType)}.
+	 *
+	 * @param index
+	 *            column index
+	 * @param dataType
+	 *            data type
+	 * @return value
+	 * @since 6.6.2
+	 */
+	public Object getTypedValue(int index, GeoPackageDataType dataType) {
+
+		if (dataType == null || isDateType(dataType)) {
+			return getValue(index, dataType);
+		}
+
+		Class<?> classType = dataType.getClassType();
+		int resultSetIndex = resultIndexToResultSetIndex(index);
+
+		Object value;
+		try {
+			if (classType == Long.class) {
+				long longValue = resultSet.getLong(resultSetIndex);
+				value = resultSet.wasNull() ? null : longValue;
+			} else if (classType == Double.class) {
+				double doubleValue = resultSet.getDouble(resultSetIndex);
+				value = resultSet.wasNull() ? null : doubleValue;
+			} else if (classType == String.class) {
+				value = resultSet.getString(resultSetIndex);
+			} else if (classType == byte[].class) {
+				value = resultSet.getBytes(resultSetIndex);
+			} else if (classType == Integer.class) {
+				int intValue = resultSet.getInt(resultSetIndex);
+				value = resultSet.wasNull() ? null : intValue;
+			} else if (classType == Float.class) {
+				float floatValue = resultSet.getFloat(resultSetIndex);
+				value = resultSet.wasNull() ? null : floatValue;
+			} else if (classType == Short.class) {
+				short shortValue = resultSet.getShort(resultSetIndex);
+				value = resultSet.wasNull() ? null : shortValue;
+			} else if (classType == Byte.class) {
+				byte byteValue = resultSet.getByte(resultSetIndex);
+				value = resultSet.wasNull() ? null : byteValue;
+			} else if (classType == Boolean.class) {
+				boolean booleanValue = resultSet.getBoolean(resultSetIndex);
+				value = resultSet.wasNull() ? null : booleanValue;
+			} else {
+				value = getValue(index, dataType);
+			}
+		} catch (SQLException e) {
+			throw new GeoPackageException(
+					"Failed to get typed value for column index: " + index
+							+ ", data type: " + dataType,
+					e);
+		}
+
+		return value;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -337,10 +407,15 @@ public class ResultSetResult implements Result {
 	 */
 	@Override
 	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		Statement statement;
 		try {
-			resultSet.getStatement().close();
+			statement = resultSet.getStatement();
 		} catch (SQLException e) {
-			throw new GeoPackageException("Failed to close ResultSet Statement",
+			throw new GeoPackageException("Failed to get ResultSet Statement",
 					e);
 		}
 		try {
@@ -348,6 +423,7 @@ public class ResultSetResult implements Result {
 		} catch (SQLException e) {
 			throw new GeoPackageException("Failed to close ResultSet", e);
 		}
+		SQLUtils.releaseStatement(statement, null);
 	}
 
 	/**
@@ -421,4 +497,50 @@ public class ResultSetResult implements Result {
 		return type;
 	}
 
+	/**
+	 * Get the SQLite type of non null values read with
+	 * {@link #getTypedValue(int, GeoPackageDataType)} for the data type
+	 *
+	 * @param dataType
+	 *            data type
+	 * @return SQLite type, or -1 when determined from the ResultSet metadata,
+	 *         including date data types
+	 * @since 6.6.2
+	 */
+	public static int dataTypeToSqlLite(GeoPackageDataType dataType) {
+
+		int type = -1;
+
+		if (dataType != null && !isDateType(dataType)) {
+			Class<?> classType = dataType.getClassType();
+			if (classType == Long.class || classType == Integer.class
+					|| classType == Short.class || classType == Byte.class
+					|| classType == Boolean.class) {
+				type = ResultUtils.FIELD_TYPE_INTEGER;
+			} else if (classType == Double.class
+					|| classType == Float.class) {
+				type = ResultUtils.FIELD_TYPE_FLOAT;
+			} else if (classType == String.class) {
+				type = ResultUtils.FIELD_TYPE_STRING;
+			} else if (classType == byte[].class) {
+				type = ResultUtils.FIELD_TYPE_BLOB;
+			}
+		}
+
+		return type;
+	}
+
+	/**
+	 * Determine if the data type is a date type, read as a string and
+	 * converted to a date
+	 *
+	 * @param dataType
+	 *            data type
+	 * @return true if date or date time
+	 */
+	private static boolean isDateType(GeoPackageDataType dataType) {
+		return dataType == GeoPackageDataType.DATE
+				|| dataType == GeoPackageDataType.DATETIME;
+	}
+
 }
@@ -6,6 +6,7 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -44,6 +45,13 @@ public class SQLUtils {
 					"Failed to execute SQL statement: " + sql, e);
 		} finally {
 			closeStatement(statement, sql);
+			if (isSchemaChange(sql)) {
+				PreparedStatementCache cache = PreparedStatementCache
+						.get(connection);
+				if (cache != null) {
+					cache.invalidate();
+				}
+			}
 		}
 
 	}
@@ -66,7 +74,7 @@ public class SQLUtils {
 		ResultSet resultSet = null;
 
 		try {
-			statement = connection.prepareStatement(sql);
+			statement = prepare(connection, sql);
 			setArguments(statement, selectionArgs);
 			resultSet = statement.executeQuery();
 		} catch (SQLException e) {
@@ -74,7 +82,7 @@ public class SQLUtils {
 					"Failed to execute SQL statement: " + sql, e);
 		} finally {
 			if (resultSet == null) {
-				closeStatement(statement, sql);
+				releaseStatement(statement, sql);
 			}
 		}
 
@@ -331,14 +339,14 @@ public class SQLUtils {
 
 		int count = 0;
 		try {
-			statement = connection.prepareStatement(sql);
+			statement = prepare(connection, sql);
 			setArguments(statement, args);
 			count = statement.executeUpdate();
 		} catch (SQLException e) {
 			throw new GeoPackageException(
 					"Failed to execute SQL delete statement: " + sql, e);
 		} finally {
-			closeStatement(statement, sql);
+			releaseStatement(statement, sql);
 		}
 
 		return count;
@@ -392,14 +400,14 @@ public class SQLUtils {
 
 		int count = 0;
 		try {
-			statement = connection.prepareStatement(sql);
+			statement = prepare(connection, sql);
 			setArguments(statement, args);
 			count = statement.executeUpdate();
 		} catch (SQLException e) {
 			throw new GeoPackageException(
 					"Failed to execute SQL update statement: " + sql, e);
 		} finally {
-			closeStatement(statement, sql);
+			releaseStatement(statement, sql);
 		}
 
 		return count;
@@ -468,7 +476,7 @@ public class SQLUtils {
 
 		long id = 0;
 		try {
-			statement = connection.prepareStatement(sql);
+			statement = prepare(connection, sql);
 			setArguments(statement, args);
 			int count = statement.executeUpdate();
 
@@ -491,12 +499,238 @@ public class SQLUtils {
 			throw new GeoPackageException(
 					"Failed to execute SQL insert statement: " + sql, e);
 		} finally {
-			closeStatement(statement, sql);
+			releaseStatement(statement, sql);
 		}
 
 		return id;
 	}
 
+	/**
+	 * Build an insert or replace SQL statement for the table columns
+	 * 
+	 * @param table
+	 *            table name
+	 * @param columns
+	 *            column names
+	 * @return insert or replace SQL
+	 * @since 6.6.2
+	 */
+	public static String insertOrReplaceSQL(String table, String[] columns) {
+
+		StringBuilder insert = new StringBuilder();
+		insert.append("insert or replace into ")
+				.append(CoreSQLUtils.quoteWrap(table)).append("(");
+		for (int i = 0; i < columns.length; i++) {
+			insert.append((i > 0) ? "," : "");
+			insert.append(CoreSQLUtils.quoteWrap(columns[i]));
+		}
+		insert.append(')');
+		insert.append(" values (");
+		for (int i = 0; i < columns.length; i++) {
+			insert.append((i > 0) ? ",?" : "?");
+		}
+		insert.append(')');
+
+		return insert.toString();
+	}
+
+	/**
+	 * Get the next chunk of ids from the iterator for an IN query
+	 * 
+	 * @param ids
+	 *            id iterator
+	 * @param limit
+	 *            max number of ids in the chunk
+	 * @return ids chunk
+	 * @since 6.6.2
+	 */
+	public static List<Long> nextIds(Iterator<Long> ids, int limit) {
+		List<Long> chunk = new ArrayList<>();
+		while (ids.hasNext() && chunk.size() < limit) {
+			chunk.add(ids.next());
+		}
+		return chunk;
+	}
+
+	/**
+	 * Build an IN where clause for the column with an argument placeholder
+	 * per value
+	 * 
+	 * @param column
+	 *            column name
+	 * @param count
+	 *            argument count
+	 * @return where clause
+	 * @since 6.6.2
+	 */
+	public static String buildInWhere(String column, int count) {
+		StringBuilder where = new StringBuilder();
+		where.append(CoreSQLUtils.quoteWrap(column));
+		where.append(" IN (");
+		for (int i = 0; i < count; i++) {
+			if (i > 0) {
+				where.append(", ");
+			}
+			where.append("?");
+		}
+		where.append(")");
+		return where.toString();
+	}
+
+	/**
+	 * Build the IN where arguments of the ids
+	 * 
+	 * @param ids
+	 *            ids
+	 * @return where arguments
+	 * @since 6.6.2
+	 */
+	public static String[] buildInWhereArgs(List<Long> ids) {
+		String[] whereArgs = new String[ids.size()];
+		for (int i = 0; i < whereArgs.length; i++) {
+			whereArgs[i] = String.valueOf(ids.get(i));
+		}
+		return whereArgs;
+	}
+
+	/**
+	 * Prepare a statement for reuse, such as for batch execution
+	 * 
+	 * @param connection
+	 *            connection
+	 * @param sql
+	 *            sql statement
+	 * @return prepared statement
+	 * @since 6.6.2
+	 */
+	public static PreparedStatement prepareStatement(Connection connection,
+			String sql) {
+		try {
+			return connection.prepareStatement(sql);
+		} catch (SQLException e) {
+			throw new GeoPackageException(
+					"Failed to prepare SQL statement: " + sql, e);
+		}
+	}
+
+	/**
+	 * Prepare a statement, checked out from the statement cache of the
+	 * connection when registered
+	 * 
+	 * @param connection
+	 *            connection
+	 * @param sql
+	 *            sql statement
+	 * @return prepared statement
+	 * @throws SQLException
+	 *             upon failure
+	 */
+	private static PreparedStatement prepare(Connection connection,
+			String sql) throws SQLException {
+		PreparedStatement statement = null;
+		PreparedStatementCache cache = PreparedStatementCache.get(connection);
+		if (cache != null) {
+			statement = cache.prepare(connection, sql);
+		} else {
+			statement = connection.prepareStatement(sql);
+		}
+		return statement;
+	}
+
+	/**
+	 * Release the statement back to the statement cache of its connection,
+	 * or close the statement when not cached
+	 * 
+	 * @param statement
+	 *            statement
+	 * @param sql
+	 *            sql statement
+	 * @since 6.6.2
+	 */
+	public static void releaseStatement(Statement statement, String sql) {
+		if (statement != null) {
+			boolean released = false;
+			if (statement instanceof PreparedStatement) {
+				try {
+					PreparedStatementCache cache = PreparedStatementCache
+							.get(statement.getConnection());
+					if (cache != null) {
+						released = cache
+								.release((PreparedStatement) statement);
+					}
+				} catch (SQLException e) {
+					log.log(Level.WARNING,
+							"Failed to release SQL Statement: " + sql, e);
+				}
+			}
+			if (!released) {
+				closeStatement(statement, sql);
+			}
+		}
+	}
+
+	/**
+	 * Determine if the SQL statement changes the schema
+	 * 
+	 * @param sql
+	 *            sql statement
+	 * @return true if a schema change
+	 */
+	private static boolean isSchemaChange(String sql) {
+		String statement = sql.trim();
+		return statement.regionMatches(true, 0, "CREATE", 0, 6)
+				|| statement.regionMatches(true, 0, "DROP", 0, 4)
+				|| statement.regionMatches(true, 0, "ALTER", 0, 5);
+	}
+
+	/**
+	 * Add a set of arguments to the prepared statement batch
+	 * 
+	 * @param statement
+	 *            prepared statement
+	 * @param sql
+	 *            sql statement
+	 * @param args
+	 *            arguments
+	 * @since 6.6.2
+	 */
+	public static void addBatch(PreparedStatement statement, String sql,
+			Object[] args) {
+		try {
+			setArguments(statement, args);
+			statement.addBatch();
+		} catch (SQLException e) {
+			throw new GeoPackageException(
+					"Failed to add SQL statement to batch: " + sql, e);
+		}
+	}
+
+	/**
+	 * Execute the prepared statement batch
+	 * 
+	 * @param statement
+	 *            prepared statement
+	 * @param sql
+	 *            sql statement
+	 * @return updated count
+	 * @since 6.6.2
+	 */
+	public static int executeBatch(PreparedStatement statement, String sql) {
+		int count = 0;
+		try {
+			int[] counts = statement.executeBatch();
+			for (int updated : counts) {
+				if (updated > 0) {
+					count += updated;
+				}
+			}
+		} catch (SQLException e) {
+			throw new GeoPackageException(
+					"Failed to execute SQL statement batch: " + sql, e);
+		}
+		return count;
+	}
+
 	/**
 	 * Set the prepared statement arguments
 	 * 
@@ -555,8 +789,8 @@ public class SQLUtils {
 	}
 
 	/**
-	 * Close the ResultSet Statement from which it was created, which closes all
-	 * ResultSets as well
+	 * Close the ResultSet and the Statement from which it was created,
+	 * releasing a cached Statement back to the statement cache
 	 * 
 	 * @param resultSet
 	 *            result set
@@ -567,7 +801,9 @@ public class SQLUtils {
 			String sql) {
 		if (resultSet != null) {
 			try {
-				resultSet.getStatement().close();
+				Statement statement = resultSet.getStatement();
+				resultSet.close();
+				releaseStatement(statement, sql);
 			} catch (SQLException e) {
 				log.log(Level.WARNING, "Failed to close SQL ResultSet: " + sql,
 						e);
@@ -1,9 +1,17 @@
 package mil.nga.geopackage.extension.coverage;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.locationtech.proj4j.CoordinateTransform;
+import org.locationtech.proj4j.ProjCoordinate;
 
 import mil.nga.geopackage.BoundingBox;
 import mil.nga.geopackage.GeoPackage;
@@ -21,6 +29,7 @@ import mil.nga.geopackage.tiles.user.TileRow;
 import mil.nga.geopackage.tiles.user.TileTable;
 import mil.nga.geopackage.tiles.user.TileTableMetadata;
 import mil.nga.proj.Projection;
+import mil.nga.proj.ProjectionTransform;
 import mil.nga.sf.proj.GeometryTransform;
 
 /**
@@ -169,6 +178,21 @@ public abstract class CoverageData<TImage extends CoverageDataImage>
 	 */
 	protected final TileDao tileDao;
 
+	/**
+	 * Decoded coverage data tile cache, null when not caching
+	 */
+	protected CoverageDataTileCache tileCache = null;
+
+	/**
+	 * Tile cache hit count of this coverage data
+	 */
+	private final LongAdder tileCacheHits = new LongAdder();
+
+	/**
+	 * Tile cache miss count of this coverage data
+	 */
+	private final LongAdder tileCacheMisses = new LongAdder();
+
 	/**
 	 * Constructor
 	 * 
@@ -243,6 +267,21 @@ public abstract class CoverageData<TImage extends CoverageDataImage>
 	public abstract Double[] getValues(GriddedTile griddedTile,
 			byte[] imageBytes);
 
+	/**
+	 * Get the coverage data values as a flat primitive array where each
+	 * coverage data value is at: (y * tileWidth) + x, {@link Double#NaN} for
+	 * no data
+	 *
+	 * @param griddedTile
+	 *            gridded tile
+	 * @param imageBytes
+	 *            image bytes
+	 * @return coverage data values
+	 * @since 6.6.2
+	 */
+	public abstract double[] getGridValues(GriddedTile griddedTile,
+			byte[] imageBytes);
+
 	/**
 	 * Draw a coverage data image tile and format as image bytes from the flat
 	 * array of coverage data values of length tileWidth * tileHeight where each
@@ -283,14 +322,322 @@ public abstract class CoverageData<TImage extends CoverageDataImage>
 		return tileDao;
 	}
 
+	/**
+	 * Is the decoded coverage data tile cache enabled
+	 *
+	 * @return true if caching decoded tiles
+	 * @since 6.6.2
+	 */
+	public boolean isTileCache() {
+		return tileCache != null;
+	}
+
+	/**
+	 * Get the decoded coverage data tile cache
+	 *
+	 * @return tile cache or null
+	 * @since 6.6.2
+	 */
+	public CoverageDataTileCache getTileCache() {
+		return tileCache;
+	}
+
+	/**
+	 * Set the decoded coverage data tile cache, which may be shared between
+	 * coverage data. Repeated requests over the same tiles decode each cached
+	 * tile once. Default is null, decoding tiles for each request.
+	 *
+	 * @param tileCache
+	 *            tile cache or null
+	 * @since 6.6.2
+	 */
+	public void setTileCache(CoverageDataTileCache tileCache) {
+		this.tileCache = tileCache;
+	}
+
+	/**
+	 * Set the decoded coverage data tile cache size, creating a tile cache if
+	 * needed. A size of 0 or less removes the tile cache.
+	 *
+	 * @param size
+	 *            max decoded tiles to retain in the cache
+	 * @since 6.6.2
+	 */
+	public void setTileCacheSize(int size) {
+		if (size <= 0) {
+			tileCache = null;
+		} else if (tileCache == null) {
+			tileCache = new CoverageDataTileCache(size);
+		} else {
+			tileCache.resize(size);
+		}
+	}
+
+	/**
+	 * Clear the cached decoded tiles of this coverage data table, such as after
+	 * writing tiles
+	 *
+	 * @since 6.6.2
+	 */
+	public void clearTileCache() {
+		if (tileCache != null) {
+			tileCache.clear(tileDao.getTableName());
+		}
+	}
+
+	/**
+	 * Get the number of decoded tiles retrieved from the tile cache by this
+	 * coverage data
+	 *
+	 * @return tile cache hit count
+	 * @since 6.6.2
+	 */
+	public long getTileCacheHitCount() {
+		return tileCacheHits.sum();
+	}
+
+	/**
+	 * Get the number of tiles decoded by this coverage data while the tile
+	 * cache was enabled
+	 *
+	 * @return tile cache miss count
+	 * @since 6.6.2
+	 */
+	public long getTileCacheMissCount() {
+		return tileCacheMisses.sum();
+	}
+
+	/**
+	 * Reset the tile cache hit and miss counts of this coverage data
+	 *
+	 * @since 6.6.2
+	 */
+	public void resetTileCacheStats() {
+		tileCacheHits.reset();
+		tileCacheMisses.reset();
+	}
+
+	/**
+	 * Get the coverage data image of the tile row from the tile cache, or
+	 * create and cache the image
+	 *
+	 * @param tileRow
+	 *            tile row
+	 * @return image
+	 * @since 6.6.2
+	 */
+	public TImage getImage(TileRow tileRow) {
+		return getImage(tileRow, tileCache);
+	}
+
+	/**
+	 * Get the coverage data image of the tile row from the tile cache, or
+	 * create and cache the image
+	 *
+	 * @param tileRow
+	 *            tile row
+	 * @param cache
+	 *            tile cache or null
+	 * @return image
+	 */
+	@SuppressWarnings("unchecked")
+	private TImage getImage(TileRow tileRow, CoverageDataTileCache cache) {
+		TImage image = null;
+		if (cache != null) {
+			String tableName = tileDao.getTableName();
+			image = (TImage) cache.get(tableName, tileRow);
+			boolean hit = image != null;
+			if (!hit) {
+				image = createImage(tileRow);
+				cache.put(tableName, tileRow, image);
+			}
+			if (cache == tileCache) {
+				if (hit) {
+					tileCacheHits.increment();
+				} else {
+					tileCacheMisses.increment();
+				}
+			}
+		} else {
+			image = createImage(tileRow);
+		}
+		return image;
+	}
+
+	/**
+	 * Get the coverage data image of the tile row, decoding each tile once
+	 * into the batch images when provided. Batch images bypass the tile cache
+	 * and its tile data checksum validation.
+	 *
+	 * @param tileRow
+	 *            tile row
+	 * @param cache
+	 *            tile cache or null
+	 * @param images
+	 *            batch images by tile id, or null to use the tile cache
+	 * @return image
+	 */
+	private TImage getImage(TileRow tileRow, CoverageDataTileCache cache,
+			Map<Long, TImage> images) {
+		TImage image = null;
+		if (images != null) {
+			long tileId = tileRow.getId();
+			image = images.get(tileId);
+			if (image == null) {
+				image = createImage(tileRow);
+				images.put(tileId, image);
+			}
+		} else {
+			image = getImage(tileRow, cache);
+		}
+		return image;
+	}
+
+	/**
+	 * Get the gridded tile of the tile row, reusing previously queried gridded
+	 * tiles when provided
+	 *
+	 * @param tileRow
+	 *            tile row
+	 * @param griddedTiles
+	 *            gridded tiles by tile id, or null to query
+	 * @return gridded tile
+	 */
+	private GriddedTile getGriddedTile(TileRow tileRow,
+			Map<Long, GriddedTile> griddedTiles) {
+		GriddedTile griddedTile = null;
+		long tileId = tileRow.getId();
+		if (griddedTiles != null) {
+			griddedTile = griddedTiles.get(tileId);
+			if (griddedTile == null && !griddedTiles.containsKey(tileId)) {
+				griddedTile = getGriddedTile(tileId);
+				griddedTiles.put(tileId, griddedTile);
+			}
+		} else {
+			griddedTile = getGriddedTile(tileId);
+		}
+		return griddedTile;
+	}
+
+	/**
+	 * Get the coverage data value at the coordinate as a primitive value
+	 *
+	 * @param griddedTile
+	 *            gridded tile
+	 * @param pixelValue
+	 *            pixel value, unsigned for integer coverage data
+	 * @return coverage data value, {@link Double#NaN} for no data
+	 * @since 6.6.2
+	 */
+	public double getGridValue(GriddedTile griddedTile, double pixelValue) {
+		double value = Double.NaN;
+		if (!isDataNull(pixelValue)) {
+			value = pixelValue;
+			GriddedCoverage griddedCoverage = getGriddedCoverage();
+			if (griddedCoverage != null && griddedCoverage
+					.getDataType() == GriddedCoverageDataType.INTEGER) {
+				if (griddedTile != null) {
+					value = (value * griddedTile.getScale())
+							+ griddedTile.getOffset();
+				}
+				value = (value * griddedCoverage.getScale())
+						+ griddedCoverage.getOffset();
+			}
+		}
+		return value;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	public CoverageDataResults getValues(CoverageDataRequest request,
 			Integer width, Integer height) {
+		CoverageDataResults coverageDataResults = null;
+		CoverageDataGridResults gridResults = getGridValues(request, width,
+				height);
+		if (gridResults != null) {
+			coverageDataResults = gridResults.toResults();
+		}
+		return coverageDataResults;
+	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public CoverageDataResults getValuesUnbounded(CoverageDataRequest request) {
 		CoverageDataResults coverageDataResults = null;
+		CoverageDataGridResults gridResults = getGridValuesUnbounded(request);
+		if (gridResults != null) {
+			coverageDataResults = gridResults.toResults();
+		}
+		return coverageDataResults;
+	}
+
+	/**
+	 * Get the coverage data values within the bounding box as a primitive grid
+	 * using the default width and height
+	 *
+	 * @param requestBoundingBox
+	 *            request bounding box in the request projection
+	 * @return coverage data grid results or null
+	 * @since 6.6.2
+	 */
+	public CoverageDataGridResults getGridValues(
+			BoundingBox requestBoundingBox) {
+		return getGridValues(new CoverageDataRequest(requestBoundingBox));
+	}
+
+	/**
+	 * Get the coverage data values within the bounding box with the requested
+	 * width and height result size as a primitive grid
+	 *
+	 * @param requestBoundingBox
+	 *            request bounding box in the request projection
+	 * @param width
+	 *            coverage data request width
+	 * @param height
+	 *            coverage data request height
+	 * @return coverage data grid results or null
+	 * @since 6.6.2
+	 */
+	public CoverageDataGridResults getGridValues(
+			BoundingBox requestBoundingBox, Integer width, Integer height) {
+		return getGridValues(new CoverageDataRequest(requestBoundingBox),
+				width, height);
+	}
+
+	/**
+	 * Get the requested coverage data values as a primitive grid using the
+	 * default width and height
+	 *
+	 * @param request
+	 *            coverage data request
+	 * @return coverage data grid results or null
+	 * @since 6.6.2
+	 */
+	public CoverageDataGridResults getGridValues(CoverageDataRequest request) {
+		return getGridValues(request, width, height);
+	}
+
+	/**
+	 * Get the requested coverage data values with the requested width and
+	 * height as a primitive grid
+	 *
+	 * @param request
+	 *            coverage data request
+	 * @param width
+	 *            coverage data request width
+	 * @param height
+	 *            coverage data request height
+	 * @return coverage data grid results or null
+	 * @since 6.6.2
+	 */
+	public CoverageDataGridResults getGridValues(CoverageDataRequest request,
+			Integer width, Integer height) {
+
+		CoverageDataGridResults gridResults = null;
 
 		// Transform to the projection of the coverage data tiles
 		GeometryTransform transformRequestToCoverage = null;
@@ -305,14 +652,7 @@ public abstract class CoverageData<TImage extends CoverageDataImage>
 
 		// Determine how many overlapping pixels to store based upon the
 		// algorithm
-		int overlappingPixels;
-		switch (algorithm) {
-		case BICUBIC:
-			overlappingPixels = 3;
-			break;
-		default:
-			overlappingPixels = 1;
-		}
+		int overlappingPixels = getOverlappingPixels();
 
 		// Find the tile matrix and results
 		CoverageDataTileMatrixResults results = getResults(request,
@@ -355,39 +695,65 @@ public abstract class CoverageData<TImage extends CoverageDataImage>
 				}
 
 				// Retrieve the coverage data from the results
-				Double[][] values = getValues(tileMatrix, tileResults, request,
-						tileWidth, tileHeight, overlappingPixels);
-
-				// Project the coverage data if needed
-				if (values != null && !sameProjection && !request.isPoint()) {
-					values = reprojectCoverageData(values,
-							requestedCoverageDataWidth,
-							requestedCoverageDataHeight,
-							request.getBoundingBox(),
-							transformRequestToCoverage,
-							requestProjectedBoundingBox);
-				}
+				double[] values = getValues(tileMatrix, tileResults, request,
+						tileWidth, tileHeight, overlappingPixels, tileCache,
+						null, null);
 
-				// Create the results
+				// Create the results, projecting the coverage data if needed
 				if (values != null) {
-					coverageDataResults = new CoverageDataResults(values,
-							tileMatrix);
+					if (!sameProjection && !request.isPoint()) {
+						values = reprojectCoverageData(values, tileWidth,
+								tileHeight, requestedCoverageDataWidth,
+								requestedCoverageDataHeight,
+								request.getBoundingBox(),
+								transformRequestToCoverage,
+								requestProjectedBoundingBox);
+						tileWidth = requestedCoverageDataWidth;
+						tileHeight = requestedCoverageDataHeight;
+					}
+					gridResults = new CoverageDataGridResults(values,
+							tileWidth, tileHeight, tileMatrix);
 				}
 			} finally {
 				tileResults.close();
 			}
 		}
 
-		return coverageDataResults;
+		return gridResults;
 	}
 
 	/**
-	 * {@inheritDoc}
+	 * Get the unbounded coverage data values within the bounding box as a
+	 * primitive grid. Unbounded results retrieves and returns each coverage
+	 * data pixel. The size of the returned values depends on the number of
+	 * pixels covering the bounding box at the zoom level.
+	 *
+	 * @param requestBoundingBox
+	 *            request bounding box in the request projection
+	 * @return coverage data grid results or null
+	 * @since 6.6.2
 	 */
-	@Override
-	public CoverageDataResults getValuesUnbounded(CoverageDataRequest request) {
+	public CoverageDataGridResults getGridValuesUnbounded(
+			BoundingBox requestBoundingBox) {
+		return getGridValuesUnbounded(
+				new CoverageDataRequest(requestBoundingBox));
+	}
 
-		CoverageDataResults coverageDataResults = null;
+	/**
+	 * Get the requested unbounded coverage data values as a primitive grid.
+	 * Unbounded results retrieves and returns each coverage data pixel. The
+	 * size of the returned values depends on the number of pixels covering the
+	 * request bounding box at the zoom level.
+	 *
+	 * @param request
+	 *            coverage data request
+	 * @return coverage data grid results or null
+	 * @since 6.6.2
+	 */
+	public CoverageDataGridResults getGridValuesUnbounded(
+			CoverageDataRequest request) {
+
+		CoverageDataGridResults gridResults = null;
 
 		// Transform to the projection of the coverage data tiles
 		GeometryTransform transformRequestToCoverage = null;
@@ -412,21 +778,21 @@ public abstract class CoverageData<TImage extends CoverageDataImage>
 			try {
 
 				// Retrieve the coverage data from the results
-				Double[][] values = getValuesUnbounded(tileMatrix, tileResults,
+				gridResults = getValuesUnbounded(tileMatrix, tileResults,
 						request);
 
 				// Project the coverage data if needed
-				if (values != null && !sameProjection && !request.isPoint()) {
-					values = reprojectCoverageData(values, values[0].length,
-							values.length, request.getBoundingBox(),
+				if (gridResults != null && !sameProjection
+						&& !request.isPoint()) {
+					int gridWidth = gridResults.getWidth();
+					int gridHeight = gridResults.getHeight();
+					double[] values = reprojectCoverageData(
+							gridResults.getValues(), gridWidth, gridHeight,
+							gridWidth, gridHeight, request.getBoundingBox(),
 							transformRequestToCoverage,
 							requestProjectedBoundingBox);
-				}
-
-				// Create the results
-				if (values != null) {
-					coverageDataResults = new CoverageDataResults(values,
-							tileMatrix);
+					gridResults = new CoverageDataGridResults(values,
+							gridWidth, gridHeight, tileMatrix);
 				}
 
 			} finally {
@@ -434,7 +800,174 @@ public abstract class CoverageData<TImage extends CoverageDataImage>
 			}
 		}
 
-		return coverageDataResults;
+		return gridResults;
+	}
+
+	/**
+	 * Get the coverage data values of the points. Points are grouped by the
+	 * coverage data tiles needed to interpolate their values. Each tile row
+	 * is queried and decoded once per call, without the tile cache and its
+	 * tile data checksum validation. Points without tiles at the tile matrix
+	 * of the points are individually queried by zooming in or out.
+	 *
+	 * @param latitudes
+	 *            point latitudes in the request projection
+	 * @param longitudes
+	 *            point longitudes in the request projection
+	 * @return coverage data values, {@link Double#NaN} for points without a
+	 *         value
+	 * @since 6.6.2
+	 */
+	public double[] getValues(double[] latitudes, double[] longitudes) {
+
+		if (latitudes.length != longitudes.length) {
+			throw new GeoPackageException(
+					"Latitude and longitude counts do not match. Latitudes: "
+							+ latitudes.length + ", Longitudes: "
+							+ longitudes.length);
+		}
+
+		double[] values = new double[latitudes.length];
+		Arrays.fill(values, Double.NaN);
+
+		// Transform to the projection of the coverage data tiles
+		GeometryTransform transformRequestToCoverage = null;
+		if (!sameProjection) {
+			transformRequestToCoverage = GeometryTransform
+					.create(requestProjection, coverageProjection);
+		}
+
+		int overlappingPixels = getOverlappingPixels();
+
+		// Group the point requests by zoom level and the tile grid of tiles
+		// needed for their values
+		CoverageDataRequest[] requests = new CoverageDataRequest[values.length];
+		Map<Long, Map<TileGrid, List<Integer>>> zoomGroups = new TreeMap<>();
+		for (int i = 0; i < latitudes.length; i++) {
+
+			CoverageDataRequest request = new CoverageDataRequest(latitudes[i],
+					longitudes[i]);
+			BoundingBox requestProjectedBoundingBox = request.getBoundingBox();
+			if (transformRequestToCoverage != null) {
+				requestProjectedBoundingBox = requestProjectedBoundingBox
+						.transform(transformRequestToCoverage);
+			}
+			request.setProjectedBoundingBox(requestProjectedBoundingBox);
+
+			TileMatrix tileMatrix = getTileMatrix(request);
+			if (tileMatrix != null) {
+				requests[i] = request;
+				BoundingBox paddedBoundingBox = padBoundingBox(tileMatrix,
+						requestProjectedBoundingBox, overlappingPixels);
+				TileGrid tileGrid = TileBoundingBoxUtils.getTileGrid(
+						coverageBoundingBox, tileMatrix.getMatrixWidth(),
+						tileMatrix.getMatrixHeight(), paddedBoundingBox);
+				Map<TileGrid, List<Integer>> groups = zoomGroups
+						.get(tileMatrix.getZoomLevel());
+				if (groups == null) {
+					groups = new LinkedHashMap<>();
+					zoomGroups.put(tileMatrix.getZoomLevel(), groups);
+				}
+				List<Integer> points = groups.get(tileGrid);
+				if (points == null) {
+					points = new ArrayList<>();
+					groups.put(tileGrid, points);
+				}
+				points.add(i);
+			}
+		}
+
+		// Query and decode each tile once per zoom level
+		Map<Long, GriddedTile> griddedTiles = new HashMap<>();
+
+		for (long zoomLevel : zoomGroups.keySet()) {
+
+			TileMatrix tileMatrix = tileDao.getTileMatrix(zoomLevel);
+			Map<Long, TileRow> tileRowsByCell = new HashMap<>();
+			Map<Long, TImage> images = new HashMap<>();
+
+			for (Map.Entry<TileGrid, List<Integer>> group : zoomGroups
+					.get(zoomLevel).entrySet()) {
+
+				List<TileRow> tileRows = getTileRows(group.getKey(),
+						tileMatrix, tileRowsByCell);
+
+				for (int i : group.getValue()) {
+					double value = Double.NaN;
+					if (!tileRows.isEmpty()) {
+						double[] pointValues = getValues(tileMatrix, tileRows,
+								requests[i], 1, 1, overlappingPixels, null,
+								griddedTiles, images);
+						if (pointValues != null) {
+							value = pointValues[0];
+						}
+					} else {
+						Double pointValue = getValue(latitudes[i],
+								longitudes[i]);
+						if (pointValue != null) {
+							value = pointValue;
+						}
+					}
+					values[i] = value;
+				}
+			}
+		}
+
+		return values;
+	}
+
+	/**
+	 * Get the tile rows in the tile grid, ordered by row and then column.
+	 * Tiles are queried once and retained by cell for tile grids sharing
+	 * tiles.
+	 *
+	 * @param tileGrid
+	 *            tile grid
+	 * @param tileMatrix
+	 *            tile matrix
+	 * @param tileRowsByCell
+	 *            queried tile rows by cell, null for cells without a tile
+	 * @return tile rows
+	 */
+	private List<TileRow> getTileRows(TileGrid tileGrid,
+			TileMatrix tileMatrix, Map<Long, TileRow> tileRowsByCell) {
+		List<TileRow> tileRows = new ArrayList<>();
+		long matrixWidth = tileMatrix.getMatrixWidth();
+		for (long row = tileGrid.getMinY(); row <= tileGrid
+				.getMaxY(); row++) {
+			for (long column = tileGrid.getMinX(); column <= tileGrid
+					.getMaxX(); column++) {
+				long cell = row * matrixWidth + column;
+				TileRow tileRow = tileRowsByCell.get(cell);
+				if (tileRow == null && !tileRowsByCell.containsKey(cell)) {
+					tileRow = tileDao.queryForTile(column, row,
+							tileMatrix.getZoomLevel());
+					tileRowsByCell.put(cell, tileRow);
+				}
+				if (tileRow != null) {
+					tileRows.add(tileRow);
+				}
+			}
+		}
+		return tileRows;
+	}
+
+	/**
+	 * Get the number of overlapping pixels needed by the interpolation
+	 * algorithm
+	 *
+	 * @return overlapping pixels
+	 */
+	private int getOverlappingPixels() {
+		int overlappingPixels;
+		switch (algorithm) {
+		case BICUBIC:
+			overlappingPixels = 3;
+			break;
+		default:
+			overlappingPixels = 1;
+		}
+		return overlappingPixels;
 	}
 
 	/**
@@ -614,8 +1147,8 @@ public abstract class CoverageData<TImage extends CoverageDataImage>
 	 * 
 	 * @param tileMatrix
 	 *            tile matrix
-	 * @param tileResults
-	 *            tile results
+	 * @param tileRows
+	 *            tile rows ordered by row and then column
 	 * @param request
 	 *            coverage data request
 	 * @param tileWidth
@@ -624,13 +1157,22 @@ public abstract class CoverageData<TImage extends CoverageDataImage>
 	 *            tile height
 	 * @param overlappingPixels
 	 *            overlapping request pixels
-	 * @return coverage data values
+	 * @param cache
+	 *            tile cache or null
+	 * @param griddedTiles
+	 *            gridded tiles by tile id to reuse, or null to query
+	 * @param images
+	 *            decoded images by tile id to reuse, or null to use the cache
+	 * @return coverage data values of length tileWidth * tileHeight,
+	 *         {@link Double#NaN} for no data
 	 */
-	private Double[][] getValues(TileMatrix tileMatrix,
-			TileResultSet tileResults, CoverageDataRequest request,
-			int tileWidth, int tileHeight, int overlappingPixels) {
+	private double[] getValues(TileMatrix tileMatrix,
+			Iterable<TileRow> tileRows, CoverageDataRequest request,
+			int tileWidth, int tileHeight, int overlappingPixels,
+			CoverageDataTileCache cache, Map<Long, GriddedTile> griddedTiles,
+			Map<Long, TImage> images) {
 
-		Double[][] values = null;
+		double[] values = null;
 
 		// Tiles are ordered by rows and then columns. Track the last column
 		// coverage data of the tile to the left and the last rows of the tiles
@@ -643,10 +1185,7 @@ public abstract class CoverageData<TImage extends CoverageDataImage>
 		long previousColumn = Long.MAX_VALUE;
 
 		// Process each coverage data tile
-		while (tileResults.moveToNext()) {
-
-			// Get the next coverage data tile
-			TileRow tileRow = tileResults.getRow();
+		for (TileRow tileRow : tileRows) {
 
 			long currentRow = tileRow.getTileRow();
 			long currentColumn = tileRow.getTileColumn();
@@ -684,10 +1223,10 @@ public abstract class CoverageData<TImage extends CoverageDataImage>
 			BoundingBox overlap = request.overlap(tileBoundingBox);
 
 			// Get the gridded tile value for the tile
-			GriddedTile griddedTile = getGriddedTile(tileRow.getId());
+			GriddedTile griddedTile = getGriddedTile(tileRow, griddedTiles);
 
 			// Get the coverage data tile image
-			TImage image = createImage(tileRow);
+			TImage image = getImage(tileRow, cache, images);
 
 			// If the tile overlaps with the requested box
 			if (overlap != null) {
@@ -721,7 +1260,8 @@ public abstract class CoverageData<TImage extends CoverageDataImage>
 
 					// Create the coverage data array first time through
 					if (values == null) {
-						values = new Double[tileHeight][tileWidth];
+						values = new double[tileHeight * tileWidth];
+						Arrays.fill(values, Double.NaN);
 					}
 
 					// Get the destination widths
@@ -776,7 +1316,8 @@ public abstract class CoverageData<TImage extends CoverageDataImage>
 					for (int y = minDestY; y <= maxDestY; y++) {
 						for (int x = minDestX; x <= maxDestX; x++) {
 
-							if (values[y][x] == null) {
+							int index = (y * tileWidth) + x;
+							if (Double.isNaN(values[index])) {
 
 								// Determine the coverage data based upon the
 								// selected algorithm
@@ -813,7 +1354,7 @@ public abstract class CoverageData<TImage extends CoverageDataImage>
 								}
 
 								if (value != null) {
-									values[y][x] = value;
+									values[index] = value;
 								}
 
 							}
@@ -873,13 +1414,13 @@ public abstract class CoverageData<TImage extends CoverageDataImage>
 	 *            tile results
 	 * @param request
 	 *            coverage data request
-	 * @return coverage data values
+	 * @return coverage data grid results or null
 	 */
-	private Double[][] getValuesUnbounded(TileMatrix tileMatrix,
+	private CoverageDataGridResults getValuesUnbounded(TileMatrix tileMatrix,
 			TileResultSet tileResults, CoverageDataRequest request) {
 
 		// Build a map of rows to maps of columns and values
-		Map<Long, Map<Long, Double[][]>> rowsMap = new TreeMap<>();
+		Map<Long, Map<Long, double[][]>> rowsMap = new TreeMap<>();
 
 		// Track the min and max row and column
 		Long minRow = null;
@@ -930,17 +1471,17 @@ public abstract class CoverageData<TImage extends CoverageDataImage>
 					GriddedTile griddedTile = getGriddedTile(tileRow.getId());
 
 					// Get the coverage data tile image
-					TImage image = createImage(tileRow);
+					TImage image = getImage(tileRow);
 
 					// Create the coverage data results for this tile
-					Double[][] values = new Double[srcBottom - srcTop
+					double[][] values = new double[srcBottom - srcTop
 							+ 1][srcRight - srcLeft + 1];
 
 					// Get or add the columns map to the rows map
-					Map<Long, Double[][]> columnsMap = rowsMap
+					Map<Long, double[][]> columnsMap = rowsMap
 							.get(tileRow.getTileRow());
 					if (columnsMap == null) {
-						columnsMap = new TreeMap<Long, Double[][]>();
+						columnsMap = new TreeMap<Long, double[][]>();
 						rowsMap.put(tileRow.getTileRow(), columnsMap);
 					}
 
@@ -952,7 +1493,9 @@ public abstract class CoverageData<TImage extends CoverageDataImage>
 							// Get the coverage data value from the source pixel
 							Double value = getValue(griddedTile, image, x, y);
 
-							values[y - srcTop][x - srcLeft] = value;
+							values[y - srcTop][x - srcLeft] = value != null
+									? value
+									: Double.NaN;
 						}
 					}
 
@@ -976,10 +1519,182 @@ public abstract class CoverageData<TImage extends CoverageDataImage>
 		}
 
 		// Handle formatting the results
-		Double[][] values = formatUnboundedResults(tileMatrix, rowsMap,
-				tileCount, minRow, maxRow, minColumn, maxColumn);
+		CoverageDataGridResults gridResults = null;
+		if (tileCount > 0) {
+			gridResults = formatUnboundedResults(tileMatrix, rowsMap, minRow,
+					maxRow, minColumn, maxColumn);
+		}
 
-		return values;
+		return gridResults;
+	}
+
+	/**
+	 * Format the unbounded results from coverage data tiles into a single
+	 * primitive grid
+	 *
+	 * @param tileMatrix
+	 *            tile matrix
+	 * @param rowsMap
+	 *            rows map of columns maps of coverage data values
+	 * @param minRow
+	 *            min row
+	 * @param maxRow
+	 *            max row
+	 * @param minColumn
+	 *            min column
+	 * @param maxColumn
+	 *            max column
+	 * @return coverage data grid results
+	 */
+	private CoverageDataGridResults formatUnboundedResults(
+			TileMatrix tileMatrix, Map<Long, Map<Long, double[][]>> rowsMap,
+			long minRow, long maxRow, long minColumn, long maxColumn) {
+
+		// Get the top left and bottom right tile values
+		double[][] topLeft = rowsMap.get(minRow).get(minColumn);
+		double[][] bottomRight = rowsMap.get(maxRow).get(maxColumn);
+
+		// Determine the width and height of the top left values
+		int firstWidth = topLeft[0].length;
+		int firstHeight = topLeft.length;
+
+		// Determine the final result width and height
+		int width = firstWidth;
+		int height = firstHeight;
+		if (minColumn < maxColumn) {
+			width += bottomRight[0].length;
+			long middleColumns = maxColumn - minColumn - 1;
+			if (middleColumns > 0) {
+				width += middleColumns * tileMatrix.getTileWidth();
+			}
+		}
+		if (minRow < maxRow) {
+			height += bottomRight.length;
+			long middleRows = maxRow - minRow - 1;
+			if (middleRows > 0) {
+				height += middleRows * tileMatrix.getTileHeight();
+			}
+		}
+
+		// Create the coverage data result array
+		double[] values = new double[height * width];
+		Arrays.fill(values, Double.NaN);
+
+		// Copy the coverage data values from each tile results into the final
+		// grid
+		for (Map.Entry<Long, Map<Long, double[][]>> rows : rowsMap
+				.entrySet()) {
+
+			// Determine the starting base row for this tile
+			long row = rows.getKey();
+			int baseRow = 0;
+			if (minRow < row) {
+				baseRow = firstHeight + (int) ((row - minRow - 1)
+						* tileMatrix.getTileHeight());
+			}
+
+			// Get the row's columns map
+			for (Map.Entry<Long, double[][]> columns : rows.getValue()
+					.entrySet()) {
+
+				// Determine the starting base column for this tile
+				long column = columns.getKey();
+				int baseColumn = 0;
+				if (minColumn < column) {
+					baseColumn = firstWidth + (int) ((column - minColumn - 1)
+							* tileMatrix.getTileWidth());
+				}
+
+				// Get the tiles coverage data values
+				double[][] tileValues = columns.getValue();
+
+				// Copy the columns from each row into the results
+				for (int y = 0; y < tileValues.length; y++) {
+					System.arraycopy(tileValues[y], 0, values,
+							((baseRow + y) * width) + baseColumn,
+							tileValues[y].length);
+				}
+			}
+		}
+
+		return new CoverageDataGridResults(values, width, height, tileMatrix);
+	}
+
+	/**
+	 * Reproject the coverage data grid to the requested projection
+	 *
+	 * @param values
+	 *            coverage data values of length valuesWidth * valuesHeight
+	 * @param valuesWidth
+	 *            coverage data values width
+	 * @param valuesHeight
+	 *            coverage data values height
+	 * @param requestedCoverageDataWidth
+	 *            requested coverage data width
+	 * @param requestedCoverageDataHeight
+	 *            requested coverage data height
+	 * @param requestBoundingBox
+	 *            request bounding box in the request projection
+	 * @param transformRequestToCoverage
+	 *            transformation from request to coverage data
+	 * @param coverageBoundingBox
+	 *            coverage data bounding box
+	 * @return projected coverage data values
+	 */
+	private double[] reprojectCoverageData(double[] values, int valuesWidth,
+			int valuesHeight, int requestedCoverageDataWidth,
+			int requestedCoverageDataHeight, BoundingBox requestBoundingBox,
+			ProjectionTransform transformRequestToCoverage,
+			BoundingBox coverageBoundingBox) {
+
+		final double requestedWidthUnitsPerPixel = requestBoundingBox
+				.getLongitudeRange() / requestedCoverageDataWidth;
+		final double requestedHeightUnitsPerPixel = requestBoundingBox
+				.getLatitudeRange() / requestedCoverageDataHeight;
+
+		final double tilesDistanceWidth = coverageBoundingBox
+				.getLongitudeRange();
+		final double tilesDistanceHeight = coverageBoundingBox
+				.getLatitudeRange();
+
+		// Reuse the coordinates between transformations
+		CoordinateTransform transform = transformRequestToCoverage
+				.getTransform();
+		ProjCoordinate fromCoord = new ProjCoordinate();
+		ProjCoordinate toCoord = new ProjCoordinate();
+
+		double[] projectedValues = new double[requestedCoverageDataHeight
+				* requestedCoverageDataWidth];
+
+		// Retrieve each coverage data value in the unprojected coverage data
+		for (int y = 0; y < requestedCoverageDataHeight; y++) {
+			for (int x = 0; x < requestedCoverageDataWidth; x++) {
+
+				fromCoord.x = requestBoundingBox.getMinLongitude()
+						+ (x * requestedWidthUnitsPerPixel);
+				fromCoord.y = requestBoundingBox.getMaxLatitude()
+						- (y * requestedHeightUnitsPerPixel);
+				transform.transform(fromCoord, toCoord);
+
+				int xPixel = (int) Math.round(((toCoord.x
+						- coverageBoundingBox.getMinLongitude())
+						/ tilesDistanceWidth) * valuesWidth);
+				int yPixel = (int) Math.round(
+						((coverageBoundingBox.getMaxLatitude() - toCoord.y)
+								/ tilesDistanceHeight) * valuesHeight);
+
+				xPixel = Math.max(0, xPixel);
+				xPixel = Math.min(valuesWidth - 1, xPixel);
+
+				yPixel = Math.max(0, yPixel);
+				yPixel = Math.min(valuesHeight - 1, yPixel);
+
+				projectedValues[(y * requestedCoverageDataWidth)
+						+ x] = values[(yPixel * valuesWidth) + xPixel];
+			}
+		}
+
+		return projectedValues;
 	}
 
 	/**
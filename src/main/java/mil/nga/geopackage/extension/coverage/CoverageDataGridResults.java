@@ -0,0 +1,170 @@
+package mil.nga.geopackage.extension.coverage;
+
+import mil.nga.geopackage.tiles.matrix.TileMatrix;
+
+/**
+ * Coverage Data Grid Results containing the coverage data values in a flat
+ * primitive array of length width * height where each coverage data value is
+ * at: (y * width) + x. Pixels without a coverage data value are
+ * {@link Double#NaN}.
+ *
+ * @author osbornb
+ * @since 6.6.2
+ */
+public class CoverageDataGridResults {
+
+	/**
+	 * Coverage data values, {@link Double#NaN} for no data
+	 */
+	private final double[] values;
+
+	/**
+	 * Grid width
+	 */
+	private final int width;
+
+	/**
+	 * Grid height
+	 */
+	private final int height;
+
+	/**
+	 * Tile matrix used to read the coverage data
+	 */
+	private final TileMatrix tileMatrix;
+
+	/**
+	 * Constructor
+	 *
+	 * @param values
+	 *            coverage data values of length width * height
+	 * @param width
+	 *            grid width
+	 * @param height
+	 *            grid height
+	 * @param tileMatrix
+	 *            tile matrix
+	 */
+	public CoverageDataGridResults(double[] values, int width, int height,
+			TileMatrix tileMatrix) {
+		this.values = values;
+		this.width = width;
+		this.height = height;
+		this.tileMatrix = tileMatrix;
+	}
+
+	/**
+	 * Get the coverage data values of length width * height where each value
+	 * is at: (y * width) + x
+	 *
+	 * @return coverage data values
+	 */
+	public double[] getValues() {
+		return values;
+	}
+
+	/**
+	 * Get the coverage data values as floats, {@link Float#NaN} for no data
+	 *
+	 * @return float coverage data values
+	 */
+	public float[] getFloatValues() {
+		float[] floatValues = new float[values.length];
+		for (int i = 0; i < values.length; i++) {
+			floatValues[i] = (float) values[i];
+		}
+		return floatValues;
+	}
+
+	/**
+	 * Get the tile matrix
+	 *
+	 * @return tile matrix
+	 */
+	public TileMatrix getTileMatrix() {
+		return tileMatrix;
+	}
+
+	/**
+	 * Get the grid width
+	 *
+	 * @return width
+	 */
+	public int getWidth() {
+		return width;
+	}
+
+	/**
+	 * Get the grid height
+	 *
+	 * @return height
+	 */
+	public int getHeight() {
+		return height;
+	}
+
+	/**
+	 * Get the coverage data value at the coordinate
+	 *
+	 * @param x
+	 *            x coordinate
+	 * @param y
+	 *            y coordinate
+	 * @return coverage data value, {@link Double#NaN} for no data
+	 */
+	public double getValue(int x, int y) {
+		return values[(y * width) + x];
+	}
+
+	/**
+	 * Determine if there is a coverage data value at the coordinate
+	 *
+	 * @param x
+	 *            x coordinate
+	 * @param y
+	 *            y coordinate
+	 * @return true if a value
+	 */
+	public boolean hasValue(int x, int y) {
+		return !Double.isNaN(getValue(x, y));
+	}
+
+	/**
+	 * Get the zoom level of the results
+	 *
+	 * @return zoom level
+	 */
+	public long getZoomLevel() {
+		return tileMatrix.getZoomLevel();
+	}
+
+	/**
+	 * Get the coverage data values as a boxed double array formatted as
+	 * Double[row][width], null for no data
+	 *
+	 * @return coverage data values
+	 */
+	public Double[][] getBoxedValues() {
+		Double[][] boxedValues = new Double[height][width];
+		for (int y = 0; y < height; y++) {
+			int row = y * width;
+			for (int x = 0; x < width; x++) {
+				double value = values[row + x];
+				if (!Double.isNaN(value)) {
+					boxedValues[y][x] = value;
+				}
+			}
+		}
+		return boxedValues;
+	}
+
+	/**
+	 * Create coverage data results with boxed values
+	 *
+	 * @return coverage data results
+	 */
+	public CoverageDataResults toResults() {
+		return new CoverageDataResults(getBoxedValues(), tileMatrix);
+	}
+
+}
@@ -354,6 +354,61 @@ public class CoverageDataPng extends CoverageData<CoverageDataPngImage> {
 		return values;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public double[] getGridValues(GriddedTile griddedTile, byte[] imageBytes) {
+		BufferedImage image;
+		try {
+			image = ImageUtils.getImage(imageBytes);
+		} catch (IOException e) {
+			throw new GeoPackageException(
+					"Failed to create an image from image bytes", e);
+		}
+		double[] values = getGridValues(griddedTile, image);
+		return values;
+	}
+
+	/**
+	 * Get the coverage data values as a flat primitive array,
+	 * {@link Double#NaN} for no data
+	 * 
+	 * @param griddedTile
+	 *            gridded tile
+	 * @param image
+	 *            tile image
+	 * @return coverage data values
+	 * @since 6.6.2
+	 */
+	public double[] getGridValues(GriddedTile griddedTile,
+			BufferedImage image) {
+		validateImageType(image);
+		double[] values = getGridValues(griddedTile, image.getRaster());
+		return values;
+	}
+
+	/**
+	 * Get the coverage data values as a flat primitive array,
+	 * {@link Double#NaN} for no data
+	 * 
+	 * @param griddedTile
+	 *            gridded tile
+	 * @param raster
+	 *            raster image
+	 * @return coverage data values
+	 * @since 6.6.2
+	 */
+	public double[] getGridValues(GriddedTile griddedTile,
+			WritableRaster raster) {
+		int[] pixelValues = getUnsignedPixelValues(raster);
+		double[] values = new double[pixelValues.length];
+		for (int i = 0; i < pixelValues.length; i++) {
+			values[i] = getGridValue(griddedTile, pixelValues[i]);
+		}
+		return values;
+	}
+
 	/**
 	 * Draw a coverage data image tile from the flat array of "unsigned short"
 	 * pixel values of length tileWidth * tileHeight where each pixel is at: (y
@@ -213,6 +213,19 @@ public class CoverageDataTiff extends CoverageData<CoverageDataTiffImage> {
 		return values;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public double[] getGridValues(GriddedTile griddedTile, byte[] imageBytes) {
+		float[] pixelValues = getPixelValues(imageBytes);
+		double[] values = new double[pixelValues.length];
+		for (int i = 0; i < pixelValues.length; i++) {
+			values[i] = getGridValue(griddedTile, pixelValues[i]);
+		}
+		return values;
+	}
+
 	/**
 	 * Draw a coverage data image tile from the flat array of float pixel values
 	 * of length tileWidth * tileHeight where each pixel is at: (y * tileWidth)
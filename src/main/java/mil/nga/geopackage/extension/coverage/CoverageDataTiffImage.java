@@ -39,9 +39,9 @@ public class CoverageDataTiffImage implements CoverageDataImage {
 	private FileDirectory directory;
 
 	/**
-	 * Rasters
+	 * Rasters, volatile as cached images may be read by multiple threads
 	 */
-	private Rasters rasters;
+	private volatile Rasters rasters;
 
 	/**
 	 * Constructor, used for reading a TIFF
@@ -158,10 +158,11 @@ public class CoverageDataTiffImage implements CoverageDataImage {
 	}
 
 	/**
-	 * Read all the pixels from the image
+	 * Read all the pixels from the image, synchronized so a cached image
+	 * shared between threads is only read once
 	 */
-	private void readPixels() {
-		if (directory != null) {
+	private synchronized void readPixels() {
+		if (rasters == null && directory != null) {
 			rasters = directory.readRasters();
 		}
 	}
@@ -0,0 +1,370 @@
+package mil.nga.geopackage.extension.coverage;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+
+import mil.nga.geopackage.tiles.user.TileRow;
+
+/**
+ * Coverage Data Tile Cache of decoded coverage data tile images, retaining the
+ * decoded pixel rasters of the least recently used tiles. Tiles are keyed by
+ * table name, zoom level, tile column, and tile row. Cached tiles are
+ * validated against the tile row id and a checksum of the tile data, so tiles
+ * written after caching are decoded again. The cache is thread safe and may be
+ * shared by coverage data instances.
+ *
+ * @author osbornb
+ * @since 6.6.2
+ */
+public class CoverageDataTileCache {
+
+	/**
+	 * Default max number of decoded tiles to retain in cache
+	 */
+	public static final int DEFAULT_CACHE_SIZE = 64;
+
+	/**
+	 * Access ordered cached tiles
+	 */
+	private final Map<TileKey, CachedTile> tiles = new LinkedHashMap<>(16,
+			.75f, true);
+
+	/**
+	 * Max number of tiles
+	 */
+	private int maxSize;
+
+	/**
+	 * Cache hit count
+	 */
+	private final LongAdder hits = new LongAdder();
+
+	/**
+	 * Cache miss count
+	 */
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * Constructor
+	 */
+	public CoverageDataTileCache() {
+		this(DEFAULT_CACHE_SIZE);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param maxSize
+	 *            max decoded tiles to retain in the cache
+	 */
+	public CoverageDataTileCache(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Get the max number of tiles
+	 *
+	 * @return max size
+	 */
+	public synchronized int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Get the cached decoded image for the tile row
+	 *
+	 * @param tableName
+	 *            coverage data table name
+	 * @param tileRow
+	 *            tile row
+	 * @return decoded image or null
+	 */
+	public CoverageDataImage get(String tableName, TileRow tileRow) {
+		TileKey key = new TileKey(tableName, tileRow);
+		long checksum = checksum(tileRow);
+		CoverageDataImage image = null;
+		synchronized (this) {
+			CachedTile tile = tiles.get(key);
+			if (tile != null) {
+				if (tile.id == tileRow.getId() && tile.checksum == checksum) {
+					image = tile.image;
+				} else {
+					tiles.remove(key);
+				}
+			}
+		}
+		if (image != null) {
+			hits.increment();
+		} else {
+			misses.increment();
+		}
+		return image;
+	}
+
+	/**
+	 * Cache the decoded image for the tile row
+	 *
+	 * @param tableName
+	 *            coverage data table name
+	 * @param tileRow
+	 *            tile row
+	 * @param image
+	 *            decoded image
+	 */
+	public void put(String tableName, TileRow tileRow,
+			CoverageDataImage image) {
+		TileKey key = new TileKey(tableName, tileRow);
+		CachedTile tile = new CachedTile(tileRow.getId(), checksum(tileRow),
+				image);
+		synchronized (this) {
+			tiles.put(key, tile);
+			evict();
+		}
+	}
+
+	/**
+	 * Remove the cached tile, such as after writing the tile
+	 *
+	 * @param tableName
+	 *            coverage data table name
+	 * @param zoomLevel
+	 *            zoom level
+	 * @param column
+	 *            tile column
+	 * @param row
+	 *            tile row
+	 * @return true if removed
+	 */
+	public synchronized boolean remove(String tableName, long zoomLevel,
+			long column, long row) {
+		return tiles.remove(
+				new TileKey(tableName, zoomLevel, column, row)) != null;
+	}
+
+	/**
+	 * Clear the cached tiles of the table
+	 *
+	 * @param tableName
+	 *            coverage data table name
+	 */
+	public synchronized void clear(String tableName) {
+		Iterator<TileKey> keys = tiles.keySet().iterator();
+		while (keys.hasNext()) {
+			if (keys.next().tableName.equals(tableName)) {
+				keys.remove();
+			}
+		}
+	}
+
+	/**
+	 * Clear the cache
+	 */
+	public synchronized void clear() {
+		tiles.clear();
+	}
+
+	/**
+	 * Get the number of cached tiles
+	 *
+	 * @return size
+	 */
+	public synchronized int size() {
+		return tiles.size();
+	}
+
+	/**
+	 * Resize the cache
+	 *
+	 * @param maxSize
+	 *            max decoded tiles to retain in the cache
+	 */
+	public synchronized void resize(int maxSize) {
+		this.maxSize = maxSize;
+		evict();
+	}
+
+	/**
+	 * Get the number of cache hits
+	 *
+	 * @return hit count
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * Get the number of cache misses
+	 *
+	 * @return miss count
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * Reset the hit and miss counts
+	 */
+	public void resetStats() {
+		hits.reset();
+		misses.reset();
+	}
+
+	/**
+	 * Evict the least recently used tiles over the max size
+	 */
+	private void evict() {
+		Iterator<CachedTile> iterator = tiles.values().iterator();
+		while (iterator.hasNext() && tiles.size() > maxSize) {
+			iterator.next();
+			iterator.remove();
+		}
+	}
+
+	/**
+	 * Get the checksum of the tile row data
+	 *
+	 * @param tileRow
+	 *            tile row
+	 * @return checksum
+	 */
+	private static long checksum(TileRow tileRow) {
+		long checksum = -1;
+		byte[] tileData = tileRow.getTileData();
+		if (tileData != null) {
+			CRC32 crc = new CRC32();
+			crc.update(tileData);
+			checksum = crc.getValue();
+		}
+		return checksum;
+	}
+
+	/**
+	 * Tile key of table name, zoom level, column, and row
+	 */
+	private static class TileKey {
+
+		/**
+		 * Table name
+		 */
+		private final String tableName;
+
+		/**
+		 * Zoom level
+		 */
+		private final long zoomLevel;
+
+		/**
+		 * Tile column
+		 */
+		private final long column;
+
+		/**
+		 * Tile row
+		 */
+		private final long row;
+
+		/**
+		 * Constructor
+		 *
+		 * @param tableName
+		 *            table name
+		 * @param tileRow
+		 *            tile row
+		 */
+		private TileKey(String tableName, TileRow tileRow) {
+			this(tableName, tileRow.getZoomLevel(), tileRow.getTileColumn(),
+					tileRow.getTileRow());
+		}
+
+		/**
+		 * Constructor
+		 *
+		 * @param tableName
+		 *            table name
+		 * @param zoomLevel
+		 *            zoom level
+		 * @param column
+		 *            tile column
+		 * @param row
+		 *            tile row
+		 */
+		private TileKey(String tableName, long zoomLevel, long column,
+				long row) {
+			this.tableName = tableName;
+			this.zoomLevel = zoomLevel;
+			this.column = column;
+			this.row = row;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int hashCode() {
+			int result = tableName.hashCode();
+			result = 31 * result + Long.hashCode(zoomLevel);
+			result = 31 * result + Long.hashCode(column);
+			result = 31 * result + Long.hashCode(row);
+			return result;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof TileKey)) {
+				return false;
+			}
+			TileKey other = (TileKey) obj;
+			return zoomLevel == other.zoomLevel && column == other.column
+					&& row == other.row && tableName.equals(other.tableName);
+		}
+
+	}
+
+	/**
+	 * Cached decoded tile image
+	 */
+	private static class CachedTile {
+
+		/**
+		 * Tile row id
+		 */
+		private final long id;
+
+		/**
+		 * Tile data checksum
+		 */
+		private final long checksum;
+
+		/**
+		 * Decoded image
+		 */
+		private final CoverageDataImage image;
+
+		/**
+		 * Constructor
+		 *
+		 * @param id
+		 *            tile row id
+		 * @param checksum
+		 *            tile data checksum
+		 * @param image
+		 *            decoded image
+		 */
+		private CachedTile(long id, long checksum, CoverageDataImage image) {
+			this.id = id;
+			this.checksum = checksum;
+			this.image = image;
+		}
+
+	}
+
+}
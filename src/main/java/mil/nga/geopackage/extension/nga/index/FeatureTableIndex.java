@@ -1,21 +1,26 @@
 package mil.nga.geopackage.extension.nga.index;
 
-import java.sql.SQLException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import com.j256.ormlite.misc.TransactionManager;
-import com.j256.ormlite.support.ConnectionSource;
-
 import mil.nga.geopackage.BoundingBox;
 import mil.nga.geopackage.GeoPackage;
 import mil.nga.geopackage.GeoPackageException;
+import mil.nga.geopackage.db.SQLUtils;
 import mil.nga.geopackage.features.user.FeatureDao;
 import mil.nga.geopackage.features.user.FeatureResultSet;
 import mil.nga.geopackage.features.user.FeatureRow;
 import mil.nga.geopackage.features.user.FeatureRowSync;
+import mil.nga.geopackage.geom.GeoPackageGeometryEnvelope;
 import mil.nga.proj.Projection;
 import mil.nga.sf.GeometryEnvelope;
 
@@ -50,6 +55,17 @@ public class FeatureTableIndex extends FeatureTableCoreIndex {
 	 */
 	private final FeatureRowSync featureRowSync = new FeatureRowSync();
 
+	/**
+	 * Number of threads used to read geometry envelopes when indexing the
+	 * table
+	 */
+	private int threadCount = 1;
+
+	/**
+	 * Executor service used to read geometry envelopes
+	 */
+	private ExecutorService executor = null;
+
 	/**
 	 * Constructor
 	 * 
@@ -113,52 +129,177 @@ public class FeatureTableIndex extends FeatureTableCoreIndex {
 		return indexed;
 	}
 
+	/**
+	 * Index the geometry envelopes of feature ids with a single batched
+	 * statement on the feature connection, within any transaction of the
+	 * connection. This method assumes that indexing has been completed and
+	 * maintained. The last indexed time is not updated, see
+	 * {@link #updateLastIndexed()}.
+	 * 
+	 * @param envelopes
+	 *            geometry envelopes by feature id
+	 * @return indexed count
+	 * @since 6.6.2
+	 */
+	public int index(Map<Long, GeometryEnvelope> envelopes) {
+		long[] ids = new long[envelopes.size()];
+		GeometryEnvelope[] geometryEnvelopes = new GeometryEnvelope[ids.length];
+		int i = 0;
+		for (Map.Entry<Long, GeometryEnvelope> entry : envelopes.entrySet()) {
+			ids[i] = entry.getKey();
+			geometryEnvelopes[i++] = entry.getValue();
+		}
+		return insertGeometryIndices(ids, geometryEnvelopes, ids.length);
+	}
+
 	/**
 	 * {@inheritDoc}
+	 * 
+	 * @since 6.6.2
 	 */
-	@SuppressWarnings("resource")
 	@Override
-	protected int indexTable(final TableIndex tableIndex) {
+	public void updateLastIndexed() {
+		super.updateLastIndexed();
+	}
 
-		int count = 0;
+	/**
+	 * Get the number of threads used to read geometry envelopes when indexing
+	 * the table
+	 * 
+	 * @return thread count
+	 * @since 6.6.2
+	 */
+	public int getThreadCount() {
+		return threadCount;
+	}
+
+	/**
+	 * Set the number of threads used to read geometry envelopes when indexing
+	 * the table. Default is 1, reading on the calling thread. When an executor
+	 * is set, the thread count is the number of envelope reading tasks per
+	 * chunk, defaulting to the number of available processors when 1.
+	 * 
+	 * @param threadCount
+	 *            thread count
+	 * @since 6.6.2
+	 */
+	public void setThreadCount(int threadCount) {
+		if (threadCount < 1) {
+			throw new GeoPackageException(
+					"Thread count must be at least 1, not: " + threadCount);
+		}
+		this.threadCount = threadCount;
+	}
 
-		long offset = 0;
-		int chunkCount = 0;
+	/**
+	 * Get the executor service used to read geometry envelopes when indexing
+	 * the table
+	 * 
+	 * @return executor service or null
+	 * @since 6.6.2
+	 */
+	public ExecutorService getExecutor() {
+		return executor;
+	}
 
+	/**
+	 * Set an executor service used to read geometry envelopes concurrently
+	 * when indexing the table, regardless of the thread count. The executor
+	 * is not shutdown by the index.
+	 * 
+	 * @param executor
+	 *            executor service
+	 * @since 6.6.2
+	 */
+	public void setExecutor(ExecutorService executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Reads the id and geometry bytes of keyset chunks, reading envelopes from
+	 * the geometry headers when present without parsing the geometries, and
+	 * writes each chunk of geometry indices as a single batched transaction.
+	 */
+	@Override
+	protected int indexTable(TableIndex tableIndex) {
+
+		int count = 0;
+
+		Connection connection = featureDao.getConnection();
 		String[] columns = featureDao.getIdAndGeometryColumnNames();
 
-		while (chunkCount >= 0) {
+		long[] ids = new long[chunkLimit];
+		byte[][] geometries = new byte[chunkLimit][];
+		GeometryEnvelope[] envelopes = new GeometryEnvelope[chunkLimit];
+
+		// Create the executor when reading envelopes on multiple threads
+		ExecutorService executorService = executor;
+		int tasks = threadCount;
+		if (executorService == null) {
+			if (threadCount > 1) {
+				executorService = Executors.newFixedThreadPool(threadCount);
+			}
+		} else if (tasks < 2) {
+			tasks = Runtime.getRuntime().availableProcessors();
+		}
+
+		try {
 
-			final long chunkOffset = offset;
+			long lastId = Long.MIN_VALUE;
+			int chunkCount = chunkLimit;
+			while (chunkCount == chunkLimit
+					&& (progress == null || progress.isActive())) {
+
+				// Read the ids and geometry bytes of the next chunk
+				chunkCount = 0;
+				FeatureResultSet resultSet = featureDao.queryForChunkAfter(
+						false, columns, null, null, lastId, chunkLimit);
+				try {
+					int geometryIndex = resultSet.getColumns()
+							.getGeometryIndex();
+					while (resultSet.moveToNext()) {
+						ids[chunkCount] = resultSet.getId();
+						geometries[chunkCount++] = resultSet
+								.getBlob(geometryIndex);
+					}
+				} finally {
+					resultSet.close();
+				}
 
-			try {
-				// Iterate through each row and index as a single transaction
-				ConnectionSource connectionSource = getGeoPackage()
-						.getDatabase().getConnectionSource();
-				chunkCount = TransactionManager.callInTransaction(
-						connectionSource, new Callable<Integer>() {
-							public Integer call() throws Exception {
-
-								FeatureResultSet resultSet = featureDao
-										.queryForChunk(columns, chunkLimit,
-												chunkOffset);
-								int count = indexRows(tableIndex, resultSet);
-
-								return count;
-							}
-						});
 				if (chunkCount > 0) {
-					count += chunkCount;
+
+					lastId = ids[chunkCount - 1];
+
+					readEnvelopes(ids, geometries, envelopes, chunkCount,
+							executorService, tasks);
+
+					// Index the chunk as a single transaction
+					boolean autoCommit = SQLUtils.beginTransaction(connection);
+					boolean successful = false;
+					try {
+						count += insertGeometryIndices(ids, envelopes,
+								chunkCount);
+						successful = true;
+					} finally {
+						if (autoCommit) {
+							SQLUtils.endTransaction(connection, successful,
+									true);
+						}
+					}
+
+					if (progress != null) {
+						progress.addProgress(chunkCount);
+					}
 				}
-			} catch (SQLException e) {
-				throw new GeoPackageException(
-						"Failed to Index Table. GeoPackage: "
-								+ getGeoPackage().getName() + ", Table: "
-								+ getTableName(),
-						e);
+
 			}
 
-			offset += chunkLimit;
+		} finally {
+			if (executorService != null && executorService != executor) {
+				executorService.shutdown();
+			}
 		}
 
 		// Update the last indexed time
@@ -170,44 +311,146 @@ public class FeatureTableIndex extends FeatureTableCoreIndex {
 	}
 
 	/**
-	 * Index the feature rows in the result set
+	 * Read the geometry envelopes of a chunk, concurrently when an executor
+	 * is provided
+	 * 
+	 * @param ids
+	 *            feature ids
+	 * @param geometries
+	 *            geometry bytes, cleared as read
+	 * @param envelopes
+	 *            envelopes to populate, null for no envelope
+	 * @param count
+	 *            chunk count
+	 * @param executorService
+	 *            executor service or null
+	 * @param maxTasks
+	 *            max number of executor tasks
+	 */
+	private void readEnvelopes(final long[] ids, final byte[][] geometries,
+			final GeometryEnvelope[] envelopes, int count,
+			ExecutorService executorService, int maxTasks) {
+
+		if (executorService == null || count < 2) {
+			readEnvelopes(ids, geometries, envelopes, 0, count);
+		} else {
+
+			int tasks = Math.max(1, Math.min(maxTasks, count));
+			List<Future<?>> futures = new ArrayList<>(tasks);
+			for (int task = 0; task < tasks; task++) {
+				final int start = (int) ((long) count * task / tasks);
+				final int end = (int) ((long) count * (task + 1) / tasks);
+				futures.add(executorService.submit(new Runnable() {
+					@Override
+					public void run() {
+						readEnvelopes(ids, geometries, envelopes, start, end);
+					}
+				}));
+			}
+
+			try {
+				for (Future<?> future : futures) {
+					future.get();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new GeoPackageException(
+						"Interrupted reading geometry envelopes. Table: "
+								+ getTableName(),
+						e);
+			} catch (ExecutionException e) {
+				throw new GeoPackageException(
+						"Failed to read geometry envelopes. Table: "
+								+ getTableName(),
+						e.getCause());
+			} finally {
+				for (Future<?> future : futures) {
+					future.cancel(false);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Read the geometry envelopes of a range of the chunk
+	 * 
+	 * @param ids
+	 *            feature ids
+	 * @param geometries
+	 *            geometry bytes, cleared as read
+	 * @param envelopes
+	 *            envelopes to populate, null for no envelope
+	 * @param start
+	 *            start index, inclusive
+	 * @param end
+	 *            end index, exclusive
+	 */
+	private void readEnvelopes(long[] ids, byte[][] geometries,
+			GeometryEnvelope[] envelopes, int start, int end) {
+		for (int i = start; i < end; i++) {
+			GeometryEnvelope envelope = null;
+			byte[] bytes = geometries[i];
+			geometries[i] = null;
+			if (bytes != null) {
+				try {
+					envelope = GeoPackageGeometryEnvelope.read(bytes)
+							.getEnvelope();
+				} catch (Exception e) {
+					log.log(Level.SEVERE, "Failed to index feature. Table: "
+							+ getTableName() + ", Id: " + ids[i], e);
+				}
+			}
+			envelopes[i] = envelope;
+		}
+	}
+
+	/**
+	 * Insert or replace the geometry indices of the feature envelopes with a
+	 * single batched statement
 	 * 
-	 * @param tableIndex
-	 *            table index
-	 * @param resultSet
-	 *            feature result
-	 * @return count, -1 if no results or canceled
+	 * @param ids
+	 *            feature ids
+	 * @param envelopes
+	 *            envelopes, null envelopes are not indexed
+	 * @param length
+	 *            number of ids and envelopes
+	 * @return indexed count
 	 */
-	private int indexRows(TableIndex tableIndex, FeatureResultSet resultSet) {
+	private int insertGeometryIndices(long[] ids, GeometryEnvelope[] envelopes,
+			int length) {
 
-		int count = -1;
+		String sql = SQLUtils.insertOrReplaceSQL(GeometryIndex.TABLE_NAME,
+				new String[] { GeometryIndex.COLUMN_TABLE_NAME,
+						GeometryIndex.COLUMN_GEOM_ID,
+						GeometryIndex.COLUMN_MIN_X, GeometryIndex.COLUMN_MAX_X,
+						GeometryIndex.COLUMN_MIN_Y, GeometryIndex.COLUMN_MAX_Y,
+						GeometryIndex.COLUMN_MIN_Z, GeometryIndex.COLUMN_MAX_Z,
+						GeometryIndex.COLUMN_MIN_M,
+						GeometryIndex.COLUMN_MAX_M });
 
+		int count = 0;
+		PreparedStatement statement = SQLUtils
+				.prepareStatement(featureDao.getConnection(), sql);
 		try {
-			while ((progress == null || progress.isActive())
-					&& resultSet.moveToNext()) {
-				if (count < 0) {
+			for (int i = 0; i < length; i++) {
+				GeometryEnvelope envelope = envelopes[i];
+				if (envelope != null) {
+					SQLUtils.addBatch(statement, sql, new Object[] {
+							getTableName(), ids[i], envelope.getMinX(),
+							envelope.getMaxX(), envelope.getMinY(),
+							envelope.getMaxY(),
+							envelope.hasZ() ? envelope.getMinZ() : null,
+							envelope.hasZ() ? envelope.getMaxZ() : null,
+							envelope.hasM() ? envelope.getMinM() : null,
+							envelope.hasM() ? envelope.getMaxM() : null });
 					count++;
 				}
-				try {
-					FeatureRow row = resultSet.getRow();
-					boolean indexed = index(tableIndex, row.getId(),
-							row.getGeometry());
-					if (indexed) {
-						count++;
-					}
-					if (progress != null) {
-						progress.addProgress(1);
-					}
-				} catch (Exception e) {
-					log.log(Level.SEVERE,
-							"Failed to index feature. Table: "
-									+ tableIndex.getTableName() + ", Position: "
-									+ resultSet.getPosition(),
-							e);
-				}
+			}
+			if (count > 0) {
+				SQLUtils.executeBatch(statement, sql);
 			}
 		} finally {
-			resultSet.close();
+			SQLUtils.closeStatement(statement, sql);
 		}
 
 		return count;
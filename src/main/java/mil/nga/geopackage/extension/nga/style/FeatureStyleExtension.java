@@ -1,14 +1,24 @@
 package mil.nga.geopackage.extension.nga.style;
 
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import mil.nga.geopackage.GeoPackage;
 import mil.nga.geopackage.attributes.AttributesDao;
 import mil.nga.geopackage.attributes.AttributesResultSet;
+import mil.nga.geopackage.db.SQLUtils;
 import mil.nga.geopackage.extension.related.RelatedTablesExtension;
 import mil.nga.geopackage.extension.related.UserMappingTable;
 import mil.nga.geopackage.features.user.FeatureRow;
@@ -28,11 +38,28 @@ import mil.nga.sf.GeometryType;
  */
 public class FeatureStyleExtension extends FeatureCoreStyleExtension {
 
+	/**
+	 * Max number of ids per bulk style and icon query
+	 */
+	private static final int BULK_QUERY_IDS = 500;
+
+	/**
+	 * Style mapping modification counts by connection, shared by the
+	 * extension instances of a GeoPackage
+	 */
+	private static final Map<Connection, AtomicLong> mappingModifications = Collections
+			.synchronizedMap(new WeakHashMap<Connection, AtomicLong>());
+
 	/**
 	 * Related Tables extension
 	 */
 	protected final RelatedTablesExtension relatedTables;
 
+	/**
+	 * Style mapping modification count of the GeoPackage connection
+	 */
+	private final AtomicLong modifications;
+
 	/**
 	 * Constructor
 	 * 
@@ -42,6 +69,38 @@ public class FeatureStyleExtension extends FeatureCoreStyleExtension {
 	public FeatureStyleExtension(GeoPackage geoPackage) {
 		super(geoPackage, new RelatedTablesExtension(geoPackage));
 		this.relatedTables = (RelatedTablesExtension) super.getRelatedTables();
+		Connection connection = geoPackage.getConnection().getConnection();
+		synchronized (mappingModifications) {
+			AtomicLong count = mappingModifications.get(connection);
+			if (count == null) {
+				count = new AtomicLong();
+				mappingModifications.put(connection, count);
+			}
+			modifications = count;
+		}
+	}
+
+	/**
+	 * Get the style and icon mapping modification count of the GeoPackage,
+	 * incremented by mapping inserts and deletes made through feature style
+	 * extensions of the GeoPackage connection
+	 * 
+	 * @return modification count
+	 * @since 6.6.2
+	 */
+	public long getMappingModifications() {
+		return modifications.get();
+	}
+
+	/**
+	 * Increment the style and icon mapping modification count, invalidating
+	 * bulk loaded feature styles. Call after modifying style mappings, style
+	 * rows, or icon rows outside of the extension.
+	 * 
+	 * @since 6.6.2
+	 */
+	public void mappingsModified() {
+		modifications.incrementAndGet();
 	}
 
 	/**
@@ -464,6 +523,233 @@ public class FeatureStyleExtension extends FeatureCoreStyleExtension {
 		return icons;
 	}
 
+	/**
+	 * Get the feature styles of all styled features in the table, mapped by
+	 * feature id. Style and icon mappings and their rows are loaded with bulk
+	 * queries.
+	 * 
+	 * @param featureTable
+	 *            feature table
+	 * @return feature styles mapped by feature id
+	 * @since 6.6.2
+	 */
+	public Map<Long, FeatureStyles> getFeatureStylesById(
+			String featureTable) {
+		return getFeatureStylesById(featureTable, null);
+	}
+
+	/**
+	 * Get the feature styles of the feature ids, mapped by feature id.
+	 * Features without styles or icons are not included. Style and icon
+	 * mappings and their rows are loaded with bulk queries.
+	 * 
+	 * @param featureTable
+	 *            feature table
+	 * @param featureIds
+	 *            feature ids, null for all features
+	 * @return feature styles mapped by feature id
+	 * @since 6.6.2
+	 */
+	public Map<Long, FeatureStyles> getFeatureStylesById(String featureTable,
+			Collection<Long> featureIds) {
+
+		Map<Long, FeatureStyles> featureStyles = new HashMap<>();
+
+		for (Entry<Long, Styles> styles : getStylesById(featureTable,
+				featureIds).entrySet()) {
+			FeatureStyles featureStyle = new FeatureStyles();
+			featureStyle.setStyles(styles.getValue());
+			featureStyles.put(styles.getKey(), featureStyle);
+		}
+
+		for (Entry<Long, Icons> icons : getIconsById(featureTable, featureIds)
+				.entrySet()) {
+			FeatureStyles featureStyle = featureStyles.get(icons.getKey());
+			if (featureStyle == null) {
+				featureStyle = new FeatureStyles();
+				featureStyles.put(icons.getKey(), featureStyle);
+			}
+			featureStyle.setIcons(icons.getValue());
+		}
+
+		return featureStyles;
+	}
+
+	/**
+	 * Get the styles of the feature ids, mapped by feature id. Features
+	 * without styles are not included.
+	 * 
+	 * @param featureTable
+	 *            feature table
+	 * @param featureIds
+	 *            feature ids, null for all features
+	 * @return styles mapped by feature id
+	 * @since 6.6.2
+	 */
+	public Map<Long, Styles> getStylesById(String featureTable,
+			Collection<Long> featureIds) {
+
+		Map<Long, Styles> styles = new HashMap<>();
+
+		StyleMappingDao mappingDao = getStyleMappingDao(featureTable);
+		StyleDao styleDao = getStyleDao();
+
+		if (mappingDao != null && styleDao != null) {
+
+			List<StyleMappingRow> mappingRows = queryMappings(mappingDao,
+					featureIds);
+
+			Set<Long> styleIds = new HashSet<>();
+			for (StyleMappingRow mappingRow : mappingRows) {
+				styleIds.add(mappingRow.getRelatedId());
+			}
+
+			Map<Long, StyleRow> styleRows = new HashMap<>();
+			String pkColumnName = styleDao.getPkColumnName();
+			Iterator<Long> ids = styleIds.iterator();
+			while (ids.hasNext()) {
+				List<Long> chunk = SQLUtils.nextIds(ids, BULK_QUERY_IDS);
+				AttributesResultSet resultSet = styleDao.query(
+						SQLUtils.buildInWhere(pkColumnName, chunk.size()),
+						SQLUtils.buildInWhereArgs(chunk));
+				try {
+					while (resultSet.moveToNext()) {
+						StyleRow styleRow = styleDao.getRow(resultSet);
+						styleRows.put(styleRow.getId(), styleRow);
+					}
+				} finally {
+					resultSet.close();
+				}
+			}
+
+			for (StyleMappingRow mappingRow : mappingRows) {
+				StyleRow styleRow = styleRows.get(mappingRow.getRelatedId());
+				if (styleRow != null) {
+					long featureId = mappingRow.getBaseId();
+					Styles featureStyles = styles.get(featureId);
+					if (featureStyles == null) {
+						featureStyles = new Styles(false);
+						styles.put(featureId, featureStyles);
+					}
+					featureStyles.setStyle(styleRow,
+							mappingRow.getGeometryType());
+				}
+			}
+
+		}
+
+		return styles;
+	}
+
+	/**
+	 * Get the icons of the feature ids, mapped by feature id. Features without
+	 * icons are not included.
+	 * 
+	 * @param featureTable
+	 *            feature table
+	 * @param featureIds
+	 *            feature ids, null for all features
+	 * @return icons mapped by feature id
+	 * @since 6.6.2
+	 */
+	public Map<Long, Icons> getIconsById(String featureTable,
+			Collection<Long> featureIds) {
+
+		Map<Long, Icons> icons = new HashMap<>();
+
+		StyleMappingDao mappingDao = getIconMappingDao(featureTable);
+		IconDao iconDao = getIconDao();
+
+		if (mappingDao != null && iconDao != null) {
+
+			List<StyleMappingRow> mappingRows = queryMappings(mappingDao,
+					featureIds);
+
+			Set<Long> iconIds = new HashSet<>();
+			for (StyleMappingRow mappingRow : mappingRows) {
+				iconIds.add(mappingRow.getRelatedId());
+			}
+
+			Map<Long, IconRow> iconRows = new HashMap<>();
+			String pkColumnName = iconDao.getPkColumnName();
+			Iterator<Long> ids = iconIds.iterator();
+			while (ids.hasNext()) {
+				List<Long> chunk = SQLUtils.nextIds(ids, BULK_QUERY_IDS);
+				UserCustomResultSet resultSet = iconDao.query(
+						SQLUtils.buildInWhere(pkColumnName, chunk.size()),
+						SQLUtils.buildInWhereArgs(chunk));
+				try {
+					while (resultSet.moveToNext()) {
+						IconRow iconRow = iconDao.getRow(resultSet);
+						iconRows.put(iconRow.getId(), iconRow);
+					}
+				} finally {
+					resultSet.close();
+				}
+			}
+
+			for (StyleMappingRow mappingRow : mappingRows) {
+				IconRow iconRow = iconRows.get(mappingRow.getRelatedId());
+				if (iconRow != null) {
+					long featureId = mappingRow.getBaseId();
+					Icons featureIcons = icons.get(featureId);
+					if (featureIcons == null) {
+						featureIcons = new Icons(false);
+						icons.put(featureId, featureIcons);
+					}
+					featureIcons.setIcon(iconRow, mappingRow.getGeometryType());
+				}
+			}
+
+		}
+
+		return icons;
+	}
+
+	/**
+	 * Query for the style mappings of the feature ids in bulk
+	 * 
+	 * @param mappingDao
+	 *            style mapping dao
+	 * @param featureIds
+	 *            feature ids, null for all features
+	 * @return style mapping rows
+	 */
+	private List<StyleMappingRow> queryMappings(StyleMappingDao mappingDao,
+			Collection<Long> featureIds) {
+
+		List<StyleMappingRow> mappingRows = new ArrayList<>();
+
+		if (featureIds == null) {
+			UserCustomResultSet resultSet = mappingDao.queryForAll();
+			try {
+				while (resultSet.moveToNext()) {
+					mappingRows.add(mappingDao.getRow(resultSet));
+				}
+			} finally {
+				resultSet.close();
+			}
+		} else {
+			Iterator<Long> ids = featureIds.iterator();
+			while (ids.hasNext()) {
+				List<Long> chunk = SQLUtils.nextIds(ids, BULK_QUERY_IDS);
+				UserCustomResultSet resultSet = mappingDao.query(
+						SQLUtils.buildInWhere(
+								StyleMappingTable.COLUMN_BASE_ID, chunk.size()),
+						SQLUtils.buildInWhereArgs(chunk));
+				try {
+					while (resultSet.moveToNext()) {
+						mappingRows.add(mappingDao.getRow(resultSet));
+					}
+				} finally {
+					resultSet.close();
+				}
+			}
+		}
+
+		return mappingRows;
+	}
+
 	/**
 	 * Get the feature styles for the feature row
 	 * 
@@ -1711,6 +1997,7 @@ public class FeatureStyleExtension extends FeatureCoreStyleExtension {
 		row.setGeometryType(geometryType);
 
 		mappingDao.insert(row);
+		mappingsModified();
 	}
 
 	/**
@@ -1948,6 +2235,7 @@ public class FeatureStyleExtension extends FeatureCoreStyleExtension {
 			Long featureContentsId = contentsId.getId(featureTable);
 			if (featureContentsId != null) {
 				mappingDao.deleteByBaseId(featureContentsId);
+				mappingsModified();
 			}
 		}
 	}
@@ -1968,6 +2256,7 @@ public class FeatureStyleExtension extends FeatureCoreStyleExtension {
 			Long featureContentsId = contentsId.getId(featureTable);
 			if (featureContentsId != null) {
 				mappingDao.deleteByBaseId(featureContentsId, geometryType);
+				mappingsModified();
 			}
 		}
 	}
@@ -2281,7 +2570,10 @@ public class FeatureStyleExtension extends FeatureCoreStyleExtension {
 	 * @since 6.3.0
 	 */
 	public int deleteStyleRowMappings(long id) throws SQLException {
-		return relatedTables.deleteMappingsToRelated(StyleTable.TABLE_NAME, id);
+		int count = relatedTables
+				.deleteMappingsToRelated(StyleTable.TABLE_NAME, id);
+		mappingsModified();
+		return count;
 	}
 
 	/**
@@ -2598,7 +2890,10 @@ public class FeatureStyleExtension extends FeatureCoreStyleExtension {
 	 * @since 6.3.0
 	 */
 	public int deleteIconRowMappings(long id) throws SQLException {
-		return relatedTables.deleteMappingsToRelated(IconTable.TABLE_NAME, id);
+		int count = relatedTables
+				.deleteMappingsToRelated(IconTable.TABLE_NAME, id);
+		mappingsModified();
+		return count;
 	}
 
 	/**
@@ -2843,6 +3138,7 @@ public class FeatureStyleExtension extends FeatureCoreStyleExtension {
 	private void deleteMappings(StyleMappingDao mappingDao) {
 		if (mappingDao != null) {
 			mappingDao.deleteAll();
+			mappingsModified();
 		}
 	}
 
@@ -2857,6 +3153,7 @@ public class FeatureStyleExtension extends FeatureCoreStyleExtension {
 	private void deleteMappings(StyleMappingDao mappingDao, long featureId) {
 		if (mappingDao != null) {
 			mappingDao.deleteByBaseId(featureId);
+			mappingsModified();
 		}
 	}
 
@@ -2874,6 +3171,7 @@ public class FeatureStyleExtension extends FeatureCoreStyleExtension {
 			GeometryType geometryType) {
 		if (mappingDao != null) {
 			mappingDao.deleteByBaseId(featureId, geometryType);
+			mappingsModified();
 		}
 	}
 
@@ -1,7 +1,11 @@
 package mil.nga.geopackage.extension.nga.style;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import mil.nga.geopackage.GeoPackage;
 import mil.nga.geopackage.GeoPackageException;
@@ -13,7 +17,11 @@ import mil.nga.geopackage.style.PixelBounds;
 import mil.nga.sf.GeometryType;
 
 /**
- * Feature Table Styles, styles and icons for an individual feature table
+ * Feature Table Styles, styles and icons for an individual feature table.
+ * Feature styles and icons can be bulk loaded for a set of feature ids or the
+ * whole table into an in-memory cache by feature id, resolving feature styles
+ * without queries. Cached feature styles are invalidated when style or icon
+ * mappings are modified through the feature style extension.
  * 
  * @author osbornb
  * @since 3.2.0
@@ -35,6 +43,38 @@ public class FeatureTableStyles {
 	 */
 	private final FeatureStyles cachedTableFeatureStyles = new FeatureStyles();
 
+	/**
+	 * Feature styles of features without styles or icons
+	 */
+	private static final FeatureStyles NO_FEATURE_STYLES = new FeatureStyles();
+
+	/**
+	 * Max number of bulk loaded feature styles of feature ids retained before
+	 * the loaded feature styles are cleared
+	 */
+	private static final int MAX_CACHED_FEATURE_STYLES = 10000;
+
+	/**
+	 * Bulk loaded feature styles of feature ids
+	 */
+	private final Map<Long, FeatureStyles> cachedFeatureStyles = new ConcurrentHashMap<>();
+
+	/**
+	 * Immutable bulk loaded feature styles of all table features, or null
+	 * when not loaded
+	 */
+	private volatile Map<Long, FeatureStyles> cachedAllFeatureStyles = null;
+
+	/**
+	 * Mapping modification count of the cached feature styles
+	 */
+	private volatile long cachedModifications;
+
+	/**
+	 * Keep all table feature styles cached, loading on lookup as needed
+	 */
+	private volatile boolean cacheFeatureStyles = false;
+
 	/**
 	 * Constructor
 	 * 
@@ -84,6 +124,7 @@ public class FeatureTableStyles {
 	public FeatureTableStyles(GeoPackage geoPackage, String featureTable) {
 		featureStyleExtension = new FeatureStyleExtension(geoPackage);
 		tableName = featureTable;
+		cachedModifications = featureStyleExtension.getMappingModifications();
 		if (!geoPackage.isFeatureTable(featureTable)) {
 			throw new GeoPackageException(
 					"Table must be a feature table. Table: " + featureTable
@@ -207,6 +248,7 @@ public class FeatureTableStyles {
 	 */
 	public void deleteRelationships() {
 		featureStyleExtension.deleteRelationships(tableName);
+		featureStyleExtension.mappingsModified();
 	}
 
 	/**
@@ -214,6 +256,7 @@ public class FeatureTableStyles {
 	 */
 	public void deleteStyleRelationship() {
 		featureStyleExtension.deleteStyleRelationship(tableName);
+		featureStyleExtension.mappingsModified();
 	}
 
 	/**
@@ -221,6 +264,7 @@ public class FeatureTableStyles {
 	 */
 	public void deleteTableStyleRelationship() {
 		featureStyleExtension.deleteTableStyleRelationship(tableName);
+		featureStyleExtension.mappingsModified();
 	}
 
 	/**
@@ -228,6 +272,7 @@ public class FeatureTableStyles {
 	 */
 	public void deleteIconRelationship() {
 		featureStyleExtension.deleteIconRelationship(tableName);
+		featureStyleExtension.mappingsModified();
 	}
 
 	/**
@@ -235,6 +280,7 @@ public class FeatureTableStyles {
 	 */
 	public void deleteTableIconRelationship() {
 		featureStyleExtension.deleteTableIconRelationship(tableName);
+		featureStyleExtension.mappingsModified();
 	}
 
 	/**
@@ -568,7 +614,7 @@ public class FeatureTableStyles {
 	 * @return styles or null
 	 */
 	public Styles getStyles(FeatureRow featureRow) {
-		return featureStyleExtension.getStyles(featureRow);
+		return getStyles(featureRow.getId());
 	}
 
 	/**
@@ -579,7 +625,14 @@ public class FeatureTableStyles {
 	 * @return styles or null
 	 */
 	public Styles getStyles(long featureId) {
-		return featureStyleExtension.getStyles(tableName, featureId);
+		Styles styles;
+		FeatureStyles featureStyles = getCachedFeatureStyles(featureId);
+		if (featureStyles != null) {
+			styles = featureStyles.getStyles();
+		} else {
+			styles = featureStyleExtension.getStyles(tableName, featureId);
+		}
+		return styles;
 	}
 
 	/**
@@ -635,8 +688,18 @@ public class FeatureTableStyles {
 	 */
 	public StyleRow getStyle(long featureId, GeometryType geometryType) {
 
-		StyleRow styleRow = featureStyleExtension.getStyle(tableName, featureId,
-				geometryType, false);
+		StyleRow styleRow = null;
+
+		FeatureStyles featureStyles = getCachedFeatureStyles(featureId);
+		if (featureStyles != null) {
+			Styles styles = featureStyles.getStyles();
+			if (styles != null) {
+				styleRow = styles.getStyle(geometryType);
+			}
+		} else {
+			styleRow = featureStyleExtension.getStyle(tableName, featureId,
+					geometryType, false);
+		}
 
 		if (styleRow == null) {
 
@@ -671,7 +734,7 @@ public class FeatureTableStyles {
 	 * @return icons or null
 	 */
 	public Icons getIcons(FeatureRow featureRow) {
-		return featureStyleExtension.getIcons(featureRow);
+		return getIcons(featureRow.getId());
 	}
 
 	/**
@@ -682,7 +745,14 @@ public class FeatureTableStyles {
 	 * @return icons or null
 	 */
 	public Icons getIcons(long featureId) {
-		return featureStyleExtension.getIcons(tableName, featureId);
+		Icons icons;
+		FeatureStyles featureStyles = getCachedFeatureStyles(featureId);
+		if (featureStyles != null) {
+			icons = featureStyles.getIcons();
+		} else {
+			icons = featureStyleExtension.getIcons(tableName, featureId);
+		}
+		return icons;
 	}
 
 	/**
@@ -737,8 +807,18 @@ public class FeatureTableStyles {
 	 */
 	public IconRow getIcon(long featureId, GeometryType geometryType) {
 
-		IconRow iconRow = featureStyleExtension.getIcon(tableName, featureId,
-				geometryType, false);
+		IconRow iconRow = null;
+
+		FeatureStyles featureStyles = getCachedFeatureStyles(featureId);
+		if (featureStyles != null) {
+			Icons icons = featureStyles.getIcons();
+			if (icons != null) {
+				iconRow = icons.getIcon(geometryType);
+			}
+		} else {
+			iconRow = featureStyleExtension.getIcon(tableName, featureId,
+					geometryType, false);
+		}
 
 		if (iconRow == null) {
 
@@ -1242,6 +1322,138 @@ public class FeatureTableStyles {
 		}
 	}
 
+	/**
+	 * Is caching of all table feature styles enabled
+	 * 
+	 * @return true if all feature styles are cached
+	 * @since 6.6.2
+	 */
+	public boolean isCacheFeatureStyles() {
+		return cacheFeatureStyles;
+	}
+
+	/**
+	 * Set caching of all table feature styles, disabled by default. When
+	 * enabled, the feature styles of the whole table are bulk loaded on the
+	 * next lookup and reloaded on lookups after mapping modifications.
+	 * 
+	 * @param cacheFeatureStyles
+	 *            true to cache all feature styles
+	 * @since 6.6.2
+	 */
+	public void setCacheFeatureStyles(boolean cacheFeatureStyles) {
+		this.cacheFeatureStyles = cacheFeatureStyles;
+	}
+
+	/**
+	 * Bulk load the feature styles of all features in the table into the
+	 * feature styles cache
+	 * 
+	 * @since 6.6.2
+	 */
+	public void loadFeatureStyles() {
+		synchronized (cachedFeatureStyles) {
+			validateCachedFeatureStyles();
+			if (cachedAllFeatureStyles == null) {
+				cachedAllFeatureStyles = Collections
+						.unmodifiableMap(new HashMap<>(featureStyleExtension
+								.getFeatureStylesById(tableName)));
+				cachedFeatureStyles.clear();
+			}
+		}
+	}
+
+	/**
+	 * Bulk load the feature styles of the feature ids into the feature styles
+	 * cache. The loaded feature ids are cleared first when the cache would
+	 * exceed its max size.
+	 * 
+	 * @param featureIds
+	 *            feature ids
+	 * @since 6.6.2
+	 */
+	public void loadFeatureStyles(Collection<Long> featureIds) {
+		synchronized (cachedFeatureStyles) {
+			validateCachedFeatureStyles();
+			if (cachedAllFeatureStyles == null) {
+				if (cachedFeatureStyles.size()
+						+ featureIds.size() > MAX_CACHED_FEATURE_STYLES) {
+					cachedFeatureStyles.clear();
+				}
+				Map<Long, FeatureStyles> featureStyles = featureStyleExtension
+						.getFeatureStylesById(tableName, featureIds);
+				for (long featureId : featureIds) {
+					FeatureStyles featureStyle = featureStyles.get(featureId);
+					if (featureStyle == null) {
+						featureStyle = NO_FEATURE_STYLES;
+					}
+					cachedFeatureStyles.put(featureId, featureStyle);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Get the cached feature styles of the feature id, loading all table
+	 * feature styles first when caching all feature styles
+	 * 
+	 * @param featureId
+	 *            feature id
+	 * @return feature styles, shared and not to be modified, with null styles
+	 *         and icons for features without any, or null when not cached
+	 * @since 6.6.2
+	 */
+	public FeatureStyles getCachedFeatureStyles(long featureId) {
+
+		if (cachedModifications != featureStyleExtension
+				.getMappingModifications()
+				|| (cacheFeatureStyles && cachedAllFeatureStyles == null)) {
+			synchronized (cachedFeatureStyles) {
+				validateCachedFeatureStyles();
+				if (cacheFeatureStyles) {
+					loadFeatureStyles();
+				}
+			}
+		}
+
+		FeatureStyles featureStyles;
+		Map<Long, FeatureStyles> allFeatureStyles = cachedAllFeatureStyles;
+		if (allFeatureStyles != null) {
+			featureStyles = allFeatureStyles.get(featureId);
+			if (featureStyles == null) {
+				featureStyles = NO_FEATURE_STYLES;
+			}
+		} else {
+			featureStyles = cachedFeatureStyles.get(featureId);
+		}
+
+		return featureStyles;
+	}
+
+	/**
+	 * Clear the bulk loaded feature styles
+	 * 
+	 * @since 6.6.2
+	 */
+	public void clearCachedFeatureStyles() {
+		synchronized (cachedFeatureStyles) {
+			cachedFeatureStyles.clear();
+			cachedAllFeatureStyles = null;
+		}
+	}
+
+	/**
+	 * Clear the bulk loaded feature styles if mappings have been modified
+	 * since loaded
+	 */
+	private void validateCachedFeatureStyles() {
+		long modifications = featureStyleExtension.getMappingModifications();
+		if (modifications != cachedModifications) {
+			clearCachedFeatureStyles();
+			cachedModifications = modifications;
+		}
+	}
+
 	/**
 	 * Delete all feature styles
 	 */
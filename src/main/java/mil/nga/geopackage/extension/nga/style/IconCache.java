@@ -7,12 +7,17 @@ import java.io.IOException;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.concurrent.atomic.LongAdder;
 
 import mil.nga.geopackage.GeoPackageException;
 
 /**
- * Icon Cache of icon images
+ * Icon Cache of icon images for each icon row id and scale. The cache is
+ * thread safe and may be shared by feature tiles drawing concurrently. The
+ * cache is split into independently locked least recently used segments, each
+ * bounded by its share of the max number of icon images. Icons are keyed only
+ * by icon row id and scale, so a cache must only be shared by feature tiles of
+ * the same GeoPackage.
  *
  * @author osbornb
  * @since 3.2.0
@@ -25,14 +30,34 @@ public class IconCache {
 	public static final int DEFAULT_CACHE_SIZE = 100;
 
 	/**
-	 * Icon image cache
+	 * Number of cache segments
 	 */
-	private final Map<Long, BufferedImage> iconCache;
+	private static final int SEGMENTS = 4;
+
+	/**
+	 * Cache segments
+	 */
+	private final Segment[] segments;
 
 	/**
 	 * Max cache size
 	 */
-	private int cacheSize;
+	private volatile int cacheSize;
+
+	/**
+	 * Cache hit count
+	 */
+	private final LongAdder hits = new LongAdder();
+
+	/**
+	 * Cache miss count
+	 */
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * Cache eviction count
+	 */
+	private final LongAdder evictions = new LongAdder();
 
 	/**
 	 * Constructor, created with cache size of {@link #DEFAULT_CACHE_SIZE}
@@ -49,15 +74,10 @@ public class IconCache {
 	 */
 	public IconCache(int size) {
 		cacheSize = size;
-		iconCache = new LinkedHashMap<Long, BufferedImage>(size, .75f, true) {
-			private static final long serialVersionUID = 1L;
-
-			@Override
-			protected boolean removeEldestEntry(
-					Entry<Long, BufferedImage> eldest) {
-				return size() > cacheSize;
-			}
-		};
+		segments = new Segment[SEGMENTS];
+		for (int i = 0; i < segments.length; i++) {
+			segments[i] = new Segment();
+		}
 	}
 
 	/**
@@ -79,7 +99,29 @@ public class IconCache {
 	 * @return icon image or null
 	 */
 	public BufferedImage get(long iconRowId) {
-		return iconCache.get(iconRowId);
+		return get(iconRowId, 1.0f);
+	}
+
+	/**
+	 * Get the cached image for the icon row id and scale or null if not
+	 * cached
+	 *
+	 * @param iconRowId
+	 *            icon row id
+	 * @param scale
+	 *            scale factor
+	 * @return icon image or null
+	 * @since 6.6.2
+	 */
+	public BufferedImage get(long iconRowId, float scale) {
+		BufferedImage image = segment(iconRowId)
+				.get(new IconKey(iconRowId, scale));
+		if (image != null) {
+			hits.increment();
+		} else {
+			misses.increment();
+		}
+		return image;
 	}
 
 	/**
@@ -105,36 +147,141 @@ public class IconCache {
 	 * @return previous cached icon image or null
 	 */
 	public BufferedImage put(long iconRowId, BufferedImage image) {
-		return iconCache.put(iconRowId, image);
+		return put(iconRowId, 1.0f, image);
+	}
+
+	/**
+	 * Cache the icon image for the icon row id and scale
+	 *
+	 * @param iconRowId
+	 *            icon row id
+	 * @param scale
+	 *            scale factor
+	 * @param image
+	 *            icon image
+	 * @return previous cached icon image or null
+	 * @since 6.6.2
+	 */
+	public BufferedImage put(long iconRowId, float scale,
+			BufferedImage image) {
+		return segment(iconRowId).put(new IconKey(iconRowId, scale), image,
+				false);
+	}
+
+	/**
+	 * Cache the icon image for the icon row id and scale if not already
+	 * cached
+	 *
+	 * @param iconRowId
+	 *            icon row id
+	 * @param scale
+	 *            scale factor
+	 * @param image
+	 *            icon image
+	 * @return the cached icon image, either the existing or provided image
+	 * @since 6.6.2
+	 */
+	public BufferedImage putIfAbsent(long iconRowId, float scale,
+			BufferedImage image) {
+		BufferedImage existing = segment(iconRowId)
+				.put(new IconKey(iconRowId, scale), image, true);
+		return existing != null ? existing : image;
 	}
 
 	/**
-	 * Remove the cached image for the icon row
+	 * Remove the cached images for the icon row
 	 *
 	 * @param iconRow
 	 *            icon row
-	 * @return removed icon image or null
+	 * @return removed icon image of scale 1.0 or null
 	 */
 	public BufferedImage remove(IconRow iconRow) {
 		return remove(iconRow.getId());
 	}
 
 	/**
-	 * Remove the cached image for the icon row id
+	 * Remove the cached images of all scales for the icon row id
 	 *
 	 * @param iconRowId
 	 *            icon row id
-	 * @return removed icon image or null
+	 * @return removed icon image of scale 1.0 or null
 	 */
 	public BufferedImage remove(long iconRowId) {
-		return iconCache.remove(iconRowId);
+		return segment(iconRowId).remove(iconRowId);
+	}
+
+	/**
+	 * Get the number of cached icon images
+	 *
+	 * @return size
+	 * @since 6.6.2
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment segment : segments) {
+			size += segment.size();
+		}
+		return size;
+	}
+
+	/**
+	 * Get the max number of cached icon images
+	 *
+	 * @return max size
+	 * @since 6.6.2
+	 */
+	public int getMaxSize() {
+		return cacheSize;
+	}
+
+	/**
+	 * Get the number of cache hits
+	 *
+	 * @return hit count
+	 * @since 6.6.2
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * Get the number of cache misses
+	 *
+	 * @return miss count
+	 * @since 6.6.2
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * Get the number of icon images evicted from the cache
+	 *
+	 * @return eviction count
+	 * @since 6.6.2
+	 */
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	/**
+	 * Reset the hit, miss, and eviction counts
+	 *
+	 * @since 6.6.2
+	 */
+	public void resetStats() {
+		hits.reset();
+		misses.reset();
+		evictions.reset();
 	}
 
 	/**
 	 * Clear the cache
 	 */
 	public void clear() {
-		iconCache.clear();
+		for (Segment segment : segments) {
+			segment.clear();
+		}
 	}
 
 	/**
@@ -145,15 +292,8 @@ public class IconCache {
 	 */
 	public void resize(int maxSize) {
 		cacheSize = maxSize;
-		if (iconCache.size() > maxSize) {
-			int count = 0;
-			Iterator<Long> rowIds = iconCache.keySet().iterator();
-			while (rowIds.hasNext()) {
-				rowIds.next();
-				if (++count > maxSize) {
-					rowIds.remove();
-				}
-			}
+		for (Segment segment : segments) {
+			segment.evict();
 		}
 	}
 
@@ -238,7 +378,7 @@ public class IconCache {
 		if (icon != null) {
 
 			if (iconCache != null) {
-				iconImage = iconCache.get(icon.getId());
+				iconImage = iconCache.get(icon.getId(), scale);
 			}
 
 			if (iconImage == null) {
@@ -295,7 +435,8 @@ public class IconCache {
 				}
 
 				if (iconCache != null) {
-					iconCache.put(icon.getId(), iconImage);
+					iconImage = iconCache.putIfAbsent(icon.getId(), scale,
+							iconImage);
 				}
 			}
 
@@ -304,4 +445,179 @@ public class IconCache {
 		return iconImage;
 	}
 
+	/**
+	 * Get the segment for the icon row id
+	 *
+	 * @param iconRowId
+	 *            icon row id
+	 * @return segment
+	 */
+	private Segment segment(long iconRowId) {
+		int hash = Long.hashCode(iconRowId);
+		hash ^= (hash >>> 16);
+		return segments[hash & (segments.length - 1)];
+	}
+
+	/**
+	 * Get the max number of icon images per segment
+	 *
+	 * @return max segment size
+	 */
+	private int segmentMaxSize() {
+		return cacheSize > 0
+				? Math.max(1, (cacheSize + SEGMENTS - 1) / SEGMENTS)
+				: 0;
+	}
+
+	/**
+	 * Icon row id and scale cache key
+	 */
+	private static class IconKey {
+
+		/**
+		 * Icon row id
+		 */
+		private final long iconRowId;
+
+		/**
+		 * Scale factor
+		 */
+		private final float scale;
+
+		/**
+		 * Constructor
+		 *
+		 * @param iconRowId
+		 *            icon row id
+		 * @param scale
+		 *            scale factor
+		 */
+		private IconKey(long iconRowId, float scale) {
+			this.iconRowId = iconRowId;
+			this.scale = scale;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int hashCode() {
+			return 31 * Long.hashCode(iconRowId) + Float.hashCode(scale);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof IconKey)) {
+				return false;
+			}
+			IconKey other = (IconKey) obj;
+			return iconRowId == other.iconRowId && Float
+					.floatToIntBits(scale) == Float.floatToIntBits(other.scale);
+		}
+
+	}
+
+	/**
+	 * Least recently used cache segment
+	 */
+	private class Segment {
+
+		/**
+		 * Access ordered icon images
+		 */
+		private final Map<IconKey, BufferedImage> images = new LinkedHashMap<>(
+				16, .75f, true);
+
+		/**
+		 * Get the icon image
+		 *
+		 * @param key
+		 *            icon key
+		 * @return icon image or null
+		 */
+		private synchronized BufferedImage get(IconKey key) {
+			return images.get(key);
+		}
+
+		/**
+		 * Put the icon image and evict images over the segment bound
+		 *
+		 * @param key
+		 *            icon key
+		 * @param image
+		 *            icon image
+		 * @param ifAbsent
+		 *            only put when not already cached
+		 * @return previous cached icon image or null
+		 */
+		private synchronized BufferedImage put(IconKey key,
+				BufferedImage image, boolean ifAbsent) {
+			BufferedImage previous;
+			if (ifAbsent) {
+				previous = images.get(key);
+				if (previous == null) {
+					images.put(key, image);
+				}
+			} else {
+				previous = images.put(key, image);
+			}
+			evict();
+			return previous;
+		}
+
+		/**
+		 * Remove the icon images of all scales for the icon row id
+		 *
+		 * @param iconRowId
+		 *            icon row id
+		 * @return removed icon image of scale 1.0 or null
+		 */
+		private synchronized BufferedImage remove(long iconRowId) {
+			BufferedImage image = images.remove(new IconKey(iconRowId, 1.0f));
+			Iterator<IconKey> keys = images.keySet().iterator();
+			while (keys.hasNext()) {
+				if (keys.next().iconRowId == iconRowId) {
+					keys.remove();
+				}
+			}
+			return image;
+		}
+
+		/**
+		 * Evict the least recently used images over the segment bound
+		 */
+		private synchronized void evict() {
+			int segmentMaxSize = segmentMaxSize();
+			Iterator<IconKey> keys = images.keySet().iterator();
+			while (keys.hasNext() && images.size() > segmentMaxSize) {
+				keys.next();
+				keys.remove();
+				evictions.increment();
+			}
+		}
+
+		/**
+		 * Get the number of icon images
+		 *
+		 * @return size
+		 */
+		private synchronized int size() {
+			return images.size();
+		}
+
+		/**
+		 * Clear the icon images
+		 */
+		private synchronized void clear() {
+			images.clear();
+		}
+
+	}
+
 }
@@ -1,6 +1,10 @@
 package mil.nga.geopackage.extension.rtree;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
 
 import mil.nga.geopackage.features.index.FeatureIndexResults;
 import mil.nga.geopackage.features.user.FeatureRow;
@@ -8,13 +12,19 @@ import mil.nga.geopackage.user.custom.UserCustomResultSet;
 
 /**
  * Iterable Feature Index Results to iterate on feature rows retrieved from
- * RTree results
+ * RTree results. Feature rows are queried in batches of RTree results rather
+ * than one query per result.
  *
  * @author osbornb
  * @since 3.1.0
  */
 public class FeatureIndexRTreeResults implements FeatureIndexResults {
 
+	/**
+	 * Number of RTree results per feature rows query
+	 */
+	private static final int BATCH_SIZE = RTreeIndexTableDao.FEATURE_ROWS_QUERY_LIMIT;
+
 	/**
 	 * RTree Index Table DAO
 	 */
@@ -46,12 +56,33 @@ public class FeatureIndexRTreeResults implements FeatureIndexResults {
 	public Iterator<FeatureRow> iterator() {
 		return new Iterator<FeatureRow>() {
 
+			/**
+			 * Feature rows of the current batch of RTree results
+			 */
+			private Iterator<FeatureRow> batch = Collections
+					.<FeatureRow> emptyList().iterator();
+
+			/**
+			 * More RTree results flag
+			 */
+			private boolean more = true;
+
 			/**
 			 * {@inheritDoc}
 			 */
 			@Override
 			public boolean hasNext() {
-				return resultSet.moveToNext();
+				while (!batch.hasNext() && more) {
+					List<RTreeIndexTableRow> rows = new ArrayList<>();
+					while (more && rows.size() < BATCH_SIZE) {
+						more = resultSet.moveToNext();
+						if (more) {
+							rows.add(dao.getRow(resultSet));
+						}
+					}
+					batch = dao.getFeatureRows(rows).iterator();
+				}
+				return batch.hasNext();
 			}
 
 			/**
@@ -59,7 +90,10 @@ public class FeatureIndexRTreeResults implements FeatureIndexResults {
 			 */
 			@Override
 			public FeatureRow next() {
-				return dao.getFeatureRow(resultSet);
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return batch.next();
 			}
 		};
 	}
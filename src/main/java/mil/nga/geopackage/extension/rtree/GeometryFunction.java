@@ -49,6 +49,24 @@ public abstract class GeometryFunction extends Function {
 	 */
 	public abstract Object execute(GeoPackageGeometryData geometryData);
 
+	/**
+	 * Execute the function on the geometry column blob, parsing the geometry
+	 * data and executing the function by default. Override to evaluate the
+	 * blob bytes without parsing the geometry.
+	 * 
+	 * @param bytes
+	 *            geometry blob bytes, may be null
+	 * @return function result
+	 * @since 6.6.2
+	 */
+	public Object executeBlob(byte[] bytes) {
+		GeoPackageGeometryData geometryData = null;
+		if (bytes != null && bytes.length > 0) {
+			geometryData = GeoPackageGeometryData.create(bytes);
+		}
+		return execute(geometryData);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -61,13 +79,7 @@ public abstract class GeometryFunction extends Function {
 					"Single argument is required. args: " + argCount);
 		}
 
-		byte[] bytes = value_blob(0);
-		GeoPackageGeometryData geometryData = null;
-		if (bytes != null && bytes.length > 0) {
-			geometryData = GeoPackageGeometryData.create(bytes);
-		}
-
-		Object response = execute(geometryData);
+		Object response = executeBlob(value_blob(0));
 
 		if (response == null) {
 			result();
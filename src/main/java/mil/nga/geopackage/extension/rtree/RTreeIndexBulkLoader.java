@@ -0,0 +1,488 @@
+package mil.nga.geopackage.extension.rtree;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+
+import mil.nga.geopackage.GeoPackageException;
+import mil.nga.geopackage.db.CoreSQLUtils;
+import mil.nga.geopackage.db.SQLUtils;
+import mil.nga.geopackage.geom.GeoPackageGeometryEnvelope;
+import mil.nga.geopackage.io.GeoPackageProgress;
+import mil.nga.sf.GeometryEnvelope;
+
+/**
+ * RTree Index Bulk Loader for loading the envelopes of existing features into
+ * a newly created RTree Index. Envelopes are read in a single scan of the
+ * feature table, sorted into packed order by Sort-Tile-Recursive or Hilbert
+ * ordering, and inserted with a reusable prepared statement committed in
+ * chunks. Nodes filled from spatially sorted envelopes overlap less than nodes
+ * filled in feature row order, reducing the nodes read by index queries.
+ *
+ * @author osbornb
+ * @since 6.6.2
+ */
+public class RTreeIndexBulkLoader {
+
+	/**
+	 * Default number of envelopes inserted per batch and transaction
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 10000;
+
+	/**
+	 * Max cells per node of a two dimensional SQLite RTree, for page sizes of
+	 * 2048 bytes and larger
+	 */
+	private static final int NODE_CAPACITY = 51;
+
+	/**
+	 * Initial envelope capacity
+	 */
+	private static final int INITIAL_CAPACITY = 1024;
+
+	/**
+	 * Bits of a sort key holding the envelope index
+	 */
+	private static final int INDEX_BITS = 31;
+
+	/**
+	 * Mask of the envelope index within a sort key
+	 */
+	private static final long INDEX_MASK = (1L << INDEX_BITS) - 1;
+
+	/**
+	 * Max quantized Sort-Tile-Recursive coordinate
+	 */
+	private static final long STR_MAX = Integer.MAX_VALUE;
+
+	/**
+	 * Hilbert curve grid side length
+	 */
+	private static final int HILBERT_SIDE = 1 << 16;
+
+	/**
+	 * Connection
+	 */
+	private final Connection connection;
+
+	/**
+	 * Load type
+	 */
+	private final RTreeIndexLoadType loadType;
+
+	/**
+	 * Number of envelopes inserted per batch and transaction
+	 */
+	private int chunkSize = DEFAULT_CHUNK_SIZE;
+
+	/**
+	 * Progress
+	 */
+	private GeoPackageProgress progress;
+
+	/**
+	 * Feature ids of the read envelopes
+	 */
+	private long[] ids;
+
+	/**
+	 * Read envelopes as min x, max x, min y, and max y values
+	 */
+	private double[] envelopes;
+
+	/**
+	 * Number of read envelopes
+	 */
+	private int count;
+
+	/**
+	 * Constructor
+	 *
+	 * @param connection
+	 *            connection
+	 * @param loadType
+	 *            bulk load type of {@link RTreeIndexLoadType#STR} or
+	 *            {@link RTreeIndexLoadType#HILBERT}
+	 */
+	public RTreeIndexBulkLoader(Connection connection,
+			RTreeIndexLoadType loadType) {
+		if (loadType != RTreeIndexLoadType.STR
+				&& loadType != RTreeIndexLoadType.HILBERT) {
+			throw new GeoPackageException(
+					"Unsupported RTree Index bulk load type: " + loadType);
+		}
+		this.connection = connection;
+		this.loadType = loadType;
+	}
+
+	/**
+	 * Get the load type
+	 *
+	 * @return load type
+	 */
+	public RTreeIndexLoadType getLoadType() {
+		return loadType;
+	}
+
+	/**
+	 * Get the number of envelopes inserted per batch and transaction
+	 *
+	 * @return chunk size
+	 */
+	public int getChunkSize() {
+		return chunkSize;
+	}
+
+	/**
+	 * Set the number of envelopes inserted per batch and transaction
+	 *
+	 * @param chunkSize
+	 *            chunk size
+	 */
+	public void setChunkSize(int chunkSize) {
+		if (chunkSize < 1) {
+			throw new GeoPackageException(
+					"Chunk size must be at least 1, not: " + chunkSize);
+		}
+		this.chunkSize = chunkSize;
+	}
+
+	/**
+	 * Set the progress tracker, incremented as envelopes are inserted
+	 *
+	 * @param progress
+	 *            progress tracker
+	 */
+	public void setProgress(GeoPackageProgress progress) {
+		this.progress = progress;
+	}
+
+	/**
+	 * Load the envelopes of the non empty feature geometries into the RTree
+	 * table
+	 *
+	 * @param tableName
+	 *            feature table name
+	 * @param geometryColumnName
+	 *            geometry column name
+	 * @param idColumnName
+	 *            id column name
+	 * @param rTreeTableName
+	 *            RTree table name
+	 * @return number of loaded envelopes
+	 */
+	public int load(String tableName, String geometryColumnName,
+			String idColumnName, String rTreeTableName) {
+		ids = new long[INITIAL_CAPACITY];
+		envelopes = new double[4 * INITIAL_CAPACITY];
+		count = 0;
+		try {
+			readEnvelopes(tableName, geometryColumnName, idColumnName);
+			long[] keys;
+			if (loadType == RTreeIndexLoadType.HILBERT) {
+				keys = sortHilbert();
+			} else {
+				keys = sortSTR();
+			}
+			insert(rTreeTableName, keys);
+		} finally {
+			ids = null;
+			envelopes = null;
+		}
+		return count;
+	}
+
+	/**
+	 * Read the envelopes of the non empty feature geometries in a single scan
+	 *
+	 * @param tableName
+	 *            feature table name
+	 * @param geometryColumnName
+	 *            geometry column name
+	 * @param idColumnName
+	 *            id column name
+	 */
+	private void readEnvelopes(String tableName, String geometryColumnName,
+			String idColumnName) {
+
+		String sql = "SELECT " + CoreSQLUtils.quoteWrap(idColumnName) + ", "
+				+ CoreSQLUtils.quoteWrap(geometryColumnName) + " FROM "
+				+ CoreSQLUtils.quoteWrap(tableName) + " WHERE "
+				+ CoreSQLUtils.quoteWrap(geometryColumnName) + " IS NOT NULL";
+
+		ResultSet resultSet = SQLUtils.query(connection, sql, null);
+		try {
+			while (resultSet.next()) {
+				byte[] bytes = resultSet.getBytes(2);
+				if (bytes != null && bytes.length > 0) {
+					GeoPackageGeometryEnvelope geometryEnvelope = GeoPackageGeometryEnvelope
+							.read(bytes);
+					if (!geometryEnvelope.isEmpty()) {
+						add(resultSet.getLong(1),
+								geometryEnvelope.getEnvelope());
+					}
+				}
+			}
+		} catch (SQLException e) {
+			throw new GeoPackageException(
+					"Failed to read envelopes for RTree Index. Table: "
+							+ tableName + ", Geometry Column: "
+							+ geometryColumnName,
+					e);
+		} finally {
+			SQLUtils.closeResultSetStatement(resultSet, sql);
+		}
+	}
+
+	/**
+	 * Add a read envelope
+	 *
+	 * @param id
+	 *            feature id
+	 * @param envelope
+	 *            envelope, null for no extents
+	 */
+	private void add(long id, GeometryEnvelope envelope) {
+		if (count == ids.length) {
+			ids = Arrays.copyOf(ids, 2 * count);
+			envelopes = Arrays.copyOf(envelopes, 8 * count);
+		}
+		ids[count] = id;
+		int offset = 4 * count;
+		if (envelope != null) {
+			envelopes[offset] = envelope.getMinX();
+			envelopes[offset + 1] = envelope.getMaxX();
+			envelopes[offset + 2] = envelope.getMinY();
+			envelopes[offset + 3] = envelope.getMaxY();
+		} else {
+			Arrays.fill(envelopes, offset, offset + 4, Double.NaN);
+		}
+		count++;
+	}
+
+	/**
+	 * Sort the envelopes with Sort-Tile-Recursive packing: sorted by center x
+	 * into vertical slices of whole nodes, each slice sorted by center y
+	 *
+	 * @return sort keys ending with the envelope indices
+	 */
+	private long[] sortSTR() {
+
+		double[] centers = centers();
+
+		long[] keys = new long[count];
+		for (int i = 0; i < count; i++) {
+			keys[i] = (quantize(centers[2 * i], centers[2 * count],
+					centers[2 * count + 1], STR_MAX) << INDEX_BITS) | i;
+		}
+		Arrays.sort(keys);
+
+		int nodes = (count + NODE_CAPACITY - 1) / NODE_CAPACITY;
+		int slices = (int) Math.ceil(Math.sqrt(nodes));
+		int sliceSize = slices * NODE_CAPACITY;
+		for (int start = 0; start < count; start += sliceSize) {
+			int end = Math.min(start + sliceSize, count);
+			for (int k = start; k < end; k++) {
+				int i = (int) (keys[k] & INDEX_MASK);
+				keys[k] = (quantize(centers[2 * i + 1], centers[2 * count + 2],
+						centers[2 * count + 3], STR_MAX) << INDEX_BITS) | i;
+			}
+			Arrays.sort(keys, start, end);
+		}
+
+		return keys;
+	}
+
+	/**
+	 * Sort the envelopes by the Hilbert curve value of their centers
+	 *
+	 * @return sort keys ending with the envelope indices
+	 */
+	private long[] sortHilbert() {
+
+		double[] centers = centers();
+
+		long[] keys = new long[count];
+		for (int i = 0; i < count; i++) {
+			int x = (int) quantize(centers[2 * i], centers[2 * count],
+					centers[2 * count + 1], HILBERT_SIDE - 1);
+			int y = (int) quantize(centers[2 * i + 1], centers[2 * count + 2],
+					centers[2 * count + 3], HILBERT_SIDE - 1);
+			keys[i] = (hilbert(x, y) << INDEX_BITS) | i;
+		}
+		Arrays.sort(keys);
+
+		return keys;
+	}
+
+	/**
+	 * Get the envelope centers as x and y values, followed by the min x, max
+	 * x, min y, and max y of the finite centers
+	 *
+	 * @return centers and center extents
+	 */
+	private double[] centers() {
+		double[] centers = new double[2 * count + 4];
+		double minX = Double.MAX_VALUE;
+		double maxX = -Double.MAX_VALUE;
+		double minY = Double.MAX_VALUE;
+		double maxY = -Double.MAX_VALUE;
+		for (int i = 0; i < count; i++) {
+			double x = (envelopes[4 * i] + envelopes[4 * i + 1]) / 2.0;
+			double y = (envelopes[4 * i + 2] + envelopes[4 * i + 3]) / 2.0;
+			centers[2 * i] = x;
+			centers[2 * i + 1] = y;
+			if (Double.isFinite(x)) {
+				minX = Math.min(minX, x);
+				maxX = Math.max(maxX, x);
+			}
+			if (Double.isFinite(y)) {
+				minY = Math.min(minY, y);
+				maxY = Math.max(maxY, y);
+			}
+		}
+		centers[2 * count] = minX;
+		centers[2 * count + 1] = maxX;
+		centers[2 * count + 2] = minY;
+		centers[2 * count + 3] = maxY;
+		return centers;
+	}
+
+	/**
+	 * Quantize the value within the range, sorting non finite values last
+	 *
+	 * @param value
+	 *            value
+	 * @param min
+	 *            range min
+	 * @param max
+	 *            range max
+	 * @param maxQuantized
+	 *            max quantized value
+	 * @return quantized value between 0 and max quantized
+	 */
+	private static long quantize(double value, double min, double max,
+			long maxQuantized) {
+		long quantized;
+		if (!Double.isFinite(value)) {
+			quantized = maxQuantized;
+		} else if (max > min) {
+			quantized = (long) ((value - min) / (max - min) * maxQuantized);
+			quantized = Math.max(0, Math.min(maxQuantized, quantized));
+		} else {
+			quantized = 0;
+		}
+		return quantized;
+	}
+
+	/**
+	 * Get the Hilbert curve distance of the grid cell
+	 *
+	 * @param x
+	 *            grid x
+	 * @param y
+	 *            grid y
+	 * @return Hilbert curve distance
+	 */
+	private static long hilbert(int x, int y) {
+		long distance = 0;
+		for (int s = HILBERT_SIDE / 2; s > 0; s /= 2) {
+			int rx = (x & s) > 0 ? 1 : 0;
+			int ry = (y & s) > 0 ? 1 : 0;
+			distance += (long) s * s * ((3 * rx) ^ ry);
+			if (ry == 0) {
+				if (rx == 1) {
+					x = HILBERT_SIDE - 1 - x;
+					y = HILBERT_SIDE - 1 - y;
+				}
+				int temp = x;
+				x = y;
+				y = temp;
+			}
+		}
+		return distance;
+	}
+
+	/**
+	 * Insert the envelopes in sorted order
+	 *
+	 * @param rTreeTableName
+	 *            RTree table name
+	 * @param keys
+	 *            sort keys ending with the envelope indices
+	 */
+	private void insert(String rTreeTableName, long[] keys) {
+
+		String sql = SQLUtils.insertOrReplaceSQL(rTreeTableName,
+				new String[] { RTreeIndexExtension.COLUMN_ID,
+						RTreeIndexExtension.COLUMN_MIN_X,
+						RTreeIndexExtension.COLUMN_MAX_X,
+						RTreeIndexExtension.COLUMN_MIN_Y,
+						RTreeIndexExtension.COLUMN_MAX_Y });
+
+		boolean autoCommit = SQLUtils.beginTransaction(connection);
+		PreparedStatement statement = SQLUtils.prepareStatement(connection,
+				sql);
+		boolean successful = false;
+		try {
+			int batchCount = 0;
+			for (long key : keys) {
+				int index = (int) (key & INDEX_MASK);
+				statement.setLong(1, ids[index]);
+				for (int i = 0; i < 4; i++) {
+					double value = envelopes[4 * index + i];
+					if (Double.isNaN(value)) {
+						statement.setNull(i + 2, Types.DOUBLE);
+					} else {
+						statement.setDouble(i + 2, value);
+					}
+				}
+				statement.addBatch();
+				if (++batchCount >= chunkSize) {
+					executeBatch(statement, autoCommit, batchCount);
+					batchCount = 0;
+				}
+			}
+			if (batchCount > 0) {
+				executeBatch(statement, autoCommit, batchCount);
+			}
+			successful = true;
+		} catch (SQLException e) {
+			throw new GeoPackageException(
+					"Failed to bulk load RTree Index: " + rTreeTableName, e);
+		} finally {
+			SQLUtils.closeStatement(statement, sql);
+			if (autoCommit) {
+				SQLUtils.endTransaction(connection, successful, true);
+			}
+		}
+	}
+
+	/**
+	 * Execute the batch, committing when the transaction is owned by the
+	 * loader
+	 *
+	 * @param statement
+	 *            prepared statement
+	 * @param autoCommit
+	 *            pre-transaction auto commit value
+	 * @param batchCount
+	 *            envelopes in the batch
+	 * @throws SQLException
+	 *             upon failure
+	 */
+	private void executeBatch(PreparedStatement statement, boolean autoCommit,
+			int batchCount) throws SQLException {
+		statement.executeBatch();
+		if (autoCommit) {
+			connection.commit();
+		}
+		if (progress != null) {
+			progress.addProgress(batchCount);
+		}
+	}
+
+}
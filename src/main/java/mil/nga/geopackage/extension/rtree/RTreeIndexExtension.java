@@ -1,15 +1,25 @@
 package mil.nga.geopackage.extension.rtree;
 
+import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.sqlite.Function;
 
 import mil.nga.geopackage.GeoPackage;
+import mil.nga.geopackage.GeoPackageException;
+import mil.nga.geopackage.db.CoreSQLUtils;
 import mil.nga.geopackage.db.GeoPackageConnection;
+import mil.nga.geopackage.db.GeoPackageReadConnectionPool;
+import mil.nga.geopackage.db.SQLUtils;
+import mil.nga.geopackage.extension.Extensions;
 import mil.nga.geopackage.features.user.FeatureDao;
+import mil.nga.geopackage.features.user.FeatureTable;
 import mil.nga.geopackage.geom.GeoPackageGeometryData;
+import mil.nga.geopackage.geom.GeoPackageGeometryEnvelope;
+import mil.nga.geopackage.io.GeoPackageProgress;
 import mil.nga.geopackage.user.custom.UserCustomDao;
 import mil.nga.geopackage.user.custom.UserCustomTable;
 import mil.nga.sf.GeometryEnvelope;
@@ -31,6 +41,39 @@ public class RTreeIndexExtension extends RTreeIndexCoreExtension {
 	private static final Logger log = Logger
 			.getLogger(RTreeIndexExtension.class.getName());
 
+	/**
+	 * Default load type of existing features into a created RTree Index
+	 * 
+	 * @since 6.6.2
+	 */
+	public static final RTreeIndexLoadType DEFAULT_LOAD_TYPE = RTreeIndexLoadType.STR;
+
+	/**
+	 * Number of trailing geometry blob bytes compared before all bytes
+	 */
+	private static final int BLOB_TAIL_BYTES = 16;
+
+	/**
+	 * Last geometry envelope built from a geometry blob on the thread
+	 */
+	private final ThreadLocal<GeoPackageGeometryEnvelope> lastEnvelope = new ThreadLocal<>();
+
+	/**
+	 * Load type of existing features into a created RTree Index
+	 */
+	private RTreeIndexLoadType loadType = DEFAULT_LOAD_TYPE;
+
+	/**
+	 * Number of envelopes inserted per batch and transaction when bulk
+	 * loading
+	 */
+	private int loadChunkSize = RTreeIndexBulkLoader.DEFAULT_CHUNK_SIZE;
+
+	/**
+	 * Progress of the RTree Index being created
+	 */
+	private GeoPackageProgress loadProgress = null;
+
 	/**
 	 * Constructor
 	 * 
@@ -49,6 +92,109 @@ public class RTreeIndexExtension extends RTreeIndexCoreExtension {
 		return (GeoPackage) super.getGeoPackage();
 	}
 
+	/**
+	 * Get the load type of existing features into a created RTree Index
+	 * 
+	 * @return load type
+	 * @since 6.6.2
+	 */
+	public RTreeIndexLoadType getLoadType() {
+		return loadType;
+	}
+
+	/**
+	 * Set the load type of existing features into a created RTree Index
+	 * 
+	 * @param loadType
+	 *            load type
+	 * @since 6.6.2
+	 */
+	public void setLoadType(RTreeIndexLoadType loadType) {
+		this.loadType = loadType;
+	}
+
+	/**
+	 * Get the number of envelopes inserted per batch and transaction when
+	 * bulk loading
+	 * 
+	 * @return load chunk size
+	 * @since 6.6.2
+	 */
+	public int getLoadChunkSize() {
+		return loadChunkSize;
+	}
+
+	/**
+	 * Set the number of envelopes inserted per batch and transaction when
+	 * bulk loading
+	 * 
+	 * @param loadChunkSize
+	 *            load chunk size
+	 * @since 6.6.2
+	 */
+	public void setLoadChunkSize(int loadChunkSize) {
+		if (loadChunkSize < 1) {
+			throw new GeoPackageException(
+					"Load chunk size must be at least 1, not: "
+							+ loadChunkSize);
+		}
+		this.loadChunkSize = loadChunkSize;
+	}
+
+	/**
+	 * Create the RTree Index extension for the feature table, adding the
+	 * loaded features to the progress
+	 * 
+	 * @param featureTable
+	 *            feature table
+	 * @param progress
+	 *            progress tracker
+	 * @return extension
+	 * @since 6.6.2
+	 */
+	public Extensions create(FeatureTable featureTable,
+			GeoPackageProgress progress) {
+		loadProgress = progress;
+		try {
+			return create(featureTable);
+		} finally {
+			loadProgress = null;
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Unless the load type is {@link RTreeIndexLoadType#SQL}, the envelopes
+	 * are bulk loaded in packed order by a {@link RTreeIndexBulkLoader}
+	 */
+	@Override
+	public void loadRTreeIndex(String tableName, String geometryColumnName,
+			String idColumnName) {
+
+		String rTreeTableName = RTREE_PREFIX + tableName + "_"
+				+ geometryColumnName;
+
+		if (loadType == null || loadType == RTreeIndexLoadType.SQL) {
+			super.loadRTreeIndex(tableName, geometryColumnName, idColumnName);
+			if (loadProgress != null) {
+				loadProgress.addProgress(SQLUtils.count(
+						getGeoPackage().getConnection().getConnection(),
+						"SELECT COUNT(*) FROM "
+								+ CoreSQLUtils.quoteWrap(rTreeTableName),
+						null));
+			}
+		} else {
+			RTreeIndexBulkLoader loader = new RTreeIndexBulkLoader(
+					getGeoPackage().getConnection().getConnection(), loadType);
+			loader.setChunkSize(loadChunkSize);
+			loader.setProgress(loadProgress);
+			loader.load(tableName, geometryColumnName, idColumnName,
+					rTreeTableName);
+		}
+
+	}
+
 	/**
 	 * Get a RTree Index Table DAO for the feature table
 	 * 
@@ -84,15 +230,10 @@ public class RTreeIndexExtension extends RTreeIndexCoreExtension {
 	 */
 	@Override
 	public void createMinXFunction() {
-		createFunction(new GeometryFunction(MIN_X_FUNCTION) {
+		createFunction(new ExtentFunction(MIN_X_FUNCTION) {
 			@Override
-			public Object execute(GeoPackageGeometryData data) {
-				Object value = null;
-				GeometryEnvelope envelope = getEnvelope(data);
-				if (envelope != null) {
-					value = envelope.getMinX();
-				}
-				return value;
+			protected double getExtent(GeometryEnvelope envelope) {
+				return envelope.getMinX();
 			}
 		});
 	}
@@ -102,15 +243,10 @@ public class RTreeIndexExtension extends RTreeIndexCoreExtension {
 	 */
 	@Override
 	public void createMaxXFunction() {
-		createFunction(new GeometryFunction(MAX_X_FUNCTION) {
+		createFunction(new ExtentFunction(MAX_X_FUNCTION) {
 			@Override
-			public Object execute(GeoPackageGeometryData data) {
-				Object value = null;
-				GeometryEnvelope envelope = getEnvelope(data);
-				if (envelope != null) {
-					value = envelope.getMaxX();
-				}
-				return value;
+			protected double getExtent(GeometryEnvelope envelope) {
+				return envelope.getMaxX();
 			}
 		});
 	}
@@ -120,15 +256,10 @@ public class RTreeIndexExtension extends RTreeIndexCoreExtension {
 	 */
 	@Override
 	public void createMinYFunction() {
-		createFunction(new GeometryFunction(MIN_Y_FUNCTION) {
+		createFunction(new ExtentFunction(MIN_Y_FUNCTION) {
 			@Override
-			public Object execute(GeoPackageGeometryData data) {
-				Object value = null;
-				GeometryEnvelope envelope = getEnvelope(data);
-				if (envelope != null) {
-					value = envelope.getMinY();
-				}
-				return value;
+			protected double getExtent(GeometryEnvelope envelope) {
+				return envelope.getMinY();
 			}
 		});
 	}
@@ -138,15 +269,10 @@ public class RTreeIndexExtension extends RTreeIndexCoreExtension {
 	 */
 	@Override
 	public void createMaxYFunction() {
-		createFunction(new GeometryFunction(MAX_Y_FUNCTION) {
+		createFunction(new ExtentFunction(MAX_Y_FUNCTION) {
 			@Override
-			public Object execute(GeoPackageGeometryData data) {
-				Object value = null;
-				GeometryEnvelope envelope = getEnvelope(data);
-				if (envelope != null) {
-					value = envelope.getMaxY();
-				}
-				return value;
+			protected double getExtent(GeometryEnvelope envelope) {
+				return envelope.getMaxY();
 			}
 		});
 	}
@@ -156,7 +282,7 @@ public class RTreeIndexExtension extends RTreeIndexCoreExtension {
 	 */
 	@Override
 	public void createIsEmptyFunction() {
-		createFunction(new GeometryFunction(IS_EMPTY_FUNCTION) {
+		createFunction(new EnvelopeFunction(IS_EMPTY_FUNCTION) {
 			@Override
 			public Object execute(GeoPackageGeometryData data) {
 				Object value = null;
@@ -169,9 +295,157 @@ public class RTreeIndexExtension extends RTreeIndexCoreExtension {
 				}
 				return value;
 			}
+
+			@Override
+			protected Object getValue(
+					GeoPackageGeometryEnvelope geometryEnvelope) {
+				return geometryEnvelope.isEmpty() ? 1 : 0;
+			}
 		});
 	}
 
+	/**
+	 * Read the envelope of the geometry blob from the header or a single pass
+	 * over the geometry. Envelopes built from the geometry are retained per
+	 * thread for the next function call on the same blob, as the RTree
+	 * triggers evaluate each extent function on the same geometry.
+	 * 
+	 * @param bytes
+	 *            geometry blob bytes
+	 * @return geometry envelope or null
+	 */
+	private GeoPackageGeometryEnvelope readEnvelope(byte[] bytes) {
+		GeoPackageGeometryEnvelope geometryEnvelope = null;
+		if (bytes != null && bytes.length > 0) {
+			GeoPackageGeometryEnvelope last = lastEnvelope.get();
+			if (last != null && sameBlob(last.getBytes(), bytes)) {
+				geometryEnvelope = last;
+			} else {
+				geometryEnvelope = GeoPackageGeometryEnvelope.read(bytes);
+				if (!geometryEnvelope.isHeaderEnvelope()) {
+					lastEnvelope.set(geometryEnvelope);
+				}
+			}
+		}
+		return geometryEnvelope;
+	}
+
+	/**
+	 * Determine if the geometry blobs are equal, rejecting blobs of different
+	 * lengths or trailing coordinate bytes before comparing all bytes
+	 * 
+	 * @param bytes1
+	 *            geometry blob bytes
+	 * @param bytes2
+	 *            geometry blob bytes
+	 * @return true if equal
+	 */
+	private static boolean sameBlob(byte[] bytes1, byte[] bytes2) {
+		if (bytes1.length != bytes2.length) {
+			return false;
+		}
+		for (int i = bytes1.length - 1; i >= 0
+				&& i >= bytes1.length - BLOB_TAIL_BYTES; i--) {
+			if (bytes1[i] != bytes2[i]) {
+				return false;
+			}
+		}
+		return Arrays.equals(bytes1, bytes2);
+	}
+
+	/**
+	 * Geometry function reading values from the geometry blob envelope
+	 */
+	private abstract class EnvelopeFunction extends GeometryFunction {
+
+		/**
+		 * Constructor
+		 * 
+		 * @param name
+		 *            function name
+		 */
+		EnvelopeFunction(String name) {
+			super(name);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Object executeBlob(byte[] bytes) {
+			Object value = null;
+			GeoPackageGeometryEnvelope geometryEnvelope = readEnvelope(bytes);
+			if (geometryEnvelope != null) {
+				value = getValue(geometryEnvelope);
+			}
+			return value;
+		}
+
+		/**
+		 * Get the function value of the geometry blob envelope
+		 * 
+		 * @param geometryEnvelope
+		 *            geometry blob envelope
+		 * @return value
+		 */
+		protected abstract Object getValue(
+				GeoPackageGeometryEnvelope geometryEnvelope);
+
+	}
+
+	/**
+	 * Envelope function of a single envelope extent
+	 */
+	private abstract class ExtentFunction extends EnvelopeFunction {
+
+		/**
+		 * Constructor
+		 * 
+		 * @param name
+		 *            function name
+		 */
+		ExtentFunction(String name) {
+			super(name);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Object execute(GeoPackageGeometryData data) {
+			Object value = null;
+			GeometryEnvelope envelope = getEnvelope(data);
+			if (envelope != null) {
+				value = getExtent(envelope);
+			}
+			return value;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected Object getValue(
+				GeoPackageGeometryEnvelope geometryEnvelope) {
+			Object value = null;
+			GeometryEnvelope envelope = geometryEnvelope.getEnvelope();
+			if (envelope != null) {
+				value = getExtent(envelope);
+			}
+			return value;
+		}
+
+		/**
+		 * Get the extent of the envelope
+		 * 
+		 * @param envelope
+		 *            geometry envelope
+		 * @return extent value
+		 */
+		protected abstract double getExtent(GeometryEnvelope envelope);
+
+	}
+
 	/**
 	 * Create the function for the connection
 	 * 
@@ -181,9 +455,29 @@ public class RTreeIndexExtension extends RTreeIndexCoreExtension {
 	 *            geometry function
 	 */
 	private void createFunction(GeometryFunction function) {
+		GeoPackageConnection connection = getGeoPackage().getConnection();
+		createFunction(connection.getConnection(), function);
+		GeoPackageReadConnectionPool readPool = connection
+				.getReadConnectionPool();
+		if (readPool != null) {
+			for (Connection readConnection : readPool.getConnections()) {
+				createFunction(readConnection, function);
+			}
+		}
+	}
+
+	/**
+	 * Create the function for the connection
+	 * 
+	 * @param connection
+	 *            connection
+	 * @param function
+	 *            geometry function
+	 */
+	private void createFunction(Connection connection,
+			GeometryFunction function) {
 		try {
-			Function.create(getGeoPackage().getConnection().getConnection(),
-					function.getName(), function);
+			Function.create(connection, function.getName(), function);
 		} catch (SQLException e) {
 			log.log(Level.SEVERE,
 					"Failed to create function: " + function.getName(), e);
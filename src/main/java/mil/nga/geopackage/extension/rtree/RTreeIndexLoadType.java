@@ -0,0 +1,29 @@
+package mil.nga.geopackage.extension.rtree;
+
+/**
+ * RTree Index load type enumeration of how existing features are loaded into
+ * a newly created RTree Index
+ *
+ * @author osbornb
+ * @since 6.6.2
+ */
+public enum RTreeIndexLoadType {
+
+	/**
+	 * Single SQL statement through the geometry functions, in feature row
+	 * order
+	 */
+	SQL,
+
+	/**
+	 * Bulk load of envelopes sorted by Sort-Tile-Recursive packing
+	 */
+	STR,
+
+	/**
+	 * Bulk load of envelopes sorted by the Hilbert curve value of their
+	 * centers
+	 */
+	HILBERT;
+
+}
@@ -1,11 +1,14 @@
 package mil.nga.geopackage.extension.rtree;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import mil.nga.geopackage.BoundingBox;
 import mil.nga.geopackage.GeoPackageException;
 import mil.nga.geopackage.db.CoreSQLUtils;
+import mil.nga.geopackage.db.SQLUtils;
 import mil.nga.geopackage.extension.Extensions;
 import mil.nga.geopackage.features.user.FeatureDao;
 import mil.nga.geopackage.features.user.FeatureResultSet;
@@ -26,6 +29,13 @@ import mil.nga.sf.proj.GeometryTransform;
  */
 public class RTreeIndexTableDao extends UserCustomDao {
 
+	/**
+	 * Max number of feature ids per feature rows "in" query
+	 *
+	 * @since 6.6.2
+	 */
+	public static final int FEATURE_ROWS_QUERY_LIMIT = 500;
+
 	/**
 	 * RTree index extension
 	 */
@@ -110,10 +120,7 @@ public class RTreeIndexTableDao extends UserCustomDao {
 	public Extensions create() {
 		Extensions extension = null;
 		if (!has()) {
-			extension = rTree.create(featureDao.getTable());
-			if (progress != null) {
-				progress.addProgress(count());
-			}
+			extension = rTree.create(featureDao.getTable(), progress);
 		}
 		return extension;
 	}
@@ -199,6 +206,56 @@ public class RTreeIndexTableDao extends UserCustomDao {
 		return getFeatureRow(getRow(row));
 	}
 
+	/**
+	 * Get the feature rows from the RTree Index Table rows, querying the
+	 * feature table with a single "in" query per
+	 * {@link #FEATURE_ROWS_QUERY_LIMIT} rows instead of a query per row
+	 * 
+	 * @param rows
+	 *            RTree Index Table rows
+	 * @return feature rows in RTree Index Table row order, excluding rows
+	 *         without a feature
+	 * @since 6.6.2
+	 */
+	public List<FeatureRow> getFeatureRows(List<RTreeIndexTableRow> rows) {
+
+		List<FeatureRow> featureRows = new ArrayList<>(rows.size());
+
+		String pkColumn = featureDao.getPkColumnName();
+		for (int start = 0; start < rows.size();
+				start += FEATURE_ROWS_QUERY_LIMIT) {
+			int end = Math.min(start + FEATURE_ROWS_QUERY_LIMIT, rows.size());
+
+			List<Long> chunk = new ArrayList<>(end - start);
+			for (int i = start; i < end; i++) {
+				chunk.add(rows.get(i).getId());
+			}
+
+			Map<Long, FeatureRow> featureRowsById = new HashMap<>();
+			FeatureResultSet resultSet = featureDao.query(
+					SQLUtils.buildInWhere(pkColumn, chunk.size()),
+					SQLUtils.buildInWhereArgs(chunk));
+			try {
+				while (resultSet.moveToNext()) {
+					FeatureRow featureRow = resultSet.getRow();
+					featureRowsById.put(featureRow.getId(), featureRow);
+				}
+			} finally {
+				resultSet.close();
+			}
+
+			for (int i = start; i < end; i++) {
+				FeatureRow featureRow = featureRowsById
+						.get(rows.get(i).getId());
+				if (featureRow != null) {
+					featureRows.add(featureRow);
+				}
+			}
+		}
+
+		return featureRows;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
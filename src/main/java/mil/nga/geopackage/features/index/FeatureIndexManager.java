@@ -18,6 +18,7 @@ import mil.nga.geopackage.GeoPackageException;
 import mil.nga.geopackage.extension.nga.index.FeatureTableIndex;
 import mil.nga.geopackage.extension.rtree.RTreeIndexExtension;
 import mil.nga.geopackage.extension.rtree.RTreeIndexTableDao;
+import mil.nga.geopackage.features.user.FeatureBatchWriter;
 import mil.nga.geopackage.features.user.FeatureDao;
 import mil.nga.geopackage.features.user.FeaturePaginatedResults;
 import mil.nga.geopackage.features.user.FeatureResultSet;
@@ -114,6 +115,23 @@ public class FeatureIndexManager {
 		indexLocationQueryOrder.add(FeatureIndexType.GEOPACKAGE);
 	}
 
+	/**
+	 * Copy Constructor, creating new index DAOs with the same index location
+	 * settings
+	 *
+	 * @param featureIndexManager
+	 *            feature index manager to copy
+	 * @since 6.6.2
+	 */
+	public FeatureIndexManager(FeatureIndexManager featureIndexManager) {
+		this(featureIndexManager.rTreeIndexTableDao.getRTreeIndexExtension()
+				.getGeoPackage(), featureIndexManager.featureDao);
+		indexLocationQueryOrder = new LinkedHashSet<>(
+				featureIndexManager.indexLocationQueryOrder);
+		indexLocation = featureIndexManager.indexLocation;
+		continueOnError = featureIndexManager.continueOnError;
+	}
+
 	/**
 	 * Close the index connections
 	 */
@@ -440,6 +458,72 @@ public class FeatureIndexManager {
 		return indexed;
 	}
 
+	/**
+	 * Insert the feature rows in transaction grouped batches, maintaining the
+	 * indexes in bulk, using the default batch size. See
+	 * {@link #createBatchWriter(int)}.
+	 *
+	 * @param rows
+	 *            feature rows
+	 * @return inserted count
+	 * @since 6.6.2
+	 */
+	public int insertBatch(Iterable<FeatureRow> rows) {
+		return insertBatch(rows, FeatureBatchWriter.DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Insert the feature rows in transaction grouped batches, maintaining the
+	 * indexes in bulk. See {@link #createBatchWriter(int)}.
+	 *
+	 * @param rows
+	 *            feature rows
+	 * @param batchSize
+	 *            number of features inserted per batch and transaction
+	 * @return inserted count
+	 * @since 6.6.2
+	 */
+	public int insertBatch(Iterable<FeatureRow> rows, int batchSize) {
+		FeatureBatchWriter writer = createBatchWriter(batchSize);
+		try {
+			writer.write(rows);
+		} finally {
+			writer.close();
+		}
+		return writer.getCount();
+	}
+
+	/**
+	 * Create a batch writer for bulk inserting features, maintaining the
+	 * indexes in bulk, using the default batch size. See
+	 * {@link #createBatchWriter(int)}.
+	 *
+	 * @return feature batch writer
+	 * @since 6.6.2
+	 */
+	public FeatureBatchWriter createBatchWriter() {
+		return createBatchWriter(FeatureBatchWriter.DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Create a batch writer for bulk inserting features in transaction grouped
+	 * batches. When indexed by the GeoPackage NGA Geometry Index, each batch
+	 * is indexed in bulk. RTree indexes are updated by triggers. The writer
+	 * must be closed.
+	 *
+	 * @param batchSize
+	 *            number of features inserted per batch and transaction
+	 * @return feature batch writer
+	 * @since 6.6.2
+	 */
+	public FeatureBatchWriter createBatchWriter(int batchSize) {
+		FeatureBatchWriter writer = featureDao.createBatchWriter(batchSize);
+		if (isIndexed(FeatureIndexType.GEOPACKAGE)) {
+			writer.setTableIndex(featureTableIndex);
+		}
+		return writer;
+	}
+
 	/**
 	 * Delete the feature index
 	 *
@@ -0,0 +1,490 @@
+package mil.nga.geopackage.features.user;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+import mil.nga.geopackage.GeoPackageException;
+import mil.nga.geopackage.db.CoreSQLUtils;
+import mil.nga.geopackage.db.SQLUtils;
+import mil.nga.geopackage.extension.nga.index.FeatureTableIndex;
+import mil.nga.geopackage.user.ContentValues;
+import mil.nga.sf.GeometryEnvelope;
+
+/**
+ * Feature Batch Writer for bulk inserting feature rows into a feature table.
+ * Rows are inserted with reusable prepared statements and committed in
+ * batches within a transaction. When the connection is already within a
+ * transaction, batches are inserted but committing is left to the owner of
+ * the transaction.
+ * <p>
+ * Row values, including geometry bytes and envelopes, are encoded on the
+ * executor when set, off of the writing thread. Rows must not be modified
+ * after being written until the writer is flushed. When a NGA Geometry Index
+ * table index is set, the inserted geometry envelopes of each batch are
+ * indexed with a single batched statement in the same transaction.
+ *
+ * @author osbornb
+ * @since 6.6.2
+ */
+public class FeatureBatchWriter implements Closeable {
+
+	/**
+	 * Default number of features written per batch and transaction
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 1000;
+
+	/**
+	 * Feature DAO
+	 */
+	private final FeatureDao featureDao;
+
+	/**
+	 * Connection
+	 */
+	private final Connection connection;
+
+	/**
+	 * Number of features written per batch and transaction
+	 */
+	private final int batchSize;
+
+	/**
+	 * Auto commit mode at the beginning of the transaction, false when within
+	 * an existing transaction
+	 */
+	private final boolean autoCommit;
+
+	/**
+	 * Prepared insert statements by SQL
+	 */
+	private Map<String, PreparedStatement> statements = new HashMap<>();
+
+	/**
+	 * Feature rows encoded for the current batch
+	 */
+	private final List<Future<EncodedRow>> batch = new ArrayList<>();
+
+	/**
+	 * Executor service used to encode feature rows
+	 */
+	private ExecutorService executor = null;
+
+	/**
+	 * NGA Geometry Index table index
+	 */
+	private FeatureTableIndex tableIndex = null;
+
+	/**
+	 * Total features written
+	 */
+	private int count = 0;
+
+	/**
+	 * Total features indexed
+	 */
+	private int indexed = 0;
+
+	/**
+	 * Constructor
+	 *
+	 * @param featureDao
+	 *            feature DAO
+	 */
+	public FeatureBatchWriter(FeatureDao featureDao) {
+		this(featureDao, DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param featureDao
+	 *            feature DAO
+	 * @param batchSize
+	 *            number of features written per batch and transaction
+	 */
+	public FeatureBatchWriter(FeatureDao featureDao, int batchSize) {
+		if (batchSize < 1) {
+			throw new GeoPackageException(
+					"Batch size must be at least 1, not: " + batchSize);
+		}
+		this.featureDao = featureDao;
+		this.connection = featureDao.getConnection();
+		this.batchSize = batchSize;
+		this.autoCommit = SQLUtils.beginTransaction(connection);
+	}
+
+	/**
+	 * Get the feature DAO
+	 *
+	 * @return feature DAO
+	 */
+	public FeatureDao getFeatureDao() {
+		return featureDao;
+	}
+
+	/**
+	 * Get the number of features written per batch and transaction
+	 *
+	 * @return batch size
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * Get the number of features written, including those pending in the
+	 * current batch
+	 *
+	 * @return feature count
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * Get the number of inserted features indexed in the NGA Geometry Index
+	 *
+	 * @return indexed count
+	 */
+	public int getIndexedCount() {
+		return indexed;
+	}
+
+	/**
+	 * Get the executor service used to encode feature rows
+	 *
+	 * @return executor service or null
+	 */
+	public ExecutorService getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Set an executor service used to encode feature rows off of the writing
+	 * thread. The executor is not shutdown by the writer.
+	 *
+	 * @param executor
+	 *            executor service
+	 */
+	public void setExecutor(ExecutorService executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Get the NGA Geometry Index table index maintained by the writer
+	 *
+	 * @return feature table index or null
+	 */
+	public FeatureTableIndex getTableIndex() {
+		return tableIndex;
+	}
+
+	/**
+	 * Set the NGA Geometry Index table index to maintain for inserted
+	 * features. The feature table must already be indexed. The last indexed
+	 * time is updated when the writer is closed and owns the transaction.
+	 *
+	 * @param tableIndex
+	 *            feature table index
+	 */
+	public void setTableIndex(FeatureTableIndex tableIndex) {
+		if (tableIndex != null && tableIndex.getTableIndex() == null) {
+			throw new GeoPackageException(
+					"GeoPackage table is not indexed. Table: "
+							+ tableIndex.getTableName());
+		}
+		this.tableIndex = tableIndex;
+	}
+
+	/**
+	 * Write the feature rows
+	 *
+	 * @param rows
+	 *            feature rows
+	 */
+	public void write(Iterable<FeatureRow> rows) {
+		for (FeatureRow row : rows) {
+			write(row);
+		}
+	}
+
+	/**
+	 * Write a feature row. The row id is set once inserted when the batch is
+	 * flushed.
+	 *
+	 * @param row
+	 *            feature row
+	 */
+	public void write(final FeatureRow row) {
+		if (statements == null) {
+			throw new GeoPackageException(
+					"Feature batch writer is closed. Table: "
+							+ featureDao.getTableName());
+		}
+		FutureTask<EncodedRow> task = new FutureTask<>(
+				new Callable<EncodedRow>() {
+					@Override
+					public EncodedRow call() throws Exception {
+						return encode(row);
+					}
+				});
+		if (executor != null) {
+			executor.execute(task);
+		} else {
+			task.run();
+		}
+		batch.add(task);
+		count++;
+		if (batch.size() >= batchSize) {
+			flush();
+		}
+	}
+
+	/**
+	 * Insert and index the pending batch and commit the transaction when owned
+	 * by the writer
+	 */
+	public void flush() {
+		if (!batch.isEmpty()) {
+
+			Map<Long, GeometryEnvelope> envelopes = null;
+			if (tableIndex != null) {
+				envelopes = new LinkedHashMap<>();
+			}
+
+			try {
+				for (Future<EncodedRow> encoded : batch) {
+					EncodedRow encodedRow = getEncodedRow(encoded);
+					long id = insert(encodedRow.values);
+					featureDao.setInsertedId(encodedRow.row, id);
+					if (envelopes != null && encodedRow.envelope != null) {
+						envelopes.put(id, encodedRow.envelope);
+					}
+				}
+			} finally {
+				for (Future<EncodedRow> encoded : batch) {
+					encoded.cancel(false);
+				}
+				batch.clear();
+			}
+
+			if (envelopes != null && !envelopes.isEmpty()) {
+				indexed += tableIndex.index(envelopes);
+			}
+
+			if (autoCommit) {
+				featureDao.commit();
+			}
+		}
+	}
+
+	/**
+	 * Flush any pending features, close the prepared statements, and end the
+	 * transaction
+	 */
+	@Override
+	public void close() {
+		if (statements != null) {
+			boolean successful = false;
+			try {
+				flush();
+				successful = true;
+			} finally {
+				for (Map.Entry<String, PreparedStatement> statement : statements
+						.entrySet()) {
+					SQLUtils.closeStatement(statement.getValue(),
+							statement.getKey());
+				}
+				statements = null;
+				if (autoCommit) {
+					SQLUtils.endTransaction(connection, successful, true);
+				}
+			}
+			if (autoCommit && indexed > 0) {
+				tableIndex.updateLastIndexed();
+			}
+		}
+	}
+
+	/**
+	 * Encode the feature row values and geometry envelope
+	 *
+	 * @param row
+	 *            feature row
+	 * @return encoded row
+	 */
+	private EncodedRow encode(FeatureRow row) {
+
+		ContentValues values = row.toContentValues(true);
+
+		// Let defaults apply to null columns with default values
+		for (FeatureColumn column : row.getColumns().getColumns()) {
+			if (column.hasDefaultValue()
+					&& row.getValue(column.getIndex()) == null) {
+				values.remove(column.getName());
+			}
+		}
+
+		GeometryEnvelope envelope = null;
+		if (tableIndex != null) {
+			envelope = row.getGeometryEnvelope();
+		}
+
+		return new EncodedRow(row, values, envelope);
+	}
+
+	/**
+	 * Get the encoded row, waiting for the encoding to complete
+	 *
+	 * @param encoded
+	 *            encoded row future
+	 * @return encoded row
+	 */
+	private EncodedRow getEncodedRow(Future<EncodedRow> encoded) {
+		EncodedRow encodedRow = null;
+		try {
+			encodedRow = encoded.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new GeoPackageException(
+					"Interrupted encoding feature row. Table: "
+							+ featureDao.getTableName(),
+					e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof GeoPackageException) {
+				throw (GeoPackageException) e.getCause();
+			}
+			throw new GeoPackageException(
+					"Failed to encode feature row. Table: "
+							+ featureDao.getTableName(),
+					e.getCause());
+		}
+		return encodedRow;
+	}
+
+	/**
+	 * Insert the encoded values with the prepared statement of the columns
+	 *
+	 * @param values
+	 *            content values
+	 * @return row id
+	 */
+	private long insert(ContentValues values) {
+
+		String[] columns = new String[values.size()];
+		Object[] args = new Object[columns.length];
+		int i = 0;
+		for (String column : values.keySet()) {
+			columns[i] = column;
+			args[i++] = values.get(column);
+		}
+
+		String sql = insertSQL(columns);
+		PreparedStatement statement = statements.get(sql);
+		if (statement == null) {
+			statement = SQLUtils.prepareStatement(connection, sql);
+			statements.put(sql, statement);
+		}
+
+		long id = 0;
+		try {
+			SQLUtils.setArguments(statement, args);
+			if (statement.executeUpdate() == 0) {
+				throw new GeoPackageException(
+						"Failed to execute SQL insert statement: " + sql
+								+ ". No rows added from execution.");
+			}
+			try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+				if (generatedKeys.next()) {
+					id = generatedKeys.getLong(1);
+				} else {
+					throw new GeoPackageException(
+							"Failed to execute SQL insert statement: " + sql
+									+ ". No row id was found.");
+				}
+			}
+		} catch (SQLException e) {
+			throw new GeoPackageException(
+					"Failed to execute SQL insert statement: " + sql, e);
+		}
+
+		return id;
+	}
+
+	/**
+	 * Build the insert SQL for the columns
+	 *
+	 * @param columns
+	 *            column names
+	 * @return insert SQL
+	 */
+	private String insertSQL(String[] columns) {
+		StringBuilder insert = new StringBuilder();
+		insert.append("insert into ")
+				.append(CoreSQLUtils.quoteWrap(featureDao.getTableName()))
+				.append("(");
+		for (int i = 0; i < columns.length; i++) {
+			insert.append((i > 0) ? "," : "");
+			insert.append(CoreSQLUtils.quoteWrap(columns[i]));
+		}
+		insert.append(") values (");
+		for (int i = 0; i < columns.length; i++) {
+			insert.append((i > 0) ? ",?" : "?");
+		}
+		insert.append(')');
+		return insert.toString();
+	}
+
+	/**
+	 * Feature row with encoded values and geometry envelope
+	 */
+	private static class EncodedRow {
+
+		/**
+		 * Feature row
+		 */
+		private final FeatureRow row;
+
+		/**
+		 * Encoded content values
+		 */
+		private final ContentValues values;
+
+		/**
+		 * Geometry envelope, null when not indexed
+		 */
+		private final GeometryEnvelope envelope;
+
+		/**
+		 * Constructor
+		 *
+		 * @param row
+		 *            feature row
+		 * @param values
+		 *            encoded content values
+		 * @param envelope
+		 *            geometry envelope
+		 */
+		private EncodedRow(FeatureRow row, ContentValues values,
+				GeometryEnvelope envelope) {
+			this.row = row;
+			this.values = values;
+			this.envelope = envelope;
+		}
+
+	}
+
+}
@@ -0,0 +1,147 @@
+package mil.nga.geopackage.features.user;
+
+import java.util.Arrays;
+import java.util.List;
+
+import mil.nga.geopackage.GeoPackageException;
+
+/**
+ * Feature Column Batch of column vectors for up to a capacity of feature rows,
+ * filled by a {@link FeatureColumnBatchReader}. The batch and its vectors are
+ * reused as the reader reads the next batch.
+ *
+ * @author osbornb
+ * @since 6.6.2
+ */
+public class FeatureColumnBatch {
+
+	/**
+	 * Column vectors
+	 */
+	private final FeatureColumnVector[] vectors;
+
+	/**
+	 * Row capacity
+	 */
+	private final int capacity;
+
+	/**
+	 * Number of rows in the batch
+	 */
+	private int size = 0;
+
+	/**
+	 * Constructor
+	 *
+	 * @param columns
+	 *            feature columns
+	 * @param capacity
+	 *            row capacity
+	 * @param readEnvelopes
+	 *            true to read geometry envelopes
+	 */
+	FeatureColumnBatch(FeatureColumns columns, int capacity,
+			boolean readEnvelopes) {
+		this.capacity = capacity;
+		vectors = new FeatureColumnVector[columns.columnCount()];
+		for (int index = 0; index < vectors.length; index++) {
+			vectors[index] = new FeatureColumnVector(columns.getColumn(index),
+					capacity, readEnvelopes);
+		}
+	}
+
+	/**
+	 * Get the number of rows in the batch
+	 *
+	 * @return size
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Is the batch empty
+	 *
+	 * @return true if empty
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * Get the row capacity
+	 *
+	 * @return capacity
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Get the number of column vectors
+	 *
+	 * @return column count
+	 */
+	public int columnCount() {
+		return vectors.length;
+	}
+
+	/**
+	 * Get the column vector at the index
+	 *
+	 * @param index
+	 *            column index
+	 * @return column vector
+	 */
+	public FeatureColumnVector getVector(int index) {
+		return vectors[index];
+	}
+
+	/**
+	 * Get the column vector of the column name
+	 *
+	 * @param columnName
+	 *            column name
+	 * @return column vector
+	 */
+	public FeatureColumnVector getVector(String columnName) {
+		for (FeatureColumnVector vector : vectors) {
+			if (vector.getColumnName().equalsIgnoreCase(columnName)) {
+				return vector;
+			}
+		}
+		throw new GeoPackageException(
+				"Feature Column Batch does not contain column: "
+						+ columnName);
+	}
+
+	/**
+	 * Get the column vectors
+	 *
+	 * @return column vectors
+	 */
+	public List<FeatureColumnVector> getVectors() {
+		return Arrays.asList(vectors);
+	}
+
+	/**
+	 * Clear the batch before refilling
+	 */
+	void clear() {
+		size = 0;
+		for (FeatureColumnVector vector : vectors) {
+			vector.clear();
+		}
+	}
+
+	/**
+	 * Set the number of rows in the batch
+	 *
+	 * @param size
+	 *            size
+	 */
+	void setSize(int size) {
+		this.size = size;
+	}
+
+}
@@ -0,0 +1,167 @@
+package mil.nga.geopackage.features.user;
+
+import java.io.Closeable;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import mil.nga.geopackage.GeoPackageException;
+
+/**
+ * Feature Column Batch Reader for column projected, vectorized scans of a
+ * feature table. Query rows are read directly from the result set with typed
+ * getters into the column vectors of a reused {@link FeatureColumnBatch}, up
+ * to the batch size rows at a time, without creating feature rows or decoding
+ * geometries. The reader must be closed.
+ *
+ * @author osbornb
+ * @since 6.6.2
+ */
+public class FeatureColumnBatchReader implements Closeable {
+
+	/**
+	 * Default number of rows read per batch
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 1024;
+
+	/**
+	 * Feature result set
+	 */
+	private final FeatureResultSet result;
+
+	/**
+	 * Reused column batch
+	 */
+	private final FeatureColumnBatch batch;
+
+	/**
+	 * All rows have been read
+	 */
+	private boolean finished = false;
+
+	/**
+	 * Total rows read
+	 */
+	private long count = 0;
+
+	/**
+	 * Constructor, reading geometry envelopes
+	 *
+	 * @param featureDao
+	 *            feature DAO
+	 * @param columns
+	 *            columns, null for all
+	 * @param where
+	 *            where clause
+	 * @param whereArgs
+	 *            where arguments
+	 * @param batchSize
+	 *            number of rows read per batch
+	 */
+	public FeatureColumnBatchReader(FeatureDao featureDao, String[] columns,
+			String where, String[] whereArgs, int batchSize) {
+		this(featureDao, columns, where, whereArgs, batchSize, true);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param featureDao
+	 *            feature DAO
+	 * @param columns
+	 *            columns, null for all
+	 * @param where
+	 *            where clause
+	 * @param whereArgs
+	 *            where arguments
+	 * @param batchSize
+	 *            number of rows read per batch
+	 * @param readEnvelopes
+	 *            true to read packed envelopes of geometry columns, false to
+	 *            only read geometry bytes
+	 */
+	public FeatureColumnBatchReader(FeatureDao featureDao, String[] columns,
+			String where, String[] whereArgs, int batchSize,
+			boolean readEnvelopes) {
+		if (batchSize < 1) {
+			throw new GeoPackageException(
+					"Batch size must be at least 1, not: " + batchSize);
+		}
+		result = featureDao.query(false, columns, where, whereArgs, null,
+				null, null, null);
+		batch = new FeatureColumnBatch((FeatureColumns) result.getColumns(),
+				batchSize, readEnvelopes);
+	}
+
+	/**
+	 * Get the reused column batch, filled by {@link #next()}
+	 *
+	 * @return column batch
+	 */
+	public FeatureColumnBatch getBatch() {
+		return batch;
+	}
+
+	/**
+	 * Get the total number of rows read
+	 *
+	 * @return row count
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * Read the next batch of rows into the column batch
+	 *
+	 * @return true if rows were read, false when all rows have been read
+	 */
+	public boolean next() {
+
+		batch.clear();
+
+		if (finished) {
+			return false;
+		}
+
+		ResultSet resultSet = result.getResultSet();
+		int columnCount = batch.columnCount();
+		int capacity = batch.getCapacity();
+		int size = 0;
+
+		try {
+			while (size < capacity) {
+				if (!resultSet.next()) {
+					finished = true;
+					break;
+				}
+				for (int index = 0; index < columnCount; index++) {
+					batch.getVector(index).read(resultSet, index + 1, size);
+				}
+				size++;
+			}
+		} catch (SQLException e) {
+			throw new GeoPackageException(
+					"Failed to read feature column batch. Table: "
+							+ result.getTableName(),
+					e);
+		}
+
+		batch.setSize(size);
+		count += size;
+
+		if (finished) {
+			close();
+		}
+
+		return size > 0;
+	}
+
+	/**
+	 * Close the query result
+	 */
+	@Override
+	public void close() {
+		result.close();
+	}
+
+}
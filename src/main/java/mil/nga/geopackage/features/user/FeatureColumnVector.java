@@ -0,0 +1,436 @@
+package mil.nga.geopackage.features.user;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+import mil.nga.geopackage.GeoPackageException;
+import mil.nga.geopackage.db.GeoPackageDataType;
+import mil.nga.geopackage.geom.GeoPackageGeometryEnvelope;
+import mil.nga.sf.GeometryEnvelope;
+
+/**
+ * Feature Column Vector of the values of a single column for the rows of a
+ * {@link FeatureColumnBatch}. Values are stored in primitive arrays by
+ * {@link FeatureColumnVectorType}, with missing values tracked in a null
+ * bitmap. Arrays are sized to the batch capacity and reused as the batch is
+ * refilled, only the first {@link FeatureColumnBatch#size()} rows are valid.
+ * <p>
+ * Geometry columns hold the geometry bytes of each row and, when read,
+ * envelopes packed as min x, min y, max x, and max y values per row. Null and
+ * empty geometries have NaN envelope values.
+ *
+ * @author osbornb
+ * @since 6.6.2
+ */
+public class FeatureColumnVector {
+
+	/**
+	 * Number of packed envelope values per row
+	 */
+	public static final int ENVELOPE_VALUES = 4;
+
+	/**
+	 * Feature column
+	 */
+	private final FeatureColumn column;
+
+	/**
+	 * Vector type
+	 */
+	private final FeatureColumnVectorType type;
+
+	/**
+	 * Row capacity
+	 */
+	private final int capacity;
+
+	/**
+	 * Null bitmap, one bit per row
+	 */
+	private final long[] nulls;
+
+	/**
+	 * Long values
+	 */
+	private long[] longs;
+
+	/**
+	 * Double values
+	 */
+	private double[] doubles;
+
+	/**
+	 * String values
+	 */
+	private String[] strings;
+
+	/**
+	 * Blob and geometry bytes
+	 */
+	private byte[][] bytes;
+
+	/**
+	 * Packed geometry envelopes
+	 */
+	private double[] envelopes;
+
+	/**
+	 * Constructor
+	 *
+	 * @param column
+	 *            feature column
+	 * @param capacity
+	 *            row capacity
+	 * @param readEnvelopes
+	 *            true to read geometry envelopes
+	 */
+	FeatureColumnVector(FeatureColumn column, int capacity,
+			boolean readEnvelopes) {
+		this.column = column;
+		this.type = getType(column);
+		this.capacity = capacity;
+		this.nulls = new long[(capacity + Long.SIZE - 1) / Long.SIZE];
+		switch (type) {
+		case LONG:
+			longs = new long[capacity];
+			break;
+		case DOUBLE:
+			doubles = new double[capacity];
+			break;
+		case TEXT:
+			strings = new String[capacity];
+			break;
+		case BLOB:
+			bytes = new byte[capacity][];
+			break;
+		case GEOMETRY:
+			bytes = new byte[capacity][];
+			if (readEnvelopes) {
+				envelopes = new double[capacity * ENVELOPE_VALUES];
+			}
+			break;
+		default:
+			throw new GeoPackageException(
+					"Unsupported Feature Column Vector Type: " + type);
+		}
+	}
+
+	/**
+	 * Get the vector type of the feature column
+	 *
+	 * @param column
+	 *            feature column
+	 * @return vector type
+	 */
+	public static FeatureColumnVectorType getType(FeatureColumn column) {
+
+		FeatureColumnVectorType type;
+
+		if (column.isGeometry()) {
+			type = FeatureColumnVectorType.GEOMETRY;
+		} else {
+			GeoPackageDataType dataType = column.getDataType();
+			Class<?> classType = dataType != null ? dataType.getClassType()
+					: null;
+			if (classType == Long.class || classType == Integer.class
+					|| classType == Short.class || classType == Byte.class
+					|| classType == Boolean.class) {
+				type = FeatureColumnVectorType.LONG;
+			} else if (classType == Double.class
+					|| classType == Float.class) {
+				type = FeatureColumnVectorType.DOUBLE;
+			} else if (classType == byte[].class) {
+				type = FeatureColumnVectorType.BLOB;
+			} else {
+				type = FeatureColumnVectorType.TEXT;
+			}
+		}
+
+		return type;
+	}
+
+	/**
+	 * Get the feature column
+	 *
+	 * @return feature column
+	 */
+	public FeatureColumn getColumn() {
+		return column;
+	}
+
+	/**
+	 * Get the column name
+	 *
+	 * @return column name
+	 */
+	public String getColumnName() {
+		return column.getName();
+	}
+
+	/**
+	 * Get the vector type
+	 *
+	 * @return vector type
+	 */
+	public FeatureColumnVectorType getType() {
+		return type;
+	}
+
+	/**
+	 * Get the row capacity
+	 *
+	 * @return capacity
+	 */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * Is the row value null
+	 *
+	 * @param row
+	 *            batch row
+	 * @return true if null
+	 */
+	public boolean isNull(int row) {
+		return (nulls[row / Long.SIZE] & (1L << (row % Long.SIZE))) != 0;
+	}
+
+	/**
+	 * Get the null bitmap, bit row % 64 of word row / 64 set for null values
+	 *
+	 * @return null bitmap
+	 */
+	public long[] getNulls() {
+		return nulls;
+	}
+
+	/**
+	 * Get the long value of a {@link FeatureColumnVectorType#LONG} vector
+	 *
+	 * @param row
+	 *            batch row
+	 * @return long value, 0 when null
+	 */
+	public long getLong(int row) {
+		return getLongs()[row];
+	}
+
+	/**
+	 * Get the long values of a {@link FeatureColumnVectorType#LONG} vector
+	 *
+	 * @return long values
+	 */
+	public long[] getLongs() {
+		validateType(FeatureColumnVectorType.LONG);
+		return longs;
+	}
+
+	/**
+	 * Get the double value of a {@link FeatureColumnVectorType#DOUBLE} or
+	 * {@link FeatureColumnVectorType#LONG} vector
+	 *
+	 * @param row
+	 *            batch row
+	 * @return double value, 0 when null
+	 */
+	public double getDouble(int row) {
+		double value;
+		if (type == FeatureColumnVectorType.LONG) {
+			value = longs[row];
+		} else {
+			value = getDoubles()[row];
+		}
+		return value;
+	}
+
+	/**
+	 * Get the double values of a {@link FeatureColumnVectorType#DOUBLE}
+	 * vector
+	 *
+	 * @return double values
+	 */
+	public double[] getDoubles() {
+		validateType(FeatureColumnVectorType.DOUBLE);
+		return doubles;
+	}
+
+	/**
+	 * Get the string value of a {@link FeatureColumnVectorType#TEXT} vector
+	 *
+	 * @param row
+	 *            batch row
+	 * @return string value
+	 */
+	public String getString(int row) {
+		validateType(FeatureColumnVectorType.TEXT);
+		return strings[row];
+	}
+
+	/**
+	 * Get the bytes of a {@link FeatureColumnVectorType#BLOB} or
+	 * {@link FeatureColumnVectorType#GEOMETRY} vector
+	 *
+	 * @param row
+	 *            batch row
+	 * @return bytes
+	 */
+	public byte[] getBytes(int row) {
+		if (bytes == null) {
+			throw new GeoPackageException(
+					"Feature Column Vector does not contain bytes. column: "
+							+ column.getName() + ", type: " + type);
+		}
+		return bytes[row];
+	}
+
+	/**
+	 * Has packed geometry envelopes
+	 *
+	 * @return true if envelopes were read
+	 */
+	public boolean hasEnvelopes() {
+		return envelopes != null;
+	}
+
+	/**
+	 * Get the packed geometry envelopes of a
+	 * {@link FeatureColumnVectorType#GEOMETRY} vector, with min x, min y, max
+	 * x, and max y values at {@link #ENVELOPE_VALUES} * row
+	 *
+	 * @return packed envelopes
+	 */
+	public double[] getEnvelopes() {
+		validateType(FeatureColumnVectorType.GEOMETRY);
+		if (envelopes == null) {
+			throw new GeoPackageException(
+					"Geometry envelopes were not read. column: "
+							+ column.getName());
+		}
+		return envelopes;
+	}
+
+	/**
+	 * Get the geometry envelope of a {@link FeatureColumnVectorType#GEOMETRY}
+	 * vector row
+	 *
+	 * @param row
+	 *            batch row
+	 * @return envelope, null for null and empty geometries
+	 */
+	public GeometryEnvelope getEnvelope(int row) {
+		double[] packed = getEnvelopes();
+		int offset = row * ENVELOPE_VALUES;
+		GeometryEnvelope envelope = null;
+		if (!Double.isNaN(packed[offset])) {
+			envelope = new GeometryEnvelope(packed[offset], packed[offset + 1],
+					packed[offset + 2], packed[offset + 3]);
+		}
+		return envelope;
+	}
+
+	/**
+	 * Clear the null bitmap before refilling the vector
+	 */
+	void clear() {
+		Arrays.fill(nulls, 0);
+	}
+
+	/**
+	 * Read the column value of the current result set row into the vector row
+	 *
+	 * @param resultSet
+	 *            result set
+	 * @param resultSetIndex
+	 *            result set column index
+	 * @param row
+	 *            batch row
+	 * @throws SQLException
+	 *             upon failure
+	 */
+	void read(ResultSet resultSet, int resultSetIndex, int row)
+			throws SQLException {
+
+		boolean isNull;
+
+		switch (type) {
+		case LONG:
+			longs[row] = resultSet.getLong(resultSetIndex);
+			isNull = resultSet.wasNull();
+			break;
+		case DOUBLE:
+			doubles[row] = resultSet.getDouble(resultSetIndex);
+			isNull = resultSet.wasNull();
+			break;
+		case TEXT:
+			strings[row] = resultSet.getString(resultSetIndex);
+			isNull = strings[row] == null;
+			break;
+		case BLOB:
+			bytes[row] = resultSet.getBytes(resultSetIndex);
+			isNull = bytes[row] == null;
+			break;
+		case GEOMETRY:
+			bytes[row] = resultSet.getBytes(resultSetIndex);
+			isNull = bytes[row] == null;
+			if (envelopes != null) {
+				readEnvelope(bytes[row], row);
+			}
+			break;
+		default:
+			throw new GeoPackageException(
+					"Unsupported Feature Column Vector Type: " + type);
+		}
+
+		if (isNull) {
+			nulls[row / Long.SIZE] |= 1L << (row % Long.SIZE);
+		}
+
+	}
+
+	/**
+	 * Read the geometry envelope into the packed envelopes
+	 *
+	 * @param geometryBytes
+	 *            geometry bytes
+	 * @param row
+	 *            batch row
+	 */
+	private void readEnvelope(byte[] geometryBytes, int row) {
+		GeometryEnvelope envelope = null;
+		if (geometryBytes != null) {
+			GeoPackageGeometryEnvelope geometryEnvelope = GeoPackageGeometryEnvelope
+					.read(geometryBytes);
+			if (!geometryEnvelope.isEmpty()) {
+				envelope = geometryEnvelope.getEnvelope();
+			}
+		}
+		int offset = row * ENVELOPE_VALUES;
+		if (envelope != null) {
+			envelopes[offset] = envelope.getMinX();
+			envelopes[offset + 1] = envelope.getMinY();
+			envelopes[offset + 2] = envelope.getMaxX();
+			envelopes[offset + 3] = envelope.getMaxY();
+		} else {
+			Arrays.fill(envelopes, offset, offset + ENVELOPE_VALUES,
+					Double.NaN);
+		}
+	}
+
+	/**
+	 * Validate the vector type
+	 *
+	 * @param expected
+	 *            expected vector type
+	 */
+	private void validateType(FeatureColumnVectorType expected) {
+		if (type != expected) {
+			throw new GeoPackageException(
+					"Feature Column Vector is not of type " + expected
+							+ ". column: " + column.getName() + ", type: "
+							+ type);
+		}
+	}
+
+}
@@ -0,0 +1,37 @@
+package mil.nga.geopackage.features.user;
+
+/**
+ * Feature Column Vector type enumeration of how column values of a
+ * {@link FeatureColumnBatch} are stored
+ *
+ * @author osbornb
+ * @since 6.6.2
+ */
+public enum FeatureColumnVectorType {
+
+	/**
+	 * Integer and boolean values stored as longs
+	 */
+	LONG,
+
+	/**
+	 * Floating point values stored as doubles
+	 */
+	DOUBLE,
+
+	/**
+	 * Text values stored as strings
+	 */
+	TEXT,
+
+	/**
+	 * Blob values stored as byte arrays
+	 */
+	BLOB,
+
+	/**
+	 * Geometry values stored as geometry bytes and packed envelopes
+	 */
+	GEOMETRY;
+
+}
@@ -172,4 +172,122 @@ public class FeatureDao extends
 		return getTable().getIdAndGeometryColumnNames();
 	}
 
+	/**
+	 * Insert the feature rows in transaction grouped batches with reusable
+	 * prepared statements, using the default batch size. Row ids are set as
+	 * inserted.
+	 * 
+	 * @param rows
+	 *            feature rows
+	 * @return inserted count
+	 * @since 6.6.2
+	 */
+	public int insertBatch(Iterable<FeatureRow> rows) {
+		return insertBatch(rows, FeatureBatchWriter.DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Insert the feature rows in transaction grouped batches with reusable
+	 * prepared statements. Row ids are set as inserted.
+	 * 
+	 * @param rows
+	 *            feature rows
+	 * @param batchSize
+	 *            number of features inserted per batch and transaction
+	 * @return inserted count
+	 * @since 6.6.2
+	 */
+	public int insertBatch(Iterable<FeatureRow> rows, int batchSize) {
+		FeatureBatchWriter writer = createBatchWriter(batchSize);
+		try {
+			writer.write(rows);
+		} finally {
+			writer.close();
+		}
+		return writer.getCount();
+	}
+
+	/**
+	 * Create a batch writer for bulk inserting features in transaction grouped
+	 * batches, using the default batch size. The writer must be closed.
+	 * 
+	 * @return feature batch writer
+	 * @since 6.6.2
+	 */
+	public FeatureBatchWriter createBatchWriter() {
+		return new FeatureBatchWriter(this);
+	}
+
+	/**
+	 * Create a batch writer for bulk inserting features in transaction grouped
+	 * batches. The writer must be closed.
+	 * 
+	 * @param batchSize
+	 *            number of features inserted per batch and transaction
+	 * @return feature batch writer
+	 * @since 6.6.2
+	 */
+	public FeatureBatchWriter createBatchWriter(int batchSize) {
+		return new FeatureBatchWriter(this, batchSize);
+	}
+
+	/**
+	 * Create a column batch reader for vectorized reads of the columns, using
+	 * the default batch size. The reader must be closed.
+	 *
+	 * @param columns
+	 *            columns, null for all
+	 * @return feature column batch reader
+	 * @since 6.6.2
+	 */
+	public FeatureColumnBatchReader columnBatchReader(String[] columns) {
+		return columnBatchReader(columns,
+				FeatureColumnBatchReader.DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Create a column batch reader for vectorized reads of the columns. The
+	 * reader must be closed.
+	 *
+	 * @param columns
+	 *            columns, null for all
+	 * @param batchSize
+	 *            number of rows read per batch
+	 * @return feature column batch reader
+	 * @since 6.6.2
+	 */
+	public FeatureColumnBatchReader columnBatchReader(String[] columns,
+			int batchSize) {
+		return columnBatchReader(columns, null, null, batchSize);
+	}
+
+	/**
+	 * Create a column batch reader for vectorized reads of the columns of the
+	 * rows matching the where clause. The reader must be closed.
+	 *
+	 * @param columns
+	 *            columns, null for all
+	 * @param where
+	 *            where clause
+	 * @param whereArgs
+	 *            where arguments
+	 * @param batchSize
+	 *            number of rows read per batch
+	 * @return feature column batch reader
+	 * @since 6.6.2
+	 */
+	public FeatureColumnBatchReader columnBatchReader(String[] columns,
+			String where, String[] whereArgs, int batchSize) {
+		return new FeatureColumnBatchReader(this, columns, where, whereArgs,
+				batchSize);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void setInsertedId(FeatureRow row, long id) {
+		super.setInsertedId(row, id);
+	}
+
 }
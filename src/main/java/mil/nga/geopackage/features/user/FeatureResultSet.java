@@ -2,8 +2,11 @@ package mil.nga.geopackage.features.user;
 
 import java.sql.ResultSet;
 
+import mil.nga.geopackage.db.GeoPackageDataType;
 import mil.nga.geopackage.geom.GeoPackageGeometryData;
+import mil.nga.geopackage.geom.GeoPackageGeometryEnvelope;
 import mil.nga.geopackage.user.UserResultSet;
+import mil.nga.sf.GeometryEnvelope;
 
 /**
  * Feature Result Set to wrap a database ResultSet for feature queries
@@ -108,6 +111,23 @@ public class FeatureResultSet
 		return value;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Holds geometry bytes, decoded when the row geometry is accessed
+	 */
+	@Override
+	protected Object getRowValue(int index, FeatureColumn column,
+			GeoPackageDataType dataType) {
+		Object value;
+		if (column.isGeometry()) {
+			value = getBlob(index);
+		} else {
+			value = super.getRowValue(index, column, dataType);
+		}
+		return value;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -125,8 +145,7 @@ public class FeatureResultSet
 
 		GeoPackageGeometryData geometry = null;
 
-		int columnIndex = getColumns().getGeometryIndex();
-		byte[] geometryBytes = getBlob(columnIndex);
+		byte[] geometryBytes = getGeometryBytes();
 		if (geometryBytes != null) {
 			geometry = GeoPackageGeometryData.create(geometryBytes);
 		}
@@ -134,4 +153,35 @@ public class FeatureResultSet
 		return geometry;
 	}
 
+	/**
+	 * Get the geometry bytes without decoding the geometry
+	 * 
+	 * @return geometry bytes
+	 * @since 6.6.2
+	 */
+	public byte[] getGeometryBytes() {
+		return getBlob(getColumns().getGeometryIndex());
+	}
+
+	/**
+	 * Get the geometry envelope, read from the geometry header when present
+	 * or a single pass over the geometry coordinates, without decoding the
+	 * geometry
+	 * 
+	 * @return geometry envelope
+	 * @since 6.6.2
+	 */
+	public GeometryEnvelope getGeometryEnvelope() {
+
+		GeometryEnvelope envelope = null;
+
+		byte[] geometryBytes = getGeometryBytes();
+		if (geometryBytes != null) {
+			envelope = GeoPackageGeometryEnvelope.read(geometryBytes)
+					.getEnvelope();
+		}
+
+		return envelope;
+	}
+
 }
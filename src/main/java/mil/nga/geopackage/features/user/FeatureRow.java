@@ -5,6 +5,7 @@ import java.util.Arrays;
 
 import mil.nga.geopackage.GeoPackageException;
 import mil.nga.geopackage.geom.GeoPackageGeometryData;
+import mil.nga.geopackage.geom.GeoPackageGeometryEnvelope;
 import mil.nga.geopackage.user.ContentValues;
 import mil.nga.geopackage.user.UserRow;
 import mil.nga.sf.Geometry;
@@ -12,7 +13,11 @@ import mil.nga.sf.GeometryEnvelope;
 import mil.nga.sf.GeometryType;
 
 /**
- * Feature Row containing the values from a single result set row
+ * Feature Row containing the values from a single result set row. Geometry
+ * column bytes are held as read until the geometry value is requested, at
+ * which point they are decoded as {@link GeoPackageGeometryData} once.
+ * Geometry envelopes are read from the geometry bytes without decoding the
+ * geometry when not yet decoded.
  * 
  * @author osbornb
  */
@@ -67,15 +72,16 @@ public class FeatureRow extends UserRow<FeatureColumn, FeatureTable> {
 	/**
 	 * {@inheritDoc}
 	 * <p>
-	 * Handles geometry columns
+	 * Handles geometry columns, decoding geometry bytes on first access
 	 */
 	@Override
-	public void setValue(int index, Object value) {
-		if (index == getGeometryColumnIndex() && value instanceof byte[]) {
-			byte[] bytes = (byte[]) value;
-			value = GeoPackageGeometryData.create(bytes);
+	public Object getValue(int index) {
+		Object value = super.getValue(index);
+		if (value instanceof byte[] && index == getGeometryColumnIndex()) {
+			value = GeoPackageGeometryData.create((byte[]) value);
+			values[index] = value;
 		}
-		super.setValue(index, value);
+		return value;
 	}
 
 	/**
@@ -188,6 +194,41 @@ public class FeatureRow extends UserRow<FeatureColumn, FeatureTable> {
 		return geometryData;
 	}
 
+	/**
+	 * Get the geometry bytes without decoding the geometry
+	 * 
+	 * @return geometry bytes
+	 * @since 6.6.2
+	 */
+	public byte[] getGeometryBytes() {
+		byte[] bytes = null;
+		Object value = super.getValue(getGeometryColumnIndex());
+		if (value instanceof byte[]) {
+			bytes = (byte[]) value;
+		} else if (value != null) {
+			GeoPackageGeometryData geometryData = (GeoPackageGeometryData) value;
+			try {
+				bytes = geometryData.toBytes();
+			} catch (IOException e) {
+				throw new GeoPackageException(
+						"Failed to write Geometry Data bytes. column: "
+								+ getGeometryColumnName(),
+						e);
+			}
+		}
+		return bytes;
+	}
+
+	/**
+	 * Is the geometry value decoded from the geometry bytes
+	 * 
+	 * @return true if decoded or null, false if held as bytes
+	 * @since 6.6.2
+	 */
+	public boolean isGeometryDecoded() {
+		return !(super.getValue(getGeometryColumnIndex()) instanceof byte[]);
+	}
+
 	/**
 	 * Set the geometry data
 	 * 
@@ -229,16 +270,20 @@ public class FeatureRow extends UserRow<FeatureColumn, FeatureTable> {
 	}
 
 	/**
-	 * Get the geometry envelope
+	 * Get the geometry envelope, read from the geometry bytes without decoding
+	 * the geometry when not yet decoded
 	 * 
 	 * @return geometry envelope
 	 * @since 3.1.0
 	 */
 	public GeometryEnvelope getGeometryEnvelope() {
-		GeoPackageGeometryData data = getGeometry();
 		GeometryEnvelope envelope = null;
-		if (data != null) {
-			envelope = data.getOrBuildEnvelope();
+		Object value = super.getValue(getGeometryColumnIndex());
+		if (value instanceof byte[]) {
+			envelope = GeoPackageGeometryEnvelope.read((byte[]) value)
+					.getEnvelope();
+		} else if (value != null) {
+			envelope = ((GeoPackageGeometryData) value).getOrBuildEnvelope();
 		}
 		return envelope;
 	}
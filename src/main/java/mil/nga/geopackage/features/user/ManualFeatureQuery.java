@@ -7,6 +7,7 @@ import java.util.Map;
 import mil.nga.geopackage.BoundingBox;
 import mil.nga.geopackage.db.CoreSQLUtils;
 import mil.nga.geopackage.features.index.FeatureIndexManager;
+import mil.nga.geopackage.user.UserChunkIterator;
 import mil.nga.proj.Projection;
 import mil.nga.sf.GeometryEnvelope;
 import mil.nga.sf.proj.GeometryTransform;
@@ -541,39 +542,27 @@ public class ManualFeatureQuery {
 
 		GeometryEnvelope envelope = null;
 
-		long offset = 0;
-		boolean hasResults = true;
+		String[] columns = featureDao.getIdAndGeometryColumnNames();
 
-		String[] columns = new String[] { featureDao.getGeometryColumnName() };
+		UserChunkIterator<FeatureColumn, FeatureTable, FeatureRow, FeatureResultSet> rows = featureDao
+				.chunkIterator(columns, chunkLimit);
+		try {
+			for (FeatureRow featureRow : rows) {
 
-		while (hasResults) {
-
-			hasResults = false;
-
-			FeatureResultSet resultSet = featureDao.queryForChunk(columns,
-					chunkLimit, offset);
-			try {
-				while (resultSet.moveToNext()) {
-					hasResults = true;
-
-					FeatureRow featureRow = resultSet.getRow();
-					GeometryEnvelope featureEnvelope = featureRow
-							.getGeometryEnvelope();
-					if (featureEnvelope != null) {
-
-						if (envelope == null) {
-							envelope = featureEnvelope;
-						} else {
-							envelope = envelope.union(featureEnvelope);
-						}
+				GeometryEnvelope featureEnvelope = featureRow
+						.getGeometryEnvelope();
+				if (featureEnvelope != null) {
 
+					if (envelope == null) {
+						envelope = featureEnvelope;
+					} else {
+						envelope = envelope.union(featureEnvelope);
 					}
+
 				}
-			} finally {
-				resultSet.close();
 			}
-
-			offset += chunkLimit;
+		} finally {
+			rows.close();
 		}
 
 		BoundingBox boundingBox = null;
@@ -2119,9 +2108,6 @@ public class ManualFeatureQuery {
 
 		List<Long> featureIds = new ArrayList<>();
 
-		long offset = 0;
-		boolean hasResults = true;
-
 		minX -= tolerance;
 		maxX += tolerance;
 		minY -= tolerance;
@@ -2129,37 +2115,28 @@ public class ManualFeatureQuery {
 
 		String[] queryColumns = featureDao.getIdAndGeometryColumnNames();
 
-		while (hasResults) {
-
-			hasResults = false;
-
-			FeatureResultSet resultSet = featureDao.queryForChunk(distinct,
-					queryColumns, where, whereArgs, chunkLimit, offset);
-			try {
-				while (resultSet.moveToNext()) {
-					hasResults = true;
-
-					FeatureRow featureRow = resultSet.getRow();
-					GeometryEnvelope envelope = featureRow
-							.getGeometryEnvelope();
-					if (envelope != null) {
+		UserChunkIterator<FeatureColumn, FeatureTable, FeatureRow, FeatureResultSet> rows = featureDao
+				.chunkIterator(distinct, queryColumns, where, whereArgs,
+						chunkLimit);
+		try {
+			for (FeatureRow featureRow : rows) {
 
-						double minXMax = Math.max(minX, envelope.getMinX());
-						double maxXMin = Math.min(maxX, envelope.getMaxX());
-						double minYMax = Math.max(minY, envelope.getMinY());
-						double maxYMin = Math.min(maxY, envelope.getMaxY());
+				GeometryEnvelope envelope = featureRow.getGeometryEnvelope();
+				if (envelope != null) {
 
-						if (minXMax <= maxXMin && minYMax <= maxYMin) {
-							featureIds.add(featureRow.getId());
-						}
+					double minXMax = Math.max(minX, envelope.getMinX());
+					double maxXMin = Math.min(maxX, envelope.getMaxX());
+					double minYMax = Math.max(minY, envelope.getMinY());
+					double maxYMin = Math.min(maxY, envelope.getMaxY());
 
+					if (minXMax <= maxXMin && minYMax <= maxYMin) {
+						featureIds.add(featureRow.getId());
 					}
+
 				}
-			} finally {
-				resultSet.close();
 			}
-
-			offset += chunkLimit;
+		} finally {
+			rows.close();
 		}
 
 		ManualFeatureQueryResults results = new ManualFeatureQueryResults(
@@ -3571,9 +3548,6 @@ public class ManualFeatureQuery {
 		int index = 0;
 		List<Long> featureIds = new ArrayList<>();
 
-		long localOffset = 0;
-		boolean hasResults = true;
-
 		minX -= tolerance;
 		maxX += tolerance;
 		minY -= tolerance;
@@ -3581,43 +3555,34 @@ public class ManualFeatureQuery {
 
 		String[] queryColumns = featureDao.getIdAndGeometryColumnNames();
 
-		while (hasResults) {
-
-			hasResults = false;
+		UserChunkIterator<FeatureColumn, FeatureTable, FeatureRow, FeatureResultSet> rows = featureDao
+				.chunkIterator(distinct, queryColumns, where, whereArgs,
+						chunkLimit);
+		try {
+			for (FeatureRow featureRow : rows) {
 
-			FeatureResultSet resultSet = featureDao.queryForChunk(distinct,
-					queryColumns, where, whereArgs, chunkLimit, localOffset);
-			try {
-				while (resultSet.moveToNext()) {
-					hasResults = true;
+				GeometryEnvelope envelope = featureRow.getGeometryEnvelope();
+				if (envelope != null) {
 
-					FeatureRow featureRow = resultSet.getRow();
-					GeometryEnvelope envelope = featureRow
-							.getGeometryEnvelope();
-					if (envelope != null) {
+					double minXMax = Math.max(minX, envelope.getMinX());
+					double maxXMin = Math.min(maxX, envelope.getMaxX());
+					double minYMax = Math.max(minY, envelope.getMinY());
+					double maxYMin = Math.min(maxY, envelope.getMaxY());
 
-						double minXMax = Math.max(minX, envelope.getMinX());
-						double maxXMin = Math.min(maxX, envelope.getMaxX());
-						double minYMax = Math.max(minY, envelope.getMinY());
-						double maxYMin = Math.min(maxY, envelope.getMaxY());
-
-						if (minXMax <= maxXMin && minYMax <= maxYMin) {
-							if (offset <= index) {
-								featureIds.add(featureRow.getId());
-								if (featureIds.size() >= limit) {
-									break;
-								}
+					if (minXMax <= maxXMin && minYMax <= maxYMin) {
+						if (offset <= index) {
+							featureIds.add(featureRow.getId());
+							if (featureIds.size() >= limit) {
+								break;
 							}
-							index++;
 						}
-
+						index++;
 					}
+
 				}
-			} finally {
-				resultSet.close();
 			}
-
-			localOffset += chunkLimit;
+		} finally {
+			rows.close();
 		}
 
 		ManualFeatureQueryResults results = new ManualFeatureQueryResults(
@@ -0,0 +1,477 @@
+package mil.nga.geopackage.geom;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import mil.nga.sf.GeometryEnvelope;
+import mil.nga.sf.GeometryType;
+import mil.nga.sf.util.filter.FiniteFilterType;
+import mil.nga.sf.util.filter.GeometryFilter;
+import mil.nga.sf.util.filter.PointFiniteFilter;
+import mil.nga.sf.wkb.GeometryCodes;
+
+/**
+ * GeoPackage Geometry Envelope read from GeoPackage geometry bytes without
+ * creating the geometry. The envelope is read from the geometry header when
+ * present, otherwise built from a single pass over the well-known binary
+ * coordinates. Results match
+ * {@link GeoPackageGeometryData#getOrBuildEnvelope()} and
+ * {@link GeoPackageGeometryData#isEmpty()} of the parsed geometry data,
+ * including z and m values. Bytes the single pass does not support, such as
+ * extended geometries or a non default geometry filter, are parsed as
+ * geometry data.
+ *
+ * @author osbornb
+ * @since 6.6.2
+ */
+public class GeoPackageGeometryEnvelope {
+
+	/**
+	 * Length of the magic, version, flags, and srs id header bytes
+	 */
+	private static final int HEADER_LENGTH = 8;
+
+	/**
+	 * Geometry bytes
+	 */
+	private final byte[] bytes;
+
+	/**
+	 * Envelope
+	 */
+	private final GeometryEnvelope envelope;
+
+	/**
+	 * Empty flag
+	 */
+	private final boolean empty;
+
+	/**
+	 * Header envelope flag
+	 */
+	private final boolean headerEnvelope;
+
+	/**
+	 * Read the envelope of the GeoPackage geometry bytes
+	 *
+	 * @param bytes
+	 *            GeoPackage geometry bytes
+	 * @return geometry envelope
+	 */
+	public static GeoPackageGeometryEnvelope read(byte[] bytes) {
+		GeoPackageGeometryEnvelope geometryEnvelope = null;
+		try {
+			geometryEnvelope = readBytes(bytes);
+		} catch (RuntimeException e) {
+			// Parse the geometry data below
+		}
+		if (geometryEnvelope == null) {
+			GeoPackageGeometryData data = GeoPackageGeometryData.create(bytes);
+			boolean headerEnvelope = data.getEnvelope() != null;
+			geometryEnvelope = new GeoPackageGeometryEnvelope(bytes,
+					data.getOrBuildEnvelope(),
+					data.isEmpty() || data.getGeometry() == null,
+					headerEnvelope);
+		}
+		return geometryEnvelope;
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param bytes
+	 *            geometry bytes
+	 * @param envelope
+	 *            envelope
+	 * @param empty
+	 *            empty flag
+	 * @param headerEnvelope
+	 *            header envelope flag
+	 */
+	private GeoPackageGeometryEnvelope(byte[] bytes, GeometryEnvelope envelope,
+			boolean empty, boolean headerEnvelope) {
+		this.bytes = bytes;
+		this.envelope = envelope;
+		this.empty = empty;
+		this.headerEnvelope = headerEnvelope;
+	}
+
+	/**
+	 * Get the geometry bytes
+	 *
+	 * @return geometry bytes
+	 */
+	public byte[] getBytes() {
+		return bytes;
+	}
+
+	/**
+	 * Get the envelope, read from the header or built from the geometry
+	 *
+	 * @return envelope or null
+	 */
+	public GeometryEnvelope getEnvelope() {
+		return envelope;
+	}
+
+	/**
+	 * Determine if the geometry is flagged as empty or has no geometry
+	 *
+	 * @return true if empty
+	 */
+	public boolean isEmpty() {
+		return empty;
+	}
+
+	/**
+	 * Determine if the envelope was read from the geometry header
+	 *
+	 * @return true if a header envelope
+	 */
+	public boolean isHeaderEnvelope() {
+		return headerEnvelope;
+	}
+
+	/**
+	 * Read the envelope from the header or a single pass over the geometry
+	 * coordinates
+	 *
+	 * @param bytes
+	 *            geometry bytes
+	 * @return geometry envelope or null when the geometry data must be parsed
+	 */
+	private static GeoPackageGeometryEnvelope readBytes(byte[] bytes) {
+
+		if (!isFiniteFilter() || bytes.length <= HEADER_LENGTH
+				|| bytes[0] != 'G' || bytes[1] != 'P' || bytes[2] != 0) {
+			return null;
+		}
+
+		int flags = bytes[3];
+		boolean extended = (flags & 0x20) != 0;
+		boolean empty = (flags & 0x10) != 0;
+		int indicator = (flags >> 1) & 0x07;
+		if (extended || indicator > 4) {
+			return null;
+		}
+
+		ByteBuffer buffer = ByteBuffer.wrap(bytes);
+		buffer.order((flags & 0x01) == 0 ? ByteOrder.BIG_ENDIAN
+				: ByteOrder.LITTLE_ENDIAN);
+		buffer.position(HEADER_LENGTH);
+
+		GeometryEnvelope envelope = null;
+		if (indicator > 0) {
+			envelope = readHeaderEnvelope(indicator, buffer);
+		}
+		if (!buffer.hasRemaining()) {
+			return null;
+		}
+
+		boolean headerEnvelope = envelope != null;
+		if (headerEnvelope) {
+			if (!empty) {
+				empty = isFilteredPoint(buffer);
+			}
+		} else if (empty) {
+			return null;
+		} else {
+			EnvelopeBuilder builder = new EnvelopeBuilder();
+			empty = !builder.readGeometry(buffer);
+			envelope = builder.build();
+		}
+
+		return new GeoPackageGeometryEnvelope(bytes, envelope, empty,
+				headerEnvelope);
+	}
+
+	/**
+	 * Determine if the geometry filter is the default finite point filter,
+	 * dropping points with non finite x or y values
+	 *
+	 * @return true if the default filter
+	 */
+	private static boolean isFiniteFilter() {
+		boolean finite = false;
+		GeometryFilter filter = GeoPackageGeometryData.getGeometryFilter();
+		if (filter instanceof PointFiniteFilter) {
+			PointFiniteFilter pointFilter = (PointFiniteFilter) filter;
+			finite = pointFilter.getType() == FiniteFilterType.FINITE
+					&& !pointFilter.isFilterZ() && !pointFilter.isFilterM();
+		}
+		return finite;
+	}
+
+	/**
+	 * Read the header envelope
+	 *
+	 * @param indicator
+	 *            envelope contents indicator
+	 * @param buffer
+	 *            byte buffer positioned at the envelope
+	 * @return envelope
+	 */
+	private static GeometryEnvelope readHeaderEnvelope(int indicator,
+			ByteBuffer buffer) {
+
+		boolean hasZ = indicator == 2 || indicator == 4;
+		boolean hasM = indicator == 3 || indicator == 4;
+
+		GeometryEnvelope envelope = new GeometryEnvelope(hasZ, hasM);
+		envelope.setMinX(buffer.getDouble());
+		envelope.setMaxX(buffer.getDouble());
+		envelope.setMinY(buffer.getDouble());
+		envelope.setMaxY(buffer.getDouble());
+		if (hasZ) {
+			envelope.setMinZ(buffer.getDouble());
+			envelope.setMaxZ(buffer.getDouble());
+		}
+		if (hasM) {
+			envelope.setMinM(buffer.getDouble());
+			envelope.setMaxM(buffer.getDouble());
+		}
+
+		return envelope;
+	}
+
+	/**
+	 * Determine if the well-known binary geometry is a point dropped by the
+	 * finite filter
+	 *
+	 * @param buffer
+	 *            byte buffer positioned at the geometry
+	 * @return true if a filtered point
+	 */
+	private static boolean isFilteredPoint(ByteBuffer buffer) {
+		boolean filtered = false;
+		readByteOrder(buffer);
+		int code = buffer.getInt();
+		if (GeometryCodes.getGeometryType(code) == GeometryType.POINT) {
+			filtered = !Double.isFinite(buffer.getDouble())
+					|| !Double.isFinite(buffer.getDouble());
+		}
+		return filtered;
+	}
+
+	/**
+	 * Read the well-known binary byte order into the buffer
+	 *
+	 * @param buffer
+	 *            byte buffer
+	 */
+	private static void readByteOrder(ByteBuffer buffer) {
+		buffer.order(buffer.get() == 0 ? ByteOrder.BIG_ENDIAN
+				: ByteOrder.LITTLE_ENDIAN);
+	}
+
+	/**
+	 * Envelope builder expanding x, y, z, and m extents over well-known binary
+	 * coordinates
+	 */
+	private static class EnvelopeBuilder {
+
+		/**
+		 * Min x
+		 */
+		private double minX = Double.MAX_VALUE;
+
+		/**
+		 * Max x
+		 */
+		private double maxX = -Double.MAX_VALUE;
+
+		/**
+		 * Min y
+		 */
+		private double minY = Double.MAX_VALUE;
+
+		/**
+		 * Max y
+		 */
+		private double maxY = -Double.MAX_VALUE;
+
+		/**
+		 * Has z values
+		 */
+		private boolean hasZ = false;
+
+		/**
+		 * Has m values
+		 */
+		private boolean hasM = false;
+
+		/**
+		 * Min z, null until a z value is read
+		 */
+		private Double minZ = null;
+
+		/**
+		 * Max z, null until a z value is read
+		 */
+		private Double maxZ = null;
+
+		/**
+		 * Min m, null until a m value is read
+		 */
+		private Double minM = null;
+
+		/**
+		 * Max m, null until a m value is read
+		 */
+		private Double maxM = null;
+
+		/**
+		 * Read the geometry coordinates
+		 *
+		 * @param buffer
+		 *            byte buffer positioned at the geometry
+		 * @return false if the geometry is a filtered point
+		 */
+		private boolean readGeometry(ByteBuffer buffer) {
+
+			boolean geometry = true;
+
+			readByteOrder(buffer);
+			int code = buffer.getInt();
+			GeometryType geometryType = GeometryCodes.getGeometryType(code);
+			boolean z = GeometryCodes.hasZ(code);
+			boolean m = GeometryCodes.hasM(code);
+
+			switch (geometryType) {
+			case POINT:
+				geometry = readPoint(buffer, z, m);
+				if (geometry) {
+					updateHasZAndM(z, m);
+				}
+				break;
+			case LINESTRING:
+			case CIRCULARSTRING:
+				updateHasZAndM(z, m);
+				readPoints(buffer, z, m);
+				break;
+			case POLYGON:
+			case TRIANGLE:
+				updateHasZAndM(z, m);
+				int rings = buffer.getInt();
+				for (int i = 0; i < rings; i++) {
+					readPoints(buffer, z, m);
+				}
+				break;
+			case MULTIPOINT:
+			case MULTILINESTRING:
+			case MULTIPOLYGON:
+			case GEOMETRYCOLLECTION:
+			case COMPOUNDCURVE:
+			case CURVEPOLYGON:
+			case POLYHEDRALSURFACE:
+			case TIN:
+				updateHasZAndM(z, m);
+				int geometries = buffer.getInt();
+				for (int i = 0; i < geometries; i++) {
+					readGeometry(buffer);
+				}
+				break;
+			default:
+				throw new IllegalStateException(
+						"Unsupported geometry type: " + geometryType);
+			}
+
+			return geometry;
+		}
+
+		/**
+		 * Update the z and m flags from a read geometry
+		 *
+		 * @param z
+		 *            geometry has z
+		 * @param m
+		 *            geometry has m
+		 */
+		private void updateHasZAndM(boolean z, boolean m) {
+			hasZ = hasZ || z;
+			hasM = hasM || m;
+		}
+
+		/**
+		 * Read points
+		 *
+		 * @param buffer
+		 *            byte buffer positioned at the point count
+		 * @param z
+		 *            points have z
+		 * @param m
+		 *            points have m
+		 */
+		private void readPoints(ByteBuffer buffer, boolean z, boolean m) {
+			int points = buffer.getInt();
+			for (int i = 0; i < points; i++) {
+				readPoint(buffer, z, m);
+			}
+		}
+
+		/**
+		 * Read a point, expanding the extents when finite
+		 *
+		 * @param buffer
+		 *            byte buffer positioned at the point
+		 * @param z
+		 *            point has z
+		 * @param m
+		 *            point has m
+		 * @return true if finite
+		 */
+		private boolean readPoint(ByteBuffer buffer, boolean z, boolean m) {
+			double x = buffer.getDouble();
+			double y = buffer.getDouble();
+			double zValue = z ? buffer.getDouble() : 0;
+			double mValue = m ? buffer.getDouble() : 0;
+			boolean finite = Double.isFinite(x) && Double.isFinite(y);
+			if (finite) {
+				minX = Math.min(minX, x);
+				maxX = Math.max(maxX, x);
+				minY = Math.min(minY, y);
+				maxY = Math.max(maxY, y);
+				if (z) {
+					if (minZ == null || zValue < minZ) {
+						minZ = zValue;
+					}
+					if (maxZ == null || zValue > maxZ) {
+						maxZ = zValue;
+					}
+				}
+				if (m) {
+					if (minM == null || mValue < minM) {
+						minM = mValue;
+					}
+					if (maxM == null || mValue > maxM) {
+						maxM = mValue;
+					}
+				}
+			}
+			return finite;
+		}
+
+		/**
+		 * Build the envelope
+		 *
+		 * @return envelope or null when no finite points
+		 */
+		private GeometryEnvelope build() {
+			GeometryEnvelope envelope = null;
+			if (minX <= maxX && minY <= maxY) {
+				envelope = new GeometryEnvelope(hasZ, hasM);
+				envelope.setMinX(minX);
+				envelope.setMaxX(maxX);
+				envelope.setMinY(minY);
+				envelope.setMaxY(maxY);
+				envelope.setMinZ(minZ);
+				envelope.setMaxZ(maxZ);
+				envelope.setMinM(minM);
+				envelope.setMaxM(maxM);
+			}
+			return envelope;
+		}
+
+	}
+
+}
@@ -213,6 +213,13 @@ public class FeatureTileGen {
 	 */
 	public static final String ARGUMENT_LOG_TIME = "logTime";
 
+	/**
+	 * Threads argument
+	 * 
+	 * @since 6.6.2
+	 */
+	public static final String ARGUMENT_THREADS = "threads";
+
 	/**
 	 * Tile progress
 	 */
@@ -380,6 +387,11 @@ public class FeatureTileGen {
 	 */
 	private static boolean ignoreGeoPackageStyles = false;
 
+	/**
+	 * Number of threads drawing tiles
+	 */
+	private static Integer threads = null;
+
 	/**
 	 * Main method to generate tiles in a GeoPackage
 	 * 
@@ -686,6 +698,16 @@ public class FeatureTileGen {
 					}
 					break;
 
+				case ARGUMENT_THREADS:
+					if (i + 1 < args.length) {
+						threads = Integer.valueOf(args[++i]);
+					} else {
+						valid = false;
+						System.out.println("Error: Threads argument '" + arg
+								+ "' must be followed by a thread count value");
+					}
+					break;
+
 				default:
 					valid = false;
 					System.out.println("Error: Unsupported arg: '" + arg + "'");
@@ -987,6 +1009,10 @@ public class FeatureTileGen {
 			tileGenerator.setXYZTiles(true);
 		}
 
+		if (threads != null) {
+			tileGenerator.setThreadCount(threads);
+		}
+
 		int count = tileGenerator.getTileCount();
 
 		System.out.println();
@@ -1022,6 +1048,9 @@ public class FeatureTileGen {
 				+ progress.getCountFrequency() + " tiles");
 		System.out.println("Log Time Frequency: " + progress.getTimeFrequency()
 				+ " seconds");
+		if (threads != null) {
+			System.out.println("Threads: " + threads);
+		}
 		System.out.println("Expected Tile Count: " + count);
 		System.out.println();
 
@@ -1155,8 +1184,9 @@ public class FeatureTileGen {
 				+ " true|false] [" + ARGUMENT_PREFIX
 				+ ARGUMENT_IGNORE_GEOPACKAGE_STYLES + " true|false] ["
 				+ ARGUMENT_PREFIX + ARGUMENT_LOG_COUNT + " count] ["
-				+ ARGUMENT_PREFIX + ARGUMENT_LOG_TIME
-				+ " time] feature_geopackage_file feature_table tile_geopackage_file tile_table zoom_levels");
+				+ ARGUMENT_PREFIX + ARGUMENT_LOG_TIME + " time] ["
+				+ ARGUMENT_PREFIX + ARGUMENT_THREADS
+				+ " count] feature_geopackage_file feature_table tile_geopackage_file tile_table zoom_levels");
 		System.out.println();
 		System.out.println("DESCRIPTION");
 		System.out.println();
@@ -1299,6 +1329,11 @@ public class FeatureTileGen {
 		System.out.println("\t\tLog frequency time in seconds (default is "
 				+ LOG_TILE_TIME_FREQUENCY + ")");
 		System.out.println();
+		System.out
+				.println("\t" + ARGUMENT_PREFIX + ARGUMENT_THREADS + " count");
+		System.out.println(
+				"\t\tNumber of threads drawing tiles, each with its own feature tiles, while a single thread writes the tiles (default is 1)");
+		System.out.println();
 		System.out.println("\tfeature_geopackage_file");
 		System.out.println(
 				"\t\tpath to the GeoPackage file containing the feature table to generate tiles from");
@@ -32,6 +32,7 @@ import mil.nga.geopackage.tiles.matrix.TileMatrix;
 import mil.nga.geopackage.tiles.matrix.TileMatrixDao;
 import mil.nga.geopackage.tiles.matrixset.TileMatrixSet;
 import mil.nga.geopackage.tiles.matrixset.TileMatrixSetDao;
+import mil.nga.geopackage.tiles.user.TileBatchWriter;
 import mil.nga.geopackage.tiles.user.TileColumn;
 import mil.nga.geopackage.tiles.user.TileDao;
 import mil.nga.geopackage.tiles.user.TileRow;
@@ -365,11 +366,6 @@ public class TileReader {
 
 		for (ZoomDirectory zoomDirectory : tileDirectory.zooms.values()) {
 
-			int zoomCount = 0;
-
-			Integer tileWidth = null;
-			Integer tileHeight = null;
-
 			// Determine the matrix width and height
 			Integer matrixWidth = properties.getIntegerProperty(
 					TileProperties.getMatrixWidthProperty(zoomDirectory.zoom),
@@ -418,46 +414,19 @@ public class TileReader {
 							+ matrixWidth + ", Height: " + matrixHeight
 							+ ", Max Tiles: " + (matrixWidth * matrixHeight));
 
-			for (XDirectory xDirectory : zoomDirectory.xValues.values()) {
-
-				for (YFile yFile : xDirectory.yValues.values()) {
-
-					BufferedImage image = null;
-
-					// Set the tile width and height
-					if (tileWidth == null || tileHeight == null) {
-						image = ImageIO.read(yFile.file);
-						tileWidth = image.getWidth();
-						tileHeight = image.getHeight();
-					}
-
-					TileRow newRow = tileDao.newRow();
-
-					newRow.setZoomLevel(zoomDirectory.zoom);
-					newRow.setTileColumn(xDirectory.x);
-					newRow.setTileRow(yFile.y);
-					if (rawImage) {
-						byte[] rawImageBytes = GeoPackageIOUtils
-								.fileBytes(yFile.file);
-						newRow.setTileData(rawImageBytes);
-					} else {
-						if (image == null) {
-							image = ImageIO.read(yFile.file);
-						}
-						newRow.setTileData(image, imageFormat);
-					}
-
-					tileDao.create(newRow);
-
-					zoomCount++;
-
-					if (zoomCount % ZOOM_PROGRESS_FREQUENCY == 0) {
-						LOGGER.log(Level.INFO, "Zoom " + zoomDirectory.zoom
-								+ " Tile Progress... " + zoomCount);
-					}
-				}
+			TileBatchWriter writer = tileDao.createBatchWriter();
+			ZoomTiles zoomTiles = null;
+			try {
+				zoomTiles = readZxyZoomTiles(tileDao, writer, zoomDirectory,
+						imageFormat, rawImage);
+			} finally {
+				writer.close();
 			}
 
+			int zoomCount = zoomTiles.count;
+			Integer tileWidth = zoomTiles.tileWidth;
+			Integer tileHeight = zoomTiles.tileHeight;
+
 			LOGGER.log(Level.INFO,
 					"Zoom " + zoomDirectory.zoom + " Tiles: " + zoomCount);
 
@@ -487,6 +456,69 @@ public class TileReader {
 		return created;
 	}
 
+	/**
+	 * Read the z,x,y tiles of a zoom level into the tile batch writer
+	 * 
+	 * @param tileDao
+	 * @param writer
+	 * @param zoomDirectory
+	 * @param imageFormat
+	 * @param rawImage
+	 * @return zoom level tiles
+	 * @throws IOException
+	 */
+	private static ZoomTiles readZxyZoomTiles(TileDao tileDao,
+			TileBatchWriter writer, ZoomDirectory zoomDirectory,
+			String imageFormat, boolean rawImage) throws IOException {
+
+		int zoomCount = 0;
+
+		Integer tileWidth = null;
+		Integer tileHeight = null;
+
+		for (XDirectory xDirectory : zoomDirectory.xValues.values()) {
+
+			for (YFile yFile : xDirectory.yValues.values()) {
+
+				BufferedImage image = null;
+
+				// Set the tile width and height
+				if (tileWidth == null || tileHeight == null) {
+					image = ImageIO.read(yFile.file);
+					tileWidth = image.getWidth();
+					tileHeight = image.getHeight();
+				}
+
+				TileRow newRow = tileDao.newRow();
+
+				newRow.setZoomLevel(zoomDirectory.zoom);
+				newRow.setTileColumn(xDirectory.x);
+				newRow.setTileRow(yFile.y);
+				if (rawImage) {
+					byte[] rawImageBytes = GeoPackageIOUtils
+							.fileBytes(yFile.file);
+					newRow.setTileData(rawImageBytes);
+				} else {
+					if (image == null) {
+						image = ImageIO.read(yFile.file);
+					}
+					newRow.setTileData(image, imageFormat);
+				}
+
+				writer.write(newRow);
+
+				zoomCount++;
+
+				if (zoomCount % ZOOM_PROGRESS_FREQUENCY == 0) {
+					LOGGER.log(Level.INFO, "Zoom " + zoomDirectory.zoom
+							+ " Tile Progress... " + zoomCount);
+				}
+			}
+		}
+
+		return new ZoomTiles(zoomCount, tileWidth, tileHeight);
+	}
+
 	/**
 	 * Read formatted tiles into a GeoPackage
 	 * 
@@ -598,11 +630,6 @@ public class TileReader {
 		TileDao tileDao = geoPackage.getTileDao(tileMatrixSet);
 		for (ZoomDirectory zoomDirectory : tileDirectory.zooms.values()) {
 
-			int zoomCount = 0;
-
-			Integer tileWidth = null;
-			Integer tileHeight = null;
-
 			// Determine the matrix width and height
 			TileGrid zoomTotalTileGrid = TileBoundingBoxUtils.tileGridZoom(
 					totalTileGrid, tileDirectory.minZoom, zoomDirectory.zoom);
@@ -616,192 +643,20 @@ public class TileReader {
 							+ matrixWidth + ", Height: " + matrixHeight
 							+ ", Max Tiles: " + (matrixWidth * matrixHeight));
 
-			// Shortcut for raw images with zoom directories with smaller bounds
-			// than the bounds of the minimum zoom value
-			int minColumn, maxColumn, minRow, maxRow;
-			if (rawImage) {
-				minColumn = zoomDirectory.minX
-						- (int) zoomTotalTileGrid.getMinX();
-				maxColumn = zoomDirectory.maxX
-						- (int) zoomTotalTileGrid.getMinX();
-				minRow = zoomDirectory.minY - (int) zoomTotalTileGrid.getMinY();
-				maxRow = zoomDirectory.maxY - (int) zoomTotalTileGrid.getMinY();
-			} else {
-				minColumn = 0;
-				maxColumn = (int) matrixWidth - 1;
-				minRow = 0;
-				maxRow = (int) matrixHeight - 1;
+			TileBatchWriter writer = tileDao.createBatchWriter();
+			ZoomTiles zoomTiles = null;
+			try {
+				zoomTiles = readFormatZoomTiles(tileDao, writer, zoomDirectory,
+						zoomTotalTileGrid, totalWebMercatorBoundingBox,
+						matrixWidth, matrixHeight, imageFormat, tileType,
+						rawImage);
+			} finally {
+				writer.close();
 			}
 
-			// Create the image for each column and row combination
-			for (int column = minColumn; column <= maxColumn; column++) {
-
-				for (int row = minRow; row <= maxRow; row++) {
-
-					// Image to draw for the column and row
-					BufferedImage image = null;
-					Graphics graphics = null;
-					byte[] rawImageBytes = null;
-
-					// Determine the bounding box of this column and row
-					BoundingBox tileMatrixBoundingBox = TileBoundingBoxUtils
-							.getBoundingBox(totalWebMercatorBoundingBox,
-									matrixWidth, matrixHeight, column, row);
-
-					// Get the x and y tile grid of the bounding box at the zoom
-					// level
-					TileGrid tileMatrixGrid = TileBoundingBoxUtils.getTileGrid(
-							tileMatrixBoundingBox, zoomDirectory.zoom);
-
-					// Build the column and row image from images in the
-					// matching x and y locations
-					for (int x = (int) tileMatrixGrid
-							.getMinX(); x <= tileMatrixGrid.getMaxX(); x++) {
-
-						// Check if the x directory exists and contains images
-						XDirectory xDirectory = zoomDirectory.xValues.get(x);
-						if (xDirectory != null) {
-
-							for (int y = (int) tileMatrixGrid
-									.getMinY(); y <= tileMatrixGrid
-											.getMaxY(); y++) {
-
-								// If TMS file format, change the y value to TMS
-								int yLocation = (int) y;
-								if (tileType == TileFormatType.TMS) {
-									yLocation = TileBoundingBoxUtils
-											.getYAsOppositeTileFormat(
-													zoomDirectory.zoom,
-													yLocation);
-								}
-
-								// Check if the y directory exists and contains
-								// images
-								YFile yFile = xDirectory.yValues.get(yLocation);
-								if (yFile != null) {
-
-									// Get the bounding box of the x, y, z image
-									BoundingBox imageBoundingBox = TileBoundingBoxUtils
-											.getWebMercatorBoundingBox(x, y,
-													zoomDirectory.zoom);
-
-									// Get the bounding box overlap between the
-									// column/row image and the x,y,z image
-									BoundingBox overlap = tileMatrixBoundingBox
-											.overlap(imageBoundingBox);
-
-									// If the tile overlaps
-									if (overlap != null) {
-
-										BufferedImage zxyImage = null;
-
-										// Set the tile width and height
-										if (tileWidth == null
-												|| tileHeight == null) {
-											zxyImage = ImageIO.read(yFile.file);
-											tileWidth = zxyImage.getWidth();
-											tileHeight = zxyImage.getHeight();
-										}
-
-										// Get the rectangle of the source image
-										ImageRectangle src = TileBoundingBoxJavaUtils
-												.getRectangle(tileWidth,
-														tileHeight,
-														imageBoundingBox,
-														overlap);
-
-										// Get the rectangle of where to draw
-										// the tile in the resulting image
-										ImageRectangle dest = TileBoundingBoxJavaUtils
-												.getRectangle(tileWidth,
-														tileHeight,
-														tileMatrixBoundingBox,
-														overlap);
-
-										// Round the rectangles and make sure
-										// the bounds are valid
-										if (src.isValid() && dest.isValid()) {
-
-											// Save off raw bytes
-											if (rawImage) {
-
-												// Verify only one image was
-												// found and it lines up
-												// perfectly
-												if (rawImageBytes != null
-														|| !src.equals(dest)) {
-													throw new GeoPackageException(
-															"Raw image only supported when the images are aligned with the tile format requiring no combining and cropping");
-												}
-
-												// Read the file bytes
-												rawImageBytes = GeoPackageIOUtils
-														.fileBytes(yFile.file);
-											} else {
-
-												// Create the image first time
-												// through
-												if (image == null) {
-													image = ImageUtils
-															.createBufferedImage(
-																	tileWidth,
-																	tileHeight,
-																	imageFormat);
-													graphics = image
-															.getGraphics();
-												}
-
-												if (zxyImage == null) {
-													zxyImage = ImageIO
-															.read(yFile.file);
-												}
-
-												// Draw the tile to the image
-												graphics.drawImage(zxyImage,
-														dest.getLeft(),
-														dest.getTop(),
-														dest.getRight(),
-														dest.getBottom(),
-														src.getLeft(),
-														src.getTop(),
-														src.getRight(),
-														src.getBottom(), null);
-											}
-
-										}
-									}
-								}
-							}
-						}
-					}
-
-					// If an image was drawn and is not fully transparent,
-					// create the tile row
-					if ((image != null && !ImageUtils.isFullyTransparent(image))
-							|| rawImageBytes != null) {
-						TileRow newRow = tileDao.newRow();
-
-						newRow.setZoomLevel(zoomDirectory.zoom);
-						newRow.setTileColumn(column);
-						newRow.setTileRow(row);
-						if (rawImage) {
-							newRow.setTileData(rawImageBytes);
-						} else {
-							newRow.setTileData(image, imageFormat);
-						}
-
-						tileDao.create(newRow);
-
-						zoomCount++;
-
-						if (zoomCount % ZOOM_PROGRESS_FREQUENCY == 0) {
-							LOGGER.log(Level.INFO, "Zoom " + zoomDirectory.zoom
-									+ " Tile Progress... " + zoomCount);
-						}
-					}
-				}
-
-			}
+			int zoomCount = zoomTiles.count;
+			Integer tileWidth = zoomTiles.tileWidth;
+			Integer tileHeight = zoomTiles.tileHeight;
 
 			LOGGER.log(Level.INFO,
 					"Zoom " + zoomDirectory.zoom + " Tiles: " + zoomCount);
@@ -833,6 +688,224 @@ public class TileReader {
 		return created;
 	}
 
+	/**
+	 * Read the formatted tiles of a zoom level into the tile batch writer
+	 * 
+	 * @param tileDao
+	 * @param writer
+	 * @param zoomDirectory
+	 * @param zoomTotalTileGrid
+	 * @param totalWebMercatorBoundingBox
+	 * @param matrixWidth
+	 * @param matrixHeight
+	 * @param imageFormat
+	 * @param tileType
+	 * @param rawImage
+	 * @return zoom level tiles
+	 * @throws IOException
+	 */
+	private static ZoomTiles readFormatZoomTiles(TileDao tileDao,
+			TileBatchWriter writer, ZoomDirectory zoomDirectory,
+			TileGrid zoomTotalTileGrid,
+			BoundingBox totalWebMercatorBoundingBox, long matrixWidth,
+			long matrixHeight, String imageFormat, TileFormatType tileType,
+			boolean rawImage) throws IOException {
+
+		int zoomCount = 0;
+
+		Integer tileWidth = null;
+		Integer tileHeight = null;
+
+		// Shortcut for raw images with zoom directories with smaller bounds
+		// than the bounds of the minimum zoom value
+		int minColumn, maxColumn, minRow, maxRow;
+		if (rawImage) {
+			minColumn = zoomDirectory.minX
+					- (int) zoomTotalTileGrid.getMinX();
+			maxColumn = zoomDirectory.maxX
+					- (int) zoomTotalTileGrid.getMinX();
+			minRow = zoomDirectory.minY - (int) zoomTotalTileGrid.getMinY();
+			maxRow = zoomDirectory.maxY - (int) zoomTotalTileGrid.getMinY();
+		} else {
+			minColumn = 0;
+			maxColumn = (int) matrixWidth - 1;
+			minRow = 0;
+			maxRow = (int) matrixHeight - 1;
+		}
+
+		// Create the image for each column and row combination
+		for (int column = minColumn; column <= maxColumn; column++) {
+
+			for (int row = minRow; row <= maxRow; row++) {
+
+				// Image to draw for the column and row
+				BufferedImage image = null;
+				Graphics graphics = null;
+				byte[] rawImageBytes = null;
+
+				// Determine the bounding box of this column and row
+				BoundingBox tileMatrixBoundingBox = TileBoundingBoxUtils
+						.getBoundingBox(totalWebMercatorBoundingBox,
+								matrixWidth, matrixHeight, column, row);
+
+				// Get the x and y tile grid of the bounding box at the zoom
+				// level
+				TileGrid tileMatrixGrid = TileBoundingBoxUtils.getTileGrid(
+						tileMatrixBoundingBox, zoomDirectory.zoom);
+
+				// Build the column and row image from images in the
+				// matching x and y locations
+				for (int x = (int) tileMatrixGrid
+						.getMinX(); x <= tileMatrixGrid.getMaxX(); x++) {
+
+					// Check if the x directory exists and contains images
+					XDirectory xDirectory = zoomDirectory.xValues.get(x);
+					if (xDirectory != null) {
+
+						for (int y = (int) tileMatrixGrid
+								.getMinY(); y <= tileMatrixGrid
+										.getMaxY(); y++) {
+
+							// If TMS file format, change the y value to TMS
+							int yLocation = (int) y;
+							if (tileType == TileFormatType.TMS) {
+								yLocation = TileBoundingBoxUtils
+										.getYAsOppositeTileFormat(
+												zoomDirectory.zoom,
+												yLocation);
+							}
+
+							// Check if the y directory exists and contains
+							// images
+							YFile yFile = xDirectory.yValues.get(yLocation);
+							if (yFile != null) {
+
+								// Get the bounding box of the x, y, z image
+								BoundingBox imageBoundingBox = TileBoundingBoxUtils
+										.getWebMercatorBoundingBox(x, y,
+												zoomDirectory.zoom);
+
+								// Get the bounding box overlap between the
+								// column/row image and the x,y,z image
+								BoundingBox overlap = tileMatrixBoundingBox
+										.overlap(imageBoundingBox);
+
+								// If the tile overlaps
+								if (overlap != null) {
+
+									BufferedImage zxyImage = null;
+
+									// Set the tile width and height
+									if (tileWidth == null
+											|| tileHeight == null) {
+										zxyImage = ImageIO.read(yFile.file);
+										tileWidth = zxyImage.getWidth();
+										tileHeight = zxyImage.getHeight();
+									}
+
+									// Get the rectangle of the source image
+									ImageRectangle src = TileBoundingBoxJavaUtils
+											.getRectangle(tileWidth,
+													tileHeight,
+													imageBoundingBox,
+													overlap);
+
+									// Get the rectangle of where to draw
+									// the tile in the resulting image
+									ImageRectangle dest = TileBoundingBoxJavaUtils
+											.getRectangle(tileWidth,
+													tileHeight,
+													tileMatrixBoundingBox,
+													overlap);
+
+									// Round the rectangles and make sure
+									// the bounds are valid
+									if (src.isValid() && dest.isValid()) {
+
+										// Save off raw bytes
+										if (rawImage) {
+
+											// Verify only one image was
+											// found and it lines up
+											// perfectly
+											if (rawImageBytes != null
+													|| !src.equals(dest)) {
+												throw new GeoPackageException(
+														"Raw image only supported when the images are aligned with the tile format requiring no combining and cropping");
+											}
+
+											// Read the file bytes
+											rawImageBytes = GeoPackageIOUtils
+													.fileBytes(yFile.file);
+										} else {
+
+											// Create the image first time
+											// through
+											if (image == null) {
+												image = ImageUtils
+														.createBufferedImage(
+																tileWidth,
+																tileHeight,
+																imageFormat);
+												graphics = image
+														.getGraphics();
+											}
+
+											if (zxyImage == null) {
+												zxyImage = ImageIO
+														.read(yFile.file);
+											}
+
+											// Draw the tile to the image
+											graphics.drawImage(zxyImage,
+													dest.getLeft(),
+													dest.getTop(),
+													dest.getRight(),
+													dest.getBottom(),
+													src.getLeft(),
+													src.getTop(),
+													src.getRight(),
+													src.getBottom(), null);
+										}
+
+									}
+								}
+							}
+						}
+					}
+				}
+
+				// If an image was drawn and is not fully transparent,
+				// create the tile row
+				if ((image != null && !ImageUtils.isFullyTransparent(image))
+						|| rawImageBytes != null) {
+					TileRow newRow = tileDao.newRow();
+
+					newRow.setZoomLevel(zoomDirectory.zoom);
+					newRow.setTileColumn(column);
+					newRow.setTileRow(row);
+					if (rawImage) {
+						newRow.setTileData(rawImageBytes);
+					} else {
+						newRow.setTileData(image, imageFormat);
+					}
+
+					writer.write(newRow);
+
+					zoomCount++;
+
+					if (zoomCount % ZOOM_PROGRESS_FREQUENCY == 0) {
+						LOGGER.log(Level.INFO, "Zoom " + zoomDirectory.zoom
+								+ " Tile Progress... " + zoomCount);
+					}
+				}
+			}
+
+		}
+
+		return new ZoomTiles(zoomCount, tileWidth, tileHeight);
+	}
+
 	/**
 	 * Determine and build the directory structure of images
 	 * 
@@ -1021,4 +1094,42 @@ public class TileReader {
 		System.out.println();
 
 	}
+
+	/**
+	 * Tiles read for a zoom level
+	 */
+	private static class ZoomTiles {
+
+		/**
+		 * Tile count
+		 */
+		private final int count;
+
+		/**
+		 * Tile width
+		 */
+		private final Integer tileWidth;
+
+		/**
+		 * Tile height
+		 */
+		private final Integer tileHeight;
+
+		/**
+		 * Constructor
+		 * 
+		 * @param count
+		 *            tile count
+		 * @param tileWidth
+		 *            tile width
+		 * @param tileHeight
+		 *            tile height
+		 */
+		private ZoomTiles(int count, Integer tileWidth, Integer tileHeight) {
+			this.count = count;
+			this.tileWidth = tileWidth;
+			this.tileHeight = tileHeight;
+		}
+
+	}
 }
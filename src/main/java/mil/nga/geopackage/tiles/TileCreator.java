@@ -6,6 +6,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.locationtech.proj4j.CoordinateTransform;
 import org.locationtech.proj4j.ProjCoordinate;
 
 import mil.nga.geopackage.BoundingBox;
@@ -29,6 +30,21 @@ import mil.nga.sf.proj.GeometryTransform;
  */
 public class TileCreator {
 
+	/**
+	 * Default reprojection interpolation grid size in pixels between control
+	 * points
+	 *
+	 * @since 6.6.2
+	 */
+	public static final int DEFAULT_INTERPOLATION_GRID_SIZE = 16;
+
+	/**
+	 * Default max reprojection interpolation error in tile pixels
+	 *
+	 * @since 6.6.2
+	 */
+	public static final double DEFAULT_INTERPOLATION_TOLERANCE = 0.5;
+
 	/**
 	 * Tile DAO
 	 */
@@ -84,6 +100,17 @@ public class TileCreator {
 	 */
 	private final String imageFormat;
 
+	/**
+	 * Reprojection interpolation grid size in pixels between control points, 0
+	 * to reproject every pixel
+	 */
+	private int interpolationGridSize = 0;
+
+	/**
+	 * Max reprojection interpolation error in tile pixels
+	 */
+	private double interpolationTolerance = DEFAULT_INTERPOLATION_TOLERANCE;
+
 	/**
 	 * Constructor
 	 *
@@ -295,6 +322,60 @@ public class TileCreator {
 		return imageFormat;
 	}
 
+	/**
+	 * Get the reprojection interpolation grid size in pixels between control
+	 * points, 0 when every pixel is reprojected
+	 *
+	 * @return interpolation grid size
+	 * @since 6.6.2
+	 */
+	public int getInterpolationGridSize() {
+		return interpolationGridSize;
+	}
+
+	/**
+	 * Set the reprojection interpolation grid size. When greater than 0, only
+	 * a control grid of pixels spaced by the grid size are reprojected and the
+	 * remaining pixels are bilinearly interpolated. Grid cells exceeding the
+	 * interpolation tolerance are reprojected per pixel. Default is 0,
+	 * reprojecting every pixel.
+	 *
+	 * @param interpolationGridSize
+	 *            interpolation grid size in pixels, 0 to disable
+	 * @since 6.6.2
+	 * @see #DEFAULT_INTERPOLATION_GRID_SIZE
+	 */
+	public void setInterpolationGridSize(int interpolationGridSize) {
+		if (interpolationGridSize < 0) {
+			throw new GeoPackageException(
+					"Interpolation grid size must not be negative: "
+							+ interpolationGridSize);
+		}
+		this.interpolationGridSize = interpolationGridSize;
+	}
+
+	/**
+	 * Get the max reprojection interpolation error in tile pixels
+	 *
+	 * @return interpolation tolerance
+	 * @since 6.6.2
+	 */
+	public double getInterpolationTolerance() {
+		return interpolationTolerance;
+	}
+
+	/**
+	 * Set the max reprojection interpolation error in tile pixels, measured at
+	 * the center of each grid cell
+	 *
+	 * @param interpolationTolerance
+	 *            interpolation tolerance
+	 * @since 6.6.2
+	 */
+	public void setInterpolationTolerance(double interpolationTolerance) {
+		this.interpolationTolerance = interpolationTolerance;
+	}
+
 	/**
 	 * Check if the tile table contains a tile for the request bounding box
 	 *
@@ -670,14 +751,6 @@ public class TileCreator {
 			ProjectionTransform transformRequestToTiles,
 			BoundingBox tilesBoundingBox) {
 
-		final double requestedWidthUnitsPerPixel = requestBoundingBox
-				.getLongitudeRange() / requestedTileWidth;
-		final double requestedHeightUnitsPerPixel = requestBoundingBox
-				.getLatitudeRange() / requestedTileHeight;
-
-		final double tilesDistanceWidth = tilesBoundingBox.getLongitudeRange();
-		final double tilesDistanceHeight = tilesBoundingBox.getLatitudeRange();
-
 		final int width = tile.getWidth();
 		final int height = tile.getHeight();
 
@@ -689,36 +762,22 @@ public class TileCreator {
 		int[] projectedPixels = new int[requestedTileWidth
 				* requestedTileHeight];
 
-		// Retrieve each pixel in the new tile from the unprojected tile
-		for (int y = 0; y < requestedTileHeight; y++) {
-			for (int x = 0; x < requestedTileWidth; x++) {
-
-				double longitude = requestBoundingBox.getMinLongitude()
-						+ (x * requestedWidthUnitsPerPixel);
-				double latitude = requestBoundingBox.getMaxLatitude()
-						- (y * requestedHeightUnitsPerPixel);
-				ProjCoordinate fromCoord = new ProjCoordinate(longitude,
-						latitude);
-				ProjCoordinate toCoord = transformRequestToTiles
-						.transform(fromCoord);
-				double projectedLongitude = toCoord.x;
-				double projectedLatitude = toCoord.y;
-
-				int xPixel = (int) Math.round(((projectedLongitude
-						- tilesBoundingBox.getMinLongitude())
-						/ tilesDistanceWidth) * width);
-				int yPixel = (int) Math.round(
-						((tilesBoundingBox.getMaxLatitude() - projectedLatitude)
-								/ tilesDistanceHeight) * height);
-
-				xPixel = Math.max(0, xPixel);
-				xPixel = Math.min(width - 1, xPixel);
-
-				yPixel = Math.max(0, yPixel);
-				yPixel = Math.min(height - 1, yPixel);
-
-				int color = pixels[(yPixel * width) + xPixel];
-				projectedPixels[(y * requestedTileWidth) + x] = color;
+		PixelTransform pixelTransform = new PixelTransform(requestedTileWidth,
+				requestedTileHeight, requestBoundingBox,
+				transformRequestToTiles, width, height, tilesBoundingBox);
+
+		if (interpolationGridSize > 0) {
+			reprojectPixelsInterpolated(pixelTransform, pixels,
+					projectedPixels);
+		} else {
+
+			// Retrieve each pixel in the new tile from the unprojected tile
+			for (int y = 0; y < requestedTileHeight; y++) {
+				for (int x = 0; x < requestedTileWidth; x++) {
+					pixelTransform.transform(x, y);
+					projectedPixels[(y * requestedTileWidth)
+							+ x] = pixelTransform.getColor(pixels);
+				}
 			}
 		}
 
@@ -731,6 +790,325 @@ public class TileCreator {
 		return projectedTileImage;
 	}
 
+	/**
+	 * Reproject the tile pixels by transforming a control grid of pixels and
+	 * bilinearly interpolating the pixels between them. Grid cells with an
+	 * interpolation error at the cell center greater than the tolerance are
+	 * transformed per pixel.
+	 *
+	 * @param pixelTransform
+	 *            pixel transform
+	 * @param pixels
+	 *            tile pixels in the tile matrix projection
+	 * @param projectedPixels
+	 *            projected tile pixels to populate
+	 */
+	private void reprojectPixelsInterpolated(PixelTransform pixelTransform,
+			int[] pixels, int[] projectedPixels) {
+
+		int requestedTileWidth = pixelTransform.requestedWidth;
+		int[] gridX = controlPoints(requestedTileWidth);
+		int[] gridY = controlPoints(pixelTransform.requestedHeight);
+
+		// Transform the control grid to tile pixel locations
+		double[] controlX = new double[gridX.length * gridY.length];
+		double[] controlY = new double[controlX.length];
+		for (int j = 0; j < gridY.length; j++) {
+			for (int i = 0; i < gridX.length; i++) {
+				pixelTransform.transform(gridX[i], gridY[j]);
+				int index = (j * gridX.length) + i;
+				controlX[index] = pixelTransform.pixelX;
+				controlY[index] = pixelTransform.pixelY;
+			}
+		}
+
+		int cellsX = Math.max(1, gridX.length - 1);
+		int cellsY = Math.max(1, gridY.length - 1);
+		for (int j = 0; j < cellsY; j++) {
+
+			int j1 = Math.min(j + 1, gridY.length - 1);
+			int y0 = gridY[j];
+			int y1 = gridY[j1];
+			int yEnd = j1 == gridY.length - 1 ? y1 : y1 - 1;
+
+			for (int i = 0; i < cellsX; i++) {
+
+				int i1 = Math.min(i + 1, gridX.length - 1);
+				int x0 = gridX[i];
+				int x1 = gridX[i1];
+				int xEnd = i1 == gridX.length - 1 ? x1 : x1 - 1;
+
+				// Cell corner tile pixel locations
+				int topLeft = (j * gridX.length) + i;
+				int topRight = (j * gridX.length) + i1;
+				int bottomLeft = (j1 * gridX.length) + i;
+				int bottomRight = (j1 * gridX.length) + i1;
+
+				// Check the interpolation error at the cell center
+				int xCenter = (x0 + x1) / 2;
+				int yCenter = (y0 + y1) / 2;
+				double xWeight = weight(xCenter, x0, x1);
+				double yWeight = weight(yCenter, y0, y1);
+				pixelTransform.transform(xCenter, yCenter);
+				double xError = interpolate(controlX, topLeft, topRight,
+						bottomLeft, bottomRight, xWeight, yWeight)
+						- pixelTransform.pixelX;
+				double yError = interpolate(controlY, topLeft, topRight,
+						bottomLeft, bottomRight, xWeight, yWeight)
+						- pixelTransform.pixelY;
+				boolean interpolateCell = Math
+						.abs(xError) <= interpolationTolerance
+						&& Math.abs(yError) <= interpolationTolerance;
+
+				for (int y = y0; y <= yEnd; y++) {
+					yWeight = weight(y, y0, y1);
+					for (int x = x0; x <= xEnd; x++) {
+						if (interpolateCell) {
+							xWeight = weight(x, x0, x1);
+							pixelTransform.pixelX = interpolate(controlX,
+									topLeft, topRight, bottomLeft,
+									bottomRight, xWeight, yWeight);
+							pixelTransform.pixelY = interpolate(controlY,
+									topLeft, topRight, bottomLeft,
+									bottomRight, xWeight, yWeight);
+						} else {
+							pixelTransform.transform(x, y);
+						}
+						projectedPixels[(y * requestedTileWidth)
+								+ x] = pixelTransform.getColor(pixels);
+					}
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Get the control point pixel locations spaced by the interpolation grid
+	 * size, including the last pixel
+	 *
+	 * @param length
+	 *            pixel length
+	 * @return control point pixel locations
+	 */
+	private int[] controlPoints(int length) {
+		int count = ((length - 1) + interpolationGridSize - 1)
+				/ interpolationGridSize + 1;
+		int[] points = new int[count];
+		for (int i = 0; i < count - 1; i++) {
+			points[i] = i * interpolationGridSize;
+		}
+		points[count - 1] = length - 1;
+		return points;
+	}
+
+	/**
+	 * Get the interpolation weight of the pixel between two control points
+	 *
+	 * @param pixel
+	 *            pixel location
+	 * @param start
+	 *            start control point
+	 * @param end
+	 *            end control point
+	 * @return weight
+	 */
+	private static double weight(int pixel, int start, int end) {
+		return end > start ? (pixel - start) / (double) (end - start) : 0;
+	}
+
+	/**
+	 * Bilinearly interpolate the cell corner values
+	 *
+	 * @param values
+	 *            control point values
+	 * @param topLeft
+	 *            top left index
+	 * @param topRight
+	 *            top right index
+	 * @param bottomLeft
+	 *            bottom left index
+	 * @param bottomRight
+	 *            bottom right index
+	 * @param xWeight
+	 *            x weight
+	 * @param yWeight
+	 *            y weight
+	 * @return interpolated value
+	 */
+	private static double interpolate(double[] values, int topLeft,
+			int topRight, int bottomLeft, int bottomRight, double xWeight,
+			double yWeight) {
+		double top = values[topLeft]
+				+ (values[topRight] - values[topLeft]) * xWeight;
+		double bottom = values[bottomLeft]
+				+ (values[bottomRight] - values[bottomLeft]) * xWeight;
+		return top + (bottom - top) * yWeight;
+	}
+
+	/**
+	 * Transforms requested tile pixels to tile matrix tile pixel locations,
+	 * reusing the projection coordinates between transformations
+	 */
+	private static class PixelTransform {
+
+		/**
+		 * Requested tile width
+		 */
+		private final int requestedWidth;
+
+		/**
+		 * Requested tile height
+		 */
+		private final int requestedHeight;
+
+		/**
+		 * Request bounding box
+		 */
+		private final BoundingBox requestBoundingBox;
+
+		/**
+		 * Request units per pixel width
+		 */
+		private final double requestedWidthUnitsPerPixel;
+
+		/**
+		 * Request units per pixel height
+		 */
+		private final double requestedHeightUnitsPerPixel;
+
+		/**
+		 * Coordinate transform from request to tiles
+		 */
+		private final CoordinateTransform transform;
+
+		/**
+		 * Tile width
+		 */
+		private final int width;
+
+		/**
+		 * Tile height
+		 */
+		private final int height;
+
+		/**
+		 * Tiles bounding box
+		 */
+		private final BoundingBox tilesBoundingBox;
+
+		/**
+		 * Tiles distance width
+		 */
+		private final double tilesDistanceWidth;
+
+		/**
+		 * Tiles distance height
+		 */
+		private final double tilesDistanceHeight;
+
+		/**
+		 * Reused request coordinate
+		 */
+		private final ProjCoordinate fromCoord = new ProjCoordinate();
+
+		/**
+		 * Reused tiles coordinate
+		 */
+		private final ProjCoordinate toCoord = new ProjCoordinate();
+
+		/**
+		 * Last transformed tile pixel x location
+		 */
+		private double pixelX;
+
+		/**
+		 * Last transformed tile pixel y location
+		 */
+		private double pixelY;
+
+		/**
+		 * Constructor
+		 *
+		 * @param requestedWidth
+		 *            requested tile width
+		 * @param requestedHeight
+		 *            requested tile height
+		 * @param requestBoundingBox
+		 *            request bounding box in the request projection
+		 * @param transformRequestToTiles
+		 *            transformation from request to tiles
+		 * @param width
+		 *            tile width
+		 * @param height
+		 *            tile height
+		 * @param tilesBoundingBox
+		 *            request bounding box in the tile matrix projection
+		 */
+		private PixelTransform(int requestedWidth, int requestedHeight,
+				BoundingBox requestBoundingBox,
+				ProjectionTransform transformRequestToTiles, int width,
+				int height, BoundingBox tilesBoundingBox) {
+			this.requestedWidth = requestedWidth;
+			this.requestedHeight = requestedHeight;
+			this.requestBoundingBox = requestBoundingBox;
+			this.requestedWidthUnitsPerPixel = requestBoundingBox
+					.getLongitudeRange() / requestedWidth;
+			this.requestedHeightUnitsPerPixel = requestBoundingBox
+					.getLatitudeRange() / requestedHeight;
+			this.transform = transformRequestToTiles.getTransform();
+			this.width = width;
+			this.height = height;
+			this.tilesBoundingBox = tilesBoundingBox;
+			this.tilesDistanceWidth = tilesBoundingBox.getLongitudeRange();
+			this.tilesDistanceHeight = tilesBoundingBox.getLatitudeRange();
+		}
+
+		/**
+		 * Transform the requested tile pixel to the tile pixel location
+		 *
+		 * @param x
+		 *            requested tile x pixel
+		 * @param y
+		 *            requested tile y pixel
+		 */
+		private void transform(int x, int y) {
+
+			fromCoord.x = requestBoundingBox.getMinLongitude()
+					+ (x * requestedWidthUnitsPerPixel);
+			fromCoord.y = requestBoundingBox.getMaxLatitude()
+					- (y * requestedHeightUnitsPerPixel);
+			transform.transform(fromCoord, toCoord);
+
+			pixelX = ((toCoord.x - tilesBoundingBox.getMinLongitude())
+					/ tilesDistanceWidth) * width;
+			pixelY = ((tilesBoundingBox.getMaxLatitude() - toCoord.y)
+					/ tilesDistanceHeight) * height;
+		}
+
+		/**
+		 * Get the tile pixel color at the last transformed tile pixel location
+		 *
+		 * @param pixels
+		 *            tile pixels
+		 * @return color
+		 */
+		private int getColor(int[] pixels) {
+
+			int xPixel = (int) Math.round(pixelX);
+			int yPixel = (int) Math.round(pixelY);
+
+			xPixel = Math.max(0, xPixel);
+			xPixel = Math.min(width - 1, xPixel);
+
+			yPixel = Math.max(0, yPixel);
+			yPixel = Math.min(height - 1, yPixel);
+
+			return pixels[(yPixel * width) + xPixel];
+		}
+
+	}
+
 	/**
 	 * Get the tile matrices that may contain the tiles for the bounding box,
 	 * matches against the bounding box and zoom level options
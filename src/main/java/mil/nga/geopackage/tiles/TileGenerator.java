@@ -3,15 +3,22 @@ package mil.nga.geopackage.tiles;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -32,6 +39,7 @@ import mil.nga.geopackage.tiles.matrix.TileMatrixDao;
 import mil.nga.geopackage.tiles.matrix.TileMatrixKey;
 import mil.nga.geopackage.tiles.matrixset.TileMatrixSet;
 import mil.nga.geopackage.tiles.matrixset.TileMatrixSetDao;
+import mil.nga.geopackage.tiles.user.TileBatchWriter;
 import mil.nga.geopackage.tiles.user.TileDao;
 import mil.nga.geopackage.tiles.user.TileResultSet;
 import mil.nga.geopackage.tiles.user.TileRow;
@@ -142,6 +150,22 @@ public abstract class TileGenerator {
 	 */
 	private boolean skipExisting = false;
 
+	/**
+	 * Number of threads used to create tiles
+	 */
+	private int threadCount = 1;
+
+	/**
+	 * Executor service used to create tiles, overrides the thread count
+	 * created executor
+	 */
+	private ExecutorService executor = null;
+
+	/**
+	 * Number of tiles written per batch and transaction
+	 */
+	private int batchSize = TileBatchWriter.DEFAULT_BATCH_SIZE;
+
 	/**
 	 * Constructor
 	 *
@@ -506,6 +530,92 @@ public abstract class TileGenerator {
 		this.skipExisting = skipExisting;
 	}
 
+	/**
+	 * Get the number of threads used to create tiles
+	 * 
+	 * @return thread count
+	 * @since 6.6.2
+	 */
+	public int getThreadCount() {
+		return threadCount;
+	}
+
+	/**
+	 * Set the number of threads used to create tiles. Default is 1, creating
+	 * tiles on the calling thread. When greater than 1, tiles are created
+	 * concurrently and written to the GeoPackage by the calling thread as the
+	 * single writer. When an executor is set, the thread count limits the
+	 * number of tiles created ahead of the writer.
+	 * 
+	 * @param threadCount
+	 *            thread count
+	 * @since 6.6.2
+	 */
+	public void setThreadCount(int threadCount) {
+		if (threadCount < 1) {
+			throw new GeoPackageException(
+					"Thread count must be at least 1, not: " + threadCount);
+		}
+		this.threadCount = threadCount;
+	}
+
+	/**
+	 * Get the executor service used to create tiles
+	 * 
+	 * @return executor service or null
+	 * @since 6.6.2
+	 */
+	public ExecutorService getExecutor() {
+		return executor;
+	}
+
+	/**
+	 * Set an executor service used to create tiles concurrently. The executor
+	 * is not shutdown by the generator.
+	 * 
+	 * @param executor
+	 *            executor service
+	 * @since 6.6.2
+	 */
+	public void setExecutor(ExecutorService executor) {
+		this.executor = executor;
+	}
+
+	/**
+	 * Get the number of tiles written per batch and transaction
+	 * 
+	 * @return batch size
+	 * @since 6.6.2
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * Set the number of tiles written per batch and transaction
+	 * 
+	 * @param batchSize
+	 *            batch size
+	 * @since 6.6.2
+	 */
+	public void setBatchSize(int batchSize) {
+		if (batchSize < 1) {
+			throw new GeoPackageException(
+					"Batch size must be at least 1, not: " + batchSize);
+		}
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Are tiles created concurrently by multiple threads
+	 * 
+	 * @return true if concurrent
+	 * @since 6.6.2
+	 */
+	public boolean isConcurrent() {
+		return executor != null || threadCount > 1;
+	}
+
 	/**
 	 * Get the tile count of tiles to be generated
 	 *
@@ -615,6 +725,12 @@ public abstract class TileGenerator {
 			tileTableScaling.createOrUpdate(scaling);
 		}
 
+		// Create the executor when creating tiles on multiple threads
+		ExecutorService executorService = executor;
+		if (executorService == null && threadCount > 1) {
+			executorService = Executors.newFixedThreadPool(threadCount);
+		}
+
 		// Create the tiles
 		try {
 			Contents contents = tileMatrixSet.getContents();
@@ -647,7 +763,7 @@ public abstract class TileGenerator {
 					TileGrid tileGrid = tileGrids.get(zoom);
 					count += generateTiles(tileMatrixDao, tileDao, contents,
 							zoom, tileGrid, localTileGrid, matrixWidth,
-							matrixHeight, update);
+							matrixHeight, update, executorService);
 
 				}
 
@@ -678,6 +794,11 @@ public abstract class TileGenerator {
 		} catch (IOException e) {
 			geoPackage.deleteTableQuietly(tableName);
 			throw e;
+		} finally {
+			if (executorService != null && executorService != executor) {
+				executorService.shutdownNow();
+			}
+			postTileGeneration();
 		}
 
 		return count;
@@ -979,6 +1100,7 @@ public abstract class TileGenerator {
 	 * @param matrixWidth
 	 * @param matrixHeight
 	 * @param update
+	 * @param executorService
 	 * @return tile count
 	 * @throws java.sql.SQLException
 	 * @throws java.io.IOException
@@ -986,12 +1108,9 @@ public abstract class TileGenerator {
 	private int generateTiles(TileMatrixDao tileMatrixDao, TileDao tileDao,
 			Contents contents, int zoomLevel, TileGrid tileGrid,
 			TileGrid localTileGrid, long matrixWidth, long matrixHeight,
-			boolean update) throws SQLException, IOException {
-
-		int count = 0;
+			boolean update, ExecutorService executorService)
+			throws SQLException, IOException {
 
-		Integer tileWidth = null;
-		Integer tileHeight = null;
 
 		Map<Long, Set<Long>> existingTiles = null;
 		if (update && skipExisting) {
@@ -1019,111 +1138,124 @@ public abstract class TileGenerator {
 			}
 		}
 
-		// Download and create the tile and each coordinate
-		for (long x = tileGrid.getMinX(); x <= tileGrid.getMaxX(); x++) {
-
-			// Check if the progress has been canceled
-			if (progress != null && !progress.isActive()) {
-				break;
-			}
+		// Tiles being created by the executor, in creation order
+		Deque<PendingTile> pendingTiles = null;
+		int maxPendingTiles = 0;
+		if (executorService != null) {
+			pendingTiles = new ArrayDeque<>();
+			maxPendingTiles = threadCount * 2;
+		}
 
-			long tileColumn = x;
-			// Update the column to the local tile grid location
-			if (localTileGrid != null) {
-				tileColumn = (x - tileGrid.getMinX()) + localTileGrid.getMinX();
-			}
+		ZoomLevelTiles zoomLevelTiles = new ZoomLevelTiles(zoomLevel,
+				tileDao.createBatchWriter(batchSize));
 
-			Set<Long> existingColumnRows = null;
-			if (existingTiles != null) {
-				existingColumnRows = existingTiles.get(tileColumn);
-			}
+		try {
 
-			for (long y = tileGrid.getMinY(); y <= tileGrid.getMaxY(); y++) {
+			// Download and create the tile and each coordinate
+			for (long x = tileGrid.getMinX(); x <= tileGrid.getMaxX(); x++) {
 
 				// Check if the progress has been canceled
 				if (progress != null && !progress.isActive()) {
 					break;
 				}
 
-				long tileRow = y;
-				// Update the row to the local tile grid location
+				long tileColumn = x;
+				// Update the column to the local tile grid location
 				if (localTileGrid != null) {
-					tileRow = (y - tileGrid.getMinY())
-							+ localTileGrid.getMinY();
+					tileColumn = (x - tileGrid.getMinX())
+							+ localTileGrid.getMinX();
 				}
 
-				boolean createTile = true;
-				if (existingColumnRows != null) {
-					createTile = !existingColumnRows.contains(tileRow);
+				Set<Long> existingColumnRows = null;
+				if (existingTiles != null) {
+					existingColumnRows = existingTiles.get(tileColumn);
 				}
 
-				if (createTile) {
-					try {
+				for (long y = tileGrid.getMinY(); y <= tileGrid
+						.getMaxY(); y++) {
 
-						// Create the tile
-						byte[] tileBytes = createTile(zoomLevel, x, y);
-
-						if (tileBytes != null && tileBytes.length > 0) {
+					// Check if the progress has been canceled
+					if (progress != null && !progress.isActive()) {
+						break;
+					}
 
-							BufferedImage image = null;
+					long tileRow = y;
+					// Update the row to the local tile grid location
+					if (localTileGrid != null) {
+						tileRow = (y - tileGrid.getMinY())
+								+ localTileGrid.getMinY();
+					}
 
-							// Compress the image
-							if (compressFormat != null) {
-								image = ImageUtils.getImage(tileBytes);
-								if (image != null) {
-									tileBytes = ImageUtils.writeImageToBytes(
-											image, compressFormat,
-											compressQuality);
-								}
-							}
+					boolean createTile = true;
+					if (existingColumnRows != null) {
+						createTile = !existingColumnRows.contains(tileRow);
+					}
 
-							// Create a new tile row
-							TileRow newRow = tileDao.newRow();
-							newRow.setZoomLevel(zoomLevel);
+					if (!createTile) {
+						updateProgress(zoomLevel);
+					} else if (pendingTiles != null) {
+
+						// Create the tile on the executor and write completed
+						// tiles once the pending limit is reached
+						final long tileX = x;
+						final long tileY = y;
+						Future<byte[]> future = executorService
+								.submit(new Callable<byte[]>() {
+									@Override
+									public byte[] call() throws Exception {
+										return createTileBytes(zoomLevel,
+												tileX, tileY);
+									}
+								});
+						pendingTiles.add(new PendingTile(x, y, tileColumn,
+								tileRow, future));
+
+						if (pendingTiles.size() >= maxPendingTiles) {
+							writePendingTile(pendingTiles.poll(),
+									zoomLevelTiles);
+						}
 
-							// If an update, delete an existing row
-							if (update) {
-								tileDao.deleteTile(tileColumn, tileRow,
-										zoomLevel);
-							}
+					} else {
 
-							newRow.setTileColumn(tileColumn);
-							newRow.setTileRow(tileRow);
-							newRow.setTileData(tileBytes);
-							tileDao.create(newRow);
-
-							count++;
-
-							// Determine the tile width and height
-							if (tileWidth == null) {
-								if (image == null) {
-									image = ImageUtils.getImage(tileBytes);
-								}
-								if (image != null) {
-									tileWidth = image.getWidth();
-									tileHeight = image.getHeight();
-								}
-							}
+						byte[] tileBytes = null;
+						try {
+							tileBytes = createTileBytes(zoomLevel, x, y);
+						} catch (Exception e) {
+							logTileFailure(zoomLevel, x, y, e);
 						}
-					} catch (Exception e) {
-						LOGGER.log(
-								Level.WARNING, "Failed to create tile. Zoom: "
-										+ zoomLevel + ", x: " + x + ", y: " + y,
-								e);
-						// Skip this tile, don't increase count
+						writeTile(zoomLevelTiles, tileColumn, tileRow,
+								tileBytes);
+						updateProgress(zoomLevel);
+
 					}
-				}
 
-				// Update the progress count, even on failures
-				if (progress != null) {
-					progress.addZoomLevelProgress(zoomLevel, 1);
-					progress.addProgress(1);
 				}
 
 			}
 
+			// Write the remaining pending tiles
+			if (pendingTiles != null) {
+				while (!pendingTiles.isEmpty()
+						&& (progress == null || progress.isActive())) {
+					writePendingTile(pendingTiles.poll(), zoomLevelTiles);
+				}
+			}
+
+		} finally {
+			// Cancel any tiles not written
+			if (pendingTiles != null) {
+				for (PendingTile pendingTile : pendingTiles) {
+					pendingTile.future.cancel(true);
+				}
+			}
+			// Write the remaining batched tiles
+			zoomLevelTiles.writer.close();
 		}
 
+		int count = zoomLevelTiles.count;
+		Integer tileWidth = zoomLevelTiles.tileWidth;
+		Integer tileHeight = zoomLevelTiles.tileHeight;
+
 		// If none of the tiles were translated into a bitmap with dimensions,
 		// delete them
 		if ((tileWidth == null || tileHeight == null)
@@ -1194,6 +1326,255 @@ public abstract class TileGenerator {
 		return count;
 	}
 
+	/**
+	 * Create the tile and compress it when a compress format is set. Called
+	 * concurrently when multiple threads are creating tiles.
+	 * 
+	 * @param zoomLevel
+	 *            zoom level
+	 * @param x
+	 *            x coordinate
+	 * @param y
+	 *            y coordinate
+	 * @return tile bytes
+	 * @throws IOException
+	 *             upon compression failure
+	 */
+	private byte[] createTileBytes(int zoomLevel, long x, long y)
+			throws IOException {
+
+		byte[] tileBytes = createTile(zoomLevel, x, y);
+
+		// Compress the image
+		if (tileBytes != null && tileBytes.length > 0
+				&& compressFormat != null) {
+			BufferedImage image = ImageUtils.getImage(tileBytes);
+			if (image != null) {
+				tileBytes = ImageUtils.writeImageToBytes(image, compressFormat,
+						compressQuality);
+			}
+		}
+
+		return tileBytes;
+	}
+
+	/**
+	 * Wait for a pending tile to be created and write it
+	 * 
+	 * @param pendingTile
+	 *            pending tile
+	 * @param zoomLevelTiles
+	 *            zoom level tiles
+	 */
+	private void writePendingTile(PendingTile pendingTile,
+			ZoomLevelTiles zoomLevelTiles) {
+
+		int zoomLevel = zoomLevelTiles.zoomLevel;
+
+		byte[] tileBytes = null;
+		try {
+			tileBytes = pendingTile.future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new GeoPackageException(
+					"Interrupted while waiting for tile. Zoom: " + zoomLevel
+							+ ", x: " + pendingTile.x + ", y: "
+							+ pendingTile.y,
+					e);
+		} catch (ExecutionException e) {
+			logTileFailure(zoomLevel, pendingTile.x, pendingTile.y,
+					e.getCause());
+		}
+
+		writeTile(zoomLevelTiles, pendingTile.tileColumn, pendingTile.tileRow,
+				tileBytes);
+		updateProgress(zoomLevel);
+	}
+
+	/**
+	 * Write the created tile to the tile table batch writer, replacing any
+	 * existing tile. Failing to write a batch of tiles fails the generation.
+	 * 
+	 * @param zoomLevelTiles
+	 *            zoom level tiles
+	 * @param tileColumn
+	 *            tile column
+	 * @param tileRow
+	 *            tile row
+	 * @param tileBytes
+	 *            tile bytes
+	 */
+	private void writeTile(ZoomLevelTiles zoomLevelTiles, long tileColumn,
+			long tileRow, byte[] tileBytes) {
+
+		if (tileBytes != null && tileBytes.length > 0) {
+
+			int zoomLevel = zoomLevelTiles.zoomLevel;
+
+			try {
+				zoomLevelTiles.writer.write(zoomLevel, tileColumn, tileRow,
+						tileBytes);
+			} catch (Exception e) {
+				throw new GeoPackageException(
+						"Failed to write tiles. Zoom: " + zoomLevel
+								+ ", column: " + tileColumn + ", row: "
+								+ tileRow,
+						e);
+			}
+
+			zoomLevelTiles.count++;
+
+			// Determine the tile width and height
+			if (zoomLevelTiles.tileWidth == null) {
+				try {
+					BufferedImage image = ImageUtils.getImage(tileBytes);
+					if (image != null) {
+						zoomLevelTiles.tileWidth = image.getWidth();
+						zoomLevelTiles.tileHeight = image.getHeight();
+					}
+				} catch (Exception e) {
+					LOGGER.log(Level.WARNING,
+							"Failed to read tile dimensions. Zoom: "
+									+ zoomLevel + ", column: " + tileColumn
+									+ ", row: " + tileRow,
+							e);
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Log a failure to create a tile
+	 * 
+	 * @param zoomLevel
+	 *            zoom level
+	 * @param x
+	 *            x coordinate
+	 * @param y
+	 *            y coordinate
+	 * @param e
+	 *            failure
+	 */
+	private void logTileFailure(int zoomLevel, long x, long y, Throwable e) {
+		LOGGER.log(Level.WARNING, "Failed to create tile. Zoom: " + zoomLevel
+				+ ", x: " + x + ", y: " + y, e);
+		// Skip this tile, don't increase count
+	}
+
+	/**
+	 * Update the progress count for a tile, even on failures
+	 * 
+	 * @param zoomLevel
+	 *            zoom level
+	 */
+	private void updateProgress(int zoomLevel) {
+		if (progress != null) {
+			progress.addZoomLevelProgress(zoomLevel, 1);
+			progress.addProgress(1);
+		}
+	}
+
+	/**
+	 * Tiles written for a single zoom level
+	 */
+	private static class ZoomLevelTiles {
+
+		/**
+		 * Zoom level
+		 */
+		private final int zoomLevel;
+
+		/**
+		 * Tile batch writer
+		 */
+		private final TileBatchWriter writer;
+
+		/**
+		 * Tiles written
+		 */
+		private int count = 0;
+
+		/**
+		 * Tile width, determined from the first written tile
+		 */
+		private Integer tileWidth = null;
+
+		/**
+		 * Tile height, determined from the first written tile
+		 */
+		private Integer tileHeight = null;
+
+		/**
+		 * Constructor
+		 * 
+		 * @param zoomLevel
+		 *            zoom level
+		 * @param writer
+		 *            tile batch writer
+		 */
+		private ZoomLevelTiles(int zoomLevel, TileBatchWriter writer) {
+			this.zoomLevel = zoomLevel;
+			this.writer = writer;
+		}
+
+	}
+
+	/**
+	 * Tile being created by the executor, waiting to be written
+	 */
+	private static class PendingTile {
+
+		/**
+		 * X coordinate
+		 */
+		private final long x;
+
+		/**
+		 * Y coordinate
+		 */
+		private final long y;
+
+		/**
+		 * Tile column
+		 */
+		private final long tileColumn;
+
+		/**
+		 * Tile row
+		 */
+		private final long tileRow;
+
+		/**
+		 * Tile bytes future
+		 */
+		private final Future<byte[]> future;
+
+		/**
+		 * Constructor
+		 * 
+		 * @param x
+		 *            x coordinate
+		 * @param y
+		 *            y coordinate
+		 * @param tileColumn
+		 *            tile column
+		 * @param tileRow
+		 *            tile row
+		 * @param future
+		 *            tile bytes future
+		 */
+		private PendingTile(long x, long y, long tileColumn, long tileRow,
+				Future<byte[]> future) {
+			this.x = x;
+			this.y = y;
+			this.tileColumn = tileColumn;
+			this.tileRow = tileRow;
+			this.future = future;
+		}
+
+	}
+
 	/**
 	 * Called after set up and right before tile generation starts for the first
 	 * zoom level
@@ -1201,7 +1582,17 @@ public abstract class TileGenerator {
 	protected abstract void preTileGeneration();
 
 	/**
-	 * Create the tile
+	 * Called after tile generation completes, fails, or is canceled
+	 *
+	 * @since 6.6.2
+	 */
+	protected void postTileGeneration() {
+
+	}
+
+	/**
+	 * Create the tile. When the generator is concurrent (see
+	 * {@link #isConcurrent()}), this method is called from multiple threads.
 	 *
 	 * @param z
 	 *            zoom level
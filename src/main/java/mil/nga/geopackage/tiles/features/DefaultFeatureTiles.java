@@ -4,11 +4,8 @@ import java.awt.Graphics2D;
 import java.awt.geom.Area;
 import java.awt.geom.Path2D;
 import java.awt.image.BufferedImage;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -62,28 +59,21 @@ public class DefaultFeatureTiles extends FeatureTiles {
 	public static final int DEFAULT_GEOMETRY_CACHE_SIZE = 1000;
 
 	/**
-	 * Max geometry cache size
+	 * Geometry cache, thread safe and shareable between feature tiles
 	 */
-	protected int geometryCacheSize = DEFAULT_GEOMETRY_CACHE_SIZE;
+	protected FeatureGeometryCache geometryCache = new FeatureGeometryCache(
+			DEFAULT_GEOMETRY_CACHE_SIZE);
 
 	/**
-	 * Geometry cache
+	 * When true, geometries are cached. Default is true
 	 */
-	protected final Map<Long, GeoPackageGeometryData> geometryCache = new LinkedHashMap<Long, GeoPackageGeometryData>(
-			geometryCacheSize, .75f, true) {
-		private static final long serialVersionUID = 1L;
-
-		@Override
-		protected boolean removeEldestEntry(
-				Entry<Long, GeoPackageGeometryData> eldest) {
-			return size() > geometryCacheSize;
-		}
-	};
+	protected boolean cacheGeometries = true;
 
 	/**
-	 * When true, geometries are cached. Default is true
+	 * Optional cache of geometries projected to Web Mercator and simplified
+	 * per zoom level, null when not caching projected geometries
 	 */
-	protected boolean cacheGeometries = true;
+	protected ProjectedGeometryCache projectedGeometryCache = null;
 
 	/**
 	 * Constructor
@@ -194,6 +184,36 @@ public class DefaultFeatureTiles extends FeatureTiles {
 		super(geoPackage, featureDao, scale, width, height);
 	}
 
+	/**
+	 * Copy Constructor, sharing the thread safe geometry caches
+	 *
+	 * @param featureTiles
+	 *            feature tiles to copy
+	 * @since 6.6.2
+	 */
+	protected DefaultFeatureTiles(DefaultFeatureTiles featureTiles) {
+		super(featureTiles);
+		geometryCache = featureTiles.geometryCache;
+		cacheGeometries = featureTiles.cacheGeometries;
+		projectedGeometryCache = featureTiles.projectedGeometryCache;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Only copies exact {@link DefaultFeatureTiles} instances. Subclasses must
+	 * override to copy their own state, otherwise null is returned and tiles
+	 * are not drawn concurrently.
+	 */
+	@Override
+	public DefaultFeatureTiles copy() {
+		DefaultFeatureTiles copy = null;
+		if (getClass() == DefaultFeatureTiles.class) {
+			copy = new DefaultFeatureTiles(this);
+		}
+		return copy;
+	}
+
 	/**
 	 * Is caching geometries enabled?
 	 *
@@ -231,6 +251,9 @@ public class DefaultFeatureTiles extends FeatureTiles {
 	 */
 	public void clearGeometryCache() {
 		geometryCache.clear();
+		if (projectedGeometryCache != null) {
+			projectedGeometryCache.clear();
+		}
 	}
 
 	/**
@@ -241,19 +264,93 @@ public class DefaultFeatureTiles extends FeatureTiles {
 	 * @since 3.3.0
 	 */
 	public void setGeometryCacheSize(int size) {
-		geometryCacheSize = size;
-		if (geometryCache.size() > size) {
-			int count = 0;
-			Iterator<Long> rowIds = geometryCache.keySet().iterator();
-			while (rowIds.hasNext()) {
-				rowIds.next();
-				if (++count > size) {
-					rowIds.remove();
-				}
-			}
+		geometryCache.resize(size);
+	}
+
+	/**
+	 * Set / resize the max total byte weight of the geometry cache
+	 *
+	 * @param weight
+	 *            max geometry byte weight
+	 * @since 6.6.2
+	 */
+	public void setGeometryCacheWeight(long weight) {
+		geometryCache.resize(geometryCache.getMaxSize(), weight);
+	}
+
+	/**
+	 * Get the geometry cache
+	 *
+	 * @return geometry cache
+	 * @since 6.6.2
+	 */
+	public FeatureGeometryCache getGeometryCache() {
+		return geometryCache;
+	}
+
+	/**
+	 * Set the geometry cache, allowing a cache to be shared between feature
+	 * tiles of the same feature table
+	 *
+	 * @param geometryCache
+	 *            geometry cache
+	 * @since 6.6.2
+	 */
+	public void setGeometryCache(FeatureGeometryCache geometryCache) {
+		this.geometryCache = geometryCache;
+	}
+
+	/**
+	 * Is caching projected geometries enabled?
+	 *
+	 * @return true if caching projected geometries
+	 * @since 6.6.2
+	 */
+	public boolean isCacheProjectedGeometries() {
+		return projectedGeometryCache != null;
+	}
+
+	/**
+	 * Set the cache projected geometries flag. When true, feature geometries
+	 * are projected to Web Mercator and simplified once per zoom level and
+	 * reused by each tile at the zoom level. Clear the cache after changing
+	 * the tile size or simplify geometries flag. Default is false.
+	 *
+	 * @param cacheProjectedGeometries
+	 *            true to cache projected geometries
+	 * @since 6.6.2
+	 */
+	public void setCacheProjectedGeometries(boolean cacheProjectedGeometries) {
+		if (!cacheProjectedGeometries) {
+			projectedGeometryCache = null;
+		} else if (projectedGeometryCache == null) {
+			projectedGeometryCache = new ProjectedGeometryCache();
 		}
 	}
 
+	/**
+	 * Get the projected geometry cache
+	 *
+	 * @return projected geometry cache or null
+	 * @since 6.6.2
+	 */
+	public ProjectedGeometryCache getProjectedGeometryCache() {
+		return projectedGeometryCache;
+	}
+
+	/**
+	 * Set the projected geometry cache, allowing a cache to be shared between
+	 * feature tiles of the same feature table and tile size
+	 *
+	 * @param projectedGeometryCache
+	 *            projected geometry cache or null
+	 * @since 6.6.2
+	 */
+	public void setProjectedGeometryCache(
+			ProjectedGeometryCache projectedGeometryCache) {
+		this.projectedGeometryCache = projectedGeometryCache;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -382,6 +479,7 @@ public class DefaultFeatureTiles extends FeatureTiles {
 			GeoPackageGeometryData geomData = null;
 			BoundingBox transformedBoundingBox = null;
 			long rowId = -1;
+			ProjectedGeometryCache projectedCache = projectedGeometryCache;
 
 			// Check the cache for the geometry data
 			if (cacheGeometries) {
@@ -392,9 +490,13 @@ public class DefaultFeatureTiles extends FeatureTiles {
 				}
 			}
 
+			long weight = 0;
 			if (geomData == null) {
 				// Read the geometry
 				geomData = row.getGeometry();
+				if (cacheGeometries && geomData != null) {
+					weight = geometryCache.weigh(geomData);
+				}
 			}
 
 			if (geomData != null) {
@@ -409,24 +511,35 @@ public class DefaultFeatureTiles extends FeatureTiles {
 
 						if (cacheGeometries) {
 							// Set the geometry envelope to the transformed
-							// bounding box
+							// bounding box and cache the geometry
 							geomData.setEnvelope(
 									transformedBoundingBox.buildEnvelope());
+							geometryCache.put(rowId, geomData, weight);
 						}
 					}
 
-					if (cacheGeometries) {
-						// Cache the geometry
-						geometryCache.put(rowId, geomData);
-					}
-
 					if (expandedBoundingBox.intersects(transformedBoundingBox,
 							true)) {
 
 						double simplifyTolerance = TileBoundingBoxUtils
 								.toleranceDistance(zoom, tileWidth, tileHeight);
-						drawn = drawGeometry(simplifyTolerance, boundingBox,
-								transform, graphics, row, geometry);
+
+						// Check the cache for the projected geometry
+						double[][] projected = null;
+						if (projectedCache != null) {
+							projected = projectedCache.get(zoom, row.getId());
+						}
+
+						FeatureCoordinates coordinates = new FeatureCoordinates(
+								simplifyTolerance, transform, projected,
+								projectedCache != null);
+						drawn = drawGeometry(boundingBox, coordinates,
+								graphics, row, geometry);
+
+						if (projected == null && projectedCache != null) {
+							projectedCache.put(zoom, row.getId(),
+									coordinates.getProjected());
+						}
 
 					}
 				}
@@ -442,12 +555,10 @@ public class DefaultFeatureTiles extends FeatureTiles {
 	/**
 	 * Draw the geometry
 	 *
-	 * @param simplifyTolerance
-	 *            simplify tolerance in meters
 	 * @param boundingBox
 	 *            bounding box
-	 * @param transform
-	 *            geometry transform
+	 * @param featureCoordinates
+	 *            feature coordinates
 	 * @param graphics
 	 *            feature tile graphics
 	 * @param featureRow
@@ -456,8 +567,8 @@ public class DefaultFeatureTiles extends FeatureTiles {
 	 *            geometry
 	 * @return true if drawn
 	 */
-	private boolean drawGeometry(double simplifyTolerance,
-			BoundingBox boundingBox, GeometryTransform transform,
+	private boolean drawGeometry(BoundingBox boundingBox,
+			FeatureCoordinates featureCoordinates,
 			FeatureTileGraphics graphics, FeatureRow featureRow,
 			Geometry geometry) {
 
@@ -470,77 +581,77 @@ public class DefaultFeatureTiles extends FeatureTiles {
 
 		case POINT:
 			Point point = (Point) geometry;
-			drawn = drawPoint(boundingBox, transform, graphics, point,
-					featureStyle);
+			drawn = drawPoint(boundingBox, featureCoordinates, graphics,
+					point, featureStyle);
 			break;
 		case LINESTRING:
 			LineString lineString = (LineString) geometry;
-			drawn = drawLineString(simplifyTolerance, boundingBox, transform,
-					graphics, lineString, featureStyle);
+			drawn = drawLineString(boundingBox, featureCoordinates, graphics,
+					lineString, featureStyle);
 			break;
 		case POLYGON:
 			Polygon polygon = (Polygon) geometry;
-			drawn = drawPolygon(simplifyTolerance, boundingBox, transform,
-					graphics, polygon, featureStyle);
+			drawn = drawPolygon(boundingBox, featureCoordinates, graphics,
+					polygon, featureStyle);
 			break;
 		case MULTIPOINT:
 			MultiPoint multiPoint = (MultiPoint) geometry;
 			for (Point p : multiPoint.getPoints()) {
-				drawn = drawPoint(boundingBox, transform, graphics, p,
-						featureStyle) || drawn;
+				drawn = drawPoint(boundingBox, featureCoordinates, graphics,
+						p, featureStyle) || drawn;
 			}
 			break;
 		case MULTILINESTRING:
 			MultiLineString multiLineString = (MultiLineString) geometry;
 			for (LineString ls : multiLineString.getLineStrings()) {
-				drawn = drawLineString(simplifyTolerance, boundingBox,
-						transform, graphics, ls, featureStyle) || drawn;
+				drawn = drawLineString(boundingBox, featureCoordinates,
+						graphics, ls, featureStyle) || drawn;
 			}
 			break;
 		case MULTIPOLYGON:
 			MultiPolygon multiPolygon = (MultiPolygon) geometry;
 			for (Polygon p : multiPolygon.getPolygons()) {
-				drawn = drawPolygon(simplifyTolerance, boundingBox, transform,
+				drawn = drawPolygon(boundingBox, featureCoordinates,
 						graphics, p, featureStyle) || drawn;
 			}
 			break;
 		case CIRCULARSTRING:
 			CircularString circularString = (CircularString) geometry;
-			drawn = drawLineString(simplifyTolerance, boundingBox, transform,
-					graphics, circularString, featureStyle);
+			drawn = drawLineString(boundingBox, featureCoordinates, graphics,
+					circularString, featureStyle);
 			break;
 		case COMPOUNDCURVE:
 			CompoundCurve compoundCurve = (CompoundCurve) geometry;
 			for (LineString ls : compoundCurve.getLineStrings()) {
-				drawn = drawLineString(simplifyTolerance, boundingBox,
-						transform, graphics, ls, featureStyle) || drawn;
+				drawn = drawLineString(boundingBox, featureCoordinates,
+						graphics, ls, featureStyle) || drawn;
 			}
 			break;
 		case POLYHEDRALSURFACE:
 			PolyhedralSurface polyhedralSurface = (PolyhedralSurface) geometry;
 			for (Polygon p : polyhedralSurface.getPolygons()) {
-				drawn = drawPolygon(simplifyTolerance, boundingBox, transform,
+				drawn = drawPolygon(boundingBox, featureCoordinates,
 						graphics, p, featureStyle) || drawn;
 			}
 			break;
 		case TIN:
 			TIN tin = (TIN) geometry;
 			for (Polygon p : tin.getPolygons()) {
-				drawn = drawPolygon(simplifyTolerance, boundingBox, transform,
+				drawn = drawPolygon(boundingBox, featureCoordinates,
 						graphics, p, featureStyle) || drawn;
 			}
 			break;
 		case TRIANGLE:
 			Triangle triangle = (Triangle) geometry;
-			drawn = drawPolygon(simplifyTolerance, boundingBox, transform,
-					graphics, triangle, featureStyle);
+			drawn = drawPolygon(boundingBox, featureCoordinates, graphics,
+					triangle, featureStyle);
 			break;
 		case GEOMETRYCOLLECTION:
 			@SuppressWarnings("unchecked")
 			GeometryCollection<Geometry> geometryCollection = (GeometryCollection<Geometry>) geometry;
 			for (Geometry g : geometryCollection.getGeometries()) {
-				drawn = drawGeometry(simplifyTolerance, boundingBox, transform,
-						graphics, featureRow, g) || drawn;
+				drawn = drawGeometry(boundingBox, featureCoordinates, graphics,
+						featureRow, g) || drawn;
 			}
 			break;
 		default:
@@ -554,12 +665,10 @@ public class DefaultFeatureTiles extends FeatureTiles {
 	/**
 	 * Draw a LineString
 	 * 
-	 * @param simplifyTolerance
-	 *            simplify tolerance in meters
 	 * @param boundingBox
 	 *            bounding box
-	 * @param transform
-	 *            geometry transform
+	 * @param coordinates
+	 *            feature coordinates
 	 * @param graphics
 	 *            feature tile graphics
 	 * @param lineString
@@ -568,24 +677,20 @@ public class DefaultFeatureTiles extends FeatureTiles {
 	 *            feature style
 	 * @return true if drawn
 	 */
-	private boolean drawLineString(double simplifyTolerance,
-			BoundingBox boundingBox, GeometryTransform transform,
-			FeatureTileGraphics graphics, LineString lineString,
-			FeatureStyle featureStyle) {
-		Path2D path = getPath(simplifyTolerance, boundingBox, transform,
-				lineString);
+	private boolean drawLineString(BoundingBox boundingBox,
+			FeatureCoordinates coordinates, FeatureTileGraphics graphics,
+			LineString lineString, FeatureStyle featureStyle) {
+		Path2D path = getPath(boundingBox, coordinates.line(lineString));
 		return drawLine(graphics, path, featureStyle);
 	}
 
 	/**
 	 * Draw a Polygon
 	 * 
-	 * @param simplifyTolerance
-	 *            simplify tolerance in meters
 	 * @param boundingBox
 	 *            bounding box
-	 * @param transform
-	 *            geometry transform
+	 * @param coordinates
+	 *            feature coordinates
 	 * @param graphics
 	 *            feature tile graphics
 	 * @param polygon
@@ -594,41 +699,30 @@ public class DefaultFeatureTiles extends FeatureTiles {
 	 *            feature style
 	 * @return true if drawn
 	 */
-	private boolean drawPolygon(double simplifyTolerance,
-			BoundingBox boundingBox, GeometryTransform transform,
-			FeatureTileGraphics graphics, Polygon polygon,
-			FeatureStyle featureStyle) {
-		Area polygonArea = getArea(simplifyTolerance, boundingBox, transform,
-				polygon);
+	private boolean drawPolygon(BoundingBox boundingBox,
+			FeatureCoordinates coordinates, FeatureTileGraphics graphics,
+			Polygon polygon, FeatureStyle featureStyle) {
+		Area polygonArea = getArea(boundingBox, coordinates, polygon);
 		return drawPolygon(graphics, polygonArea, featureStyle);
 	}
 
 	/**
-	 * Get the path of the line string
+	 * Get the path of the projected line string coordinates
 	 *
-	 * @param simplifyTolerance
-	 *            simplify tolerance in meters
 	 * @param boundingBox
-	 * @param transform
-	 * @param lineString
+	 * @param coordinates
+	 *            packed web mercator x and y coordinates
 	 */
-	private Path2D getPath(double simplifyTolerance, BoundingBox boundingBox,
-			GeometryTransform transform, LineString lineString) {
+	private Path2D getPath(BoundingBox boundingBox, double[] coordinates) {
 
 		Path2D path = null;
 
-		// Try to simplify the number of points in the LineString
-		List<Point> lineStringPoints = simplifyPoints(simplifyTolerance,
-				lineString.getPoints());
-
-		for (Point point : lineStringPoints) {
-
-			Point projectedPoint = transform.transform(point);
+		for (int i = 0; i < coordinates.length; i += 2) {
 
 			float x = TileBoundingBoxUtils.getXPixel(tileWidth, boundingBox,
-					projectedPoint.getX());
+					coordinates[i]);
 			float y = TileBoundingBoxUtils.getYPixel(tileHeight, boundingBox,
-					projectedPoint.getY());
+					coordinates[i + 1]);
 
 			if (path == null) {
 				path = new Path2D.Double();
@@ -674,21 +768,18 @@ public class DefaultFeatureTiles extends FeatureTiles {
 	/**
 	 * Get the area of the polygon
 	 *
-	 * @param simplifyTolerance
-	 *            simplify tolerance in meters
 	 * @param boundingBox
-	 * @param transform
-	 * @param lineString
+	 * @param coordinates
+	 * @param polygon
 	 */
-	private Area getArea(double simplifyTolerance, BoundingBox boundingBox,
-			GeometryTransform transform, Polygon polygon) {
+	private Area getArea(BoundingBox boundingBox,
+			FeatureCoordinates coordinates, Polygon polygon) {
 
 		Area area = null;
 
 		for (LineString ring : polygon.getRings()) {
 
-			Path2D path = getPath(simplifyTolerance, boundingBox, transform,
-					ring);
+			Path2D path = getPath(boundingBox, coordinates.line(ring));
 			Area ringArea = new Area(path);
 
 			if (area == null) {
@@ -744,8 +835,8 @@ public class DefaultFeatureTiles extends FeatureTiles {
 	 *
 	 * @param boundingBox
 	 *            bounding box
-	 * @param transform
-	 *            geometry transform
+	 * @param coordinates
+	 *            feature coordinates
 	 * @param graphics
 	 *            feature tile graphics
 	 * @param point
@@ -755,17 +846,17 @@ public class DefaultFeatureTiles extends FeatureTiles {
 	 * @return true if drawn
 	 */
 	private boolean drawPoint(BoundingBox boundingBox,
-			GeometryTransform transform, FeatureTileGraphics graphics,
+			FeatureCoordinates coordinates, FeatureTileGraphics graphics,
 			Point point, FeatureStyle featureStyle) {
 
 		boolean drawn = false;
 
-		Point projectedPoint = transform.transform(point);
+		double[] projectedPoint = coordinates.point(point);
 
 		float x = TileBoundingBoxUtils.getXPixel(tileWidth, boundingBox,
-				projectedPoint.getX());
+				projectedPoint[0]);
 		float y = TileBoundingBoxUtils.getYPixel(tileHeight, boundingBox,
-				projectedPoint.getY());
+				projectedPoint[1]);
 
 		if (featureStyle != null && featureStyle.useIcon()) {
 
@@ -835,4 +926,132 @@ public class DefaultFeatureTiles extends FeatureTiles {
 		return drawn;
 	}
 
+	/**
+	 * Web Mercator projected and simplified coordinates of a feature geometry,
+	 * in geometry traversal order. Coordinates are read from previously
+	 * projected coordinates when available, or projected and optionally
+	 * retained for caching.
+	 */
+	private class FeatureCoordinates {
+
+		/**
+		 * Simplify tolerance in meters
+		 */
+		private final double simplifyTolerance;
+
+		/**
+		 * Geometry transform to Web Mercator
+		 */
+		private final GeometryTransform transform;
+
+		/**
+		 * Previously projected coordinates or null
+		 */
+		private final double[][] projected;
+
+		/**
+		 * Newly projected coordinates retained for caching, or null
+		 */
+		private final List<double[]> retained;
+
+		/**
+		 * Next coordinates index
+		 */
+		private int index = 0;
+
+		/**
+		 * Constructor
+		 *
+		 * @param simplifyTolerance
+		 *            simplify tolerance in meters
+		 * @param transform
+		 *            geometry transform to Web Mercator
+		 * @param projected
+		 *            previously projected coordinates or null
+		 * @param retain
+		 *            true to retain newly projected coordinates
+		 */
+		private FeatureCoordinates(double simplifyTolerance,
+				GeometryTransform transform, double[][] projected,
+				boolean retain) {
+			this.simplifyTolerance = simplifyTolerance;
+			this.transform = transform;
+			this.projected = projected;
+			this.retained = projected == null && retain
+					? new ArrayList<double[]>()
+					: null;
+		}
+
+		/**
+		 * Get the projected point coordinates
+		 *
+		 * @param point
+		 *            point
+		 * @return x and y coordinates
+		 */
+		private double[] point(Point point) {
+			double[] coordinates;
+			if (projected != null) {
+				coordinates = projected[index++];
+			} else {
+				Point projectedPoint = transform.transform(point);
+				coordinates = new double[] { projectedPoint.getX(),
+						projectedPoint.getY() };
+				retain(coordinates);
+			}
+			return coordinates;
+		}
+
+		/**
+		 * Get the projected and simplified line string coordinates
+		 *
+		 * @param lineString
+		 *            line string
+		 * @return packed x and y coordinates
+		 */
+		private double[] line(LineString lineString) {
+			double[] coordinates;
+			if (projected != null) {
+				coordinates = projected[index++];
+			} else {
+
+				// Try to simplify the number of points in the LineString
+				List<Point> lineStringPoints = simplifyPoints(
+						simplifyTolerance, lineString.getPoints());
+
+				coordinates = new double[lineStringPoints.size() * 2];
+				int i = 0;
+				for (Point point : lineStringPoints) {
+					Point projectedPoint = transform.transform(point);
+					coordinates[i++] = projectedPoint.getX();
+					coordinates[i++] = projectedPoint.getY();
+				}
+				retain(coordinates);
+			}
+			return coordinates;
+		}
+
+		/**
+		 * Retain the newly projected coordinates
+		 *
+		 * @param coordinates
+		 *            coordinates
+		 */
+		private void retain(double[] coordinates) {
+			if (retained != null) {
+				retained.add(coordinates);
+			}
+		}
+
+		/**
+		 * Get the newly projected coordinates retained for caching
+		 *
+		 * @return projected coordinates
+		 */
+		private double[][] getProjected() {
+			return retained.toArray(new double[retained.size()][]);
+		}
+
+	}
+
 }
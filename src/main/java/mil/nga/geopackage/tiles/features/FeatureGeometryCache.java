@@ -0,0 +1,483 @@
+package mil.nga.geopackage.tiles.features;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import mil.nga.geopackage.geom.GeoPackageGeometryData;
+
+/**
+ * Feature Geometry Cache of geometry data for each feature row id. The cache
+ * is thread safe and may be shared by feature tiles drawing concurrently. The
+ * cache is split into independently locked least recently used segments, each
+ * bounded by its share of the max number of geometries and max weight. The
+ * weight of a geometry is the byte size of the geometry data.
+ *
+ * @author osbornb
+ * @since 6.6.2
+ */
+public class FeatureGeometryCache {
+
+	/**
+	 * Default max number of feature geometries to retain in cache
+	 */
+	public static final int DEFAULT_CACHE_SIZE = 1000;
+
+	/**
+	 * Default max total byte weight of feature geometries to retain in cache
+	 */
+	public static final long DEFAULT_MAX_WEIGHT = 64 * 1024 * 1024;
+
+	/**
+	 * Number of cache segments
+	 */
+	private static final int SEGMENTS = 16;
+
+	/**
+	 * Cache segments
+	 */
+	private final Segment[] segments;
+
+	/**
+	 * Max number of geometries
+	 */
+	private volatile int maxSize;
+
+	/**
+	 * Max total geometry byte weight
+	 */
+	private volatile long maxWeight;
+
+	/**
+	 * Cache hit count
+	 */
+	private final LongAdder hits = new LongAdder();
+
+	/**
+	 * Cache miss count
+	 */
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * Cache eviction count
+	 */
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * Constructor
+	 */
+	public FeatureGeometryCache() {
+		this(DEFAULT_CACHE_SIZE);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param maxSize
+	 *            max geometries to retain in the cache
+	 */
+	public FeatureGeometryCache(int maxSize) {
+		this(maxSize, DEFAULT_MAX_WEIGHT);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param maxSize
+	 *            max geometries to retain in the cache
+	 * @param maxWeight
+	 *            max total geometry byte weight to retain in the cache
+	 */
+	public FeatureGeometryCache(int maxSize, long maxWeight) {
+		this.maxSize = maxSize;
+		this.maxWeight = maxWeight;
+		segments = new Segment[SEGMENTS];
+		for (int i = 0; i < segments.length; i++) {
+			segments[i] = new Segment();
+		}
+	}
+
+	/**
+	 * Get the max number of geometries
+	 *
+	 * @return max size
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * Get the max total geometry byte weight
+	 *
+	 * @return max weight
+	 */
+	public long getMaxWeight() {
+		return maxWeight;
+	}
+
+	/**
+	 * Get the cached geometry data for the feature row id
+	 *
+	 * @param featureId
+	 *            feature row id
+	 * @return geometry data or null
+	 */
+	public GeoPackageGeometryData get(long featureId) {
+		GeoPackageGeometryData geometryData = segment(featureId)
+				.get(featureId);
+		if (geometryData != null) {
+			hits.increment();
+		} else {
+			misses.increment();
+		}
+		return geometryData;
+	}
+
+	/**
+	 * Cache the geometry data for the feature row id
+	 *
+	 * @param featureId
+	 *            feature row id
+	 * @param geometryData
+	 *            geometry data
+	 * @return previous cached geometry data or null
+	 */
+	public GeoPackageGeometryData put(long featureId,
+			GeoPackageGeometryData geometryData) {
+		return put(featureId, geometryData, weigh(geometryData));
+	}
+
+	/**
+	 * Cache the geometry data for the feature row id with a previously
+	 * calculated weight
+	 *
+	 * @param featureId
+	 *            feature row id
+	 * @param geometryData
+	 *            geometry data
+	 * @param weight
+	 *            geometry byte weight
+	 * @return previous cached geometry data or null
+	 * @see #weigh(GeoPackageGeometryData)
+	 */
+	public GeoPackageGeometryData put(long featureId,
+			GeoPackageGeometryData geometryData, long weight) {
+		return segment(featureId).put(featureId, geometryData, weight);
+	}
+
+	/**
+	 * Remove the cached geometry data for the feature row id
+	 *
+	 * @param featureId
+	 *            feature row id
+	 * @return removed geometry data or null
+	 */
+	public GeoPackageGeometryData remove(long featureId) {
+		return segment(featureId).remove(featureId);
+	}
+
+	/**
+	 * Get the number of cached geometries
+	 *
+	 * @return size
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment segment : segments) {
+			size += segment.size();
+		}
+		return size;
+	}
+
+	/**
+	 * Get the total byte weight of cached geometries
+	 *
+	 * @return weight
+	 */
+	public long getWeight() {
+		long weight = 0;
+		for (Segment segment : segments) {
+			weight += segment.weight();
+		}
+		return weight;
+	}
+
+	/**
+	 * Get the number of cache hits
+	 *
+	 * @return hit count
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * Get the number of cache misses
+	 *
+	 * @return miss count
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * Get the number of geometries evicted from the cache
+	 *
+	 * @return eviction count
+	 */
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	/**
+	 * Reset the hit, miss, and eviction counts
+	 */
+	public void resetStats() {
+		hits.reset();
+		misses.reset();
+		evictions.reset();
+	}
+
+	/**
+	 * Clear the cache
+	 */
+	public void clear() {
+		for (Segment segment : segments) {
+			segment.clear();
+		}
+	}
+
+	/**
+	 * Resize the cache
+	 *
+	 * @param maxSize
+	 *            max geometries to retain in the cache
+	 */
+	public void resize(int maxSize) {
+		resize(maxSize, maxWeight);
+	}
+
+	/**
+	 * Resize the cache
+	 *
+	 * @param maxSize
+	 *            max geometries to retain in the cache
+	 * @param maxWeight
+	 *            max total geometry byte weight to retain in the cache
+	 */
+	public void resize(int maxSize, long maxWeight) {
+		this.maxSize = maxSize;
+		this.maxWeight = maxWeight;
+		for (Segment segment : segments) {
+			segment.evict();
+		}
+	}
+
+	/**
+	 * Get the byte weight of the geometry data. Weigh geometry data read from
+	 * a feature row before modifying it to avoid writing new bytes.
+	 *
+	 * @param geometryData
+	 *            geometry data
+	 * @return weight
+	 */
+	public long weigh(GeoPackageGeometryData geometryData) {
+		long weight = 0;
+		if (geometryData != null) {
+			try {
+				byte[] bytes = geometryData.getBytes();
+				if (bytes != null) {
+					weight = bytes.length;
+				}
+			} catch (IOException e) {
+				// Weigh geometries without bytes as empty
+			}
+		}
+		return weight;
+	}
+
+	/**
+	 * Get the segment for the feature row id
+	 *
+	 * @param featureId
+	 *            feature row id
+	 * @return segment
+	 */
+	private Segment segment(long featureId) {
+		int hash = Long.hashCode(featureId);
+		hash ^= (hash >>> 16);
+		return segments[hash & (segments.length - 1)];
+	}
+
+	/**
+	 * Get the max number of geometries per segment
+	 *
+	 * @return max segment size
+	 */
+	private int segmentMaxSize() {
+		return maxSize > 0 ? Math.max(1, (maxSize + SEGMENTS - 1) / SEGMENTS)
+				: 0;
+	}
+
+	/**
+	 * Get the max geometry byte weight per segment
+	 *
+	 * @return max segment weight
+	 */
+	private long segmentMaxWeight() {
+		return maxWeight > 0
+				? Math.max(1, (maxWeight + SEGMENTS - 1) / SEGMENTS)
+				: 0;
+	}
+
+	/**
+	 * Cached geometry data and weight
+	 */
+	private static class CacheEntry {
+
+		/**
+		 * Geometry data
+		 */
+		private final GeoPackageGeometryData geometryData;
+
+		/**
+		 * Geometry byte weight
+		 */
+		private final long weight;
+
+		/**
+		 * Constructor
+		 *
+		 * @param geometryData
+		 *            geometry data
+		 * @param weight
+		 *            geometry byte weight
+		 */
+		private CacheEntry(GeoPackageGeometryData geometryData, long weight) {
+			this.geometryData = geometryData;
+			this.weight = weight;
+		}
+
+	}
+
+	/**
+	 * Least recently used cache segment
+	 */
+	private class Segment {
+
+		/**
+		 * Access ordered cache entries
+		 */
+		private final Map<Long, CacheEntry> entries = new LinkedHashMap<>(16,
+				.75f, true);
+
+		/**
+		 * Total byte weight of the entries
+		 */
+		private long weight = 0;
+
+		/**
+		 * Get the geometry data
+		 *
+		 * @param featureId
+		 *            feature row id
+		 * @return geometry data or null
+		 */
+		private synchronized GeoPackageGeometryData get(long featureId) {
+			GeoPackageGeometryData geometryData = null;
+			CacheEntry entry = entries.get(featureId);
+			if (entry != null) {
+				geometryData = entry.geometryData;
+			}
+			return geometryData;
+		}
+
+		/**
+		 * Put the geometry data and evict entries over the segment bounds
+		 *
+		 * @param featureId
+		 *            feature row id
+		 * @param geometryData
+		 *            geometry data
+		 * @param geometryWeight
+		 *            geometry byte weight
+		 * @return previous geometry data or null
+		 */
+		private synchronized GeoPackageGeometryData put(long featureId,
+				GeoPackageGeometryData geometryData, long geometryWeight) {
+			GeoPackageGeometryData previous = null;
+			CacheEntry entry = entries.put(featureId,
+					new CacheEntry(geometryData, geometryWeight));
+			weight += geometryWeight;
+			if (entry != null) {
+				weight -= entry.weight;
+				previous = entry.geometryData;
+			}
+			evict();
+			return previous;
+		}
+
+		/**
+		 * Remove the geometry data
+		 *
+		 * @param featureId
+		 *            feature row id
+		 * @return removed geometry data or null
+		 */
+		private synchronized GeoPackageGeometryData remove(long featureId) {
+			GeoPackageGeometryData geometryData = null;
+			CacheEntry entry = entries.remove(featureId);
+			if (entry != null) {
+				weight -= entry.weight;
+				geometryData = entry.geometryData;
+			}
+			return geometryData;
+		}
+
+		/**
+		 * Evict the least recently used entries over the segment bounds
+		 */
+		private synchronized void evict() {
+			int segmentMaxSize = segmentMaxSize();
+			long segmentMaxWeight = segmentMaxWeight();
+			Iterator<CacheEntry> iterator = entries.values().iterator();
+			while (iterator.hasNext() && (entries.size() > segmentMaxSize
+					|| weight > segmentMaxWeight)) {
+				CacheEntry entry = iterator.next();
+				iterator.remove();
+				weight -= entry.weight;
+				evictions.increment();
+			}
+		}
+
+		/**
+		 * Get the number of entries
+		 *
+		 * @return size
+		 */
+		private synchronized int size() {
+			return entries.size();
+		}
+
+		/**
+		 * Get the total byte weight of the entries
+		 *
+		 * @return weight
+		 */
+		private synchronized long weight() {
+			return weight;
+		}
+
+		/**
+		 * Clear the entries
+		 */
+		private synchronized void clear() {
+			entries.clear();
+			weight = 0;
+		}
+
+	}
+
+}
@@ -1,10 +1,11 @@
 package mil.nga.geopackage.tiles.features;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Paint objects for drawing the different types for a single feature
+ * Paint objects for drawing the different types for a single feature. Paints
+ * may be read and set concurrently.
  *
  * @author osbornb
  * @since 3.2.0
@@ -14,7 +15,7 @@ public class FeaturePaint {
 	/**
 	 * Map between draw types and paint objects
 	 */
-	private Map<FeatureDrawType, Paint> featurePaints = new HashMap<>();
+	private Map<FeatureDrawType, Paint> featurePaints = new ConcurrentHashMap<>();
 
 	/**
 	 * Constructor
@@ -40,10 +41,14 @@ public class FeaturePaint {
 	 * @param type
 	 *            draw type
 	 * @param paint
-	 *            paint
+	 *            paint, null to remove
 	 */
 	public void setPaint(FeatureDrawType type, Paint paint) {
-		featurePaints.put(type, paint);
+		if (paint != null) {
+			featurePaints.put(type, paint);
+		} else {
+			featurePaints.remove(type);
+		}
 	}
 
 }
@@ -3,13 +3,17 @@ package mil.nga.geopackage.tiles.features;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Map.Entry;
+import java.util.concurrent.atomic.LongAdder;
 
 import mil.nga.geopackage.extension.nga.style.StyleRow;
 
 /**
- * Feature Paint Cache of Feature Paint objects for each feature id and draw
- * type
+ * Feature Paint Cache of Feature Paint objects for each style id, scale, and
+ * draw type. The cache is thread safe and may be shared by feature tiles
+ * drawing concurrently. The cache is split into independently locked least
+ * recently used segments, each bounded by its share of the max number of
+ * feature paints. Paints are keyed only by style row id and scale, so a cache
+ * must only be shared by feature tiles of the same GeoPackage.
  *
  * @author osbornb
  * @since 3.2.0
@@ -22,14 +26,34 @@ public class FeaturePaintCache {
 	public static final int DEFAULT_STYLE_PAINT_CACHE_SIZE = 100;
 
 	/**
-	 * Feature paint cache
+	 * Number of cache segments
 	 */
-	private final Map<Long, FeaturePaint> paintCache;
+	private static final int SEGMENTS = 4;
+
+	/**
+	 * Cache segments
+	 */
+	private final Segment[] segments;
 
 	/**
 	 * Max cache size
 	 */
-	private int cacheSize;
+	private volatile int cacheSize;
+
+	/**
+	 * Cache hit count
+	 */
+	private final LongAdder hits = new LongAdder();
+
+	/**
+	 * Cache miss count
+	 */
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * Cache eviction count
+	 */
+	private final LongAdder evictions = new LongAdder();
 
 	/**
 	 * Constructor
@@ -46,21 +70,19 @@ public class FeaturePaintCache {
 	 */
 	public FeaturePaintCache(int size) {
 		cacheSize = size;
-		paintCache = new LinkedHashMap<Long, FeaturePaint>(size, .75f, true) {
-			private static final long serialVersionUID = 1L;
-
-			@Override
-			protected boolean removeEldestEntry(Entry<Long, FeaturePaint> eldest) {
-				return size() > cacheSize;
-			}
-		};
+		segments = new Segment[SEGMENTS];
+		for (int i = 0; i < segments.length; i++) {
+			segments[i] = new Segment();
+		}
 	}
 
 	/**
 	 * Clear the cache
 	 */
 	public void clear() {
-		paintCache.clear();
+		for (Segment segment : segments) {
+			segment.clear();
+		}
 	}
 
 	/**
@@ -71,18 +93,76 @@ public class FeaturePaintCache {
 	 */
 	public void resize(int maxSize) {
 		cacheSize = maxSize;
-		if (paintCache.size() > maxSize) {
-			int count = 0;
-			Iterator<Long> rowIds = paintCache.keySet().iterator();
-			while (rowIds.hasNext()) {
-				rowIds.next();
-				if (++count > maxSize) {
-					rowIds.remove();
-				}
-			}
+		for (Segment segment : segments) {
+			segment.evict();
 		}
 	}
 
+	/**
+	 * Get the number of cached feature paints
+	 *
+	 * @return size
+	 * @since 6.6.2
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment segment : segments) {
+			size += segment.size();
+		}
+		return size;
+	}
+
+	/**
+	 * Get the max number of cached feature paints
+	 *
+	 * @return max size
+	 * @since 6.6.2
+	 */
+	public int getMaxSize() {
+		return cacheSize;
+	}
+
+	/**
+	 * Get the number of paint cache hits
+	 *
+	 * @return hit count
+	 * @since 6.6.2
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * Get the number of paint cache misses
+	 *
+	 * @return miss count
+	 * @since 6.6.2
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * Get the number of feature paints evicted from the cache
+	 *
+	 * @return eviction count
+	 * @since 6.6.2
+	 */
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	/**
+	 * Reset the hit, miss, and eviction counts
+	 *
+	 * @since 6.6.2
+	 */
+	public void resetStats() {
+		hits.reset();
+		misses.reset();
+		evictions.reset();
+	}
+
 	/**
 	 * Get the feature paint for the style row
 	 *
@@ -102,7 +182,21 @@ public class FeaturePaintCache {
 	 * @return feature paint
 	 */
 	public FeaturePaint getFeaturePaint(long styleId) {
-		return paintCache.get(styleId);
+		return getFeaturePaint(styleId, 1.0f);
+	}
+
+	/**
+	 * Get the feature paint for the style row id and scale
+	 *
+	 * @param styleId
+	 *            style row id
+	 * @param scale
+	 *            scale factor
+	 * @return feature paint
+	 * @since 6.6.2
+	 */
+	public FeaturePaint getFeaturePaint(long styleId, float scale) {
+		return segment(styleId).get(new PaintKey(styleId, scale));
 	}
 
 	/**
@@ -128,11 +222,49 @@ public class FeaturePaintCache {
 	 * @return paint
 	 */
 	public Paint getPaint(long styleId, FeatureDrawType type) {
+		return getPaint(styleId, 1.0f, type);
+	}
+
+	/**
+	 * Get the paint for the style row, scale, and draw type
+	 *
+	 * @param styleRow
+	 *            style row
+	 * @param scale
+	 *            scale factor
+	 * @param type
+	 *            feature draw type
+	 * @return paint
+	 * @since 6.6.2
+	 */
+	public Paint getPaint(StyleRow styleRow, float scale,
+			FeatureDrawType type) {
+		return getPaint(styleRow.getId(), scale, type);
+	}
+
+	/**
+	 * Get the paint for the style row id, scale, and draw type
+	 *
+	 * @param styleId
+	 *            style row id
+	 * @param scale
+	 *            scale factor
+	 * @param type
+	 *            feature draw type
+	 * @return paint
+	 * @since 6.6.2
+	 */
+	public Paint getPaint(long styleId, float scale, FeatureDrawType type) {
 		Paint paint = null;
-		FeaturePaint featurePaint = getFeaturePaint(styleId);
+		FeaturePaint featurePaint = getFeaturePaint(styleId, scale);
 		if (featurePaint != null) {
 			paint = featurePaint.getPaint(type);
 		}
+		if (paint != null) {
+			hits.increment();
+		} else {
+			misses.increment();
+		}
 		return paint;
 	}
 
@@ -161,12 +293,228 @@ public class FeaturePaintCache {
 	 *            paint
 	 */
 	public void setPaint(long styleId, FeatureDrawType type, Paint paint) {
-		FeaturePaint featurePaint = getFeaturePaint(styleId);
-		if (featurePaint == null) {
-			featurePaint = new FeaturePaint();
-			paintCache.put(styleId, featurePaint);
+		setPaint(styleId, 1.0f, type, paint);
+	}
+
+	/**
+	 * Set the paint for the style id, scale, and draw type
+	 *
+	 * @param styleId
+	 *            style row id
+	 * @param scale
+	 *            scale factor
+	 * @param type
+	 *            feature draw type
+	 * @param paint
+	 *            paint
+	 * @since 6.6.2
+	 */
+	public void setPaint(long styleId, float scale, FeatureDrawType type,
+			Paint paint) {
+		segment(styleId).put(new PaintKey(styleId, scale), type, paint,
+				false);
+	}
+
+	/**
+	 * Set the paint for the style row, scale, and draw type if not already
+	 * cached
+	 *
+	 * @param styleRow
+	 *            style row
+	 * @param scale
+	 *            scale factor
+	 * @param type
+	 *            feature draw type
+	 * @param paint
+	 *            paint
+	 * @return the cached paint, either the existing or provided paint
+	 * @since 6.6.2
+	 */
+	public Paint setPaintIfAbsent(StyleRow styleRow, float scale,
+			FeatureDrawType type, Paint paint) {
+		return setPaintIfAbsent(styleRow.getId(), scale, type, paint);
+	}
+
+	/**
+	 * Set the paint for the style id, scale, and draw type if not already
+	 * cached
+	 *
+	 * @param styleId
+	 *            style row id
+	 * @param scale
+	 *            scale factor
+	 * @param type
+	 *            feature draw type
+	 * @param paint
+	 *            paint
+	 * @return the cached paint, either the existing or provided paint
+	 * @since 6.6.2
+	 */
+	public Paint setPaintIfAbsent(long styleId, float scale,
+			FeatureDrawType type, Paint paint) {
+		return segment(styleId).put(new PaintKey(styleId, scale), type, paint,
+				true);
+	}
+
+	/**
+	 * Get the segment for the style row id
+	 *
+	 * @param styleId
+	 *            style row id
+	 * @return segment
+	 */
+	private Segment segment(long styleId) {
+		int hash = Long.hashCode(styleId);
+		hash ^= (hash >>> 16);
+		return segments[hash & (segments.length - 1)];
+	}
+
+	/**
+	 * Get the max number of feature paints per segment
+	 *
+	 * @return max segment size
+	 */
+	private int segmentMaxSize() {
+		return cacheSize > 0
+				? Math.max(1, (cacheSize + SEGMENTS - 1) / SEGMENTS)
+				: 0;
+	}
+
+	/**
+	 * Style row id and scale cache key
+	 */
+	private static class PaintKey {
+
+		/**
+		 * Style row id
+		 */
+		private final long styleId;
+
+		/**
+		 * Scale factor
+		 */
+		private final float scale;
+
+		/**
+		 * Constructor
+		 *
+		 * @param styleId
+		 *            style row id
+		 * @param scale
+		 *            scale factor
+		 */
+		private PaintKey(long styleId, float scale) {
+			this.styleId = styleId;
+			this.scale = scale;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int hashCode() {
+			return 31 * Long.hashCode(styleId) + Float.hashCode(scale);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (!(obj instanceof PaintKey)) {
+				return false;
+			}
+			PaintKey other = (PaintKey) obj;
+			return styleId == other.styleId && Float
+					.floatToIntBits(scale) == Float.floatToIntBits(other.scale);
+		}
+
+	}
+
+	/**
+	 * Least recently used cache segment
+	 */
+	private class Segment {
+
+		/**
+		 * Access ordered feature paints
+		 */
+		private final Map<PaintKey, FeaturePaint> paints = new LinkedHashMap<>(
+				16, .75f, true);
+
+		/**
+		 * Get the feature paint
+		 *
+		 * @param key
+		 *            paint key
+		 * @return feature paint or null
+		 */
+		private synchronized FeaturePaint get(PaintKey key) {
+			return paints.get(key);
 		}
-		featurePaint.setPaint(type, paint);
+
+		/**
+		 * Put the paint and evict feature paints over the segment bound
+		 *
+		 * @param key
+		 *            paint key
+		 * @param type
+		 *            feature draw type
+		 * @param paint
+		 *            paint
+		 * @param ifAbsent
+		 *            only put when not already cached
+		 * @return the cached paint
+		 */
+		private synchronized Paint put(PaintKey key, FeatureDrawType type,
+				Paint paint, boolean ifAbsent) {
+			FeaturePaint featurePaint = paints.get(key);
+			if (featurePaint == null) {
+				featurePaint = new FeaturePaint();
+				paints.put(key, featurePaint);
+				evict();
+			}
+			Paint cached = ifAbsent ? featurePaint.getPaint(type) : null;
+			if (cached == null) {
+				featurePaint.setPaint(type, paint);
+				cached = paint;
+			}
+			return cached;
+		}
+
+		/**
+		 * Evict the least recently used feature paints over the segment
+		 * bound
+		 */
+		private synchronized void evict() {
+			int segmentMaxSize = segmentMaxSize();
+			Iterator<PaintKey> keys = paints.keySet().iterator();
+			while (keys.hasNext() && paints.size() > segmentMaxSize) {
+				keys.next();
+				keys.remove();
+				evictions.increment();
+			}
+		}
+
+		/**
+		 * Get the number of feature paints
+		 *
+		 * @return size
+		 */
+		private synchronized int size() {
+			return paints.size();
+		}
+
+		/**
+		 * Clear the feature paints
+		 */
+		private synchronized void clear() {
+			paints.clear();
+		}
+
 	}
 
 }
@@ -1,6 +1,10 @@
 package mil.nga.geopackage.tiles.features;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 import mil.nga.geopackage.BoundingBox;
 import mil.nga.geopackage.GeoPackage;
@@ -30,6 +34,28 @@ public class FeatureTileGenerator extends TileGenerator {
 	 */
 	private boolean linkTables = true;
 
+	/**
+	 * Flag indicating whether unindexed features are drawn from a feature
+	 * tile grid
+	 */
+	private boolean gridQuery = true;
+
+	/**
+	 * Feature tiles grid query flag before tile generation
+	 */
+	private boolean featureTilesGridQuery;
+
+	/**
+	 * Idle feature tiles copies available to draw tiles concurrently, null
+	 * when drawing on the feature tiles
+	 */
+	private Queue<FeatureTiles> featureTilesPool = null;
+
+	/**
+	 * All feature tiles copies created during tile generation
+	 */
+	private final List<FeatureTiles> featureTilesCopies = new ArrayList<>();
+
 	/**
 	 * Constructor
 	 *
@@ -606,6 +632,31 @@ public class FeatureTileGenerator extends TileGenerator {
 		this.linkTables = linkTables;
 	}
 
+	/**
+	 * Is grid query enabled for drawing tiles from feature tables without an
+	 * index? Defaults to true.
+	 *
+	 * @return true if unindexed tiles are drawn from a feature tile grid
+	 * @since 6.6.2
+	 * @see FeatureTiles#setGridQuery(boolean)
+	 */
+	public boolean isGridQuery() {
+		return gridQuery;
+	}
+
+	/**
+	 * Set the grid query flag. When true and the feature table is not
+	 * indexed, the features are read once into a {@link FeatureTileGrid} for
+	 * the duration of the tile generation.
+	 *
+	 * @param gridQuery
+	 *            grid query flag
+	 * @since 6.6.2
+	 */
+	public void setGridQuery(boolean gridQuery) {
+		this.gridQuery = gridQuery;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -623,6 +674,40 @@ public class FeatureTileGenerator extends TileGenerator {
 			linker.link(featureTable, tileTable);
 		}
 
+		// Draw unindexed features from a feature tile grid
+		featureTilesGridQuery = featureTiles.isGridQuery();
+		if (gridQuery && !featureTiles.isIndexQuery()) {
+			featureTiles.clearFeatureTileGrid();
+			featureTiles.setGridQuery(true);
+		}
+
+		// Draw concurrent tiles on feature tiles copies when supported
+		if (isConcurrent()) {
+			FeatureTiles copy = copyFeatureTiles();
+			if (copy != null) {
+				featureTilesPool = new ConcurrentLinkedQueue<>();
+				featureTilesPool.add(copy);
+			}
+		}
+
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void postTileGeneration() {
+		featureTilesPool = null;
+		synchronized (featureTilesCopies) {
+			for (FeatureTiles copy : featureTilesCopies) {
+				copy.close();
+			}
+			featureTilesCopies.clear();
+		}
+		if (gridQuery) {
+			featureTiles.setGridQuery(featureTilesGridQuery);
+			featureTiles.clearFeatureTileGrid();
+		}
 	}
 
 	/**
@@ -631,9 +716,51 @@ public class FeatureTileGenerator extends TileGenerator {
 	@Override
 	protected byte[] createTile(int z, long x, long y) {
 
-		byte[] tileData = featureTiles.drawTileBytes((int) x, (int) y, z);
+		byte[] tileData = null;
+
+		Queue<FeatureTiles> pool = featureTilesPool;
+		if (pool != null) {
+
+			// Draw on an idle feature tiles copy, copying when all are busy
+			FeatureTiles copy = pool.poll();
+			if (copy == null) {
+				copy = copyFeatureTiles();
+			}
+			try {
+				tileData = copy.drawTileBytes((int) x, (int) y, z);
+			} finally {
+				pool.add(copy);
+			}
+
+		} else {
+
+			// Feature tiles drawing is not thread safe, draw one tile at a
+			// time
+			synchronized (featureTiles) {
+				tileData = featureTiles.drawTileBytes((int) x, (int) y, z);
+			}
+
+		}
 
 		return tileData;
 	}
 
+	/**
+	 * Copy the feature tiles for drawing tiles on a worker thread
+	 *
+	 * @return feature tiles copy, or null if not supported
+	 */
+	private FeatureTiles copyFeatureTiles() {
+		FeatureTiles copy = null;
+		synchronized (featureTiles) {
+			copy = featureTiles.copy();
+		}
+		if (copy != null) {
+			synchronized (featureTilesCopies) {
+				featureTilesCopies.add(copy);
+			}
+		}
+		return copy;
+	}
+
 }
@@ -0,0 +1,499 @@
+package mil.nga.geopackage.tiles.features;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.locationtech.proj4j.units.Units;
+
+import mil.nga.geopackage.BoundingBox;
+import mil.nga.geopackage.db.CoreSQLUtils;
+import mil.nga.geopackage.db.SQLUtils;
+import mil.nga.geopackage.features.user.FeatureDao;
+import mil.nga.geopackage.features.user.FeatureResultSet;
+import mil.nga.geopackage.features.user.FeatureRow;
+import mil.nga.geopackage.geom.GeoPackageGeometryData;
+import mil.nga.geopackage.tiles.TileBoundingBoxUtils;
+import mil.nga.proj.Projection;
+import mil.nga.proj.ProjectionConstants;
+import mil.nga.sf.GeometryEnvelope;
+import mil.nga.sf.proj.GeometryTransform;
+
+/**
+ * Feature Tile Grid, an in-memory spatial grid of feature envelopes used to
+ * draw tiles from feature tables without a feature index. The feature table is
+ * read once to collect the Web Mercator envelope of each feature geometry.
+ * Envelopes are then bucketed into a tile keyed grid for the requested zoom
+ * level so each tile queries only the features it overlaps.
+ *
+ * The grid is a snapshot of the feature table when created. Create a new grid
+ * after the features are modified.
+ *
+ * @author osbornb
+ * @since 6.6.2
+ */
+public class FeatureTileGrid {
+
+	/**
+	 * Default max number of feature grid cell entries to retain for a zoom
+	 * level, before scaling the grid to a lower zoom level
+	 */
+	public static final int DEFAULT_MAX_CELL_ENTRIES = 1048576;
+
+	/**
+	 * Max number of feature ids per "in" query
+	 */
+	private static final int QUERY_IN_LIMIT = 500;
+
+	/**
+	 * Feature DAO
+	 */
+	private final FeatureDao featureDao;
+
+	/**
+	 * Number of feature table rows when the grid was created
+	 */
+	private final int tableCount;
+
+	/**
+	 * Number of feature envelopes
+	 */
+	private final int count;
+
+	/**
+	 * Feature ids in table order
+	 */
+	private final long[] ids;
+
+	/**
+	 * Web Mercator feature envelopes, min x, min y, max x, max y for each
+	 * feature
+	 */
+	private final double[] envelopes;
+
+	/**
+	 * Max number of grid cell entries for a zoom level
+	 */
+	private int maxCellEntries = DEFAULT_MAX_CELL_ENTRIES;
+
+	/**
+	 * Zoom level of the current grid cells
+	 */
+	private int gridZoom = -1;
+
+	/**
+	 * Grid cells of feature envelope indices, keyed by tile x and y at the
+	 * grid zoom
+	 */
+	private Map<Long, int[]> cells = null;
+
+	/**
+	 * Resolved grid zoom levels by requested zoom level
+	 */
+	private final Map<Integer, Integer> gridZooms = new HashMap<>();
+
+	/**
+	 * Constructor, reads the feature envelopes from the feature table
+	 *
+	 * @param featureDao
+	 *            feature DAO
+	 */
+	public FeatureTileGrid(FeatureDao featureDao) {
+		this.featureDao = featureDao;
+
+		Projection projection = featureDao.getProjection();
+		GeometryTransform transform = GeometryTransform.create(projection,
+				ProjectionConstants.EPSG_WEB_MERCATOR);
+		boolean degrees = projection.isUnit(Units.DEGREES);
+
+		tableCount = featureDao.count();
+		int capacity = Math.max(tableCount, 1);
+		long[] featureIds = new long[capacity];
+		double[] featureEnvelopes = new double[capacity * 4];
+		int featureCount = 0;
+
+		FeatureResultSet resultSet = featureDao
+				.query(new String[] { featureDao.getPkColumnName(),
+						featureDao.getGeometryColumnName() });
+		try {
+			while (resultSet.moveToNext()) {
+				FeatureRow row = resultSet.getRow();
+				GeoPackageGeometryData geometryData = row.getGeometry();
+				if (geometryData == null || geometryData.isEmpty()) {
+					continue;
+				}
+				GeometryEnvelope envelope = geometryData.getOrBuildEnvelope();
+				if (envelope == null) {
+					continue;
+				}
+				BoundingBox boundingBox = new BoundingBox(envelope);
+				if (degrees) {
+					boundingBox = TileBoundingBoxUtils
+							.boundDegreesBoundingBoxWithWebMercatorLimits(
+									boundingBox);
+				}
+				boundingBox = boundingBox.transform(transform);
+
+				if (featureCount == featureIds.length) {
+					featureIds = Arrays.copyOf(featureIds,
+							featureIds.length * 2);
+					featureEnvelopes = Arrays.copyOf(featureEnvelopes,
+							featureEnvelopes.length * 2);
+				}
+				featureIds[featureCount] = row.getId();
+				int envelopeIndex = featureCount * 4;
+				featureEnvelopes[envelopeIndex] = boundingBox.getMinLongitude();
+				featureEnvelopes[envelopeIndex + 1] = boundingBox
+						.getMinLatitude();
+				featureEnvelopes[envelopeIndex + 2] = boundingBox
+						.getMaxLongitude();
+				featureEnvelopes[envelopeIndex + 3] = boundingBox
+						.getMaxLatitude();
+				featureCount++;
+			}
+		} finally {
+			resultSet.close();
+		}
+
+		this.count = featureCount;
+		this.ids = featureIds;
+		this.envelopes = featureEnvelopes;
+	}
+
+	/**
+	 * Get the feature DAO
+	 *
+	 * @return feature DAO
+	 */
+	public FeatureDao getFeatureDao() {
+		return featureDao;
+	}
+
+	/**
+	 * Get the number of feature table rows when the grid was created,
+	 * including features without geometries
+	 *
+	 * @return table row count
+	 */
+	public int getTableCount() {
+		return tableCount;
+	}
+
+	/**
+	 * Get the number of features with envelopes in the grid
+	 *
+	 * @return feature count
+	 */
+	public int count() {
+		return count;
+	}
+
+	/**
+	 * Get the max number of grid cell entries for a zoom level. When features
+	 * span more cells than the max, the grid is built at a lower zoom level.
+	 *
+	 * @return max cell entries
+	 */
+	public int getMaxCellEntries() {
+		return maxCellEntries;
+	}
+
+	/**
+	 * Set the max number of grid cell entries for a zoom level
+	 *
+	 * @param maxCellEntries
+	 *            max cell entries
+	 */
+	public synchronized void setMaxCellEntries(int maxCellEntries) {
+		this.maxCellEntries = maxCellEntries;
+		gridZooms.clear();
+		gridZoom = -1;
+		cells = null;
+	}
+
+	/**
+	 * Query for the ids of features with envelopes overlapping the Web
+	 * Mercator bounding box, in feature table order
+	 *
+	 * @param webMercatorBoundingBox
+	 *            web mercator bounding box
+	 * @param zoom
+	 *            zoom level of the bounding box
+	 * @return feature ids
+	 */
+	public long[] queryIds(BoundingBox webMercatorBoundingBox, int zoom) {
+
+		double minX = webMercatorBoundingBox.getMinLongitude();
+		double minY = webMercatorBoundingBox.getMinLatitude();
+		double maxX = webMercatorBoundingBox.getMaxLongitude();
+		double maxY = webMercatorBoundingBox.getMaxLatitude();
+
+		int zoomLevel;
+		Map<Long, int[]> zoomCells;
+		synchronized (this) {
+			zoomCells = getCells(zoom);
+			zoomLevel = gridZoom;
+		}
+
+		int tiles = TileBoundingBoxUtils.tilesPerSide(zoomLevel);
+		double tileSize = tileSize(zoomLevel);
+		int minTileX = tileX(minX, tileSize, tiles);
+		int maxTileX = tileX(maxX, tileSize, tiles);
+		int minTileY = tileY(maxY, tileSize, tiles);
+		int maxTileY = tileY(minY, tileSize, tiles);
+
+		int[] indices = new int[16];
+		int indexCount = 0;
+		for (int x = minTileX; x <= maxTileX; x++) {
+			for (int y = minTileY; y <= maxTileY; y++) {
+				int[] cell = zoomCells.get(cellKey(x, y));
+				if (cell == null) {
+					continue;
+				}
+				for (int i = 0; i < cell.length; i++) {
+					int index = cell[i];
+					int envelopeIndex = index * 4;
+					if (envelopes[envelopeIndex] > maxX
+							|| envelopes[envelopeIndex + 1] > maxY
+							|| envelopes[envelopeIndex + 2] < minX
+							|| envelopes[envelopeIndex + 3] < minY) {
+						continue;
+					}
+					// Only include the feature from the first overlapping cell
+					int featureMinX = Math.max(minTileX,
+							tileX(envelopes[envelopeIndex], tileSize, tiles));
+					int featureMinY = Math.max(minTileY, tileY(
+							envelopes[envelopeIndex + 3], tileSize, tiles));
+					if (x != featureMinX || y != featureMinY) {
+						continue;
+					}
+					if (indexCount == indices.length) {
+						indices = Arrays.copyOf(indices, indices.length * 2);
+					}
+					indices[indexCount++] = index;
+				}
+			}
+		}
+
+		Arrays.sort(indices, 0, indexCount);
+		long[] featureIds = new long[indexCount];
+		for (int i = 0; i < indexCount; i++) {
+			featureIds[i] = ids[indices[i]];
+		}
+
+		return featureIds;
+	}
+
+	/**
+	 * Query for the feature rows with envelopes overlapping the Web Mercator
+	 * bounding box, in feature table order
+	 *
+	 * @param webMercatorBoundingBox
+	 *            web mercator bounding box
+	 * @param zoom
+	 *            zoom level of the bounding box
+	 * @return feature rows
+	 */
+	public List<FeatureRow> queryFeatures(BoundingBox webMercatorBoundingBox,
+			int zoom) {
+
+		long[] featureIds = queryIds(webMercatorBoundingBox, zoom);
+
+		List<FeatureRow> rows = new ArrayList<>(featureIds.length);
+
+		String pkColumn = featureDao.getPkColumnName();
+		String orderBy = CoreSQLUtils.quoteWrap(pkColumn);
+		for (int start = 0; start < featureIds.length;
+				start += QUERY_IN_LIMIT) {
+			int end = Math.min(start + QUERY_IN_LIMIT, featureIds.length);
+			List<Long> chunk = new ArrayList<>(end - start);
+			for (int i = start; i < end; i++) {
+				chunk.add(featureIds[i]);
+			}
+			FeatureResultSet resultSet = featureDao.query(
+					SQLUtils.buildInWhere(pkColumn, chunk.size()),
+					SQLUtils.buildInWhereArgs(chunk), null, null, orderBy);
+			try {
+				while (resultSet.moveToNext()) {
+					rows.add(resultSet.getRow());
+				}
+			} finally {
+				resultSet.close();
+			}
+		}
+
+		return rows;
+	}
+
+	/**
+	 * Get the grid cells for the zoom level, building them when needed
+	 *
+	 * @param zoom
+	 *            zoom level
+	 * @return grid cells
+	 */
+	private Map<Long, int[]> getCells(int zoom) {
+
+		int zoomLevel = getGridZoom(zoom);
+
+		if (cells == null || gridZoom != zoomLevel) {
+
+			int tiles = TileBoundingBoxUtils.tilesPerSide(zoomLevel);
+			double tileSize = tileSize(zoomLevel);
+
+			Map<Long, int[]> zoomCells = new HashMap<>();
+			Map<Long, Integer> cellCounts = new HashMap<>();
+			for (int index = 0; index < count; index++) {
+				int envelopeIndex = index * 4;
+				int minTileX = tileX(envelopes[envelopeIndex], tileSize, tiles);
+				int maxTileX = tileX(envelopes[envelopeIndex + 2], tileSize,
+						tiles);
+				int minTileY = tileY(envelopes[envelopeIndex + 3], tileSize,
+						tiles);
+				int maxTileY = tileY(envelopes[envelopeIndex + 1], tileSize,
+						tiles);
+				for (int x = minTileX; x <= maxTileX; x++) {
+					for (int y = minTileY; y <= maxTileY; y++) {
+						Long key = cellKey(x, y);
+						int[] cell = zoomCells.get(key);
+						int cellCount = 0;
+						if (cell == null) {
+							cell = new int[4];
+						} else {
+							cellCount = cellCounts.get(key);
+							if (cellCount == cell.length) {
+								cell = Arrays.copyOf(cell, cell.length * 2);
+							}
+						}
+						cell[cellCount++] = index;
+						zoomCells.put(key, cell);
+						cellCounts.put(key, cellCount);
+					}
+				}
+			}
+
+			// Trim the cells to their counts
+			for (Map.Entry<Long, int[]> cell : zoomCells.entrySet()) {
+				int cellCount = cellCounts.get(cell.getKey());
+				if (cellCount < cell.getValue().length) {
+					cell.setValue(Arrays.copyOf(cell.getValue(), cellCount));
+				}
+			}
+
+			cells = zoomCells;
+			gridZoom = zoomLevel;
+		}
+
+		return cells;
+	}
+
+	/**
+	 * Get the grid zoom level for the requested zoom level, resolving and
+	 * caching it when needed
+	 *
+	 * @param zoom
+	 *            zoom level
+	 * @return grid zoom level
+	 */
+	private int getGridZoom(int zoom) {
+		Integer zoomLevel = gridZooms.get(zoom);
+		if (zoomLevel == null) {
+			// Limit the zoom so features spanning many tiles do not exceed the
+			// max cell entries
+			int level = zoom;
+			while (level > 0 && cellEntries(level) > maxCellEntries) {
+				level--;
+			}
+			zoomLevel = level;
+			gridZooms.put(zoom, zoomLevel);
+		}
+		return zoomLevel;
+	}
+
+	/**
+	 * Count the grid cell entries needed for the zoom level
+	 *
+	 * @param zoom
+	 *            zoom level
+	 * @return cell entries
+	 */
+	private long cellEntries(int zoom) {
+		int tiles = TileBoundingBoxUtils.tilesPerSide(zoom);
+		double tileSize = tileSize(zoom);
+		long entries = 0;
+		for (int index = 0; index < count
+				&& entries <= maxCellEntries; index++) {
+			int envelopeIndex = index * 4;
+			long width = tileX(envelopes[envelopeIndex + 2], tileSize, tiles)
+					- tileX(envelopes[envelopeIndex], tileSize, tiles) + 1;
+			long height = tileY(envelopes[envelopeIndex + 1], tileSize, tiles)
+					- tileY(envelopes[envelopeIndex + 3], tileSize, tiles) + 1;
+			entries += width * height;
+		}
+		return entries;
+	}
+
+	/**
+	 * Get the Web Mercator tile size at the zoom level
+	 *
+	 * @param zoom
+	 *            zoom level
+	 * @return tile size in meters
+	 */
+	private static double tileSize(int zoom) {
+		return (2 * ProjectionConstants.WEB_MERCATOR_HALF_WORLD_WIDTH)
+				/ TileBoundingBoxUtils.tilesPerSide(zoom);
+	}
+
+	/**
+	 * Get the tile x coordinate of the Web Mercator x value
+	 *
+	 * @param x
+	 *            web mercator x
+	 * @param tileSize
+	 *            tile size in meters
+	 * @param tiles
+	 *            tiles per side
+	 * @return tile x
+	 */
+	private static int tileX(double x, double tileSize, int tiles) {
+		int tileX = (int) Math.floor(
+				(x + ProjectionConstants.WEB_MERCATOR_HALF_WORLD_WIDTH)
+						/ tileSize);
+		return Math.max(0, Math.min(tileX, tiles - 1));
+	}
+
+	/**
+	 * Get the tile y coordinate of the Web Mercator y value
+	 *
+	 * @param y
+	 *            web mercator y
+	 * @param tileSize
+	 *            tile size in meters
+	 * @param tiles
+	 *            tiles per side
+	 * @return tile y
+	 */
+	private static int tileY(double y, double tileSize, int tiles) {
+		int tileY = (int) Math.floor(
+				(ProjectionConstants.WEB_MERCATOR_HALF_WORLD_WIDTH - y)
+						/ tileSize);
+		return Math.max(0, Math.min(tileY, tiles - 1));
+	}
+
+	/**
+	 * Get the grid cell key for the tile x and y
+	 *
+	 * @param x
+	 *            tile x
+	 * @param y
+	 *            tile y
+	 * @return cell key
+	 */
+	private static long cellKey(int x, int y) {
+		return ((long) x << 32) | y;
+	}
+
+}
@@ -6,7 +6,9 @@ import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
 import java.awt.image.WritableRaster;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.logging.Level;
@@ -196,6 +198,18 @@ public abstract class FeatureTiles {
 	 */
 	protected float scale = 1.0f;
 
+	/**
+	 * When true and the feature table is not indexed, tiles are drawn from an
+	 * in-memory feature tile grid instead of querying all features per tile.
+	 * Default is false
+	 */
+	protected boolean gridQuery = false;
+
+	/**
+	 * Feature tile grid, created on the first grid query
+	 */
+	private FeatureTileGrid featureTileGrid;
+
 	/**
 	 * Constructor
 	 *
@@ -368,6 +382,61 @@ public abstract class FeatureTiles {
 		calculateDrawOverlap();
 	}
 
+	/**
+	 * Copy Constructor, copying the drawing settings with a new feature index
+	 * manager. The feature table styles, feature tile grid, and paint and
+	 * icon caches are shared.
+	 *
+	 * @param featureTiles
+	 *            feature tiles to copy
+	 * @since 6.6.2
+	 */
+	protected FeatureTiles(FeatureTiles featureTiles) {
+		featureDao = featureTiles.featureDao;
+		projection = featureTiles.projection;
+		if (featureTiles.indexManager != null) {
+			indexManager = new FeatureIndexManager(featureTiles.indexManager);
+		}
+		featureTableStyles = featureTiles.featureTableStyles;
+		tileWidth = featureTiles.tileWidth;
+		tileHeight = featureTiles.tileHeight;
+		compressFormat = featureTiles.compressFormat;
+		pointRadius = featureTiles.pointRadius;
+		pointPaint = featureTiles.pointPaint;
+		pointIcon = featureTiles.pointIcon;
+		linePaint = featureTiles.linePaint;
+		lineStrokeWidth = featureTiles.lineStrokeWidth;
+		polygonPaint = featureTiles.polygonPaint;
+		polygonStrokeWidth = featureTiles.polygonStrokeWidth;
+		fillPolygon = featureTiles.fillPolygon;
+		polygonFillPaint = featureTiles.polygonFillPaint;
+		heightOverlap = featureTiles.heightOverlap;
+		widthOverlap = featureTiles.widthOverlap;
+		maxFeaturesPerTile = featureTiles.maxFeaturesPerTile;
+		maxFeaturesTileDraw = featureTiles.maxFeaturesTileDraw;
+		simplifyGeometries = featureTiles.simplifyGeometries;
+		scale = featureTiles.scale;
+		featurePaintCache = featureTiles.featurePaintCache;
+		iconCache = featureTiles.iconCache;
+		gridQuery = featureTiles.gridQuery;
+		if (gridQuery && !isIndexQuery()) {
+			featureTileGrid = featureTiles.getFeatureTileGrid();
+		}
+	}
+
+	/**
+	 * Copy the feature tiles for drawing tiles on another thread. The copy
+	 * has its own feature index manager, sharing the thread safe feature
+	 * table styles, feature tile grid, and paint and icon caches. Subclasses
+	 * supporting copies must override and copy their own state.
+	 *
+	 * @return feature tiles copy, or null if copying is not supported
+	 * @since 6.6.2
+	 */
+	public FeatureTiles copy() {
+		return null;
+	}
+
 	/**
 	 * Close the feature tiles connection
 	 *
@@ -377,6 +446,7 @@ public abstract class FeatureTiles {
 		if (indexManager != null) {
 			indexManager.close();
 		}
+		clearFeatureTileGrid();
 	}
 
 	/**
@@ -463,7 +533,6 @@ public abstract class FeatureTiles {
 		this.scale = scale;
 		linePaint.setStrokeWidth(scale * lineStrokeWidth);
 		polygonPaint.setStrokeWidth(scale * polygonStrokeWidth);
-		featurePaintCache.clear();
 	}
 
 	/**
@@ -564,6 +633,56 @@ public abstract class FeatureTiles {
 		this.indexManager = indexManager;
 	}
 
+	/**
+	 * Is grid query enabled for feature tables without an index? Default is
+	 * false
+	 *
+	 * @return true if drawing unindexed tiles from a feature tile grid
+	 * @since 6.6.2
+	 */
+	public boolean isGridQuery() {
+		return gridQuery;
+	}
+
+	/**
+	 * Set the grid query flag. When true and the feature table is not indexed,
+	 * the features are read once into an in-memory {@link FeatureTileGrid} and
+	 * each tile queries only the features overlapping it. The grid is a
+	 * snapshot of the features, call {@link #clearFeatureTileGrid()} after
+	 * modifying features.
+	 *
+	 * @param gridQuery
+	 *            grid query flag
+	 * @since 6.6.2
+	 */
+	public void setGridQuery(boolean gridQuery) {
+		this.gridQuery = gridQuery;
+	}
+
+	/**
+	 * Get the feature tile grid, creating it from the feature table when
+	 * needed
+	 *
+	 * @return feature tile grid
+	 * @since 6.6.2
+	 */
+	public synchronized FeatureTileGrid getFeatureTileGrid() {
+		if (featureTileGrid == null) {
+			featureTileGrid = new FeatureTileGrid(featureDao);
+		}
+		return featureTileGrid;
+	}
+
+	/**
+	 * Clear the feature tile grid, releasing the feature envelopes. The grid
+	 * is recreated by the next grid query.
+	 *
+	 * @since 6.6.2
+	 */
+	public synchronized void clearFeatureTileGrid() {
+		featureTileGrid = null;
+	}
+
 	/**
 	 * Get the feature table styles
 	 *
@@ -645,6 +764,52 @@ public abstract class FeatureTiles {
 		iconCache.resize(size);
 	}
 
+	/**
+	 * Get the style paint cache
+	 *
+	 * @return feature paint cache
+	 * @since 6.6.2
+	 */
+	public FeaturePaintCache getFeaturePaintCache() {
+		return featurePaintCache;
+	}
+
+	/**
+	 * Set the style paint cache, such as a cache shared between feature tiles
+	 * of the same GeoPackage. Paints are cached by style row id, so caches
+	 * must not be shared across GeoPackages.
+	 *
+	 * @param featurePaintCache
+	 *            feature paint cache
+	 * @since 6.6.2
+	 */
+	public void setFeaturePaintCache(FeaturePaintCache featurePaintCache) {
+		this.featurePaintCache = featurePaintCache;
+	}
+
+	/**
+	 * Get the icon cache
+	 *
+	 * @return icon cache
+	 * @since 6.6.2
+	 */
+	public IconCache getIconCache() {
+		return iconCache;
+	}
+
+	/**
+	 * Set the icon cache, such as a cache shared between feature tiles of the
+	 * same GeoPackage. Icons are cached by icon row id, so caches must not be
+	 * shared across GeoPackages.
+	 *
+	 * @param iconCache
+	 *            icon cache
+	 * @since 6.6.2
+	 */
+	public void setIconCache(IconCache iconCache) {
+		this.iconCache = iconCache;
+	}
+
 	/**
 	 * Get the tile width
 	 *
@@ -988,6 +1153,8 @@ public abstract class FeatureTiles {
 		BufferedImage image;
 		if (isIndexQuery()) {
 			image = drawTileQueryIndex(x, y, zoom);
+		} else if (gridQuery) {
+			image = drawTileQueryGrid(x, y, zoom);
 		} else {
 			image = drawTileQueryAll(x, y, zoom);
 		}
@@ -996,7 +1163,9 @@ public abstract class FeatureTiles {
 
 	/**
 	 * Draw a tile image from the x, y, and zoom level by querying features in
-	 * the tile location
+	 * the tile location. Features are queried in a single pass, reading no
+	 * more than one feature beyond the max features per tile. The tile
+	 * feature count is only queried when drawing the max features tile.
 	 *
 	 * @param x
 	 *            x coordinate
@@ -1014,38 +1183,71 @@ public abstract class FeatureTiles {
 
 		BufferedImage image = null;
 
-		// Query for the geometry count matching the bounds in the index
-		long tileCount = queryIndexedFeaturesCount(webMercatorBoundingBox);
+		// Query for geometries matching the bounds in the index
+		FeatureIndexResults results = queryIndexedFeatures(
+				webMercatorBoundingBox);
+
+		try {
 
-		// Draw if at least one geometry exists
-		if (tileCount > 0) {
+			if (maxFeaturesPerTile == null) {
 
-			// Query for geometries matching the bounds in the index
-			FeatureIndexResults results = queryIndexedFeatures(
-					webMercatorBoundingBox);
+				// Draw the tile image
+				image = drawTile(zoom, webMercatorBoundingBox, results);
 
-			try {
+			} else {
 
-				if (maxFeaturesPerTile == null
-						|| tileCount <= maxFeaturesPerTile.longValue()) {
+				List<FeatureRow> featureRows = readFeatureRows(results);
 
-					// Draw the tile image
-					image = drawTile(zoom, webMercatorBoundingBox, results);
+				if (featureRows != null) {
+
+					// Draw the tile image if at least one geometry exists
+					if (!featureRows.isEmpty()) {
+						loadFeatureStyles(featureRows);
+						image = drawTile(zoom, webMercatorBoundingBox,
+								featureRows);
+					}
 
 				} else if (maxFeaturesTileDraw != null) {
 
+					// Query for the geometry count and geometries
+					results.close();
+					long tileCount = queryIndexedFeaturesCount(
+							webMercatorBoundingBox);
+					results = queryIndexedFeatures(webMercatorBoundingBox);
+
 					// Draw the max features tile
 					image = maxFeaturesTileDraw.drawTile(tileWidth, tileHeight,
 							tileCount, results);
 				}
-			} finally {
-				results.close();
 			}
+		} finally {
+			results.close();
 		}
 
 		return image;
 	}
 
+	/**
+	 * Read the feature rows when not exceeding the max features per tile
+	 * 
+	 * @param featureRows
+	 *            feature rows
+	 * @return feature rows, or null when the max features per tile is
+	 *         exceeded
+	 */
+	private List<FeatureRow> readFeatureRows(Iterable<FeatureRow> featureRows) {
+		List<FeatureRow> rows = new ArrayList<>();
+		Iterator<FeatureRow> iterator = featureRows.iterator();
+		while (rows != null && iterator.hasNext()) {
+			if (rows.size() >= maxFeaturesPerTile) {
+				rows = null;
+			} else {
+				rows.add(iterator.next());
+			}
+		}
+		return rows;
+	}
+
 	/**
 	 * Query for feature result count in the x, y, and zoom
 	 *
@@ -1256,24 +1458,34 @@ public abstract class FeatureTiles {
 
 		try {
 
-			int totalCount = resultSet.getCount();
+			if (maxFeaturesPerTile == null) {
 
-			// Draw if at least one geometry exists
-			if (totalCount > 0) {
+				// Draw the tile image
+				image = drawTile(zoom, boundingBox, resultSet);
 
-				if (maxFeaturesPerTile == null
-						|| totalCount <= maxFeaturesPerTile) {
+			} else {
 
-					// Draw the tile image
-					image = drawTile(zoom, boundingBox, resultSet);
+				List<FeatureRow> featureRows = readFeatureRows(resultSet);
+
+				if (featureRows != null) {
+
+					// Draw the tile image if at least one geometry exists
+					if (!featureRows.isEmpty()) {
+						loadFeatureStyles(featureRows);
+						image = drawTile(zoom, boundingBox, featureRows);
+					}
 
 				} else if (maxFeaturesTileDraw != null) {
 
+					// Query for all features and the count
+					resultSet.close();
+					resultSet = featureDao.queryForAll();
+					int totalCount = resultSet.getCount();
+
 					// Draw the unindexed max features tile
 					image = maxFeaturesTileDraw.drawUnindexedTile(tileWidth,
 							tileHeight, totalCount, resultSet);
 				}
-
 			}
 		} finally {
 			resultSet.close();
@@ -1282,6 +1494,71 @@ public abstract class FeatureTiles {
 		return image;
 	}
 
+	/**
+	 * Draw a tile image from the x, y, and zoom level by querying features
+	 * overlapping the tile in the feature tile grid. When the max features per
+	 * tile is exceeded by the total feature count, the tile is drawn as an
+	 * unindexed tile by {@link #drawTileQueryAll(int, int, int)}.
+	 *
+	 * @param x
+	 *            x coordinate
+	 * @param y
+	 *            y coordinate
+	 * @param zoom
+	 *            zoom level
+	 * @return drawn image, or null
+	 * @since 6.6.2
+	 */
+	public BufferedImage drawTileQueryGrid(int x, int y, int zoom) {
+
+		FeatureTileGrid grid = getFeatureTileGrid();
+
+		BufferedImage image = null;
+
+		if (maxFeaturesPerTile != null
+				&& grid.getTableCount() > maxFeaturesPerTile) {
+
+			// Draw the unindexed max features tile
+			image = drawTileQueryAll(x, y, zoom);
+
+		} else {
+
+			BoundingBox boundingBox = TileBoundingBoxUtils
+					.getWebMercatorBoundingBox(x, y, zoom);
+
+			// Query for features overlapping the expanded tile
+			List<FeatureRow> featureRows = grid
+					.queryFeatures(expandBoundingBox(boundingBox), zoom);
+
+			// Draw if at least one geometry exists
+			if (!featureRows.isEmpty()) {
+				loadFeatureStyles(featureRows);
+				image = drawTile(zoom, boundingBox, featureRows);
+			}
+		}
+
+		return image;
+	}
+
+	/**
+	 * Bulk load the feature styles of the tile feature rows into the feature
+	 * table styles, unless all table feature styles are cached
+	 *
+	 * @param featureRows
+	 *            tile feature rows
+	 * @since 6.6.2
+	 */
+	protected void loadFeatureStyles(List<FeatureRow> featureRows) {
+		if (featureTableStyles != null
+				&& !featureTableStyles.isCacheFeatureStyles()) {
+			List<Long> featureIds = new ArrayList<>(featureRows.size());
+			for (FeatureRow featureRow : featureRows) {
+				featureIds.add(featureRow.getId());
+			}
+			featureTableStyles.loadFeatureStyles(featureIds);
+		}
+	}
+
 	/**
 	 * Create a new empty image
 	 *
@@ -1536,7 +1813,7 @@ public abstract class FeatureTiles {
 	 */
 	private Paint getStylePaint(StyleRow style, FeatureDrawType drawType) {
 
-		Paint paint = featurePaintCache.getPaint(style, drawType);
+		Paint paint = featurePaintCache.getPaint(style, scale, drawType);
 
 		if (paint == null) {
 
@@ -1566,16 +1843,8 @@ public abstract class FeatureTiles {
 				stylePaint.setStrokeWidth(strokeWidth);
 			}
 
-			synchronized (featurePaintCache) {
-
-				paint = featurePaintCache.getPaint(style, drawType);
-
-				if (paint == null) {
-					featurePaintCache.setPaint(style, drawType, stylePaint);
-					paint = stylePaint;
-				}
-
-			}
+			paint = featurePaintCache.setPaintIfAbsent(style, scale, drawType,
+					stylePaint);
 		}
 
 		return paint;
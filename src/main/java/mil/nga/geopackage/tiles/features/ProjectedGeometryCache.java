@@ -0,0 +1,231 @@
+package mil.nga.geopackage.tiles.features;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Projected Geometry Cache of feature geometries projected to Web Mercator and
+ * simplified for a zoom level. Each feature geometry is stored as packed
+ * coordinate arrays of x and y values, one array per point or line in geometry
+ * traversal order, so tiles at the same zoom level only map the coordinates to
+ * pixels. The cache retains the most recently used zoom levels, each bounded by
+ * a max number of coordinates. The cache is thread safe and may be shared by
+ * feature tiles drawing concurrently.
+ *
+ * @author osbornb
+ * @since 6.6.2
+ */
+public class ProjectedGeometryCache {
+
+	/**
+	 * Default max number of zoom levels to retain in cache
+	 */
+	public static final int DEFAULT_MAX_ZOOM_LEVELS = 2;
+
+	/**
+	 * Default max number of x and y coordinate values to retain per zoom level
+	 */
+	public static final long DEFAULT_MAX_COORDINATES = 4 * 1024 * 1024;
+
+	/**
+	 * Zoom level caches, access ordered
+	 */
+	private final Map<Integer, ZoomCache> zoomCaches = new LinkedHashMap<>(16,
+			.75f, true);
+
+	/**
+	 * Max number of zoom levels
+	 */
+	private volatile int maxZoomLevels;
+
+	/**
+	 * Max number of x and y coordinate values per zoom level
+	 */
+	private volatile long maxCoordinates;
+
+	/**
+	 * Constructor
+	 */
+	public ProjectedGeometryCache() {
+		this(DEFAULT_MAX_ZOOM_LEVELS, DEFAULT_MAX_COORDINATES);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param maxZoomLevels
+	 *            max zoom levels to retain in the cache
+	 * @param maxCoordinates
+	 *            max x and y coordinate values to retain per zoom level
+	 */
+	public ProjectedGeometryCache(int maxZoomLevels, long maxCoordinates) {
+		this.maxZoomLevels = maxZoomLevels;
+		this.maxCoordinates = maxCoordinates;
+	}
+
+	/**
+	 * Get the max number of zoom levels
+	 *
+	 * @return max zoom levels
+	 */
+	public int getMaxZoomLevels() {
+		return maxZoomLevels;
+	}
+
+	/**
+	 * Get the max number of x and y coordinate values per zoom level
+	 *
+	 * @return max coordinates
+	 */
+	public long getMaxCoordinates() {
+		return maxCoordinates;
+	}
+
+	/**
+	 * Get the projected coordinates of the feature at the zoom level
+	 *
+	 * @param zoom
+	 *            zoom level
+	 * @param featureId
+	 *            feature row id
+	 * @return packed coordinate arrays or null
+	 */
+	public double[][] get(int zoom, long featureId) {
+		double[][] coordinates = null;
+		ZoomCache zoomCache = getZoomCache(zoom, false);
+		if (zoomCache != null) {
+			coordinates = zoomCache.geometries.get(featureId);
+		}
+		return coordinates;
+	}
+
+	/**
+	 * Cache the projected coordinates of the feature at the zoom level. The
+	 * coordinates are not cached when the zoom level is full.
+	 *
+	 * @param zoom
+	 *            zoom level
+	 * @param featureId
+	 *            feature row id
+	 * @param coordinates
+	 *            packed coordinate arrays
+	 * @return true if cached
+	 */
+	public boolean put(int zoom, long featureId, double[][] coordinates) {
+		boolean cached = false;
+		ZoomCache zoomCache = getZoomCache(zoom, true);
+		if (zoomCache != null) {
+			long count = 0;
+			for (double[] values : coordinates) {
+				count += values.length;
+			}
+			if (zoomCache.coordinates.addAndGet(count) <= maxCoordinates) {
+				double[][] previous = zoomCache.geometries.put(featureId,
+						coordinates);
+				if (previous != null) {
+					for (double[] values : previous) {
+						zoomCache.coordinates.addAndGet(-values.length);
+					}
+				}
+				cached = true;
+			} else {
+				zoomCache.coordinates.addAndGet(-count);
+			}
+		}
+		return cached;
+	}
+
+	/**
+	 * Get the number of cached feature geometries across all zoom levels
+	 *
+	 * @return size
+	 */
+	public synchronized int size() {
+		int size = 0;
+		for (ZoomCache zoomCache : zoomCaches.values()) {
+			size += zoomCache.geometries.size();
+		}
+		return size;
+	}
+
+	/**
+	 * Get the number of cached x and y coordinate values at the zoom level
+	 *
+	 * @param zoom
+	 *            zoom level
+	 * @return coordinate count
+	 */
+	public long getCoordinateCount(int zoom) {
+		long count = 0;
+		ZoomCache zoomCache = getZoomCache(zoom, false);
+		if (zoomCache != null) {
+			count = zoomCache.coordinates.get();
+		}
+		return count;
+	}
+
+	/**
+	 * Clear the cache
+	 */
+	public synchronized void clear() {
+		zoomCaches.clear();
+	}
+
+	/**
+	 * Resize the cache, clearing the retained zoom levels
+	 *
+	 * @param maxZoomLevels
+	 *            max zoom levels to retain in the cache
+	 * @param maxCoordinates
+	 *            max x and y coordinate values to retain per zoom level
+	 */
+	public synchronized void resize(int maxZoomLevels, long maxCoordinates) {
+		this.maxZoomLevels = maxZoomLevels;
+		this.maxCoordinates = maxCoordinates;
+		zoomCaches.clear();
+	}
+
+	/**
+	 * Get the zoom level cache
+	 *
+	 * @param zoom
+	 *            zoom level
+	 * @param create
+	 *            true to create the zoom level cache if needed
+	 * @return zoom cache or null
+	 */
+	private synchronized ZoomCache getZoomCache(int zoom, boolean create) {
+		ZoomCache zoomCache = zoomCaches.get(zoom);
+		if (zoomCache == null && create && maxZoomLevels > 0) {
+			zoomCache = new ZoomCache();
+			zoomCaches.put(zoom, zoomCache);
+			Iterator<Integer> zooms = zoomCaches.keySet().iterator();
+			while (zoomCaches.size() > maxZoomLevels) {
+				zooms.next();
+				zooms.remove();
+			}
+		}
+		return zoomCache;
+	}
+
+	/**
+	 * Projected feature geometries for a single zoom level
+	 */
+	private static class ZoomCache {
+
+		/**
+		 * Packed coordinate arrays by feature row id
+		 */
+		private final Map<Long, double[][]> geometries = new ConcurrentHashMap<>();
+
+		/**
+		 * Number of cached x and y coordinate values
+		 */
+		private final AtomicLong coordinates = new AtomicLong();
+
+	}
+
+}
@@ -27,6 +27,18 @@ import mil.nga.proj.Projection;
  */
 public class TileReprojection extends TileReprojectionCore {
 
+	/**
+	 * Reprojection interpolation grid size in pixels between control points, 0
+	 * to reproject every pixel
+	 */
+	private int interpolationGridSize = 0;
+
+	/**
+	 * Max reprojection interpolation error in tile pixels
+	 */
+	private double interpolationTolerance =
+			TileCreator.DEFAULT_INTERPOLATION_TOLERANCE;
+
 	/**
 	 * Create a Reprojection from a GeoPackage tile table, replacing the
 	 * existing tiles
@@ -521,6 +533,59 @@ public class TileReprojection extends TileReprojectionCore {
 		super(tileDao, geoPackage, reprojectTileDao);
 	}
 
+	/**
+	 * Get the reprojection interpolation grid size in pixels between control
+	 * points, 0 when every pixel is reprojected
+	 * 
+	 * @return interpolation grid size
+	 * @since 6.6.2
+	 */
+	public int getInterpolationGridSize() {
+		return interpolationGridSize;
+	}
+
+	/**
+	 * Set the reprojection interpolation grid size. When greater than 0, only
+	 * a grid of control pixels are reprojected and the remaining pixels are
+	 * bilinearly interpolated within the interpolation tolerance. Default is
+	 * 0, reprojecting every pixel.
+	 * 
+	 * @param interpolationGridSize
+	 *            interpolation grid size in pixels, 0 to disable
+	 * @since 6.6.2
+	 * @see TileCreator#setInterpolationGridSize(int)
+	 */
+	public void setInterpolationGridSize(int interpolationGridSize) {
+		if (interpolationGridSize < 0) {
+			throw new GeoPackageException(
+					"Interpolation grid size must not be negative: "
+							+ interpolationGridSize);
+		}
+		this.interpolationGridSize = interpolationGridSize;
+	}
+
+	/**
+	 * Get the max reprojection interpolation error in tile pixels
+	 * 
+	 * @return interpolation tolerance
+	 * @since 6.6.2
+	 */
+	public double getInterpolationTolerance() {
+		return interpolationTolerance;
+	}
+
+	/**
+	 * Set the max reprojection interpolation error in tile pixels
+	 * 
+	 * @param interpolationTolerance
+	 *            interpolation tolerance
+	 * @since 6.6.2
+	 * @see TileCreator#setInterpolationTolerance(double)
+	 */
+	public void setInterpolationTolerance(double interpolationTolerance) {
+		this.interpolationTolerance = interpolationTolerance;
+	}
+
 	/**
 	 * Get the tile DAO
 	 * 
@@ -673,6 +738,8 @@ public class TileReprojection extends TileReprojectionCore {
 		TileCreator tileCreator = new TileCreator(tileDao, (int) tileWidth,
 				(int) tileHeight, reprojectTileDao.getProjection(),
 				ImageUtils.IMAGE_FORMAT_PNG);
+		tileCreator.setInterpolationGridSize(interpolationGridSize);
+		tileCreator.setInterpolationTolerance(interpolationTolerance);
 
 		for (long tileRow = tileGrid.getMinY(); tileRow <= tileGrid
 				.getMaxY(); tileRow++) {
@@ -0,0 +1,214 @@
+package mil.nga.geopackage.tiles.user;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+import mil.nga.geopackage.GeoPackageException;
+import mil.nga.geopackage.db.SQLUtils;
+
+/**
+ * Tile Batch Writer for bulk writing tiles to a tile table. Tiles are inserted
+ * (or replaced when the zoom level, column, and row already exist) with a
+ * single reusable prepared statement, executed and committed in batches within
+ * a transaction. When the connection is already within a transaction, batches
+ * are executed but committing is left to the owner of the transaction.
+ *
+ * @author osbornb
+ * @since 6.6.2
+ */
+public class TileBatchWriter implements Closeable {
+
+	/**
+	 * Default number of tiles written per batch and transaction
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 1000;
+
+	/**
+	 * Tile DAO
+	 */
+	private final TileDao tileDao;
+
+	/**
+	 * Connection
+	 */
+	private final Connection connection;
+
+	/**
+	 * Number of tiles written per batch and transaction
+	 */
+	private final int batchSize;
+
+	/**
+	 * Insert or replace SQL
+	 */
+	private final String sql;
+
+	/**
+	 * Prepared insert or replace statement
+	 */
+	private PreparedStatement statement;
+
+	/**
+	 * Auto commit mode at the beginning of the transaction, false when within
+	 * an existing transaction
+	 */
+	private final boolean autoCommit;
+
+	/**
+	 * Tiles added to the current batch
+	 */
+	private int batchCount = 0;
+
+	/**
+	 * Total tiles written
+	 */
+	private int count = 0;
+
+	/**
+	 * Constructor
+	 *
+	 * @param tileDao
+	 *            tile DAO
+	 */
+	public TileBatchWriter(TileDao tileDao) {
+		this(tileDao, DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param tileDao
+	 *            tile DAO
+	 * @param batchSize
+	 *            number of tiles written per batch and transaction
+	 */
+	public TileBatchWriter(TileDao tileDao, int batchSize) {
+		if (batchSize < 1) {
+			throw new GeoPackageException(
+					"Batch size must be at least 1, not: " + batchSize);
+		}
+		this.tileDao = tileDao;
+		this.connection = tileDao.getConnection();
+		this.batchSize = batchSize;
+		this.sql = SQLUtils.insertOrReplaceSQL(tileDao.getTableName(),
+				new String[] { TileTable.COLUMN_ZOOM_LEVEL,
+						TileTable.COLUMN_TILE_COLUMN, TileTable.COLUMN_TILE_ROW,
+						TileTable.COLUMN_TILE_DATA });
+		this.autoCommit = SQLUtils.beginTransaction(connection);
+		this.statement = SQLUtils.prepareStatement(connection, sql);
+	}
+
+	/**
+	 * Get the tile DAO
+	 *
+	 * @return tile DAO
+	 */
+	public TileDao getTileDao() {
+		return tileDao;
+	}
+
+	/**
+	 * Get the number of tiles written per batch and transaction
+	 *
+	 * @return batch size
+	 */
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	/**
+	 * Get the number of tiles written, including those pending in the current
+	 * batch
+	 *
+	 * @return tile count
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * Write the tile row zoom level, column, row, and data
+	 *
+	 * @param tileRow
+	 *            tile row
+	 */
+	public void write(TileRow tileRow) {
+		write(tileRow.getZoomLevel(), tileRow.getTileColumn(),
+				tileRow.getTileRow(), tileRow.getTileData());
+	}
+
+	/**
+	 * Write a tile, replacing any existing tile at the zoom level, column, and
+	 * row
+	 *
+	 * @param zoomLevel
+	 *            zoom level
+	 * @param tileColumn
+	 *            tile column
+	 * @param tileRow
+	 *            tile row
+	 * @param tileData
+	 *            tile data
+	 */
+	public void write(long zoomLevel, long tileColumn, long tileRow,
+			byte[] tileData) {
+		if (statement == null) {
+			throw new GeoPackageException(
+					"Tile batch writer is closed. Table: "
+							+ tileDao.getTableName());
+		}
+		SQLUtils.addBatch(statement, sql,
+				new Object[] { zoomLevel, tileColumn, tileRow, tileData });
+		batchCount++;
+		count++;
+		if (batchCount >= batchSize) {
+			flush();
+		}
+	}
+
+	/**
+	 * Execute the pending batch and commit the transaction when owned by the
+	 * writer. When the batch fails, its tiles are discarded and removed from
+	 * the written count.
+	 */
+	public void flush() {
+		if (batchCount > 0) {
+			boolean executed = false;
+			try {
+				SQLUtils.executeBatch(statement, sql);
+				executed = true;
+			} finally {
+				if (!executed) {
+					count -= batchCount;
+				}
+				batchCount = 0;
+			}
+			if (autoCommit) {
+				tileDao.commit();
+			}
+		}
+	}
+
+	/**
+	 * Flush any pending tiles, close the prepared statement, and end the
+	 * transaction
+	 */
+	@Override
+	public void close() {
+		if (statement != null) {
+			boolean successful = false;
+			try {
+				flush();
+				successful = true;
+			} finally {
+				SQLUtils.closeStatement(statement, sql);
+				statement = null;
+				if (autoCommit) {
+					SQLUtils.endTransaction(connection, successful, true);
+				}
+			}
+		}
+	}
+
+}
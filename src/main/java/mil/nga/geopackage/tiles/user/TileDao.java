@@ -659,6 +659,30 @@ public class TileDao
 		return deleted;
 	}
 
+	/**
+	 * Create a batch writer for bulk writing tiles in transaction grouped
+	 * batches, using the default batch size. The writer must be closed.
+	 * 
+	 * @return tile batch writer
+	 * @since 6.6.2
+	 */
+	public TileBatchWriter createBatchWriter() {
+		return new TileBatchWriter(this);
+	}
+
+	/**
+	 * Create a batch writer for bulk writing tiles in transaction grouped
+	 * batches. The writer must be closed.
+	 * 
+	 * @param batchSize
+	 *            number of tiles written per batch and transaction
+	 * @return tile batch writer
+	 * @since 6.6.2
+	 */
+	public TileBatchWriter createBatchWriter(int batchSize) {
+		return new TileBatchWriter(this, batchSize);
+	}
+
 	/**
 	 * Count of Tiles at a zoom level
 	 * 
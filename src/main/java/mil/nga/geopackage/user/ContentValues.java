@@ -39,6 +39,17 @@ public class ContentValues {
 		values.put(key, null);
 	}
 
+	/**
+	 * Remove the key value mapping
+	 * 
+	 * @param key
+	 *            key
+	 * @since 6.6.2
+	 */
+	public void remove(String key) {
+		values.remove(key);
+	}
+
 	/**
 	 * Get the number of value mappings
 	 * 
@@ -0,0 +1,209 @@
+package mil.nga.geopackage.user;
+
+import java.io.Closeable;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * User Chunk Iterator for iterating through the rows of a user table in
+ * primary key ordered chunks. Each chunk is a keyset query for rows with ids
+ * after the last iterated id, so scanning the table does not re-walk the rows
+ * of previous chunks as offset queries do. Each chunk query is closed once
+ * its last row is read, allowing transactions to be committed between chunks.
+ * The last iterated id is remembered and can be set to resume iteration.
+ *
+ * @param <TColumn>
+ *            column type
+ * @param <TTable>
+ *            table type
+ * @param <TRow>
+ *            row type
+ * @param <TResult>
+ *            result type
+ *
+ * @author osbornb
+ * @since 6.6.2
+ */
+public class UserChunkIterator<TColumn extends UserColumn, TTable extends UserTable<TColumn>, TRow extends UserRow<TColumn, TTable>, TResult extends UserResultSet<TColumn, TTable, TRow>>
+		implements Iterator<TRow>, Iterable<TRow>, Closeable {
+
+	/**
+	 * User DAO
+	 */
+	private final UserDao<TColumn, TTable, TRow, TResult> dao;
+
+	/**
+	 * Distinct rows
+	 */
+	private final boolean distinct;
+
+	/**
+	 * Query columns
+	 */
+	private final String[] columns;
+
+	/**
+	 * Where clause
+	 */
+	private final String where;
+
+	/**
+	 * Where arguments
+	 */
+	private final String[] whereArgs;
+
+	/**
+	 * Chunk limit
+	 */
+	private final int chunkLimit;
+
+	/**
+	 * Last iterated id
+	 */
+	private long lastId = Long.MIN_VALUE;
+
+	/**
+	 * Current chunk result
+	 */
+	private TResult result;
+
+	/**
+	 * Rows read from the current chunk
+	 */
+	private int chunkCount = 0;
+
+	/**
+	 * Next row is positioned in the current chunk
+	 */
+	private boolean hasNext = false;
+
+	/**
+	 * All chunks have been iterated
+	 */
+	private boolean finished = false;
+
+	/**
+	 * Constructor
+	 *
+	 * @param dao
+	 *            user dao
+	 * @param distinct
+	 *            distinct rows
+	 * @param columns
+	 *            columns, null for all
+	 * @param where
+	 *            where clause
+	 * @param whereArgs
+	 *            where arguments
+	 * @param chunkLimit
+	 *            chunk limit, no rows are iterated when less than 1
+	 */
+	public UserChunkIterator(UserDao<TColumn, TTable, TRow, TResult> dao,
+			boolean distinct, String[] columns, String where,
+			String[] whereArgs, int chunkLimit) {
+		this.dao = dao;
+		this.distinct = distinct;
+		this.columns = dao.keysetColumns(columns);
+		this.where = where;
+		this.whereArgs = whereArgs;
+		this.chunkLimit = chunkLimit;
+		finished = chunkLimit < 1;
+	}
+
+	/**
+	 * Get the chunk limit
+	 *
+	 * @return chunk limit
+	 */
+	public int getChunkLimit() {
+		return chunkLimit;
+	}
+
+	/**
+	 * Get the last iterated id
+	 *
+	 * @return last id, {@link Long#MIN_VALUE} before iterating
+	 */
+	public long getLastId() {
+		return lastId;
+	}
+
+	/**
+	 * Set the last iterated id, resuming iteration with the rows after the id
+	 *
+	 * @param lastId
+	 *            last id
+	 */
+	public void setLastId(long lastId) {
+		close();
+		this.lastId = lastId;
+		finished = chunkLimit < 1;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean hasNext() {
+		while (!hasNext && !finished) {
+			if (result == null) {
+				result = dao.queryForChunkAfter(distinct, columns, where,
+						whereArgs, lastId, chunkLimit);
+				chunkCount = 0;
+			}
+			if (result.moveToNext()) {
+				chunkCount++;
+				hasNext = true;
+			} else {
+				// An empty or partial chunk is the last chunk
+				boolean lastChunk = chunkCount == 0
+						|| chunkCount < chunkLimit;
+				result.close();
+				result = null;
+				finished = lastChunk;
+			}
+		}
+		return hasNext;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public TRow next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		hasNext = false;
+		lastId = result.getId();
+		try {
+			return result.getRow();
+		} finally {
+			if (chunkCount >= chunkLimit) {
+				// Release the chunk query before the next chunk is requested
+				close();
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Iterator<TRow> iterator() {
+		return this;
+	}
+
+	/**
+	 * Close the current chunk result
+	 */
+	@Override
+	public void close() {
+		if (result != null) {
+			result.close();
+			result = null;
+		}
+		hasNext = false;
+	}
+
+}
@@ -30,6 +30,11 @@ public abstract class UserConnection<TColumn extends UserColumn, TTable extends
 	 */
 	protected final Connection connection;
 
+	/**
+	 * GeoPackage connection
+	 */
+	protected final GeoPackageConnection database;
+
 	/**
 	 * Table
 	 */
@@ -43,6 +48,7 @@ public abstract class UserConnection<TColumn extends UserColumn, TTable extends
 	 */
 	protected UserConnection(GeoPackageConnection database) {
 		this.connection = database.getConnection();
+		this.database = database;
 	}
 
 	/**
@@ -104,7 +110,8 @@ public abstract class UserConnection<TColumn extends UserColumn, TTable extends
 	@Override
 	public TResult rawQuery(String sql, String[] selectionArgs) {
 
-		ResultSet resultSet = SQLUtils.query(connection, sql, selectionArgs);
+		ResultSet resultSet = SQLUtils.query(database.getQueryConnection(sql),
+				sql, selectionArgs);
 
 		return createResult(resultSet, sql, selectionArgs);
 	}
@@ -115,7 +122,8 @@ public abstract class UserConnection<TColumn extends UserColumn, TTable extends
 	@Override
 	public TResult rawQuery(String sql, String[] columns, String[] selectionArgs) {
 
-		ResultSet resultSet = SQLUtils.query(connection, sql, selectionArgs);
+		ResultSet resultSet = SQLUtils.query(database.getQueryConnection(sql),
+				sql, selectionArgs);
 
 		return createResult(columns, resultSet, sql, selectionArgs);
 	}
@@ -208,7 +216,8 @@ public abstract class UserConnection<TColumn extends UserColumn, TTable extends
 		String sql = querySQL(distinct, table, columns, columnsAs, selection,
 				groupBy, having, orderBy, limit);
 
-		ResultSet resultSet = SQLUtils.query(connection, sql, selectionArgs);
+		ResultSet resultSet = SQLUtils.query(database.getReadConnection(),
+				sql, selectionArgs);
 
 		return createResult(columns, resultSet, sql, selectionArgs);
 	}
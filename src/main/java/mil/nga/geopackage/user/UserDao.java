@@ -4,6 +4,7 @@ import java.sql.Connection;
 import java.sql.SQLException;
 
 import mil.nga.geopackage.GeoPackageException;
+import mil.nga.geopackage.db.CoreSQLUtils;
 import mil.nga.geopackage.db.GeoPackageConnection;
 import mil.nga.geopackage.db.SQLUtils;
 
@@ -158,10 +159,23 @@ public abstract class UserDao<TColumn extends UserColumn, TTable extends UserTab
 	public long insert(TRow row) {
 		long id = SQLUtils.insertOrThrow(connection, getTableName(),
 				row.toContentValues(false));
+		setInsertedId(row, id);
+		return id;
+	}
+
+	/**
+	 * Set the id of an inserted row when the row has an id column
+	 * 
+	 * @param row
+	 *            inserted row
+	 * @param id
+	 *            inserted row id
+	 * @since 6.6.2
+	 */
+	protected void setInsertedId(TRow row, long id) {
 		if (row.hasIdColumn()) {
 			row.setId(id, true);
 		}
-		return id;
 	}
 
 	/**
@@ -186,4 +200,172 @@ public abstract class UserDao<TColumn extends UserColumn, TTable extends UserTab
 		return SQLUtils.insertOrThrow(connection, getTableName(), values);
 	}
 
+	/**
+	 * Query for rows ordered by id with ids after the provided id, returning no
+	 * more than the limit. Keyset chunks do not re-walk the rows before the id
+	 * as offset chunks do.
+	 * 
+	 * @param id
+	 *            last id of the previous chunk
+	 * @param limit
+	 *            chunk limit
+	 * @return result
+	 * @since 6.6.2
+	 */
+	public TResult queryForChunkAfter(long id, int limit) {
+		return queryForChunkAfter(null, id, limit);
+	}
+
+	/**
+	 * Query for rows ordered by id with ids after the provided id, returning no
+	 * more than the limit
+	 * 
+	 * @param columns
+	 *            columns
+	 * @param id
+	 *            last id of the previous chunk
+	 * @param limit
+	 *            chunk limit
+	 * @return result
+	 * @since 6.6.2
+	 */
+	public TResult queryForChunkAfter(String[] columns, long id, int limit) {
+		return queryForChunkAfter(false, columns, null, null, id, limit);
+	}
+
+	/**
+	 * Query for rows ordered by id with ids after the provided id, returning no
+	 * more than the limit
+	 * 
+	 * @param distinct
+	 *            distinct rows
+	 * @param columns
+	 *            columns
+	 * @param where
+	 *            where clause
+	 * @param whereArgs
+	 *            where arguments
+	 * @param id
+	 *            last id of the previous chunk
+	 * @param limit
+	 *            chunk limit
+	 * @return result
+	 * @since 6.6.2
+	 */
+	public TResult queryForChunkAfter(boolean distinct, String[] columns,
+			String where, String[] whereArgs, long id, int limit) {
+
+		String pkColumnName = keysetColumnName();
+		String keyWhere = buildWhere(pkColumnName, id, ">");
+		String[] keyWhereArgs = buildWhereArgs(id);
+		if (where != null && !where.isEmpty()) {
+			keyWhere += " AND (" + where + ")";
+			if (whereArgs != null && whereArgs.length > 0) {
+				String[] args = new String[whereArgs.length + 1];
+				args[0] = keyWhereArgs[0];
+				System.arraycopy(whereArgs, 0, args, 1, whereArgs.length);
+				keyWhereArgs = args;
+			}
+		}
+
+		return query(distinct, columns, keyWhere, keyWhereArgs, null, null,
+				CoreSQLUtils.quoteWrap(pkColumnName), String.valueOf(limit));
+	}
+
+	/**
+	 * Create a chunk iterator over the rows in id order, querying keyset
+	 * chunks of the limit size
+	 * 
+	 * @param limit
+	 *            chunk limit
+	 * @return chunk iterator
+	 * @since 6.6.2
+	 */
+	public UserChunkIterator<TColumn, TTable, TRow, TResult> chunkIterator(
+			int limit) {
+		return chunkIterator(null, limit);
+	}
+
+	/**
+	 * Create a chunk iterator over the rows in id order, querying keyset
+	 * chunks of the limit size
+	 * 
+	 * @param columns
+	 *            columns, the id column is included when missing
+	 * @param limit
+	 *            chunk limit
+	 * @return chunk iterator
+	 * @since 6.6.2
+	 */
+	public UserChunkIterator<TColumn, TTable, TRow, TResult> chunkIterator(
+			String[] columns, int limit) {
+		return chunkIterator(false, columns, null, null, limit);
+	}
+
+	/**
+	 * Create a chunk iterator over the rows in id order, querying keyset
+	 * chunks of the limit size
+	 * 
+	 * @param distinct
+	 *            distinct rows
+	 * @param columns
+	 *            columns, the id column is included when missing
+	 * @param where
+	 *            where clause
+	 * @param whereArgs
+	 *            where arguments
+	 * @param limit
+	 *            chunk limit
+	 * @return chunk iterator
+	 * @since 6.6.2
+	 */
+	public UserChunkIterator<TColumn, TTable, TRow, TResult> chunkIterator(
+			boolean distinct, String[] columns, String where,
+			String[] whereArgs, int limit) {
+		return new UserChunkIterator<>(this, distinct, columns, where,
+				whereArgs, limit);
+	}
+
+	/**
+	 * Get the primary key column name for keyset queries
+	 * 
+	 * @return primary key column name
+	 */
+	private String keysetColumnName() {
+		if (!getTable().hasPkColumn()) {
+			throw new GeoPackageException(
+					"Keyset chunk queries require a primary key column. Table: "
+							+ getTableName());
+		}
+		return getPkColumnName();
+	}
+
+	/**
+	 * Get the keyset query columns, including the primary key column
+	 * 
+	 * @param columns
+	 *            columns, null for all
+	 * @return keyset columns
+	 */
+	String[] keysetColumns(String[] columns) {
+		String pkColumnName = keysetColumnName();
+		if (columns != null) {
+			boolean hasPk = false;
+			for (String column : columns) {
+				if (pkColumnName.equalsIgnoreCase(column)) {
+					hasPk = true;
+					break;
+				}
+			}
+			if (!hasPk) {
+				String[] keysetColumns = new String[columns.length + 1];
+				keysetColumns[0] = pkColumnName;
+				System.arraycopy(columns, 0, keysetColumns, 1,
+						columns.length);
+				columns = keysetColumns;
+			}
+		}
+		return columns;
+	}
+
 }
@@ -4,8 +4,10 @@ import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.Iterator;
+import java.util.function.Consumer;
 
 import mil.nga.geopackage.GeoPackageException;
+import mil.nga.geopackage.db.GeoPackageDataType;
 import mil.nga.geopackage.db.ResultSetResult;
 import mil.nga.geopackage.db.ResultUtils;
 import mil.nga.geopackage.db.SQLUtils;
@@ -52,6 +54,17 @@ public abstract class UserResultSet<TColumn extends UserColumn, TTable extends U
 	 */
 	private String[] selectionArgs;
 
+	/**
+	 * Row column data types, cached on the first row read
+	 */
+	private GeoPackageDataType[] rowDataTypes;
+
+	/**
+	 * Row column SQLite types of non null values, cached on the first row
+	 * read
+	 */
+	private int[] rowColumnTypes;
+
 	/**
 	 * Constructor
 	 * 
@@ -279,33 +292,117 @@ public abstract class UserResultSet<TColumn extends UserColumn, TTable extends U
 		int[] columnTypes = new int[columns.columnCount()];
 		Object[] values = new Object[columns.columnCount()];
 
-		try {
+		readRow(columnTypes, values);
+
+		TRow row = getRow(columnTypes, values);
+
+		return row;
+	}
+
+	/**
+	 * Perform the action on each remaining row, reading each row into a single
+	 * reused row instance, avoiding row allocations for full table scans. The
+	 * row is only valid within the action, copy the row to retain values.
+	 * 
+	 * @param action
+	 *            row action
+	 * @since 6.6.2
+	 */
+	public void forEachRow(Consumer<TRow> action) {
+
+		TRow row = null;
+		int[] columnTypes = null;
+		Object[] values = null;
+
+		while (moveToNext()) {
+			if (row == null) {
+				columnTypes = new int[columns.columnCount()];
+				values = new Object[columns.columnCount()];
+				readRow(columnTypes, values);
+				row = getRow(columnTypes, values);
+				columnTypes = row.getRowColumnTypes();
+				values = row.getValues();
+			} else {
+				readRow(columnTypes, values);
+			}
+			action.accept(row);
+		}
+
+	}
+
+	/**
+	 * Read the current row column types and values into the provided arrays,
+	 * using column data types and SQLite types cached once per result set and
+	 * typed result set getters
+	 * 
+	 * @param columnTypes
+	 *            column types to populate
+	 * @param values
+	 *            values to populate
+	 * @since 6.6.2
+	 */
+	protected void readRow(int[] columnTypes, Object[] values) {
+
+		if (rowColumnTypes == null) {
+			int columnCount = columns.columnCount();
+			GeoPackageDataType[] dataTypes = new GeoPackageDataType[columnCount];
+			int[] types = new int[columnCount];
+			for (int index = 0; index < columnCount; index++) {
+				dataTypes[index] = columns.getColumn(index).getDataType();
+				types[index] = dataTypeToSqlLite(dataTypes[index]);
+			}
+			rowDataTypes = dataTypes;
+			rowColumnTypes = types;
+		}
 
-			ResultSetMetaData metaData = resultSet.getMetaData();
+		ResultSetMetaData metaData = null;
 
-			for (int index = 0; index < columns.columnCount(); index++) {
-				TColumn column = columns.getColumn(index);
+		for (int index = 0; index < rowColumnTypes.length; index++) {
 
-				Object value = getValue(column);
-				values[index] = value;
+			Object value = getRowValue(index, columns.getColumn(index),
+					rowDataTypes[index]);
+			values[index] = value;
 
-				int columnType;
-				if (value == null) {
-					columnType = ResultUtils.FIELD_TYPE_NULL;
-				} else {
-					int metadataColumnType = metaData
-							.getColumnType(resultIndexToResultSetIndex(index));
+			int columnType;
+			if (value == null) {
+				columnType = ResultUtils.FIELD_TYPE_NULL;
+			} else if (rowColumnTypes[index] != -1) {
+				columnType = rowColumnTypes[index];
+			} else {
+				try {
+					if (metaData == null) {
+						metaData = resultSet.getMetaData();
+					}
+					int metadataColumnType = metaData.getColumnType(
+							resultIndexToResultSetIndex(index));
 					columnType = resultSetTypeToSqlLite(metadataColumnType);
+				} catch (SQLException e) {
+					throw new GeoPackageException(
+							"Failed to retrieve the row", e);
 				}
-				columnTypes[index] = columnType;
 			}
-		} catch (SQLException e) {
-			throw new GeoPackageException("Failed to retrieve the row", e);
+			columnTypes[index] = columnType;
 		}
 
-		TRow row = getRow(columnTypes, values);
+	}
 
-		return row;
+	/**
+	 * Get the value of the column for building the current row, read with
+	 * {@link #getTypedValue(int, GeoPackageDataType)}. Row types may override
+	 * to hold raw values that are decoded when accessed from the row.
+	 * 
+	 * @param index
+	 *            column index
+	 * @param column
+	 *            column
+	 * @param dataType
+	 *            column data type
+	 * @return row value
+	 * @since 6.6.2
+	 */
+	protected Object getRowValue(int index, TColumn column,
+			GeoPackageDataType dataType) {
+		return getTypedValue(index, dataType);
 	}
 
 	/**
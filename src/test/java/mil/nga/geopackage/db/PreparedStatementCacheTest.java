@@ -0,0 +1,175 @@
+package mil.nga.geopackage.db;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import org.junit.Test;
+
+import mil.nga.geopackage.CreateGeoPackageTestCase;
+import mil.nga.geopackage.features.user.FeatureDao;
+import mil.nga.geopackage.features.user.FeatureResultSet;
+import mil.nga.geopackage.features.user.FeatureRow;
+
+/**
+ * Test the Prepared Statement Cache
+ *
+ * @author osbornb
+ */
+public class PreparedStatementCacheTest extends CreateGeoPackageTestCase {
+
+	/**
+	 * Test reusing cached statements for repeated queries
+	 *
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testReuse() throws SQLException {
+
+		GeoPackageConnection connection = geoPackage.getConnection();
+		PreparedStatementCache cache = connection.getStatementCache();
+		assertNotNull(cache);
+		assertEquals(PreparedStatementCache.DEFAULT_MAX_SIZE,
+				cache.getMaxSize());
+
+		for (String featureTable : geoPackage.getFeatureTables()) {
+
+			FeatureDao featureDao = geoPackage.getFeatureDao(featureTable);
+			FeatureResultSet resultSet = featureDao.queryForAll();
+			long[] ids = new long[resultSet.getCount()];
+			int index = 0;
+			while (resultSet.moveToNext()) {
+				ids[index++] = resultSet.getRow().getId();
+			}
+			resultSet.close();
+			if (ids.length == 0) {
+				continue;
+			}
+
+			// Repeated id queries rebind the cached statement
+			cache.resetStatistics();
+			for (int i = 0; i < 3; i++) {
+				for (long id : ids) {
+					FeatureRow row = featureDao.queryForIdRow(id);
+					assertNotNull(row);
+					assertEquals(id, row.getId());
+				}
+			}
+			assertEquals(1, cache.getMisses());
+			assertEquals(3 * ids.length - 1, cache.getHits());
+			assertTrue(cache.getHitRatio() > 0.5);
+
+			// Concurrently open result sets of the same query
+			cache.resetStatistics();
+			int size = cache.size();
+			FeatureResultSet resultSet1 = featureDao.queryForId(ids[0]);
+			FeatureResultSet resultSet2 = featureDao.queryForId(ids[0]);
+			assertTrue(resultSet1.moveToNext());
+			assertTrue(resultSet2.moveToNext());
+			assertEquals(resultSet1.getRow().getId(),
+					resultSet2.getRow().getId());
+			resultSet1.close();
+			resultSet2.close();
+			assertEquals(1, cache.getHits());
+			assertEquals(1, cache.getMisses());
+			assertEquals(size, cache.size());
+		}
+
+		// Schema changes invalidate the cache
+		assertTrue(cache.size() > 0);
+		connection.execSQL("CREATE TABLE test_cache (id INTEGER)");
+		assertEquals(0, cache.size());
+		connection.execSQL("DROP TABLE test_cache");
+
+	}
+
+	/**
+	 * Test evicting the least recently used statements
+	 */
+	@Test
+	public void testEviction() {
+
+		GeoPackageConnection connection = geoPackage.getConnection();
+		PreparedStatementCache cache = PreparedStatementCache
+				.register(connection.getConnection(), 2);
+		assertEquals(cache, connection.getStatementCache());
+
+		String sql1 = "SELECT COUNT(*) FROM gpkg_spatial_ref_sys";
+		String sql2 = "SELECT COUNT(*) FROM gpkg_contents";
+		String sql3 = "SELECT COUNT(*) FROM gpkg_geometry_columns";
+
+		connection.querySingleResult(sql1, null);
+		connection.querySingleResult(sql2, null);
+		connection.querySingleResult(sql1, null);
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getHits());
+		assertEquals(0, cache.getEvictions());
+
+		// The second statement is the least recently used
+		connection.querySingleResult(sql3, null);
+		assertEquals(2, cache.size());
+		assertEquals(1, cache.getEvictions());
+		connection.querySingleResult(sql1, null);
+		assertEquals(2, cache.getHits());
+		connection.querySingleResult(sql2, null);
+		assertEquals(2, cache.getHits());
+		assertEquals(4, cache.getMisses());
+		assertEquals(2, cache.getEvictions());
+
+		// Disable caching
+		PreparedStatementCache.unregister(connection.getConnection());
+		assertEquals(0, cache.size());
+		assertEquals(null, connection.getStatementCache());
+		connection.querySingleResult(sql1, null);
+		assertEquals(4, cache.getMisses());
+
+	}
+
+	/**
+	 * Test invalidating closes idle and checked out statements
+	 *
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testInvalidate() throws SQLException {
+
+		Connection connection = geoPackage.getConnection().getConnection();
+		PreparedStatementCache cache = PreparedStatementCache
+				.register(connection, 2);
+
+		String sql1 = "SELECT COUNT(*) FROM gpkg_spatial_ref_sys";
+		String sql2 = "SELECT COUNT(*) FROM gpkg_contents";
+
+		PreparedStatement idleStatement = cache.prepare(connection, sql1);
+		assertTrue(cache.release(idleStatement));
+		assertEquals(1, cache.size());
+		PreparedStatement checkedOutStatement = cache.prepare(connection,
+				sql2);
+
+		cache.invalidate();
+		assertEquals(0, cache.size());
+		assertTrue(idleStatement.isClosed());
+		assertFalse(checkedOutStatement.isClosed());
+
+		// Checked out statements are closed when released
+		assertTrue(cache.release(checkedOutStatement));
+		assertTrue(checkedOutStatement.isClosed());
+		assertEquals(0, cache.size());
+
+		// Unregistering closes idle statements
+		idleStatement = cache.prepare(connection, sql1);
+		assertTrue(cache.release(idleStatement));
+		assertFalse(idleStatement.isClosed());
+		PreparedStatementCache.unregister(connection);
+		assertTrue(idleStatement.isClosed());
+
+	}
+
+}
@@ -1,11 +1,13 @@
 package mil.nga.geopackage.extension.coverage;
 
 import java.sql.SQLException;
+import java.util.Arrays;
 import java.util.List;
 
 import junit.framework.TestCase;
 import mil.nga.geopackage.BoundingBox;
 import mil.nga.geopackage.GeoPackage;
+import mil.nga.geopackage.GeoPackageException;
 import mil.nga.geopackage.srs.SpatialReferenceSystem;
 import mil.nga.geopackage.srs.SpatialReferenceSystemDao;
 import mil.nga.geopackage.tiles.TileBoundingBoxUtils;
@@ -120,6 +122,9 @@ public class CoverageDataTestUtils {
 		coverageData2.setWidth(specifiedWidth);
 		coverageData2.setHeight(specifiedHeight);
 
+		testGridValues(values, coverageData2.getGridValues(requestBoundingBox,
+				null, null));
+
 		values = coverageData2.getValues(requestBoundingBox);
 		TestCase.assertNotNull(values);
 		TestCase.assertNotNull(values.getValues());
@@ -138,6 +143,8 @@ public class CoverageDataTestUtils {
 			}
 		}
 
+		testGridValues(values, coverageData2.getGridValues(requestBoundingBox));
+
 		values = coverageData2.getValuesUnbounded(requestBoundingBox);
 		TestCase.assertNotNull(values);
 		TestCase.assertNotNull(values.getValues());
@@ -155,6 +162,92 @@ public class CoverageDataTestUtils {
 						values.getValue(y, x));
 			}
 		}
+
+		testGridValues(values,
+				coverageData2.getGridValuesUnbounded(requestBoundingBox));
+
+		// Test repeated requests with decoded tiles cached
+		values = coverageData2.getValues(requestBoundingBox);
+		TestCase.assertFalse(coverageData2.isTileCache());
+		coverageData2.setTileCacheSize(1024);
+		TestCase.assertTrue(coverageData2.isTileCache());
+		for (int i = 0; i < 2; i++) {
+			CoverageDataResults cachedValues = coverageData2
+					.getValues(requestBoundingBox);
+			TestCase.assertTrue(Arrays.deepEquals(values.getValues(),
+					cachedValues.getValues()));
+			TestCase.assertEquals(value,
+					coverageData2.getValue(latitude, longitude));
+		}
+		long misses = coverageData2.getTileCacheMissCount();
+		TestCase.assertTrue(misses > 0);
+		TestCase.assertTrue(coverageData2.getTileCacheHitCount() >= misses);
+		TestCase.assertEquals(misses, coverageData2.getTileCache().size());
+		coverageData2.clearTileCache();
+		TestCase.assertEquals(0, coverageData2.getTileCache().size());
+		coverageData2.setTileCacheSize(0);
+		TestCase.assertFalse(coverageData2.isTileCache());
+
+		// Test batch point requests match single point requests
+		int pointCount = 25;
+		double[] latitudes = new double[pointCount];
+		double[] longitudes = new double[pointCount];
+		latitudes[0] = latitude;
+		longitudes[0] = longitude;
+		for (int i = 1; i < pointCount; i++) {
+			latitudes[i] = latDistance * .9 * Math.random()
+					+ projectedBoundingBox.getMinLatitude()
+					+ (.05 * latDistance);
+			longitudes[i] = lonDistance * .9 * Math.random()
+					+ projectedBoundingBox.getMinLongitude()
+					+ (.05 * lonDistance);
+		}
+		double[] pointValues = coverageData2.getValues(latitudes, longitudes);
+		TestCase.assertEquals(pointCount, pointValues.length);
+		for (int i = 0; i < pointCount; i++) {
+			Double pointValue = coverageData2.getValue(latitudes[i],
+					longitudes[i]);
+			if (pointValue == null) {
+				TestCase.assertTrue(Double.isNaN(pointValues[i]));
+			} else {
+				TestCase.assertEquals(pointValue, pointValues[i], 0.0);
+			}
+		}
+		try {
+			coverageData2.getValues(latitudes, new double[pointCount - 1]);
+			TestCase.fail("Mismatched point coordinates did not fail");
+		} catch (GeoPackageException e) {
+			// Expected
+		}
+	}
+
+	/**
+	 * Test the primitive grid values match the coverage data results
+	 * 
+	 * @param values
+	 *            coverage data results
+	 * @param gridValues
+	 *            coverage data grid results
+	 */
+	private static void testGridValues(CoverageDataResults values,
+			CoverageDataGridResults gridValues) {
+		TestCase.assertNotNull(gridValues);
+		TestCase.assertEquals(values.getWidth(), gridValues.getWidth());
+		TestCase.assertEquals(values.getHeight(), gridValues.getHeight());
+		TestCase.assertEquals(values.getZoomLevel(),
+				gridValues.getZoomLevel());
+		TestCase.assertEquals(values.getWidth() * values.getHeight(),
+				gridValues.getValues().length);
+		for (int y = 0; y < values.getHeight(); y++) {
+			for (int x = 0; x < values.getWidth(); x++) {
+				Double value = values.getValue(y, x);
+				if (value == null) {
+					TestCase.assertFalse(gridValues.hasValue(x, y));
+				} else {
+					TestCase.assertEquals(value, gridValues.getValue(x, y));
+				}
+			}
+		}
 	}
 
 	/**
@@ -410,6 +503,22 @@ public class CoverageDataTestUtils {
 					byte[] tileData = tileRow.getTileData();
 					TestCase.assertNotNull(tileData);
 
+					Double[] tileValues = coverageData.getValues(griddedTile,
+							tileData);
+					double[] gridTileValues = coverageData
+							.getGridValues(griddedTile, tileData);
+					TestCase.assertEquals(tileValues.length,
+							gridTileValues.length);
+					for (int i = 0; i < tileValues.length; i++) {
+						if (tileValues[i] == null) {
+							TestCase.assertTrue(
+									Double.isNaN(gridTileValues[i]));
+						} else {
+							TestCase.assertEquals(tileValues[i],
+									gridTileValues[i]);
+						}
+					}
+
 					BoundingBox boundingBox = TileBoundingBoxUtils
 							.getBoundingBox(tileMatrixSet.getBoundingBox(),
 									tileMatrix, tileRow.getTileColumn(),
@@ -33,6 +33,19 @@ public class FeatureTableIndexImportTest extends ImportGeoPackageTestCase {
 
 	}
 
+	/**
+	 * Test index with envelopes read on multiple threads
+	 * 
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testIndexThreads() throws SQLException {
+
+		FeatureTableIndexUtils.testIndexThreads(geoPackage);
+
+	}
+
 	/**
 	 * Test delete all table indices
 	 * 
@@ -2,7 +2,9 @@ package mil.nga.geopackage.extension.nga.index;
 
 import java.sql.SQLException;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import com.j256.ormlite.dao.CloseableIterator;
 
@@ -291,6 +293,82 @@ public class FeatureTableIndexUtils {
 
 	}
 
+	/**
+	 * Test indexing tables in chunks with envelopes read on multiple threads
+	 * 
+	 * @param geoPackage
+	 *            GeoPackage
+	 * @throws SQLException
+	 *             upon error
+	 */
+	public static void testIndexThreads(GeoPackage geoPackage)
+			throws SQLException {
+
+		List<String> featureTables = geoPackage.getFeatureTables();
+		for (String featureTable : featureTables) {
+
+			FeatureDao featureDao = geoPackage.getFeatureDao(featureTable);
+
+			// Expected envelopes of the parsed geometries
+			Map<Long, GeometryEnvelope> expected = new HashMap<>();
+			FeatureResultSet featureResultSet = featureDao.queryForAll();
+			while (featureResultSet.moveToNext()) {
+				FeatureRow featureRow = featureResultSet.getRow();
+				GeometryEnvelope envelope = featureRow.getGeometryEnvelope();
+				if (envelope != null) {
+					expected.put(featureRow.getId(), envelope);
+				}
+			}
+			featureResultSet.close();
+
+			FeatureTableIndex featureTableIndex = new FeatureTableIndex(
+					geoPackage, featureDao);
+			featureTableIndex.setChunkLimit(3);
+			featureTableIndex.setThreadCount(2);
+			TestGeoPackageProgress progress = new TestGeoPackageProgress();
+			featureTableIndex.setProgress(progress);
+
+			int indexCount = featureTableIndex.index(true);
+			TestCase.assertEquals(expected.size(), indexCount);
+			TestCase.assertEquals(expected.size(), featureTableIndex.count());
+			TestCase.assertEquals(featureDao.count(), progress.getProgress());
+			TestCase.assertTrue(featureTableIndex.isIndexed());
+
+			CloseableIterator<GeometryIndex> geometryIndices = featureTableIndex
+					.query();
+			while (geometryIndices.hasNext()) {
+				GeometryIndex geometryIndex = geometryIndices.next();
+				GeometryEnvelope envelope = expected
+						.get(geometryIndex.getGeomId());
+				TestCase.assertNotNull(envelope);
+				TestCase.assertEquals(envelope.getMinX(),
+						geometryIndex.getMinX());
+				TestCase.assertEquals(envelope.getMaxX(),
+						geometryIndex.getMaxX());
+				TestCase.assertEquals(envelope.getMinY(),
+						geometryIndex.getMinY());
+				TestCase.assertEquals(envelope.getMaxY(),
+						geometryIndex.getMaxY());
+				TestCase.assertEquals(
+						envelope.hasZ() ? envelope.getMinZ() : null,
+						geometryIndex.getMinZ());
+				TestCase.assertEquals(
+						envelope.hasZ() ? envelope.getMaxZ() : null,
+						geometryIndex.getMaxZ());
+				TestCase.assertEquals(
+						envelope.hasM() ? envelope.getMinM() : null,
+						geometryIndex.getMinM());
+				TestCase.assertEquals(
+						envelope.hasM() ? envelope.getMaxM() : null,
+						geometryIndex.getMaxM());
+			}
+			geometryIndices.closeQuietly();
+
+			featureTableIndex.close();
+		}
+
+	}
+
 	/**
 	 * Test table index delete all
 	 * 
@@ -51,4 +51,32 @@ public class FeatureStylesImportTest extends ImportGeoPackageTestCase {
 
 	}
 
+	/**
+	 * Test bulk loaded feature styles
+	 * 
+	 * @throws SQLException
+	 *             upon error
+	 * @throws IOException
+	 *             upon error
+	 */
+	@Test
+	public void testBulkFeatureStyles() throws SQLException, IOException {
+
+		FeatureStylesUtils.testBulkFeatureStyles(geoPackage);
+
+	}
+
+	/**
+	 * Test icon cache
+	 * 
+	 * @throws IOException
+	 *             upon error
+	 */
+	@Test
+	public void testIconCache() throws IOException {
+
+		FeatureStylesUtils.testIconCache(geoPackage);
+
+	}
+
 }
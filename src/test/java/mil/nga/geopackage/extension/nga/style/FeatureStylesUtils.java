@@ -816,6 +816,79 @@ public class FeatureStylesUtils {
 		return color;
 	}
 
+	/**
+	 * Test the icon cache of icon images by icon id and scale
+	 * 
+	 * @param geoPackage
+	 *            GeoPackage
+	 * @throws IOException
+	 *             upon error
+	 */
+	public static void testIconCache(GeoPackage geoPackage)
+			throws IOException {
+
+		FeatureStyleExtension featureStyleExtension = new FeatureStyleExtension(
+				geoPackage);
+		featureStyleExtension.createIconTable();
+		IconDao iconDao = featureStyleExtension.getIconDao();
+
+		File iconImageFile = TestUtils
+				.getTestFile(TestConstants.ICON_POINT_IMAGE);
+		IconRow iconRow = new IconRow();
+		iconRow.setData(GeoPackageIOUtils.fileBytes(iconImageFile));
+		iconRow.setContentType(
+				"image/" + TestConstants.ICON_POINT_IMAGE_EXTENSION);
+		long iconId = iconDao.insert(iconRow);
+		TestCase.assertTrue(iconId >= 0);
+
+		IconCache iconCache = new IconCache(8);
+		TestCase.assertEquals(8, iconCache.getMaxSize());
+
+		// Decode and cache the icon once per scale
+		BufferedImage image = iconCache.createIcon(iconRow);
+		TestCase.assertNotNull(image);
+		TestCase.assertSame(image, iconCache.createIcon(iconRow));
+		TestCase.assertEquals(1, iconCache.size());
+
+		BufferedImage scaledImage = iconCache.createIcon(iconRow, 2.0f);
+		TestCase.assertNotSame(image, scaledImage);
+		TestCase.assertEquals(image.getWidth() * 2, scaledImage.getWidth());
+		TestCase.assertEquals(image.getHeight() * 2,
+				scaledImage.getHeight());
+		TestCase.assertSame(scaledImage, iconCache.get(iconId, 2.0f));
+		TestCase.assertSame(image, iconCache.get(iconId));
+		TestCase.assertNull(iconCache.get(iconId, 3.0f));
+		TestCase.assertEquals(2, iconCache.size());
+		TestCase.assertEquals(3, iconCache.getHitCount());
+		TestCase.assertEquals(3, iconCache.getMissCount());
+
+		// Cached images are kept over racing puts
+		TestCase.assertSame(scaledImage, iconCache.putIfAbsent(iconId, 2.0f,
+				IconCache.createIconNoCache(iconRow, 2.0f)));
+		TestCase.assertSame(scaledImage, iconCache.get(iconId, 2.0f));
+
+		// Removing the icon removes all scales
+		TestCase.assertSame(image, iconCache.remove(iconId));
+		TestCase.assertNull(iconCache.get(iconId));
+		TestCase.assertNull(iconCache.get(iconId, 2.0f));
+		TestCase.assertEquals(0, iconCache.size());
+
+		// Least recently used images are evicted
+		for (long id = 1; id <= 20; id++) {
+			iconCache.put(iconId + id, image);
+		}
+		TestCase.assertTrue(iconCache.size() <= iconCache.getMaxSize());
+		TestCase.assertTrue(iconCache.getEvictionCount() > 0);
+
+		iconCache.resize(0);
+		TestCase.assertEquals(0, iconCache.size());
+
+		iconCache.resetStats();
+		TestCase.assertEquals(0, iconCache.getHitCount());
+		TestCase.assertEquals(0, iconCache.getMissCount());
+		TestCase.assertEquals(0, iconCache.getEvictionCount());
+	}
+
 	private static IconRow randomIcon() throws IOException {
 		IconRow iconRow = new IconRow();
 
@@ -1453,4 +1526,160 @@ public class FeatureStylesUtils {
 
 	}
 
+	/**
+	 * Test bulk loaded Feature Styles
+	 * 
+	 * @param geoPackage
+	 *            GeoPackage
+	 * @throws SQLException
+	 *             upon error
+	 * @throws IOException
+	 *             upon error
+	 */
+	public static void testBulkFeatureStyles(GeoPackage geoPackage)
+			throws SQLException, IOException {
+
+		geoPackage.getExtensionManager().deleteExtensions();
+
+		FeatureStyleExtension featureStyleExtension = new FeatureStyleExtension(
+				geoPackage);
+
+		for (String tableName : geoPackage.getFeatureTables()) {
+
+			FeatureDao featureDao = geoPackage.getFeatureDao(tableName);
+
+			FeatureTableStyles featureTableStyles = new FeatureTableStyles(
+					geoPackage, featureDao.getTable());
+			featureTableStyles.createStyleRelationship();
+			featureTableStyles.createIconRelationship();
+			featureTableStyles.setTableStyleDefault(randomStyle());
+
+			// Read the feature rows before writing styles and icons
+			List<FeatureRow> featureRows = new ArrayList<>();
+			FeatureResultSet featureResultSet = featureDao.queryForAll();
+			try {
+				while (featureResultSet.moveToNext()) {
+					featureRows.add(featureResultSet.getRow());
+				}
+			} finally {
+				featureResultSet.close();
+			}
+
+			List<Long> featureIds = new ArrayList<>();
+			Map<Long, GeometryType> geometryTypes = new HashMap<>();
+			int index = 0;
+			for (FeatureRow featureRow : featureRows) {
+				featureIds.add(featureRow.getId());
+				geometryTypes.put(featureRow.getId(),
+						featureRow.getGeometryType());
+				if (index % 2 == 0) {
+					featureTableStyles.setStyle(featureRow, randomStyle());
+				}
+				if (index % 3 == 0) {
+					featureTableStyles.setIcon(featureRow, randomIcon());
+				}
+				index++;
+			}
+
+			if (featureIds.isEmpty()) {
+				continue;
+			}
+
+			Map<Long, FeatureStyles> featureStyles = featureStyleExtension
+					.getFeatureStylesById(tableName);
+			for (int i = 0; i < featureIds.size(); i++) {
+				FeatureStyles featureStyle = featureStyles
+						.get(featureIds.get(i));
+				TestCase.assertEquals(i % 2 == 0 || i % 3 == 0,
+						featureStyle != null);
+			}
+
+			// All table feature styles cached
+			featureTableStyles.setCacheFeatureStyles(true);
+			validateBulkFeatureStyles(featureStyleExtension,
+					featureTableStyles, featureIds, geometryTypes);
+
+			// Mapping modifications invalidate the cache
+			long featureId = featureIds.get(featureIds.size() - 1);
+			featureStyleExtension.setStyle(tableName, featureId,
+					geometryTypes.get(featureId), randomStyle());
+			featureStyleExtension.deleteIcons(tableName, featureIds.get(0));
+			validateBulkFeatureStyles(featureStyleExtension,
+					featureTableStyles, featureIds, geometryTypes);
+
+			// Feature ids loaded into a new cache
+			FeatureTableStyles loadedTableStyles = new FeatureTableStyles(
+					geoPackage, featureDao.getTable());
+			List<Long> loadIds = featureIds.subList(0,
+					(featureIds.size() + 1) / 2);
+			loadedTableStyles.loadFeatureStyles(loadIds);
+			for (long id : loadIds) {
+				TestCase.assertNotNull(
+						loadedTableStyles.getCachedFeatureStyles(id));
+			}
+			if (loadIds.size() < featureIds.size()) {
+				TestCase.assertNull(loadedTableStyles.getCachedFeatureStyles(
+						featureIds.get(featureIds.size() - 1)));
+			}
+			validateBulkFeatureStyles(featureStyleExtension, loadedTableStyles,
+					featureIds, geometryTypes);
+
+			loadedTableStyles.clearCachedFeatureStyles();
+			if (!loadIds.isEmpty()) {
+				TestCase.assertNull(loadedTableStyles
+						.getCachedFeatureStyles(loadIds.get(0)));
+			}
+
+		}
+
+	}
+
+	/**
+	 * Validate feature table styles against queried feature styles
+	 * 
+	 * @param featureStyleExtension
+	 *            feature style extension
+	 * @param featureTableStyles
+	 *            feature table styles
+	 * @param featureIds
+	 *            feature ids
+	 * @param geometryTypes
+	 *            feature geometry types
+	 */
+	private static void validateBulkFeatureStyles(
+			FeatureStyleExtension featureStyleExtension,
+			FeatureTableStyles featureTableStyles, List<Long> featureIds,
+			Map<Long, GeometryType> geometryTypes) {
+
+		String tableName = featureTableStyles.getTableName();
+
+		for (long featureId : featureIds) {
+			GeometryType geometryType = geometryTypes.get(featureId);
+
+			FeatureStyle expected = featureStyleExtension
+					.getFeatureStyle(tableName, featureId, geometryType);
+			FeatureStyle featureStyle = featureTableStyles
+					.getFeatureStyle(featureId, geometryType);
+
+			if (expected == null) {
+				TestCase.assertNull(featureStyle);
+			} else {
+				TestCase.assertNotNull(featureStyle);
+				TestCase.assertEquals(expected.hasStyle(),
+						featureStyle.hasStyle());
+				if (expected.hasStyle()) {
+					TestCase.assertEquals(expected.getStyle().getId(),
+							featureStyle.getStyle().getId());
+				}
+				TestCase.assertEquals(expected.hasIcon(),
+						featureStyle.hasIcon());
+				if (expected.hasIcon()) {
+					TestCase.assertEquals(expected.getIcon().getId(),
+							featureStyle.getIcon().getId());
+				}
+			}
+		}
+
+	}
+
 }
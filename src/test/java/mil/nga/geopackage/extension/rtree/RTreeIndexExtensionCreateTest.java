@@ -33,6 +33,19 @@ public class RTreeIndexExtensionCreateTest extends CreateGeoPackageTestCase {
 
 	}
 
+	/**
+	 * Test RTree load types
+	 *
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testRTreeLoadTypes() throws SQLException {
+
+		RTreeIndexExtensionUtils.testRTreeLoadTypes(geoPackage);
+
+	}
+
 	@Override
 	public boolean allowEmptyFeatures() {
 		return false;
@@ -33,4 +33,17 @@ public class RTreeIndexExtensionImportTest extends ImportGeoPackageTestCase {
 
 	}
 
+	/**
+	 * Test RTree load types
+	 *
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testRTreeLoadTypes() throws SQLException {
+
+		RTreeIndexExtensionUtils.testRTreeLoadTypes(geoPackage);
+
+	}
+
 }
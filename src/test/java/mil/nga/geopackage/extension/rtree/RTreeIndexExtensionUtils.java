@@ -1,15 +1,21 @@
 package mil.nga.geopackage.extension.rtree;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import junit.framework.TestCase;
 import mil.nga.geopackage.BoundingBox;
 import mil.nga.geopackage.GeoPackage;
+import mil.nga.geopackage.GeoPackageException;
 import mil.nga.geopackage.extension.Extensions;
 import mil.nga.geopackage.features.user.FeatureDao;
 import mil.nga.geopackage.features.user.FeatureRow;
 import mil.nga.geopackage.features.user.FeatureTable;
+import mil.nga.geopackage.io.TestGeoPackageProgress;
 import mil.nga.geopackage.user.custom.UserCustomResultSet;
 import mil.nga.proj.Projection;
 import mil.nga.proj.ProjectionConstants;
@@ -119,6 +125,25 @@ public class RTreeIndexExtensionUtils {
 			results.close();
 			TestCase.assertEquals(envelopeCount, bboxCount);
 
+			// Test batched feature rows from the RTree results
+			FeatureIndexRTreeResults rTreeResults = new FeatureIndexRTreeResults(
+					tableDao, tableDao.query(boundingBox));
+			List<Long> rTreeIds = new ArrayList<>();
+			for (long id : rTreeResults.ids()) {
+				rTreeIds.add(id);
+			}
+			rTreeResults.close();
+			rTreeResults = new FeatureIndexRTreeResults(tableDao,
+					tableDao.query(boundingBox));
+			int featureRowCount = 0;
+			for (FeatureRow featureRow : rTreeResults) {
+				TestCase.assertEquals(rTreeIds.get(featureRowCount).longValue(),
+						featureRow.getId());
+				featureRowCount++;
+			}
+			rTreeResults.close();
+			TestCase.assertEquals(bboxCount, featureRowCount);
+
 			Projection projection = featureDao.getProjection();
 			if (!projection.getAuthority()
 					.equals(ProjectionConstants.AUTHORITY_NONE)) {
@@ -150,4 +175,65 @@ public class RTreeIndexExtensionUtils {
 
 	}
 
+	/**
+	 * Test RTree load types produce the same index
+	 *
+	 * @param geoPackage
+	 *            GeoPackage
+	 * @throws SQLException
+	 *             upon error
+	 */
+	public static void testRTreeLoadTypes(GeoPackage geoPackage)
+			throws SQLException {
+
+		RTreeIndexExtension extension = new RTreeIndexExtension(geoPackage);
+		TestCase.assertEquals(RTreeIndexExtension.DEFAULT_LOAD_TYPE,
+				extension.getLoadType());
+		try {
+			extension.setLoadChunkSize(0);
+			TestCase.fail("Invalid load chunk size was accepted");
+		} catch (GeoPackageException e) {
+			// Expected
+		}
+		extension.setLoadChunkSize(7);
+		TestCase.assertEquals(7, extension.getLoadChunkSize());
+
+		List<String> featureTables = geoPackage.getFeatureTables();
+		for (String featureTable : featureTables) {
+
+			FeatureDao featureDao = geoPackage.getFeatureDao(featureTable);
+
+			Map<Long, List<Double>> expected = null;
+			for (RTreeIndexLoadType loadType : RTreeIndexLoadType.values()) {
+
+				extension.setLoadType(loadType);
+				RTreeIndexTableDao tableDao = extension.getTableDao(featureDao);
+				if (tableDao.has()) {
+					tableDao.delete();
+				}
+				TestGeoPackageProgress progress = new TestGeoPackageProgress();
+				tableDao.setProgress(progress);
+				TestCase.assertNotNull(tableDao.create());
+				TestCase.assertTrue(tableDao.has());
+				TestCase.assertEquals(tableDao.count(), progress.getProgress());
+
+				Map<Long, List<Double>> index = new HashMap<>();
+				UserCustomResultSet resultSet = tableDao.queryForAll();
+				while (resultSet.moveToNext()) {
+					RTreeIndexTableRow row = tableDao.getRow(resultSet);
+					index.put(row.getId(), Arrays.asList(row.getMinX(),
+							row.getMaxX(), row.getMinY(), row.getMaxY()));
+				}
+				resultSet.close();
+
+				if (expected == null) {
+					expected = index;
+				} else {
+					TestCase.assertEquals(expected, index);
+				}
+			}
+		}
+
+	}
+
 }
@@ -67,6 +67,19 @@ public class FeatureIndexManagerCreateTest extends CreateGeoPackageTestCase {
 
 	}
 
+	/**
+	 * Test batch inserting features
+	 *
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testInsertBatch() throws SQLException {
+
+		FeatureIndexManagerUtils.testInsertBatch(geoPackage);
+
+	}
+
 	/**
 	 * Test large index
 	 *
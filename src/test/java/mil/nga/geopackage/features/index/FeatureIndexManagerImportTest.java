@@ -59,6 +59,19 @@ public class FeatureIndexManagerImportTest extends ImportGeoPackageTestCase {
 
 	}
 
+	/**
+	 * Test batch inserting features
+	 *
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testInsertBatch() throws SQLException {
+
+		FeatureIndexManagerUtils.testInsertBatch(geoPackage);
+
+	}
+
 	/**
 	 * Test large index
 	 *
@@ -9,6 +9,8 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import junit.framework.TestCase;
 import mil.nga.geopackage.BoundingBox;
@@ -19,6 +21,7 @@ import mil.nga.geopackage.TestUtils;
 import mil.nga.geopackage.db.GeoPackageDataType;
 import mil.nga.geopackage.db.TableColumnKey;
 import mil.nga.geopackage.features.columns.GeometryColumns;
+import mil.nga.geopackage.features.user.FeatureBatchWriter;
 import mil.nga.geopackage.features.user.FeatureColumn;
 import mil.nga.geopackage.features.user.FeatureDao;
 import mil.nga.geopackage.features.user.FeaturePaginatedResults;
@@ -1618,6 +1621,109 @@ public class FeatureIndexManagerUtils {
 		}
 	}
 
+	/**
+	 * Test batch inserting features with bulk index maintenance
+	 *
+	 * @param geoPackage
+	 *            GeoPackage
+	 * @throws SQLException
+	 *             upon error
+	 */
+	public static void testInsertBatch(GeoPackage geoPackage)
+			throws SQLException {
+
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+
+			List<String> featureTables = geoPackage.getFeatureTables();
+			for (String featureTable : featureTables) {
+
+				FeatureDao featureDao = geoPackage.getFeatureDao(featureTable);
+				FeatureIndexManager featureIndexManager = new FeatureIndexManager(
+						geoPackage, featureDao);
+				featureIndexManager.setContinueOnError(false);
+				featureIndexManager
+						.setIndexLocation(FeatureIndexType.GEOPACKAGE);
+				featureIndexManager.index(true);
+
+				int count = featureDao.count();
+				long indexedCount = featureIndexManager.count();
+
+				// Copy the existing rows as new rows
+				List<FeatureRow> rows = new ArrayList<>();
+				int expectedIndexed = 0;
+				FeatureResultSet featureResultSet = featureDao.queryForAll();
+				try {
+					while (featureResultSet.moveToNext()) {
+						FeatureRow row = featureResultSet.getRow().copy();
+						row.resetId();
+						rows.add(row);
+						if (row.getGeometryEnvelope() != null) {
+							expectedIndexed++;
+						}
+					}
+				} finally {
+					featureResultSet.close();
+				}
+
+				// Insert the rows in batches, encoding on the executor
+				FeatureBatchWriter writer = featureIndexManager
+						.createBatchWriter(3);
+				writer.setExecutor(executor);
+				TestCase.assertNotNull(writer.getTableIndex());
+				try {
+					writer.write(rows);
+				} finally {
+					writer.close();
+				}
+				TestCase.assertEquals(rows.size(), writer.getCount());
+				TestCase.assertEquals(expectedIndexed,
+						writer.getIndexedCount());
+				TestCase.assertEquals(count + rows.size(), featureDao.count());
+				TestCase.assertEquals(indexedCount + expectedIndexed,
+						featureIndexManager.count());
+
+				for (FeatureRow row : rows) {
+					TestCase.assertTrue(row.hasId());
+					FeatureRow queryRow = featureDao.queryForIdRow(row.getId());
+					TestCase.assertNotNull(queryRow);
+					GeometryEnvelope envelope = row.getGeometryEnvelope();
+					if (envelope != null) {
+						TestCase.assertEquals(envelope,
+								queryRow.getGeometryEnvelope());
+						boolean found = false;
+						FeatureIndexResults results = featureIndexManager
+								.query(envelope);
+						for (long id : results.ids()) {
+							if (id == row.getId()) {
+								found = true;
+								break;
+							}
+						}
+						results.close();
+						TestCase.assertTrue(found);
+					}
+				}
+
+				// Insert without maintaining the index
+				for (FeatureRow row : rows) {
+					row.resetId();
+				}
+				TestCase.assertEquals(rows.size(),
+						featureDao.insertBatch(rows, 2));
+				TestCase.assertEquals(count + 2 * rows.size(),
+						featureDao.count());
+				TestCase.assertEquals(indexedCount + expectedIndexed,
+						featureIndexManager.getFeatureTableIndex().count());
+
+				featureIndexManager.close();
+			}
+
+		} finally {
+			executor.shutdown();
+		}
+	}
+
 	/**
 	 * Test large index
 	 *
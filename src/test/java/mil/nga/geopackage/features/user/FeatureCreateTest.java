@@ -94,6 +94,58 @@ public class FeatureCreateTest extends CreateGeoPackageTestCase {
 
 	}
 
+	/**
+	 * Test keyset chunk iteration
+	 * 
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testChunkIterator() throws SQLException {
+
+		FeatureUtils.testChunkIterator(geoPackage);
+
+	}
+
+	/**
+	 * Test lazy geometry decoding
+	 * 
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testLazyGeometry() throws SQLException {
+
+		FeatureUtils.testLazyGeometry(geoPackage);
+
+	}
+
+	/**
+	 * Test reading feature rows into a reused row
+	 * 
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testForEachRow() throws SQLException {
+
+		FeatureUtils.testForEachRow(geoPackage);
+
+	}
+
+	/**
+	 * Test column batch reads
+	 * 
+	 * @throws SQLException
+	 *             upon error
+	 */
+	@Test
+	public void testColumnBatchReader() throws SQLException {
+
+		FeatureUtils.testColumnBatchReader(geoPackage);
+
+	}
+
 	/**
 	 * Test Feature DAO primary key modifications and disabling value validation
 	 * 
@@ -8,6 +8,7 @@ import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -15,6 +16,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import junit.framework.TestCase;
 import mil.nga.geopackage.BoundingBox;
@@ -33,9 +35,11 @@ import mil.nga.geopackage.geom.GeoPackageGeometryData;
 import mil.nga.geopackage.geom.GeoPackageGeometryDataUtils;
 import mil.nga.geopackage.srs.SpatialReferenceSystem;
 import mil.nga.geopackage.user.ColumnValue;
+import mil.nga.geopackage.user.UserChunkIterator;
 import mil.nga.proj.ProjectionConstants;
 import mil.nga.sf.Geometry;
 import mil.nga.sf.GeometryCollection;
+import mil.nga.sf.GeometryEnvelope;
 import mil.nga.sf.GeometryType;
 import mil.nga.sf.LineString;
 import mil.nga.sf.MultiLineString;
@@ -1539,6 +1543,354 @@ public class FeatureUtils {
 		}
 	}
 
+	/**
+	 * Test keyset chunk iteration
+	 * 
+	 * @param geoPackage
+	 *            GeoPackage
+	 * @throws SQLException
+	 *             upon error
+	 */
+	public static void testChunkIterator(GeoPackage geoPackage)
+			throws SQLException {
+
+		for (String featureTable : geoPackage.getFeatureTables()) {
+
+			FeatureDao dao = geoPackage.getFeatureDao(featureTable);
+			TestCase.assertNotNull(dao);
+
+			List<Long> ids = new ArrayList<>();
+			FeatureResultSet resultSet = dao.query((String) null, null, null,
+					null, dao.getPkColumnName());
+			try {
+				while (resultSet.moveToNext()) {
+					ids.add(resultSet.getId());
+				}
+			} finally {
+				resultSet.close();
+			}
+
+			int chunkLimit = 3;
+
+			// Iterate all rows in id order
+			List<Long> chunkIds = new ArrayList<>();
+			UserChunkIterator<FeatureColumn, FeatureTable, FeatureRow, FeatureResultSet> rows = dao
+					.chunkIterator(chunkLimit);
+			for (FeatureRow row : rows) {
+				chunkIds.add(row.getId());
+				TestCase.assertEquals(row.getId(), rows.getLastId());
+			}
+			rows.close();
+			TestCase.assertEquals(ids, chunkIds);
+			TestCase.assertFalse(rows.hasNext());
+
+			// Iterate the id column, the id is added when missing
+			chunkIds.clear();
+			rows = dao.chunkIterator(
+					new String[] { dao.getGeometryColumnName() }, chunkLimit);
+			for (FeatureRow row : rows) {
+				chunkIds.add(row.getId());
+			}
+			rows.close();
+			TestCase.assertEquals(ids, chunkIds);
+
+			if (!ids.isEmpty()) {
+
+				// Resume after an id
+				int resumeIndex = ids.size() / 2;
+				rows = dao.chunkIterator(chunkLimit);
+				rows.setLastId(ids.get(resumeIndex));
+				chunkIds.clear();
+				for (FeatureRow row : rows) {
+					chunkIds.add(row.getId());
+				}
+				rows.close();
+				TestCase.assertEquals(
+						ids.subList(resumeIndex + 1, ids.size()), chunkIds);
+
+				// Iterate with a where clause
+				long maxId = ids.get(resumeIndex);
+				String where = dao.buildWhere(dao.getPkColumnName(), maxId,
+						"<=");
+				String[] whereArgs = dao.buildWhereArgs(maxId);
+				rows = dao.chunkIterator(false, null, where, whereArgs,
+						chunkLimit);
+				chunkIds.clear();
+				for (FeatureRow row : rows) {
+					chunkIds.add(row.getId());
+				}
+				rows.close();
+				TestCase.assertEquals(ids.subList(0, resumeIndex + 1),
+						chunkIds);
+
+				// Single keyset chunk
+				resultSet = dao.queryForChunkAfter(ids.get(0), chunkLimit);
+				try {
+					int index = 1;
+					while (resultSet.moveToNext()) {
+						TestCase.assertEquals(ids.get(index++).longValue(),
+								resultSet.getId());
+					}
+					TestCase.assertEquals(
+							Math.min(chunkLimit, ids.size() - 1), index - 1);
+				} finally {
+					resultSet.close();
+				}
+			}
+
+		}
+
+	}
+
+	/**
+	 * Test lazy geometry decoding of read feature rows
+	 * 
+	 * @param geoPackage
+	 *            GeoPackage
+	 * @throws SQLException
+	 *             upon error
+	 */
+	public static void testLazyGeometry(GeoPackage geoPackage)
+			throws SQLException {
+
+		for (String featureTable : geoPackage.getFeatureTables()) {
+
+			FeatureDao dao = geoPackage.getFeatureDao(featureTable);
+			TestCase.assertNotNull(dao);
+
+			FeatureResultSet resultSet = dao.queryForAll();
+			try {
+				while (resultSet.moveToNext()) {
+
+					byte[] bytes = resultSet.getGeometryBytes();
+					GeoPackageGeometryData expected = resultSet
+							.getGeometry();
+					if (bytes == null) {
+						TestCase.assertNull(expected);
+						TestCase.assertNull(resultSet.getGeometryEnvelope());
+						continue;
+					}
+					GeometryEnvelope expectedEnvelope = expected
+							.getOrBuildEnvelope();
+					TestCase.assertEquals(expectedEnvelope,
+							resultSet.getGeometryEnvelope());
+
+					// Attribute and envelope access does not decode
+					FeatureRow row = resultSet.getRow();
+					TestCase.assertFalse(row.isGeometryDecoded());
+					TestCase.assertEquals(resultSet.getId(), row.getId());
+					TestCase.assertEquals(expectedEnvelope,
+							row.getGeometryEnvelope());
+					TestCase.assertFalse(row.isGeometryDecoded());
+					TestCase.assertTrue(
+							Arrays.equals(bytes, row.getGeometryBytes()));
+					TestCase.assertTrue(Arrays.equals(bytes,
+							(byte[]) row.toContentValues()
+									.get(row.getGeometryColumnName())));
+
+					// Copies hold the bytes
+					FeatureRow copy = row.copy();
+					TestCase.assertFalse(copy.isGeometryDecoded());
+
+					// Geometry access decodes once
+					GeoPackageGeometryData geometryData = row.getGeometry();
+					TestCase.assertTrue(row.isGeometryDecoded());
+					TestCase.assertSame(geometryData, row.getGeometry());
+					TestCase.assertSame(geometryData, row
+							.getValue(row.getGeometryColumnIndex()));
+					TestCase.assertEquals(expected.getGeometry(),
+							geometryData.getGeometry());
+					TestCase.assertEquals(expectedEnvelope,
+							row.getGeometryEnvelope());
+					TestCase.assertEquals(expected.getGeometry(),
+							copy.getGeometryValue());
+					TestCase.assertTrue(copy.isGeometryDecoded());
+				}
+			} finally {
+				resultSet.close();
+			}
+
+		}
+
+	}
+
+	/**
+	 * Test reading feature rows into a reused row
+	 * 
+	 * @param geoPackage
+	 *            GeoPackage
+	 * @throws SQLException
+	 *             upon error
+	 */
+	public static void testForEachRow(GeoPackage geoPackage)
+			throws SQLException {
+
+		for (String featureTable : geoPackage.getFeatureTables()) {
+
+			FeatureDao dao = geoPackage.getFeatureDao(featureTable);
+			TestCase.assertNotNull(dao);
+
+			final List<FeatureRow> expectedRows = new ArrayList<FeatureRow>();
+			FeatureResultSet resultSet = dao.queryForAll();
+			try {
+				while (resultSet.moveToNext()) {
+					expectedRows.add(resultSet.getRow());
+				}
+			} finally {
+				resultSet.close();
+			}
+
+			final List<FeatureRow> rows = new ArrayList<FeatureRow>();
+			resultSet = dao.queryForAll();
+			try {
+				resultSet.forEachRow(new Consumer<FeatureRow>() {
+					@Override
+					public void accept(FeatureRow row) {
+						if (!rows.isEmpty()) {
+							TestCase.assertSame(rows.get(0), row);
+						}
+						FeatureRow expected = expectedRows.get(rows.size());
+						TestCase.assertEquals(expected.getId(), row.getId());
+						for (int i = 0; i < expected.columnCount(); i++) {
+							TestCase.assertEquals(expected.getRowColumnType(i),
+									row.getRowColumnType(i));
+							Object expectedValue = expected.getValue(i);
+							Object value = row.getValue(i);
+							if (expectedValue instanceof GeoPackageGeometryData) {
+								TestCase.assertEquals(
+										((GeoPackageGeometryData) expectedValue)
+												.getGeometry(),
+										((GeoPackageGeometryData) value)
+												.getGeometry());
+							} else if (expectedValue instanceof byte[]) {
+								TestCase.assertTrue(Arrays.equals(
+										(byte[]) expectedValue, (byte[]) value));
+							} else {
+								TestCase.assertEquals(expectedValue, value);
+							}
+						}
+						rows.add(row);
+					}
+				});
+			} finally {
+				resultSet.close();
+			}
+			TestCase.assertEquals(expectedRows.size(), rows.size());
+
+		}
+
+	}
+
+	/**
+	 * Test column batch reads
+	 * 
+	 * @param geoPackage
+	 *            GeoPackage
+	 * @throws SQLException
+	 *             upon error
+	 */
+	public static void testColumnBatchReader(GeoPackage geoPackage)
+			throws SQLException {
+
+		for (String featureTable : geoPackage.getFeatureTables()) {
+
+			FeatureDao dao = geoPackage.getFeatureDao(featureTable);
+			TestCase.assertNotNull(dao);
+
+			String[] columns = dao.getColumnNames();
+
+			FeatureResultSet resultSet = dao.queryForAll();
+			FeatureColumnBatchReader reader = dao.columnBatchReader(columns,
+					7);
+			try {
+				int count = 0;
+				while (reader.next()) {
+					FeatureColumnBatch batch = reader.getBatch();
+					TestCase.assertTrue(batch.size() > 0);
+					TestCase.assertTrue(batch.size() <= 7);
+					TestCase.assertEquals(columns.length,
+							batch.columnCount());
+					for (int row = 0; row < batch.size(); row++) {
+						TestCase.assertTrue(resultSet.moveToNext());
+						FeatureRow featureRow = resultSet.getRow();
+						for (int i = 0; i < columns.length; i++) {
+							FeatureColumnVector vector = batch.getVector(i);
+							TestCase.assertEquals(columns[i],
+									vector.getColumnName());
+							Object value = featureRow.getValue(columns[i]);
+							TestCase.assertEquals(value == null,
+									vector.isNull(row));
+							if (value == null) {
+								continue;
+							}
+							switch (vector.getType()) {
+							case LONG:
+								if (value instanceof Boolean) {
+									TestCase.assertEquals(
+											((Boolean) value) ? 1 : 0,
+											vector.getLong(row));
+								} else {
+									TestCase.assertEquals(
+											((Number) value).longValue(),
+											vector.getLong(row));
+								}
+								break;
+							case DOUBLE:
+								TestCase.assertEquals(
+										((Number) value).doubleValue(),
+										vector.getDouble(row), .0000001);
+								break;
+							case TEXT:
+								TestCase.assertNotNull(vector.getString(row));
+								break;
+							case BLOB:
+								TestCase.assertTrue(Arrays.equals(
+										(byte[]) value, vector.getBytes(row)));
+								break;
+							case GEOMETRY:
+								TestCase.assertTrue(Arrays.equals(
+										featureRow.getGeometryBytes(),
+										vector.getBytes(row)));
+								GeoPackageGeometryData geometryData = featureRow
+										.getGeometry();
+								GeometryEnvelope envelope = vector
+										.getEnvelope(row);
+								if (geometryData.isEmpty()
+										|| geometryData.getGeometry() == null) {
+									TestCase.assertNull(envelope);
+								} else {
+									GeometryEnvelope expected = geometryData
+											.getOrBuildEnvelope();
+									TestCase.assertEquals(expected.getMinX(),
+											envelope.getMinX());
+									TestCase.assertEquals(expected.getMinY(),
+											envelope.getMinY());
+									TestCase.assertEquals(expected.getMaxX(),
+											envelope.getMaxX());
+									TestCase.assertEquals(expected.getMaxY(),
+											envelope.getMaxY());
+								}
+								break;
+							default:
+								TestCase.fail("Unexpected vector type: "
+										+ vector.getType());
+							}
+						}
+						count++;
+					}
+				}
+				TestCase.assertFalse(resultSet.moveToNext());
+				TestCase.assertEquals(count, reader.getCount());
+				TestCase.assertEquals(dao.count(), count);
+			} finally {
+				reader.close();
+				resultSet.close();
+			}
+
+		}
+
+	}
+
 	/**
 	 * Test Feature DAO primary key modifications and disabling value validation
 	 * 
@@ -36,6 +36,21 @@ public class GeoPackageGeometryDataCreateTest extends CreateGeoPackageTestCase {
 
 	}
 
+	/**
+	 * Test reading geometry envelopes from bytes
+	 * 
+	 * @throws SQLException
+	 *             upon error
+	 * @throws IOException
+	 *             upon error
+	 */
+	@Test
+	public void testReadEnvelope() throws SQLException, IOException {
+
+		GeoPackageGeometryDataUtils.testReadEnvelope(geoPackage);
+
+	}
+
 	/**
 	 * Test geometry projection transform
 	 * 
@@ -152,6 +152,133 @@ public class GeoPackageGeometryDataUtils {
 
 	}
 
+	/**
+	 * Test reading geometry envelopes from bytes without parsing geometries
+	 * 
+	 * @param geoPackage
+	 * @throws SQLException
+	 * @throws IOException
+	 */
+	public static void testReadEnvelope(GeoPackage geoPackage)
+			throws SQLException, IOException {
+
+		GeometryColumnsDao geometryColumnsDao = geoPackage
+				.getGeometryColumnsDao();
+
+		if (geometryColumnsDao.isTableExists()) {
+			List<GeometryColumns> results = geometryColumnsDao.queryForAll();
+
+			for (GeometryColumns geometryColumns : results) {
+
+				FeatureDao dao = geoPackage.getFeatureDao(geometryColumns);
+				TestCase.assertNotNull(dao);
+
+				FeatureResultSet resultSet = dao.queryForAll();
+
+				while (resultSet.moveToNext()) {
+
+					GeoPackageGeometryData geometryData = resultSet
+							.getGeometry();
+					if (geometryData != null) {
+
+						compareReadEnvelope(geometryData.getBytes());
+
+						// Without a header envelope in both byte orders
+						Geometry geometry = geometryData.getGeometry();
+						if (geometry != null) {
+							GeoPackageGeometryData noEnvelope = GeoPackageGeometryData
+									.create(geometryData.getSrsId(), geometry);
+							compareReadEnvelope(noEnvelope.toBytes());
+							noEnvelope.setByteOrder(
+									noEnvelope.getByteOrder() == ByteOrder.BIG_ENDIAN
+											? ByteOrder.LITTLE_ENDIAN
+											: ByteOrder.BIG_ENDIAN);
+							compareReadEnvelope(noEnvelope.toBytes());
+						}
+
+						// Empty flagged
+						geometryData = resultSet.getGeometry();
+						geometryData.setEmpty(true);
+						compareReadEnvelope(geometryData.toBytes());
+					}
+
+				}
+				resultSet.close();
+			}
+		}
+
+		// Non finite points
+		compareReadEnvelope(GeoPackageGeometryData
+				.create(new Point(Double.NaN, Double.NaN)).toBytes());
+		LineString lineString = new LineString();
+		lineString.addPoint(new Point(1.0, 2.0));
+		lineString.addPoint(new Point(Double.POSITIVE_INFINITY, 3.0));
+		lineString.addPoint(new Point(-4.0, 5.0));
+		GeoPackageGeometryEnvelope geometryEnvelope = compareReadEnvelope(
+				GeoPackageGeometryData.create(lineString).toBytes());
+		TestCase.assertFalse(geometryEnvelope.isHeaderEnvelope());
+		TestCase.assertEquals(-4.0, geometryEnvelope.getEnvelope().getMinX());
+		TestCase.assertEquals(1.0, geometryEnvelope.getEnvelope().getMaxX());
+		TestCase.assertEquals(2.0, geometryEnvelope.getEnvelope().getMinY());
+		TestCase.assertEquals(5.0, geometryEnvelope.getEnvelope().getMaxY());
+
+		// Z and M values
+		LineString lineStringZM = new LineString(true, true);
+		lineStringZM.addPoint(new Point(1.0, 2.0, 3.0, 4.0));
+		lineStringZM.addPoint(new Point(Double.NaN, 3.0, -10.0, -10.0));
+		lineStringZM.addPoint(new Point(-4.0, 5.0, 6.0, -7.0));
+		geometryEnvelope = compareReadEnvelope(
+				GeoPackageGeometryData.create(lineStringZM).toBytes());
+		TestCase.assertFalse(geometryEnvelope.isHeaderEnvelope());
+		TestCase.assertEquals(3.0, geometryEnvelope.getEnvelope().getMinZ());
+		TestCase.assertEquals(6.0, geometryEnvelope.getEnvelope().getMaxZ());
+		TestCase.assertEquals(-7.0, geometryEnvelope.getEnvelope().getMinM());
+		TestCase.assertEquals(4.0, geometryEnvelope.getEnvelope().getMaxM());
+
+	}
+
+	/**
+	 * Compare the envelope read from the bytes to the parsed geometry data
+	 * 
+	 * @param bytes
+	 *            geometry bytes
+	 * @return geometry envelope
+	 */
+	private static GeoPackageGeometryEnvelope compareReadEnvelope(
+			byte[] bytes) {
+
+		GeoPackageGeometryData geometryData = GeoPackageGeometryData
+				.create(bytes);
+		GeoPackageGeometryEnvelope geometryEnvelope = GeoPackageGeometryEnvelope
+				.read(bytes);
+
+		TestCase.assertEquals(geometryData.getEnvelope() != null,
+				geometryEnvelope.isHeaderEnvelope());
+		TestCase.assertEquals(
+				geometryData.isEmpty() || geometryData.getGeometry() == null,
+				geometryEnvelope.isEmpty());
+
+		GeometryEnvelope expected = geometryData.getOrBuildEnvelope();
+		GeometryEnvelope envelope = geometryEnvelope.getEnvelope();
+		if (expected == null) {
+			TestCase.assertNull(envelope);
+		} else {
+			TestCase.assertNotNull(envelope);
+			TestCase.assertEquals(expected.getMinX(), envelope.getMinX());
+			TestCase.assertEquals(expected.getMaxX(), envelope.getMaxX());
+			TestCase.assertEquals(expected.getMinY(), envelope.getMinY());
+			TestCase.assertEquals(expected.getMaxY(), envelope.getMaxY());
+			TestCase.assertEquals(expected.hasZ(), envelope.hasZ());
+			TestCase.assertEquals(expected.getMinZ(), envelope.getMinZ());
+			TestCase.assertEquals(expected.getMaxZ(), envelope.getMaxZ());
+			TestCase.assertEquals(expected.hasM(), envelope.hasM());
+			TestCase.assertEquals(expected.getMinM(), envelope.getMinM());
+			TestCase.assertEquals(expected.getMaxM(), envelope.getMaxM());
+		}
+
+		return geometryEnvelope;
+	}
+
 	/**
 	 * Test transforming geometries between projections
 	 * 
@@ -1,14 +1,31 @@
 package mil.nga.geopackage.manager;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Before;
 import org.junit.Test;
+import org.sqlite.SQLiteConfig.JournalMode;
+import org.sqlite.SQLiteConfig.SynchronousMode;
+import org.sqlite.SQLiteConfig.TempStore;
 
 import mil.nga.geopackage.BaseTestCase;
 import mil.nga.geopackage.GeoPackage;
@@ -16,6 +33,11 @@ import mil.nga.geopackage.GeoPackageConstants;
 import mil.nga.geopackage.GeoPackageManager;
 import mil.nga.geopackage.TestConstants;
 import mil.nga.geopackage.TestUtils;
+import mil.nga.geopackage.db.GeoPackageConnection;
+import mil.nga.geopackage.db.GeoPackageConnectionOptions;
+import mil.nga.geopackage.db.GeoPackageReadConnectionPool;
+import mil.nga.geopackage.features.user.FeatureDao;
+import mil.nga.geopackage.features.user.FeatureResultSet;
 import mil.nga.geopackage.io.GeoPackageIOUtils;
 
 /**
@@ -58,6 +80,187 @@ public class GeoPackageManagerTest extends BaseTestCase {
 
 	}
 
+	/**
+	 * Test creating and opening a database with connection options
+	 * 
+	 * @throws IOException
+	 * @throws SQLException
+	 */
+	@Test
+	public void testCreateOpenOptions() throws IOException, SQLException {
+
+		File testFolder = folder.newFolder();
+		File dbFile = new File(testFolder, TestConstants.TEST_DB_FILE_NAME);
+
+		// Create
+		GeoPackageConnectionOptions options = new GeoPackageConnectionOptions();
+		options.setPageSize(8192);
+		options.setJournalMode(JournalMode.WAL);
+		GeoPackageManager.create(dbFile, options);
+		assertTrue("Database does not exist", dbFile.exists());
+
+		// Open tuned for writing
+		options = new GeoPackageConnectionOptions();
+		options.setJournalMode(JournalMode.WAL);
+		options.setSynchronous(SynchronousMode.NORMAL);
+		options.setCacheSize(-4096);
+		options.setTempStore(TempStore.MEMORY);
+		options.setBusyTimeout(5000);
+		GeoPackage geoPackage = GeoPackageManager.open(dbFile, options);
+		assertTrue(geoPackage.isWritable());
+		assertEquals(8192, pragma(geoPackage, "page_size"));
+		assertEquals("wal",
+				geoPackage.getConnection().querySingleResult(
+						"PRAGMA journal_mode", null));
+		assertEquals(1, pragma(geoPackage, "synchronous"));
+		assertEquals(-4096, pragma(geoPackage, "cache_size"));
+		assertEquals(2, pragma(geoPackage, "temp_store"));
+		assertEquals(5000, pragma(geoPackage, "busy_timeout"));
+		geoPackage.execSQL("CREATE TABLE test_options (id INTEGER)");
+		geoPackage.close();
+
+		// Open read only with memory mapped I/O
+		options = new GeoPackageConnectionOptions();
+		options.setImmutable(true);
+		options.setMmapSize(64L * 1024 * 1024);
+		geoPackage = GeoPackageManager.open(dbFile, options);
+		assertFalse(geoPackage.isWritable());
+		assertEquals(64 * 1024 * 1024, pragma(geoPackage, "mmap_size"));
+		assertTrue(geoPackage.isTable("test_options"));
+		try {
+			geoPackage.getConnection().getConnection().createStatement()
+					.execute("INSERT INTO test_options VALUES (1)");
+			fail("Read only database was written");
+		} catch (Exception e) {
+			// Expected
+		}
+		geoPackage.close();
+
+		// Open not writable
+		geoPackage = GeoPackageManager.open(false, dbFile);
+		assertFalse(geoPackage.isWritable());
+		assertTrue(geoPackage.getSpatialReferenceSystemDao().countOf() > 0);
+		try {
+			geoPackage.getConnection().getConnection().createStatement()
+					.execute("INSERT INTO test_options VALUES (1)");
+			fail("Read only database was written");
+		} catch (Exception e) {
+			// Expected
+		}
+		geoPackage.close();
+
+	}
+
+	/**
+	 * Test opening a database with a pool of read connections
+	 * 
+	 * @throws Exception
+	 *             upon error
+	 */
+	@Test
+	public void testOpenReadConnections() throws Exception {
+
+		File testFolder = folder.newFolder();
+		File dbFile = new File(testFolder, TestConstants.TEST_DB_FILE_NAME);
+		GeoPackageIOUtils.copyFile(TestUtils.getImportDbFile(), dbFile);
+
+		GeoPackageConnectionOptions options = new GeoPackageConnectionOptions();
+		options.setReadConnections(2);
+		final GeoPackage geoPackage = GeoPackageManager.open(dbFile, options);
+		final GeoPackageConnection connection = geoPackage.getConnection();
+		assertTrue(geoPackage.isWritable());
+		assertEquals("wal",
+				connection.querySingleResult("PRAGMA journal_mode", null));
+		GeoPackageReadConnectionPool readPool = connection
+				.getReadConnectionPool();
+		assertNotNull(readPool);
+		assertEquals(2, readPool.size());
+
+		// Serial feature counts from the writer
+		final Map<String, Integer> counts = new HashMap<>();
+		geoPackage.beginTransaction();
+		assertEquals(connection.getConnection(),
+				connection.getReadConnection());
+		for (String featureTable : geoPackage.getFeatureTables()) {
+			FeatureDao featureDao = geoPackage.getFeatureDao(featureTable);
+			counts.put(featureTable, count(featureDao));
+		}
+		geoPackage.endTransaction();
+		assertFalse(counts.isEmpty());
+
+		// Writes outside of transactions are visible to the read connections
+		geoPackage.execSQL("CREATE TABLE test_read (id INTEGER)");
+		geoPackage.execSQL("INSERT INTO test_read VALUES (1)");
+		assertTrue(connection.getReadConnection() != connection
+				.getConnection());
+		assertEquals(1, ((Number) connection
+				.querySingleResult("SELECT COUNT(*) FROM test_read", null))
+						.intValue());
+
+		// Concurrent feature reads
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		List<Future<Connection>> futures = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			futures.add(executor.submit(new Callable<Connection>() {
+				@Override
+				public Connection call() throws Exception {
+					for (Map.Entry<String, Integer> count : counts
+							.entrySet()) {
+						FeatureDao featureDao = geoPackage
+								.getFeatureDao(count.getKey());
+						assertEquals(count.getValue().intValue(),
+								count(featureDao));
+					}
+					return connection.getReadConnection();
+				}
+			}));
+		}
+		Set<Connection> readConnections = new HashSet<>();
+		for (Future<Connection> future : futures) {
+			readConnections.add(future.get());
+		}
+		executor.shutdown();
+		assertEquals(2, readConnections.size());
+		assertTrue(readPool.getConnections().containsAll(readConnections));
+
+		geoPackage.close();
+		assertTrue(readPool.getConnections().get(0).isClosed());
+	}
+
+	/**
+	 * Count the feature rows by iterating a query
+	 * 
+	 * @param featureDao
+	 *            feature DAO
+	 * @return count
+	 */
+	private static int count(FeatureDao featureDao) {
+		int count = 0;
+		FeatureResultSet resultSet = featureDao.queryForAll();
+		try {
+			while (resultSet.moveToNext()) {
+				count++;
+			}
+		} finally {
+			resultSet.close();
+		}
+		return count;
+	}
+
+	/**
+	 * Query an integer pragma value
+	 * 
+	 * @param geoPackage
+	 *            GeoPackage
+	 * @param pragma
+	 *            pragma name
+	 * @return pragma value
+	 */
+	private static int pragma(GeoPackage geoPackage, String pragma) {
+		return ((Number) geoPackage.getConnection()
+				.querySingleResult("PRAGMA " + pragma, null)).intValue();
+	}
+
 	/**
 	 * Test opening a database
 	 * 
@@ -12,6 +12,7 @@ import org.junit.Test;
 
 import junit.framework.TestCase;
 import mil.nga.geopackage.BoundingBox;
+import mil.nga.geopackage.GeoPackageException;
 import mil.nga.geopackage.LoadGeoPackageTestCase;
 import mil.nga.geopackage.TestConstants;
 import mil.nga.geopackage.TestUtils;
@@ -229,6 +230,104 @@ public class TileCreatorImageTest extends LoadGeoPackageTestCase {
 
 	}
 
+	/**
+	 * Test get tile image with interpolated reprojection
+	 *
+	 * @throws SQLException
+	 * @throws IOException
+	 */
+	@Test
+	public void testTileImageInterpolation() throws SQLException, IOException {
+
+		TileDao tileDao = geoPackage
+				.getTileDao(TestConstants.TILES2_DB_TABLE_NAME);
+
+		Projection webMercator = ProjectionFactory
+				.getProjection(ProjectionConstants.EPSG_WEB_MERCATOR);
+
+		int width = 256;
+		int height = 256;
+		TileCreator tileCreator = new TileCreator(tileDao, width, height,
+				webMercator, "png");
+		TileCreator interpolatedTileCreator = new TileCreator(tileDao, width,
+				height, webMercator, "png");
+		TestCase.assertEquals(0, interpolatedTileCreator
+				.getInterpolationGridSize());
+		interpolatedTileCreator.setInterpolationGridSize(
+				TileCreator.DEFAULT_INTERPOLATION_GRID_SIZE);
+
+		BoundingBox webMercatorBoundingBox = geoPackage
+				.getBoundingBox(TestConstants.TILES2_DB_TABLE_NAME)
+				.transform(GeometryTransform.create(tileDao.getProjection(),
+						webMercator));
+		BoundingBox topLeft = new BoundingBox(
+				webMercatorBoundingBox.getMinLongitude(),
+				webMercatorBoundingBox.getCentroid().getY(),
+				webMercatorBoundingBox.getCentroid().getX(),
+				webMercatorBoundingBox.getMaxLatitude());
+		BoundingBox[] boundingBoxes = new BoundingBox[] {
+				webMercatorBoundingBox, topLeft };
+
+		for (BoundingBox boundingBox : boundingBoxes) {
+
+			TestCase.assertTrue(tileCreator.hasTile(boundingBox));
+
+			BufferedImage image = tileCreator.getTile(boundingBox)
+					.getImage();
+			BufferedImage interpolatedImage = interpolatedTileCreator
+					.getTile(boundingBox).getImage();
+
+			TestCase.assertEquals(image.getWidth(),
+					interpolatedImage.getWidth());
+			TestCase.assertEquals(image.getHeight(),
+					interpolatedImage.getHeight());
+
+			// Sub pixel interpolation errors may shift sampled pixels
+			int different = countDifferentPixels(image, interpolatedImage);
+			TestCase.assertTrue("Interpolated pixels differ: " + different,
+					different <= (width * height) / 4);
+
+			// Without tolerance every cell is transformed per pixel
+			interpolatedTileCreator.setInterpolationTolerance(0);
+			interpolatedImage = interpolatedTileCreator.getTile(boundingBox)
+					.getImage();
+			TestCase.assertEquals(0,
+					countDifferentPixels(image, interpolatedImage));
+			interpolatedTileCreator.setInterpolationTolerance(
+					TileCreator.DEFAULT_INTERPOLATION_TOLERANCE);
+		}
+
+		try {
+			interpolatedTileCreator.setInterpolationGridSize(-1);
+			TestCase.fail("Negative interpolation grid size was allowed");
+		} catch (GeoPackageException e) {
+			// expected
+		}
+
+	}
+
+	/**
+	 * Count the different pixels between two images of the same size
+	 *
+	 * @param image
+	 *            image
+	 * @param image2
+	 *            image 2
+	 * @return different pixel count
+	 */
+	private int countDifferentPixels(BufferedImage image,
+			BufferedImage image2) {
+		int different = 0;
+		for (int x = 0; x < image.getWidth(); x++) {
+			for (int y = 0; y < image.getHeight(); y++) {
+				if (image.getRGB(x, y) != image2.getRGB(x, y)) {
+					different++;
+				}
+			}
+		}
+		return different;
+	}
+
 	/**
 	 * Test raw tile image
 	 *
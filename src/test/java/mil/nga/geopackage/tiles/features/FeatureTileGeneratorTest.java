@@ -103,6 +103,29 @@ public class FeatureTileGeneratorTest extends CreateGeoPackageTestCase {
 		testTileGenerator(true, true, true);
 	}
 
+	/**
+	 * Test tile generator with multiple threads
+	 *
+	 * @throws java.io.IOException
+	 * @throws java.sql.SQLException
+	 */
+	@Test
+	public void testTileGeneratorThreads() throws IOException, SQLException {
+		testTileGenerator(true, true, false, 4);
+	}
+
+	/**
+	 * Test tile generator with multiple threads without an index
+	 *
+	 * @throws java.io.IOException
+	 * @throws java.sql.SQLException
+	 */
+	@Test
+	public void testTileGeneratorThreadsWithoutIndex()
+			throws IOException, SQLException {
+		testTileGenerator(false, false, false, 4);
+	}
+
 	/**
 	 * Test tile generator
 	 *
@@ -115,6 +138,22 @@ public class FeatureTileGeneratorTest extends CreateGeoPackageTestCase {
 	 */
 	public void testTileGenerator(boolean index, boolean useIcon,
 			boolean maxFeatures) throws IOException, SQLException {
+		testTileGenerator(index, useIcon, maxFeatures, 1);
+	}
+
+	/**
+	 * Test tile generator
+	 *
+	 * @param index
+	 * @param useIcon
+	 * @param maxFeatures
+	 * @param threads
+	 *
+	 * @throws java.io.IOException
+	 * @throws java.sql.SQLException
+	 */
+	public void testTileGenerator(boolean index, boolean useIcon,
+			boolean maxFeatures, int threads) throws IOException, SQLException {
 
 		int minZoom = 0;
 		int maxZoom = 4;
@@ -149,6 +188,7 @@ public class FeatureTileGeneratorTest extends CreateGeoPackageTestCase {
 				ProjectionFactory
 						.getProjection(ProjectionConstants.EPSG_WEB_MERCATOR));
 		tileGenerator.setXYZTiles(false);
+		tileGenerator.setThreadCount(threads);
 
 		int tiles = tileGenerator.generateTiles();
 
@@ -8,8 +8,11 @@ import org.junit.Test;
 import junit.framework.TestCase;
 import mil.nga.geopackage.CreateGeoPackageTestCase;
 import mil.nga.geopackage.features.index.FeatureIndexManager;
+import mil.nga.geopackage.features.index.FeatureIndexResults;
 import mil.nga.geopackage.features.index.FeatureIndexType;
 import mil.nga.geopackage.features.user.FeatureDao;
+import mil.nga.geopackage.features.user.FeatureResultSet;
+import mil.nga.geopackage.features.user.FeatureRow;
 import mil.nga.geopackage.tiles.TileBoundingBoxUtils;
 
 /**
@@ -78,6 +81,418 @@ public class FeatureTilesTest extends CreateGeoPackageTestCase {
 		}
 	}
 
+	/**
+	 * Test feature tiles drawn from a feature tile grid
+	 *
+	 * @throws java.sql.SQLException
+	 */
+	@Test
+	public void testFeatureTilesGrid() throws SQLException {
+
+		FeatureDao featureDao = FeatureTileUtils.createFeatureDao(geoPackage);
+
+		int num = FeatureTileUtils.insertFeatures(geoPackage, featureDao);
+
+		FeatureTiles featureTiles = FeatureTileUtils
+				.createFeatureTiles(geoPackage, featureDao, false);
+
+		try {
+
+			TestCase.assertFalse(featureTiles.isIndexQuery());
+			TestCase.assertFalse(featureTiles.isGridQuery());
+
+			FeatureTileGrid grid = featureTiles.getFeatureTileGrid();
+			TestCase.assertEquals(num, grid.getTableCount());
+			TestCase.assertTrue(grid.count() > 0);
+			TestCase.assertTrue(grid.count() <= num);
+
+			compareGridTiles(featureTiles, 0, 3);
+
+			// Force the grid cells to lower zoom levels
+			grid.setMaxCellEntries(1);
+			compareGridTiles(featureTiles, 0, 3);
+
+			featureTiles.clearFeatureTileGrid();
+			TestCase.assertNotSame(grid, featureTiles.getFeatureTileGrid());
+
+		} finally {
+			featureTiles.close();
+		}
+	}
+
+	/**
+	 * Test the feature tiles geometry cache drawn from multiple threads
+	 *
+	 * @throws java.sql.SQLException
+	 * @throws java.lang.InterruptedException
+	 */
+	@Test
+	public void testFeatureTilesGeometryCache()
+			throws SQLException, InterruptedException {
+
+		FeatureDao featureDao = FeatureTileUtils.createFeatureDao(geoPackage);
+
+		int num = FeatureTileUtils.insertFeatures(geoPackage, featureDao);
+
+		final DefaultFeatureTiles featureTiles = (DefaultFeatureTiles) FeatureTileUtils
+				.createFeatureTiles(geoPackage, featureDao, false);
+
+		try {
+
+			FeatureGeometryCache cache = featureTiles.getGeometryCache();
+			TestCase.assertEquals(0, cache.size());
+
+			featureTiles.setGridQuery(true);
+			final int zoom = 2;
+			featureTiles.getFeatureTileGrid();
+
+			Thread[] threads = new Thread[4];
+			final boolean[] failed = new boolean[1];
+			for (int i = 0; i < threads.length; i++) {
+				threads[i] = new Thread(new Runnable() {
+					@Override
+					public void run() {
+						try {
+							int tilesPerSide = TileBoundingBoxUtils
+									.tilesPerSide(zoom);
+							for (int x = 0; x < tilesPerSide; x++) {
+								for (int y = 0; y < tilesPerSide; y++) {
+									featureTiles.drawTile(x, y, zoom);
+								}
+							}
+						} catch (Throwable e) {
+							failed[0] = true;
+						}
+					}
+				});
+				threads[i].start();
+			}
+			for (Thread thread : threads) {
+				thread.join();
+			}
+			TestCase.assertFalse(failed[0]);
+
+			TestCase.assertTrue(cache.size() > 0);
+			TestCase.assertTrue(cache.size() <= num);
+			TestCase.assertTrue(cache.getWeight() > 0);
+			TestCase.assertTrue(cache.getMissCount() > 0);
+			TestCase.assertTrue(cache.getHitCount() > 0);
+			TestCase.assertEquals(0, cache.getEvictionCount());
+
+			// Bound the cache by weight
+			long weight = cache.getWeight();
+			featureTiles.setGeometryCacheWeight(weight / 2);
+			TestCase.assertTrue(cache.getWeight() <= weight / 2);
+			TestCase.assertTrue(cache.getEvictionCount() > 0);
+
+			// Bound the cache by size
+			featureTiles.setGeometryCacheSize(0);
+			TestCase.assertEquals(0, cache.size());
+			TestCase.assertEquals(0, cache.getWeight());
+
+			cache.resetStats();
+			TestCase.assertEquals(0, cache.getHitCount());
+			TestCase.assertEquals(0, cache.getMissCount());
+			TestCase.assertEquals(0, cache.getEvictionCount());
+
+		} finally {
+			featureTiles.close();
+		}
+	}
+
+	/**
+	 * Test the feature paint cache keyed by style id and scale
+	 */
+	@Test
+	public void testFeaturePaintCache() {
+
+		FeaturePaintCache cache = new FeaturePaintCache(8);
+
+		TestCase.assertNull(cache.getPaint(1, 1.0f, FeatureDrawType.FILL));
+		TestCase.assertEquals(1, cache.getMissCount());
+
+		Paint paint = new Paint();
+		TestCase.assertSame(paint, cache.setPaintIfAbsent(1, 1.0f,
+				FeatureDrawType.FILL, paint));
+		TestCase.assertSame(paint,
+				cache.setPaintIfAbsent(1, 1.0f, FeatureDrawType.FILL,
+						new Paint()));
+		TestCase.assertSame(paint, cache.getPaint(1, FeatureDrawType.FILL));
+		TestCase.assertNull(cache.getPaint(1, 2.0f, FeatureDrawType.FILL));
+		TestCase.assertNull(cache.getPaint(1, 1.0f, FeatureDrawType.STROKE));
+		TestCase.assertEquals(1, cache.getHitCount());
+		TestCase.assertEquals(3, cache.getMissCount());
+
+		Paint scaledPaint = new Paint();
+		cache.setPaint(1, 2.0f, FeatureDrawType.FILL, scaledPaint);
+		TestCase.assertSame(scaledPaint,
+				cache.getPaint(1, 2.0f, FeatureDrawType.FILL));
+		TestCase.assertEquals(2, cache.size());
+
+		for (long styleId = 2; styleId < 100; styleId++) {
+			cache.setPaint(styleId, FeatureDrawType.CIRCLE, new Paint());
+		}
+		TestCase.assertTrue(cache.size() <= cache.getMaxSize());
+		TestCase.assertTrue(cache.getEvictionCount() > 0);
+
+		cache.resize(0);
+		TestCase.assertEquals(0, cache.size());
+
+		cache.resetStats();
+		TestCase.assertEquals(0, cache.getHitCount());
+		TestCase.assertEquals(0, cache.getMissCount());
+		TestCase.assertEquals(0, cache.getEvictionCount());
+	}
+
+	/**
+	 * Test feature tiles copies draw the same tiles
+	 *
+	 * @throws java.sql.SQLException
+	 */
+	@Test
+	public void testFeatureTilesCopy() throws SQLException {
+
+		FeatureDao featureDao = FeatureTileUtils.createFeatureDao(geoPackage);
+
+		int num = FeatureTileUtils.insertFeatures(geoPackage, featureDao);
+
+		DefaultFeatureTiles featureTiles = (DefaultFeatureTiles) FeatureTileUtils
+				.createFeatureTiles(geoPackage, featureDao, true);
+
+		FeatureIndexManager indexManager = new FeatureIndexManager(geoPackage,
+				featureDao);
+		featureTiles.setIndexManager(indexManager);
+		indexManager.setIndexLocation(FeatureIndexType.GEOPACKAGE);
+		TestCase.assertEquals(num, indexManager.index());
+
+		DefaultFeatureTiles copy = featureTiles.copy();
+
+		try {
+
+			TestCase.assertNotSame(featureTiles, copy);
+			TestCase.assertTrue(copy.isIndexQuery());
+			TestCase.assertNotSame(featureTiles.getIndexManager(),
+					copy.getIndexManager());
+			TestCase.assertEquals(FeatureIndexType.GEOPACKAGE,
+					copy.getIndexManager().getIndexLocation());
+			TestCase.assertSame(featureTiles.getGeometryCache(),
+					copy.getGeometryCache());
+			TestCase.assertSame(featureTiles.getFeaturePaintCache(),
+					copy.getFeaturePaintCache());
+			TestCase.assertSame(featureTiles.getIconCache(),
+					copy.getIconCache());
+			TestCase.assertEquals(featureTiles.getTileWidth(),
+					copy.getTileWidth());
+			TestCase.assertEquals(featureTiles.getTileHeight(),
+					copy.getTileHeight());
+
+			int zoom = 2;
+			int tilesPerSide = TileBoundingBoxUtils.tilesPerSide(zoom);
+			for (int x = 0; x < tilesPerSide; x++) {
+				for (int y = 0; y < tilesPerSide; y++) {
+					compareImages(featureTiles.drawTile(x, y, zoom),
+							copy.drawTile(x, y, zoom));
+				}
+			}
+
+		} finally {
+			copy.close();
+			featureTiles.close();
+		}
+	}
+
+	/**
+	 * Test feature tiles drawn with projected geometry caching
+	 *
+	 * @throws java.sql.SQLException
+	 */
+	@Test
+	public void testFeatureTilesProjectedGeometryCache() throws SQLException {
+
+		FeatureDao featureDao = FeatureTileUtils.createFeatureDao(geoPackage);
+
+		FeatureTileUtils.insertFeatures(geoPackage, featureDao);
+
+		DefaultFeatureTiles featureTiles = (DefaultFeatureTiles) FeatureTileUtils
+				.createFeatureTiles(geoPackage, featureDao, false);
+
+		try {
+
+			TestCase.assertFalse(featureTiles.isCacheProjectedGeometries());
+			TestCase.assertNull(featureTiles.getProjectedGeometryCache());
+
+			int zoom = 3;
+			int tilesPerSide = TileBoundingBoxUtils.tilesPerSide(zoom);
+			BufferedImage[][] images = new BufferedImage[tilesPerSide][tilesPerSide];
+			for (int x = 0; x < tilesPerSide; x++) {
+				for (int y = 0; y < tilesPerSide; y++) {
+					images[x][y] = featureTiles.drawTile(x, y, zoom);
+				}
+			}
+
+			featureTiles.setCacheProjectedGeometries(true);
+			ProjectedGeometryCache cache = featureTiles
+					.getProjectedGeometryCache();
+			TestCase.assertNotNull(cache);
+			TestCase.assertEquals(0, cache.size());
+
+			// Draw once to project and cache, and again from the cache
+			for (int i = 0; i < 2; i++) {
+				for (int x = 0; x < tilesPerSide; x++) {
+					for (int y = 0; y < tilesPerSide; y++) {
+						compareImages(images[x][y],
+								featureTiles.drawTile(x, y, zoom));
+					}
+				}
+				TestCase.assertTrue(cache.size() > 0);
+				TestCase.assertTrue(cache.getCoordinateCount(zoom) > 0);
+			}
+
+			featureTiles.clearGeometryCache();
+			TestCase.assertEquals(0, cache.size());
+
+			cache.resize(1, 0);
+			featureTiles.drawTile(0, 0, zoom);
+			TestCase.assertEquals(0, cache.size());
+
+			featureTiles.setCacheProjectedGeometries(false);
+			TestCase.assertNull(featureTiles.getProjectedGeometryCache());
+
+		} finally {
+			featureTiles.close();
+		}
+	}
+
+	/**
+	 * Test feature tiles drawn in a single pass with max features per tile
+	 *
+	 * @throws java.sql.SQLException
+	 */
+	@Test
+	public void testFeatureTilesMaxFeatures() throws SQLException {
+
+		FeatureDao featureDao = FeatureTileUtils.createFeatureDao(geoPackage);
+
+		int num = FeatureTileUtils.insertFeatures(geoPackage, featureDao);
+
+		FeatureTiles featureTiles = FeatureTileUtils
+				.createFeatureTiles(geoPackage, featureDao, false);
+
+		try {
+
+			FeatureIndexManager indexManager = new FeatureIndexManager(
+					geoPackage, featureDao);
+			featureTiles.setIndexManager(indexManager);
+			indexManager.setIndexLocation(FeatureIndexType.GEOPACKAGE);
+			TestCase.assertEquals(num, indexManager.index());
+
+			final long[] maxFeaturesTile = new long[2];
+			featureTiles.setMaxFeaturesTileDraw(new CustomFeaturesTile() {
+
+				@Override
+				public BufferedImage drawTile(int tileWidth, int tileHeight,
+						long tileFeatureCount,
+						FeatureIndexResults featureIndexResults) {
+					maxFeaturesTile[0] = tileFeatureCount;
+					for (@SuppressWarnings("unused")
+					FeatureRow featureRow : featureIndexResults) {
+						maxFeaturesTile[1]++;
+					}
+					return null;
+				}
+
+				@Override
+				public BufferedImage drawUnindexedTile(int tileWidth,
+						int tileHeight, long totalFeatureCount,
+						FeatureResultSet allFeatureResults) {
+					maxFeaturesTile[0] = totalFeatureCount;
+					while (allFeatureResults.moveToNext()) {
+						maxFeaturesTile[1]++;
+					}
+					return null;
+				}
+			});
+
+			int maxFeatures = 3;
+			featureTiles.setMaxFeaturesPerTile(maxFeatures);
+
+			int maxFeaturesTiles = 0;
+			for (int zoom = 0; zoom <= 2; zoom++) {
+				int tilesPerSide = TileBoundingBoxUtils.tilesPerSide(zoom);
+				for (int x = 0; x < tilesPerSide; x++) {
+					for (int y = 0; y < tilesPerSide; y++) {
+
+						long count = featureTiles.queryIndexedFeaturesCount(x,
+								y, zoom);
+
+						maxFeaturesTile[0] = -1;
+						maxFeaturesTile[1] = 0;
+						BufferedImage image = featureTiles.drawTile(x, y,
+								zoom);
+
+						if (count > maxFeatures) {
+							maxFeaturesTiles++;
+							TestCase.assertNull(image);
+							TestCase.assertEquals(count, maxFeaturesTile[0]);
+							TestCase.assertEquals(count, maxFeaturesTile[1]);
+						} else {
+							TestCase.assertEquals(-1, maxFeaturesTile[0]);
+							featureTiles.setMaxFeaturesPerTile(null);
+							compareImages(
+									featureTiles.drawTile(x, y, zoom),
+									image);
+							featureTiles.setMaxFeaturesPerTile(maxFeatures);
+						}
+					}
+				}
+			}
+			TestCase.assertTrue(maxFeaturesTiles > 0);
+
+			// Unindexed tiles
+			featureTiles.setIndexManager(null);
+			maxFeaturesTile[0] = -1;
+			maxFeaturesTile[1] = 0;
+			TestCase.assertNull(featureTiles.drawTile(0, 0, 0));
+			TestCase.assertEquals(num, maxFeaturesTile[0]);
+			TestCase.assertEquals(num, maxFeaturesTile[1]);
+			indexManager.close();
+
+		} finally {
+			featureTiles.close();
+		}
+	}
+
+	private void compareGridTiles(FeatureTiles featureTiles, int minZoom,
+			int maxZoom) {
+		for (int zoom = minZoom; zoom <= maxZoom; zoom++) {
+			int tilesPerSide = TileBoundingBoxUtils.tilesPerSide(zoom);
+			for (int i = 0; i < tilesPerSide; i++) {
+				for (int j = 0; j < tilesPerSide; j++) {
+					featureTiles.setGridQuery(false);
+					BufferedImage image = featureTiles.drawTile(i, j, zoom);
+					featureTiles.setGridQuery(true);
+					BufferedImage gridImage = featureTiles.drawTile(i, j,
+							zoom);
+					compareImages(image, gridImage);
+				}
+			}
+		}
+	}
+
+	private void compareImages(BufferedImage image, BufferedImage image2) {
+		if (image == null) {
+			TestCase.assertNull(image2);
+		} else {
+			TestCase.assertNotNull(image2);
+			for (int x = 0; x < image.getWidth(); x++) {
+				for (int y = 0; y < image.getHeight(); y++) {
+					TestCase.assertEquals(image.getRGB(x, y),
+							image2.getRGB(x, y));
+				}
+			}
+		}
+	}
+
 	private void createTiles(FeatureTiles featureTiles, int minZoom,
 			int maxZoom) {
 		for (int i = minZoom; i <= maxZoom; i++) {
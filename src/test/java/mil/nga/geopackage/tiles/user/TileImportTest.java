@@ -58,6 +58,18 @@ public class TileImportTest extends ImportGeoPackageTestCase {
 
 	}
 
+	/**
+	 * Test batch writing
+	 * 
+	 * @throws SQLException
+	 */
+	@Test
+	public void testBatchWriter() throws SQLException {
+
+		TileUtils.testBatchWriter(geoPackage);
+
+	}
+
 	/**
 	 * Test deleting
 	 * 
@@ -859,6 +859,89 @@ public class TileUtils {
 
 	}
 
+	/**
+	 * Test batch writing
+	 * 
+	 * @param geoPackage
+	 *            GeoPackage
+	 * @throws SQLException
+	 *             upon error
+	 */
+	public static void testBatchWriter(GeoPackage geoPackage)
+			throws SQLException {
+
+		TileMatrixSetDao tileMatrixSetDao = geoPackage.getTileMatrixSetDao();
+
+		if (tileMatrixSetDao.isTableExists()) {
+			List<TileMatrixSet> results = tileMatrixSetDao.queryForAll();
+
+			for (TileMatrixSet tileMatrixSet : results) {
+
+				TileDao dao = geoPackage.getTileDao(tileMatrixSet);
+				TestCase.assertNotNull(dao);
+
+				TileResultSet resultSet = dao.queryForAll();
+				int count = resultSet.getCount();
+				if (count > 0) {
+
+					// Choose random tile
+					int random = (int) (Math.random() * count);
+					resultSet.moveToPosition(random);
+
+					TileRow tileRow = resultSet.getRow();
+					resultSet.close();
+
+					long zoomLevel = dao.getMaxZoom() + 1;
+					byte[] tileData = tileRow.getTileData();
+
+					// Write new tiles across multiple batches
+					int newTiles = 5;
+					TileBatchWriter writer = dao.createBatchWriter(2);
+					try {
+						TestCase.assertEquals(2, writer.getBatchSize());
+						for (int i = 0; i < newTiles; i++) {
+							writer.write(zoomLevel, i, i, tileData);
+						}
+						TestCase.assertEquals(newTiles, writer.getCount());
+					} finally {
+						writer.close();
+					}
+					TestCase.assertFalse(dao.inTransaction());
+
+					TestCase.assertEquals(count + newTiles, dao.count());
+					TestCase.assertEquals(newTiles, dao.count(zoomLevel));
+					for (int i = 0; i < newTiles; i++) {
+						TileRow newRow = dao.queryForTile(i, i, zoomLevel);
+						TestCase.assertNotNull(newRow);
+						GeoPackageGeometryDataUtils.compareByteArrays(tileData,
+								newRow.getTileData());
+					}
+
+					// Replace an existing tile
+					byte[] replaceData = new byte[] { 1, 2, 3 };
+					writer = dao.createBatchWriter();
+					try {
+						tileRow.setTileData(replaceData);
+						writer.write(tileRow);
+					} finally {
+						writer.close();
+					}
+
+					TestCase.assertEquals(count + newTiles, dao.count());
+					TileRow replacedRow = dao.queryForTile(
+							tileRow.getTileColumn(), tileRow.getTileRow(),
+							tileRow.getZoomLevel());
+					TestCase.assertNotNull(replacedRow);
+					GeoPackageGeometryDataUtils.compareByteArrays(replaceData,
+							replacedRow.getTileData());
+
+				}
+				resultSet.close();
+			}
+		}
+
+	}
+
 	/**
 	 * Test delete
 	 * 